@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.eluder.coveralls.maven.plugin.httpclient.MultipartBodyBenchmark;
+import org.eluder.coveralls.maven.plugin.json.JsonWriter;
+import org.eluder.coveralls.maven.plugin.json.JsonWriterBenchmark;
+import org.eluder.coveralls.maven.plugin.parser.CloverParser;
+import org.eluder.coveralls.maven.plugin.parser.CoberturaParser;
+import org.eluder.coveralls.maven.plugin.parser.JaCoCoParser;
+import org.eluder.coveralls.maven.plugin.parser.SagaParser;
+import org.eluder.coveralls.maven.plugin.source.UniqueSourceCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the whole plugin pipeline: parsing all four reports, merging the sources, writing the coveralls file and
+ * streaming the upload body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PipelineBenchmark {
+
+    /**
+     * Runs the pipeline.
+     *
+     * @param state
+     *            the report state
+     *
+     * @return the number of upload bytes
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    @SuppressWarnings("removal")
+    public long pipeline(final ReportState state) throws ProcessingException, IOException {
+        final var file = Files.createTempFile(state.directory, "coveralls", ".json");
+        try {
+            try (var writer = new JsonWriter(JsonWriterBenchmark.job(), file.toFile())) {
+                final var callback = new UniqueSourceCallback(writer);
+                callback.onBegin();
+                new JaCoCoParser(state.jacoco.toFile(), state.sourceLoader).parse(callback);
+                new CoberturaParser(state.cobertura.toFile(), state.sourceLoader).parse(callback);
+                new CloverParser(state.clover.toFile(), state.sourceLoader).parse(callback);
+                new SagaParser(state.saga.toFile(), state.sourceLoader).parse(callback);
+                callback.onComplete();
+            }
+            return MultipartBodyBenchmark.submit(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
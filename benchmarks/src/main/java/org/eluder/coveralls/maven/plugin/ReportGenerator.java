@@ -0,0 +1,381 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+
+/**
+ * Generates synthetic coverage reports and the matching source files at a configurable scale. All report formats
+ * describe the same sources with the same coverage, so parse results are comparable across formats. The generated
+ * content is deterministic for a given scale.
+ */
+public class ReportGenerator {
+
+    /** The number of source files per package. */
+    private static final int FILES_PER_PACKAGE = 50;
+
+    /** Every n:th line of a source file has branches. */
+    private static final int BRANCH_LINE_INTERVAL = 5;
+
+    /** The number of source files. */
+    private final int files;
+
+    /** The number of lines per source file. */
+    private final int lines;
+
+    /** The number of branches on each branching line. */
+    private final int branches;
+
+    /** The generated source contents by source name. */
+    private final Map<String, String> contents = new LinkedHashMap<>();
+
+    /** The source digests by source name. */
+    private final Map<String, String> digests = new LinkedHashMap<>();
+
+    /**
+     * Instantiates a new report generator.
+     *
+     * @param files
+     *            the number of source files
+     * @param lines
+     *            the number of lines per source file
+     * @param branches
+     *            the number of branches on each branching line
+     */
+    public ReportGenerator(final int files, final int lines, final int branches) {
+        this.files = files;
+        this.lines = lines;
+        this.branches = branches;
+        final var content = this.content();
+        final var digest = DigestUtils.sha512Hex(content);
+        for (var file = 0; file < files; file++) {
+            this.contents.put(this.sourceName(file), content);
+            this.digests.put(this.sourceName(file), digest);
+        }
+    }
+
+    /**
+     * Gets the source names.
+     *
+     * @return the source names in generation order
+     */
+    public Iterable<String> getSourceNames() {
+        return this.contents.keySet();
+    }
+
+    /**
+     * Creates a source loader that serves the generated sources from memory, so that parser benchmarks do not
+     * measure source file reading.
+     *
+     * @return the source loader
+     */
+    public SourceLoader sourceLoader() {
+        return sourceFile -> {
+            final var content = this.contents.get(sourceFile);
+            if (content == null) {
+                throw new IOException("No generated source for " + sourceFile);
+            }
+            return new Source(sourceFile, content, this.digests.get(sourceFile));
+        };
+    }
+
+    /**
+     * Writes the generated sources below the given directory.
+     *
+     * @param directory
+     *            the source directory
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writeSources(final Path directory) throws IOException {
+        for (final Map.Entry<String, String> entry : this.contents.entrySet()) {
+            final var file = directory.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, entry.getValue(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Writes a JaCoCo XML report.
+     *
+     * @param report
+     *            the report file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writeJaCoCo(final Path report) throws IOException {
+        try (var out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><report name=\"benchmark\">");
+            for (var file = 0; file < this.files; file++) {
+                if (file % ReportGenerator.FILES_PER_PACKAGE == 0) {
+                    if (file > 0) {
+                        out.write("</package>");
+                    }
+                    out.write("<package name=\"" + this.packagePath(file) + "\">");
+                }
+                out.write("<sourcefile name=\"" + this.fileName(file) + "\">");
+                for (var line = 1; line <= this.lines; line++) {
+                    final var covered = this.isCovered(file, line);
+                    final var cb = this.coveredBranches(line);
+                    final var mb = this.branchCount(line) - cb;
+                    out.write("<line nr=\"" + line + "\" mi=\"" + (covered ? 0 : 3) + "\" ci=\"" + (covered ? 3 : 0)
+                            + "\" mb=\"" + mb + "\" cb=\"" + cb + "\"/>");
+                }
+                out.write("</sourcefile>");
+            }
+            if (this.files > 0) {
+                out.write("</package>");
+            }
+            out.write("</report>");
+        }
+    }
+
+    /**
+     * Writes a Cobertura XML report.
+     *
+     * @param report
+     *            the report file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writeCobertura(final Path report) throws IOException {
+        this.writeCoberturaFormat(report, false);
+    }
+
+    /**
+     * Writes a Saga XML report. Saga uses the Cobertura format with the source path as the class name.
+     *
+     * @param report
+     *            the report file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writeSaga(final Path report) throws IOException {
+        this.writeCoberturaFormat(report, true);
+    }
+
+    /**
+     * Writes a Clover XML report.
+     *
+     * @param report
+     *            the report file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writeClover(final Path report) throws IOException {
+        try (var out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.write("<coverage clover=\"4.2.0\">\n<project name=\"benchmark\">\n");
+            for (var file = 0; file < this.files; file++) {
+                if (file % ReportGenerator.FILES_PER_PACKAGE == 0) {
+                    if (file > 0) {
+                        out.write("</package>\n");
+                    }
+                    out.write("<package name=\"" + this.packagePath(file).replace('/', '.') + "\">\n");
+                }
+                out.write("<file name=\"" + this.fileName(file) + "\" path=\"" + this.sourceName(file) + "\">\n");
+                for (var line = 1; line <= this.lines; line++) {
+                    final var count = this.isCovered(file, line) ? 1 : 0;
+                    if (this.branchCount(line) > 0) {
+                        final var cb = this.coveredBranches(line);
+                        out.write("<line num=\"" + line + "\" truecount=\"" + Math.min(cb, count) + "\" falsecount=\""
+                                + count + "\" type=\"cond\"/>\n");
+                    } else {
+                        out.write("<line num=\"" + line + "\" count=\"" + count + "\" type=\"stmt\"/>\n");
+                    }
+                }
+                out.write("</file>\n");
+            }
+            if (this.files > 0) {
+                out.write("</package>\n");
+            }
+            out.write("</project>\n</coverage>\n");
+        }
+    }
+
+    /**
+     * Writes a report in the Cobertura format.
+     *
+     * @param report
+     *            the report file
+     * @param saga
+     *            true to use source paths as class names
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void writeCoberturaFormat(final Path report, final boolean saga) throws IOException {
+        try (var out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\"?>\n<coverage version=\"2.1.1\">\n<packages>\n");
+            for (var file = 0; file < this.files; file++) {
+                if (file % ReportGenerator.FILES_PER_PACKAGE == 0) {
+                    if (file > 0) {
+                        out.write("</classes>\n</package>\n");
+                    }
+                    out.write("<package name=\"" + this.packagePath(file).replace('/', '.') + "\">\n<classes>\n");
+                }
+                final var className = saga ? this.sourceName(file)
+                        : this.packagePath(file).replace('/', '.') + ".File" + file;
+                out.write("<class name=\"" + className + "\" filename=\"" + this.sourceName(file) + "\">\n");
+                out.write("<methods/>\n<lines>\n");
+                for (var line = 1; line <= this.lines; line++) {
+                    this.writeCoberturaLine(out, file, line);
+                }
+                out.write("</lines>\n</class>\n");
+            }
+            if (this.files > 0) {
+                out.write("</classes>\n</package>\n");
+            }
+            out.write("</packages>\n</coverage>\n");
+        }
+    }
+
+    /**
+     * Writes a Cobertura format line element.
+     *
+     * @param out
+     *            the writer
+     * @param file
+     *            the file index
+     * @param line
+     *            the line number
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void writeCoberturaLine(final Writer out, final int file, final int line) throws IOException {
+        final var hits = this.isCovered(file, line) ? 1 + line % 7 : 0;
+        final var total = this.branchCount(line);
+        if (total > 0) {
+            final var cb = this.coveredBranches(line);
+            out.write("<line number=\"" + line + "\" hits=\"" + hits + "\" branch=\"true\" condition-coverage=\""
+                    + cb * 100 / total + "% (" + cb + "/" + total + ")\"/>\n");
+        } else {
+            out.write("<line number=\"" + line + "\" hits=\"" + hits + "\" branch=\"false\"/>\n");
+        }
+    }
+
+    /**
+     * Generates the source file content.
+     *
+     * @return the content
+     */
+    private String content() {
+        final var content = new StringBuilder(this.lines * 32);
+        for (var line = 1; line <= this.lines; line++) {
+            content.append("        value = value * 31 + ").append(line).append(";\n");
+        }
+        return content.toString();
+    }
+
+    /**
+     * Checks if a line is covered.
+     *
+     * @param file
+     *            the file index
+     * @param line
+     *            the line number
+     *
+     * @return true, if covered
+     */
+    private boolean isCovered(final int file, final int line) {
+        return (line * 31 + file) % 4 != 0;
+    }
+
+    /**
+     * Gets the number of branches on a line.
+     *
+     * @param line
+     *            the line number
+     *
+     * @return the branch count
+     */
+    private int branchCount(final int line) {
+        return line % ReportGenerator.BRANCH_LINE_INTERVAL == 0 ? this.branches : 0;
+    }
+
+    /**
+     * Gets the number of covered branches on a line.
+     *
+     * @param line
+     *            the line number
+     *
+     * @return the covered branch count
+     */
+    private int coveredBranches(final int line) {
+        return this.branchCount(line) / 2;
+    }
+
+    /**
+     * Gets the package path of a file.
+     *
+     * @param file
+     *            the file index
+     *
+     * @return the package path
+     */
+    private String packagePath(final int file) {
+        return "org/eluder/benchmark/p" + file / ReportGenerator.FILES_PER_PACKAGE;
+    }
+
+    /**
+     * Gets the file name of a file.
+     *
+     * @param file
+     *            the file index
+     *
+     * @return the file name
+     */
+    private String fileName(final int file) {
+        return "File" + file + ".java";
+    }
+
+    /**
+     * Gets the source name of a file.
+     *
+     * @param file
+     *            the file index
+     *
+     * @return the source name
+     */
+    private String sourceName(final int file) {
+        return this.packagePath(file) + "/" + this.fileName(file);
+    }
+}
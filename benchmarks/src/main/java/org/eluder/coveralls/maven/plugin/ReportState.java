@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.parser.CoberturaParser;
+import org.eluder.coveralls.maven.plugin.parser.JaCoCoParser;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state holding synthetic reports of all supported formats, generated once per trial into a temporary
+ * directory. The scale is controlled with the <code>files</code>, <code>lines</code> and <code>branches</code>
+ * parameters, e.g. <code>-p files=5000 -p lines=400</code>.
+ */
+@State(Scope.Benchmark)
+public class ReportState {
+
+    /** The number of source files. */
+    @Param("500")
+    public int files;
+
+    /** The number of lines per source file. */
+    @Param("200")
+    public int lines;
+
+    /** The number of branches on each branching line. */
+    @Param("4")
+    public int branches;
+
+    /** The working directory. */
+    public Path directory;
+
+    /** The generator. */
+    public ReportGenerator generator;
+
+    /** The in-memory source loader. */
+    public SourceLoader sourceLoader;
+
+    /** The JaCoCo report. */
+    public Path jacoco;
+
+    /** The Cobertura report. */
+    public Path cobertura;
+
+    /** The Clover report. */
+    public Path clover;
+
+    /** The Saga report. */
+    public Path saga;
+
+    /**
+     * Generates the reports.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("coveralls-benchmark");
+        this.generator = new ReportGenerator(this.files, this.lines, this.branches);
+        this.sourceLoader = this.generator.sourceLoader();
+        this.jacoco = this.directory.resolve("jacoco.xml");
+        this.cobertura = this.directory.resolve("cobertura.xml");
+        this.clover = this.directory.resolve("clover.xml");
+        this.saga = this.directory.resolve("saga.xml");
+        this.generator.writeJaCoCo(this.jacoco);
+        this.generator.writeCobertura(this.cobertura);
+        this.generator.writeClover(this.clover);
+        this.generator.writeSaga(this.saga);
+    }
+
+    /**
+     * Parses the JaCoCo and Cobertura reports. Both describe the same sources, so the result contains every source
+     * twice, as when merging reports of a multi-module build.
+     *
+     * @return the parsed sources in report order
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @SuppressWarnings("removal")
+    public List<Source> parseAll() throws ProcessingException, IOException {
+        final List<Source> sources = new ArrayList<>();
+        final var collector = new SourceCallback() {
+            @Override
+            public void onBegin() {
+                // not called by parsers
+            }
+
+            @Override
+            public void onSource(final Source source) {
+                sources.add(source);
+            }
+
+            @Override
+            public void onComplete() {
+                // not called by parsers
+            }
+        };
+        new JaCoCoParser(this.jacoco.toFile(), this.sourceLoader).parse(collector);
+        new CoberturaParser(this.cobertura.toFile(), this.sourceLoader).parse(collector);
+        return sources;
+    }
+
+    /**
+     * Deletes the working directory.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.ReportState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures merging the coverage of a single source parsed from two different reports, and accumulating the coverage
+ * of a source seen in three reports as done when removing duplicate sources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SourceMergeBenchmark {
+
+    /**
+     * The sources to merge.
+     */
+    @State(Scope.Benchmark)
+    public static class MergeState {
+
+        /** The source parsed from the first report. */
+        Source left;
+
+        /** The same source parsed from the second report. */
+        Source right;
+
+        /**
+         * Parses the sources.
+         *
+         * @param reports
+         *            the report state
+         *
+         * @throws ProcessingException
+         *             the processing exception
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        @Setup(Level.Trial)
+        public void setUp(final ReportState reports) throws ProcessingException, IOException {
+            final List<Source> sources = reports.parseAll();
+            this.left = sources.get(0);
+            this.right = sources.get(sources.size() / 2);
+        }
+    }
+
+    /**
+     * Merges the sources.
+     *
+     * @param state
+     *            the merge state
+     *
+     * @return the merged source
+     */
+    @Benchmark
+    public Source merge(final MergeState state) {
+        return state.left.merge(state.right);
+    }
+
+    /**
+     * Merges three occurrences of the source by copying, one copy per occurrence.
+     *
+     * @param state
+     *            the merge state
+     *
+     * @return the merged source
+     */
+    @Benchmark
+    public Source mergeThreeReports(final MergeState state) {
+        return state.left.merge(state.right.merge(state.left.merge(null)));
+    }
+
+    /**
+     * Accumulates three occurrences of the source in place.
+     *
+     * @param state
+     *            the merge state
+     *
+     * @return the accumulated source
+     */
+    @Benchmark
+    public Source accumulateThreeReports(final MergeState state) {
+        final var accumulator = new SourceAccumulator(state.left);
+        accumulator.add(state.right);
+        accumulator.add(state.left);
+        return accumulator.getSource();
+    }
+}
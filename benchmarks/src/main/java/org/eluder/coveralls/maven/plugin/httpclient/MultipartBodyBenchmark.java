@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.ReportState;
+import org.eluder.coveralls.maven.plugin.json.JsonWriterBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building and streaming the multipart upload body that the coveralls client submits, without any network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MultipartBodyBenchmark {
+
+    /**
+     * The written coveralls files.
+     */
+    @State(Scope.Benchmark)
+    public static class BodyState {
+
+        /** The plain coveralls file. */
+        Path plain;
+
+        /** The gzip compressed coveralls file. */
+        Path compressed;
+
+        /**
+         * Writes the coveralls files.
+         *
+         * @param reports
+         *            the report state
+         *
+         * @throws ProcessingException
+         *             the processing exception
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        @Setup(Level.Trial)
+        public void setUp(final ReportState reports) throws ProcessingException, IOException {
+            final var sources = reports.parseAll();
+            final var job = JsonWriterBenchmark.job();
+            this.plain = Files.createTempFile(reports.directory, "coveralls", ".json");
+            this.compressed = Files.createTempFile(reports.directory, "coveralls", ".json.gz");
+            JsonWriterBenchmark.write(job, sources, this.plain.toFile(), false);
+            JsonWriterBenchmark.write(job, sources, this.compressed.toFile(), true);
+        }
+    }
+
+    /**
+     * Streams the body of the plain file.
+     *
+     * @param state
+     *            the body state
+     *
+     * @return the number of bytes streamed
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public long plain(final BodyState state) throws IOException {
+        return MultipartBodyBenchmark.drain(MultipartBodyBenchmark.body().publisher(state.plain));
+    }
+
+    /**
+     * Streams the gzip encoded body of the compressed file.
+     *
+     * @param state
+     *            the body state
+     *
+     * @return the number of bytes streamed
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public long gzip(final BodyState state) throws IOException {
+        return MultipartBodyBenchmark.drain(MultipartBodyBenchmark.body().gzipPublisher(state.compressed));
+    }
+
+    /**
+     * Streams the upload body of a coveralls file the way the coveralls client would submit it.
+     *
+     * @param file
+     *            the coveralls file
+     *
+     * @return the number of bytes streamed
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static long submit(final Path file) throws IOException {
+        final var body = MultipartBodyBenchmark.body();
+        final var publisher = MultipartBody.isGzip(file) ? body.gzipPublisher(file) : body.publisher(file);
+        return MultipartBodyBenchmark.drain(publisher);
+    }
+
+    /**
+     * Creates the multipart body used by the coveralls client.
+     *
+     * @return the multipart body
+     */
+    private static MultipartBody body() {
+        return new MultipartBody("json_file", "coveralls.json", "application/json;charset=UTF-8");
+    }
+
+    /**
+     * Reads the whole body from a publisher.
+     *
+     * @param publisher
+     *            the publisher
+     *
+     * @return the number of bytes read
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static long drain(final HttpRequest.BodyPublisher publisher) throws IOException {
+        final var result = new CompletableFuture<Long>();
+        publisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            private long count;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                this.count += item.remaining();
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(this.count);
+            }
+        });
+        try {
+            return result.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+}
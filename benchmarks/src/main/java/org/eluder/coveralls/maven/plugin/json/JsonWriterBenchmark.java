@@ -0,0 +1,227 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.ReportState;
+import org.eluder.coveralls.maven.plugin.domain.Job;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.eluder.coveralls.maven.plugin.source.UniqueSourceCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing the coveralls file for the merged sources, plain and gzip compressed, sequentially and with
+ * parallel serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonWriterBenchmark {
+
+    /**
+     * The merged sources and the output file.
+     */
+    @State(Scope.Benchmark)
+    public static class WriterState {
+
+        /** The job. */
+        Job job;
+
+        /** The merged sources. */
+        List<Source> sources;
+
+        /** The coveralls file. */
+        File file;
+
+        /**
+         * Parses and merges the sources.
+         *
+         * @param reports
+         *            the report state
+         *
+         * @throws ProcessingException
+         *             the processing exception
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        @Setup(Level.Trial)
+        public void setUp(final ReportState reports) throws ProcessingException, IOException {
+            this.job = JsonWriterBenchmark.job();
+            this.sources = JsonWriterBenchmark.merge(reports.parseAll());
+            this.file = Files.createTempFile(reports.directory, "coveralls", ".json").toFile();
+        }
+    }
+
+    /**
+     * Writes the plain coveralls file.
+     *
+     * @param state
+     *            the writer state
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void plain(final WriterState state) throws ProcessingException, IOException {
+        JsonWriterBenchmark.write(state.job, state.sources, state.file, false);
+    }
+
+    /**
+     * Writes the gzip compressed coveralls file.
+     *
+     * @param state
+     *            the writer state
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void compressed(final WriterState state) throws ProcessingException, IOException {
+        JsonWriterBenchmark.write(state.job, state.sources, state.file, true);
+    }
+
+    /**
+     * Writes the plain coveralls file, serializing sources on four threads.
+     *
+     * @param state
+     *            the writer state
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void parallel(final WriterState state) throws ProcessingException, IOException {
+        try (var writer = new ParallelJsonWriter(state.job, state.file, false, 4)) {
+            writer.onBegin();
+            for (final Source source : state.sources) {
+                writer.onSource(source);
+            }
+            writer.onComplete();
+        }
+    }
+
+    /**
+     * Creates a job like the one submitted from a CI build.
+     *
+     * @return the job
+     */
+    public static Job job() {
+        return new Job().withRepoToken("token").withServiceName("benchmark").withServiceJobId("1")
+                .withServiceBuildNumber("1").withBranch("master").withTimestamp(System.currentTimeMillis());
+    }
+
+    /**
+     * Writes the coveralls file.
+     *
+     * @param job
+     *            the job
+     * @param sources
+     *            the sources
+     * @param file
+     *            the coveralls file
+     * @param compress
+     *            true to gzip the file
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static void write(final Job job, final List<Source> sources, final File file, final boolean compress)
+            throws ProcessingException, IOException {
+        try (var writer = new JsonWriter(job, file, compress)) {
+            writer.onBegin();
+            for (final Source source : sources) {
+                writer.onSource(source);
+            }
+            writer.onComplete();
+        }
+    }
+
+    /**
+     * Merges duplicate sources.
+     *
+     * @param sources
+     *            the sources
+     *
+     * @return the unique sources
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    static List<Source> merge(final List<Source> sources) throws ProcessingException, IOException {
+        final List<Source> merged = new ArrayList<>();
+        final var callback = new UniqueSourceCallback(new SourceCallback() {
+            @Override
+            public void onBegin() {
+                // Does nothing
+            }
+
+            @Override
+            public void onSource(final Source source) {
+                merged.add(source);
+            }
+
+            @Override
+            public void onComplete() {
+                // Does nothing
+            }
+        });
+        callback.onBegin();
+        for (final Source source : sources) {
+            callback.onSource(source);
+        }
+        callback.onComplete();
+        return merged;
+    }
+}
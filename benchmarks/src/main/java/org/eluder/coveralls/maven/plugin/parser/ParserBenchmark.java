@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eluder.coveralls.maven.plugin.BlackholeSourceCallback;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.ReportState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time to parse a whole report of each supported format. Sources are served from memory, so only XML
+ * parsing and coverage collection are measured. Divide the report size by the score for MB/s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * Parses the JaCoCo report.
+     *
+     * @param state
+     *            the report state
+     * @param blackhole
+     *            the blackhole
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void jacoco(final ReportState state, final Blackhole blackhole) throws ProcessingException, IOException {
+        new JaCoCoParser(state.jacoco.toFile(), state.sourceLoader).parse(new BlackholeSourceCallback(blackhole));
+    }
+
+    /**
+     * Parses the Cobertura report.
+     *
+     * @param state
+     *            the report state
+     * @param blackhole
+     *            the blackhole
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    @SuppressWarnings("removal")
+    public void cobertura(final ReportState state, final Blackhole blackhole) throws ProcessingException, IOException {
+        new CoberturaParser(state.cobertura.toFile(), state.sourceLoader).parse(new BlackholeSourceCallback(blackhole));
+    }
+
+    /**
+     * Parses the Clover report.
+     *
+     * @param state
+     *            the report state
+     * @param blackhole
+     *            the blackhole
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void clover(final ReportState state, final Blackhole blackhole) throws ProcessingException, IOException {
+        new CloverParser(state.clover.toFile(), state.sourceLoader).parse(new BlackholeSourceCallback(blackhole));
+    }
+
+    /**
+     * Parses the Saga report.
+     *
+     * @param state
+     *            the report state
+     * @param blackhole
+     *            the blackhole
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void saga(final ReportState state, final Blackhole blackhole) throws ProcessingException, IOException {
+        new SagaParser(state.saga.toFile(), state.sourceLoader).parse(new BlackholeSourceCallback(blackhole));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.source;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eluder.coveralls.maven.plugin.ReportState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures resolving every source of a multi-module build through the multi source loader, with and without the
+ * path index. The generated sources are spread over the given number of module source roots, so without the index
+ * each lookup checks on average half of the roots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MultiSourceLoaderBenchmark {
+
+    /**
+     * The module source roots.
+     */
+    @State(Scope.Benchmark)
+    public static class ModulesState {
+
+        /** The number of module source roots. */
+        @Param("180")
+        public int modules;
+
+        /** True to use the path index. */
+        @Param({ "true", "false" })
+        public boolean pathIndex;
+
+        /** The source names to look up. */
+        List<String> names;
+
+        /** The module source roots. */
+        List<Path> roots;
+
+        /**
+         * Writes the sources into the module roots.
+         *
+         * @param reports
+         *            the report state
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        @Setup(Level.Trial)
+        public void setUp(final ReportState reports) throws IOException {
+            this.names = new ArrayList<>();
+            this.roots = new ArrayList<>();
+            for (var i = 0; i < this.modules; i++) {
+                this.roots.add(Files.createDirectories(reports.directory.resolve("module" + i + "/src/main/java")));
+            }
+            var i = 0;
+            for (final String name : reports.generator.getSourceNames()) {
+                final var file = this.roots.get(i++ % this.modules).resolve(name);
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, "class Benchmark {\n}\n", StandardCharsets.UTF_8);
+                this.names.add(name);
+            }
+        }
+    }
+
+    /**
+     * Loads every source through a new multi source loader, including building the index.
+     *
+     * @param state
+     *            the modules state
+     * @param reports
+     *            the report state
+     * @param blackhole
+     *            the blackhole
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public void load(final ModulesState state, final ReportState reports, final Blackhole blackhole)
+            throws IOException {
+        final var loader = new MultiSourceLoader().withPathIndex(state.pathIndex);
+        for (final Path root : state.roots) {
+            loader.add(new DirectorySourceLoader(reports.directory.toFile(), root.toFile(), StandardCharsets.UTF_8));
+        }
+        for (final String name : state.names) {
+            blackhole.consume(loader.load(name));
+        }
+    }
+}
@@ -57,4 +57,14 @@ public interface CoverageParser {
      * @return the coverage report file under processing
      */
     File getCoverageFile();
+
+    /**
+     * Gets the size of the coverage data read by this parser.
+     *
+     * @return the size in bytes, by default the length of the coverage file
+     */
+    default long getCoverageSize() {
+        final var coverageFile = this.getCoverageFile();
+        return coverageFile == null ? 0 : coverageFile.length();
+    }
 }
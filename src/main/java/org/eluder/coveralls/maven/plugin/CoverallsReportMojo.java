@@ -26,11 +26,15 @@ package org.eluder.coveralls.maven.plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -38,16 +42,28 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Settings;
+import org.eluder.coveralls.maven.plugin.domain.CoverallsResponse;
 import org.eluder.coveralls.maven.plugin.domain.GitRepository;
 import org.eluder.coveralls.maven.plugin.domain.Job;
 import org.eluder.coveralls.maven.plugin.httpclient.CoverallsClient;
 import org.eluder.coveralls.maven.plugin.httpclient.CoverallsProxyClient;
+import org.eluder.coveralls.maven.plugin.httpclient.RetryPolicy;
+import org.eluder.coveralls.maven.plugin.httpclient.StreamingSubmission;
 import org.eluder.coveralls.maven.plugin.json.JsonWriter;
+import org.eluder.coveralls.maven.plugin.json.ParallelJsonWriter;
 import org.eluder.coveralls.maven.plugin.logging.CoverageTracingLogger;
 import org.eluder.coveralls.maven.plugin.logging.DryRunLogger;
 import org.eluder.coveralls.maven.plugin.logging.JobLogger;
 import org.eluder.coveralls.maven.plugin.logging.Logger;
 import org.eluder.coveralls.maven.plugin.logging.Logger.Position;
+import org.eluder.coveralls.maven.plugin.logging.MetricsLogger;
+import org.eluder.coveralls.maven.plugin.metrics.MeasuredCoverageParser;
+import org.eluder.coveralls.maven.plugin.metrics.MeasuredSourceCallback;
+import org.eluder.coveralls.maven.plugin.metrics.MeasuredSourceLoader;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.eluder.coveralls.maven.plugin.metrics.MetricsWriter;
+import org.eluder.coveralls.maven.plugin.parser.ParallelParserRunner;
 import org.eluder.coveralls.maven.plugin.service.Appveyor;
 import org.eluder.coveralls.maven.plugin.service.Bamboo;
 import org.eluder.coveralls.maven.plugin.service.Circle;
@@ -59,6 +75,7 @@ import org.eluder.coveralls.maven.plugin.service.Shippable;
 import org.eluder.coveralls.maven.plugin.service.Travis;
 import org.eluder.coveralls.maven.plugin.service.Wercker;
 import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.eluder.coveralls.maven.plugin.source.SourceDigestCache;
 import org.eluder.coveralls.maven.plugin.source.SourceLoader;
 import org.eluder.coveralls.maven.plugin.source.UniqueSourceCallback;
 import org.eluder.coveralls.maven.plugin.util.CoverageParsersFactory;
@@ -68,9 +85,18 @@ import org.eluder.coveralls.maven.plugin.util.TimestampParser;
 /**
  * The Class CoverallsReportMojo.
  */
-@Mojo(name = "report", threadSafe = false, aggregator = true)
+@Mojo(name = "report", threadSafe = true, aggregator = true)
 public class CoverallsReportMojo extends AbstractMojo {
 
+    /** The maximum backoff delay between retries of Coveralls API requests. */
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    /** The name of the JSON metrics file written next to the coveralls file. */
+    private static final String METRICS_JSON_FILE = "coveralls-metrics.json";
+
+    /** The name of the Prometheus metrics file written next to the coveralls file. */
+    private static final String METRICS_PROMETHEUS_FILE = "coveralls-metrics.prom";
+
     /**
      * In a Maven Multi-Module project, it's common to configure JaCoCo with a Maven project that's used for aggregating
      * all JaCoCo reports into a single location. In this circumstance use the "jacocoAggregateReport" property so that
@@ -107,6 +133,18 @@ public class CoverallsReportMojo extends AbstractMojo {
     @Parameter(property = "jacocoReports")
     private List<File> jacocoReports;
 
+    /**
+     * Read JaCoCo execution data directly instead of the JaCoCo XML reports, so that <code>jacoco:report</code> does
+     * not need to run. The <code>${project.build.directory}/jacoco.exec</code> and
+     * <code>${project.build.directory}/jacoco-it.exec</code> files of each module are merged and analyzed against the
+     * compiled classes in <code>${project.build.outputDirectory}</code>. Classes are analyzed with the number of parser
+     * threads.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.jacocoExecData", defaultValue = "false")
+    boolean jacocoExecData;
+
     /**
      * File paths to additional Cobertura coverage report files.
      * <p>
@@ -136,12 +174,92 @@ public class CoverallsReportMojo extends AbstractMojo {
     @Parameter(property = "relativeReportDirs")
     private List<String> relativeReportDirs;
 
+    /**
+     * Glob patterns of additional report files, relative to the build and reporting directories of each module, e.g.
+     * <code>coverage/**&#47;*.xml</code>. The directories are walked once and the format of each matching file is
+     * detected from its root element.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.reportPatterns")
+    List<String> reportPatterns;
+
+    /**
+     * Number of threads used to probe the known report locations and walk the report directories of the modules.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.discoveryThreads", defaultValue = "4")
+    int discoveryThreads;
+
     /**
      * File path to write and submit Coveralls data.
      */
     @Parameter(property = "coverallsFile", defaultValue = "${project.build.directory}/coveralls.json")
     File coverallsFile;
 
+    /**
+     * Write the Coveralls data gzip compressed. The data is written to the coveralls file with a ".gz" suffix.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.compress", defaultValue = "false")
+    boolean compress;
+
+    /**
+     * Submit compressed Coveralls data as is with gzip content encoding. By default compressed data is decompressed
+     * while it is submitted, for endpoints that do not support compressed requests.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.gzipEncoding", defaultValue = "false")
+    boolean gzipEncoding;
+
+    /**
+     * Number of times a Coveralls API request is retried after an I/O error, a rate limit or a server error. Retries
+     * are delayed with exponential backoff and jitter, or as requested by a <code>Retry-After</code> header.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.retries", defaultValue = "3")
+    int retries;
+
+    /**
+     * Delay in milliseconds before the first retry, doubled for every further retry up to one minute.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.retryDelayMs", defaultValue = "1000")
+    long retryDelayMs;
+
+    /**
+     * Overall deadline in seconds for all attempts of a Coveralls API request. No retry is started that would end after
+     * the deadline.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.retryDeadlineSeconds", defaultValue = "300")
+    long retryDeadlineSeconds;
+
+    /**
+     * Stream the Coveralls data directly into the submission request while it is generated, instead of writing the
+     * coveralls file first and submitting it afterwards. The streamed request is sent once without retries. Dry runs
+     * always write the coveralls file.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.directSubmit", defaultValue = "false")
+    boolean directSubmit;
+
+    /**
+     * Also write the streamed Coveralls data to the coveralls file when submitting directly. If the streamed submission
+     * fails, the written file is submitted again with retries.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.directSubmitTee", defaultValue = "false")
+    boolean directSubmitTee;
+
     /**
      * Url for the Coveralls API.
      */
@@ -245,6 +363,90 @@ public class CoverallsReportMojo extends AbstractMojo {
     @Parameter(property = "scanForSources", defaultValue = "false")
     private boolean scanForSources;
 
+    /**
+     * File used to cache source file digests and line counts between builds, e.g.
+     * <code>${project.build.directory}/coveralls-digests.txt</code>. Source files with unchanged size, modification
+     * time and file key are not read again. The cache is disabled when not set.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.sourceDigestCache")
+    File sourceDigestCache;
+
+    /**
+     * Number of threads used to parse coverage reports. With the default of one thread the reports are parsed
+     * sequentially on the build thread. The written Coveralls data is the same regardless of the thread count.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.parserThreads", defaultValue = "1")
+    int parserThreads;
+
+    /**
+     * Number of threads used to serialize sources to the coveralls file. With more than one thread the sources are
+     * serialized on a worker pool and written in order by a separate writer thread. The written Coveralls data is the
+     * same regardless of the thread count.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.writerThreads", defaultValue = "1")
+    int writerThreads;
+
+    /**
+     * Memory budget in megabytes for merging sources of multiple coverage reports. When the merged sources exceed the
+     * budget they are spilled to temporary files next to the coveralls file and merged back when written. With the
+     * default of zero all sources are merged in memory. The written Coveralls data is the same in both modes.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.mergeMemoryMb", defaultValue = "0")
+    int mergeMemoryMb;
+
+    /**
+     * Zero based index of the shard processed by this execution. Projects of the reactor and explicitly configured
+     * reports are assigned to shards round robin. Each shard submits its own parallel job, a shard without reports
+     * skips the submission. The build is closed with {@link #parallelFinish}.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.shardIndex", defaultValue = "0")
+    int shardIndex;
+
+    /**
+     * Total number of shards. With more than one shard the submitted jobs are marked as parallel.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.shardCount", defaultValue = "1")
+    int shardCount;
+
+    /**
+     * Close the parallel build instead of submitting coverage. Run once after all shards or parallel jobs have been
+     * submitted, with the same service build number.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.parallelFinish", defaultValue = "false")
+    boolean parallelFinish;
+
+    /**
+     * Write the timing and throughput metrics of the report phases as JSON to <code>coveralls-metrics.json</code> next
+     * to the coveralls file.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.metricsJson", defaultValue = "false")
+    boolean metricsJson;
+
+    /**
+     * Write the timing and throughput metrics of the report phases in the Prometheus text format to
+     * <code>coveralls-metrics.prom</code> next to the coveralls file, e.g. for the node exporter textfile collector.
+     *
+     * @since 5.0.1
+     */
+    @Parameter(property = "coveralls.metricsPrometheus", defaultValue = "false")
+    boolean metricsPrometheus;
+
     /**
      * Base directory of the project.
      */
@@ -269,6 +471,12 @@ public class CoverallsReportMojo extends AbstractMojo {
     @Parameter(defaultValue = "${project}", readonly = true)
     MavenProject project;
 
+    /** The loaded source digest cache, or null if disabled. */
+    private SourceDigestCache digestCache;
+
+    /** The metrics of the current execution. */
+    private Metrics metrics = new Metrics();
+
     /**
      * Instantiates a new coveralls report mojo.
      */
@@ -283,21 +491,51 @@ public class CoverallsReportMojo extends AbstractMojo {
             return;
         }
 
+        this.metrics = new Metrics();
         try {
             this.createEnvironment().setup();
 
             final var job = this.createJob();
             job.validate().throwOrInform(this.getLog());
 
-            final var sourceLoader = this.createSourceLoader(job);
+            if (this.parallelFinish) {
+                this.finishParallel(this.createCoverallsClient(), job);
+                return;
+            }
 
-            final var parsers = this.createCoverageParsers(sourceLoader);
+            if (this.sourceDigestCache != null) {
+                this.digestCache = SourceDigestCache.load(this.sourceDigestCache.toPath(),
+                        Charset.forName(this.sourceEncoding));
+            }
+            final var sourceLoader = new MeasuredSourceLoader(this.createSourceLoader(job), this.metrics);
+
+            final var discoveryStart = System.nanoTime();
+            final List<CoverageParser> parsers = new ArrayList<>();
+            for (final CoverageParser parser : this.createCoverageParsers(sourceLoader)) {
+                parsers.add(new MeasuredCoverageParser(parser, this.metrics, sourceLoader));
+            }
+            this.metrics.time(Phase.DISCOVERY, System.nanoTime() - discoveryStart);
+            this.metrics.count(Phase.DISCOVERY, Metrics.FILES, parsers.size());
+            this.getLog().info("Discovered " + parsers.size() + " coverage reports in "
+                    + this.metrics.getMillis(Phase.DISCOVERY) + "ms");
+            if (parsers.isEmpty()) {
+                // only a sharded execution may find no reports, the other shards submit the coverage
+                this.getLog().info("No coverage reports found for shard " + this.shardIndex + "/" + this.shardCount
+                        + ", skipping submission");
+                return;
+            }
 
             final var client = this.createCoverallsClient();
 
             final List<Logger> reporters = new ArrayList<>();
             reporters.add(new JobLogger(job));
 
+            if (this.directSubmit && !job.isDryRun()) {
+                this.writeAndSubmitDirect(job, client, reporters, parsers);
+                this.reportMetrics();
+                return;
+            }
+
             try (var writer = this.createJsonWriter(job)) {
                 // For tests (its the same instance as in writer)
                 this.coverallsFile = writer.getCoverallsFile();
@@ -309,10 +547,13 @@ public class CoverallsReportMojo extends AbstractMojo {
                 this.writeCoveralls(writer, sourceCallback, parsers);
                 this.report(reporters, Position.AFTER);
             }
+            this.metrics.count(Phase.WRITE, Metrics.BYTES, this.coverallsFile.length());
+            this.saveDigestCache();
 
             if (!job.isDryRun()) {
                 this.submitData(client, this.coverallsFile);
             }
+            this.reportMetrics();
         } catch (final ProcessingException e) {
             throw new MojoFailureException("Processing of input or output data failed", e);
         } catch (final IOException e) {
@@ -337,7 +578,10 @@ public class CoverallsReportMojo extends AbstractMojo {
         return new CoverageParsersFactory(this.project, sourceLoader).withJaCoCoReports(this.jacocoReports)
                 .withJacocoAggregateReport(this.jacocoAggregateReport).withCoberturaReports(this.coberturaReports)
                 .withSagaReports(this.sagaReports).withCloverReports(this.cloverReports)
-                .withRelativeReportDirs(this.relativeReportDirs).createParsers();
+                .withRelativeReportDirs(this.relativeReportDirs).withReportPatterns(this.reportPatterns)
+                .withDiscoveryThreads(Math.max(1, this.discoveryThreads)).withJaCoCoExecData(this.jacocoExecData)
+                .withAnalyzerThreads(Math.max(1, this.parserThreads))
+                .withShard(this.shardIndex, Math.max(1, this.shardCount)).createParsers();
     }
 
     /**
@@ -351,7 +595,45 @@ public class CoverallsReportMojo extends AbstractMojo {
     protected SourceLoader createSourceLoader(final Job job) {
         return new SourceLoaderFactory(job.getGit().getBaseDir(), this.project, Charset.forName(this.sourceEncoding))
                 .withSourceDirectories(this.sourceDirectories).withScanForSources(this.scanForSources)
-                .createSourceLoader();
+                .withDigestCache(this.digestCache).createSourceLoader();
+    }
+
+    /**
+     * Saves the source digest cache. Failing to save the cache does not fail the build.
+     */
+    private void saveDigestCache() {
+        if (this.digestCache != null) {
+            this.metrics.count(Phase.SOURCES, Metrics.CACHE_HITS, this.digestCache.getHits());
+            this.metrics.count(Phase.SOURCES, Metrics.CACHE_MISSES, this.digestCache.getMisses());
+            try {
+                this.digestCache.save();
+            } catch (final IOException e) {
+                this.getLog().warn("Failed to save source digest cache " + this.sourceDigestCache, e);
+            }
+        }
+    }
+
+    /**
+     * Logs the metrics of the execution and writes them to the configured metrics files. Failing to write the metrics
+     * does not fail the build.
+     */
+    private void reportMetrics() {
+        new MetricsLogger(this.metrics).log(this.getLog());
+        if (!this.metricsJson && !this.metricsPrometheus) {
+            return;
+        }
+        final var directory = this.coverallsFile.getAbsoluteFile().getParentFile();
+        final var writer = new MetricsWriter(this.metrics);
+        try {
+            if (this.metricsJson) {
+                writer.writeJson(new File(directory, CoverallsReportMojo.METRICS_JSON_FILE));
+            }
+            if (this.metricsPrometheus) {
+                writer.writePrometheus(new File(directory, CoverallsReportMojo.METRICS_PROMETHEUS_FILE));
+            }
+        } catch (final IOException e) {
+            this.getLog().warn("Failed to write Coveralls metrics to " + directory, e);
+        }
     }
 
     /**
@@ -394,7 +676,9 @@ public class CoverallsReportMojo extends AbstractMojo {
      *             if an I/O error occurs
      */
     protected Job createJob() throws ProcessingException, IOException {
+        final var gitStart = System.nanoTime();
         final var git = new GitRepository(this.basedir).load();
+        this.metrics.time(Phase.GIT, System.nanoTime() - gitStart);
         final var time = this.timestamp == null ? null
                 : new TimestampParser(this.timestampFormat).parse(this.timestamp).toEpochMilli();
 
@@ -405,6 +689,7 @@ public class CoverallsReportMojo extends AbstractMojo {
         this.getLog().info("  serviceBuildNumber: " + this.serviceBuildNumber);
         this.getLog().info("  serviceBuildUrl: " + this.serviceBuildUrl);
         this.getLog().info("  parallel: " + this.parallel);
+        this.getLog().info("  shard: " + this.shardIndex + "/" + this.shardCount);
         this.getLog().info("  branch: " + this.branch);
         this.getLog().info("  pullRequest: " + this.pullRequest);
         this.getLog().info("  timestamp: " + time);
@@ -416,7 +701,7 @@ public class CoverallsReportMojo extends AbstractMojo {
 
         return new Job().withRepoToken(this.repoToken).withServiceName(this.serviceName)
                 .withServiceJobId(this.serviceJobId).withServiceBuildNumber(this.serviceBuildNumber)
-                .withServiceBuildUrl(this.serviceBuildUrl).withParallel(this.parallel)
+                .withServiceBuildUrl(this.serviceBuildUrl).withParallel(this.parallel || this.shardCount > 1)
                 .withServiceEnvironment(this.serviceEnvironment).withDryRun(this.dryRun).withBranch(this.branch)
                 .withPullRequest(this.pullRequest).withTimestamp(time).withGit(git);
     }
@@ -433,7 +718,55 @@ public class CoverallsReportMojo extends AbstractMojo {
      *             if an I/O error occurs
      */
     protected JsonWriter createJsonWriter(final Job job) throws IOException {
-        return new JsonWriter(job, this.coverallsFile);
+        var file = this.coverallsFile;
+        if (this.compress && !file.getName().endsWith(".gz")) {
+            file = new File(file.getPath() + ".gz");
+        }
+        if (this.writerThreads > 1) {
+            return new ParallelJsonWriter(job, file, this.compress, this.writerThreads);
+        }
+        return new JsonWriter(job, file, this.compress);
+    }
+
+    /**
+     * Creates the json writer that streams the coveralls data into a submission.
+     *
+     * @param job
+     *            the job describing the coveralls report
+     * @param submission
+     *            the streaming submission
+     *
+     * @return JSON writer that writes the coveralls data
+     *
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    protected JsonWriter createStreamingJsonWriter(final Job job, final StreamingSubmission submission)
+            throws IOException {
+        final var gzip = this.isDirectSubmitCompressed();
+        OutputStream out = submission.getOutputStream();
+        File file = null;
+        if (this.directSubmitTee) {
+            file = this.coverallsFile;
+            if (gzip && !file.getName().endsWith(".gz")) {
+                file = new File(file.getPath() + ".gz");
+            }
+            out = new TeeOutputStream(out, JsonWriter.open(file));
+        }
+        if (this.writerThreads > 1) {
+            return new ParallelJsonWriter(job, out, file, gzip, this.writerThreads);
+        }
+        return new JsonWriter(job, out, file, gzip);
+    }
+
+    /**
+     * Checks if directly submitted data is gzip compressed. Streamed data can only be sent compressed with gzip content
+     * encoding.
+     *
+     * @return true, if compressed
+     */
+    private boolean isDirectSubmitCompressed() {
+        return this.compress && this.gzipEncoding;
     }
 
     /**
@@ -442,7 +775,11 @@ public class CoverallsReportMojo extends AbstractMojo {
      * @return http client that submits the coveralls data
      */
     protected CoverallsClient createCoverallsClient() {
-        return new CoverallsProxyClient(this.coverallsUrl, this.settings.getActiveProxy());
+        final var retryPolicy = new RetryPolicy(Math.max(0, this.retries),
+                Duration.ofMillis(Math.max(0, this.retryDelayMs)), CoverallsReportMojo.MAX_RETRY_DELAY,
+                Duration.ofSeconds(Math.max(0, this.retryDeadlineSeconds)));
+        return new CoverallsProxyClient(this.coverallsUrl, this.settings.getActiveProxy())
+                .gzipEncoding(this.gzipEncoding).retryPolicy(retryPolicy).log(this.getLog());
     }
 
     /**
@@ -456,13 +793,22 @@ public class CoverallsReportMojo extends AbstractMojo {
      * @return source callback chain for different source handlers
      */
     protected SourceCallback createSourceCallbackChain(final JsonWriter writer, final List<Logger> reporters) {
-        SourceCallback chain = writer;
+        final var write = new MeasuredSourceCallback(writer, this.metrics, Phase.WRITE);
+        SourceCallback chain = write;
         if (this.getLog().isInfoEnabled()) {
             final var coverageTracingReporter = new CoverageTracingLogger(chain);
             chain = coverageTracingReporter;
             reporters.add(coverageTracingReporter);
         }
-        return new UniqueSourceCallback(chain);
+        final UniqueSourceCallback unique;
+        if (this.mergeMemoryMb > 0) {
+            unique = new UniqueSourceCallback(chain, this.mergeMemoryMb * 1024L * 1024L,
+                    this.coverallsFile.getAbsoluteFile().getParentFile().toPath());
+        } else {
+            unique = new UniqueSourceCallback(chain);
+        }
+        // merge time excludes the time spent writing the merged sources
+        return new MeasuredSourceCallback(unique, this.metrics, Phase.MERGE, write);
     }
 
     /**
@@ -482,18 +828,114 @@ public class CoverallsReportMojo extends AbstractMojo {
      */
     protected void writeCoveralls(final JsonWriter writer, final SourceCallback sourceCallback,
             final List<CoverageParser> parsers) throws ProcessingException, IOException {
-        this.getLog().info("Writing Coveralls data to " + this.coverallsFile.getAbsolutePath() + "...");
+        final var target = writer.getCoverallsFile() != null ? writer.getCoverallsFile().getAbsolutePath()
+                : "Coveralls API";
+        this.getLog().info("Writing Coveralls data to " + target + "...");
         final var now = System.currentTimeMillis();
         sourceCallback.onBegin();
-        for (final CoverageParser parser : parsers) {
-            this.getLog().info("Processing coverage report from " + parser.getCoverageFile().getAbsolutePath());
-            parser.parse(sourceCallback);
+        if (this.parserThreads > 1 && parsers.size() > 1) {
+            new ParallelParserRunner(Math.min(this.parserThreads, parsers.size()), this.getLog()).run(parsers,
+                    sourceCallback);
+        } else {
+            for (final CoverageParser parser : parsers) {
+                this.getLog().info("Processing coverage report from " + parser.getCoverageFile().getAbsolutePath());
+                parser.parse(sourceCallback);
+            }
         }
         sourceCallback.onComplete();
         final var duration = System.currentTimeMillis() - now;
         this.getLog().info("Successfully wrote Coveralls data in " + duration + "ms");
     }
 
+    /**
+     * Writes coverage data directly into a submission request that is sent while the data is generated.
+     *
+     * @param job
+     *            the job describing the coveralls report
+     * @param client
+     *            the client
+     * @param reporters
+     *            the reporters
+     * @param parsers
+     *            list of coverage parsers
+     *
+     * @throws ProcessingException
+     *             if processing of the coverage data or the submission fails
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    private void writeAndSubmitDirect(final Job job, final CoverallsClient client, final List<Logger> reporters,
+            final List<CoverageParser> parsers) throws ProcessingException, IOException {
+        this.getLog().info("Streaming Coveralls data to API");
+        final var now = System.currentTimeMillis();
+        final var submission = client.openSubmission(this.isDirectSubmitCompressed());
+        File teeFile = null;
+        var written = false;
+        var aborted = false;
+        try (var writer = this.createStreamingJsonWriter(job, submission)) {
+            teeFile = writer.getCoverallsFile();
+            // Failures abort the submission before the writer is closed, as closing the writer completes the JSON
+            // document and ends the request body, which would submit the partial data.
+            try {
+                final var sourceCallback = this.createSourceCallbackChain(writer, reporters);
+                this.report(reporters, Position.BEFORE);
+                this.writeCoveralls(writer, sourceCallback, parsers);
+                this.report(reporters, Position.AFTER);
+                written = true;
+            } catch (final IOException e) {
+                if (!submission.isDone()) {
+                    aborted = true;
+                    submission.abort();
+                    throw e;
+                }
+                // the request ended before all data was streamed, its outcome is reported below
+                this.getLog().debug("Streaming Coveralls data stopped", e);
+            } catch (final ProcessingException | RuntimeException e) {
+                aborted = true;
+                submission.abort();
+                throw e;
+            }
+        } catch (final IOException e) {
+            if (aborted) {
+                throw e;
+            }
+            if (!submission.isDone()) {
+                submission.abort();
+                throw e;
+            }
+            this.getLog().debug("Streaming Coveralls data stopped", e);
+        }
+        this.saveDigestCache();
+        if (teeFile != null) {
+            this.metrics.count(Phase.WRITE, Metrics.BYTES, teeFile.length());
+        }
+
+        try {
+            final var response = submission.complete();
+            final var duration = System.currentTimeMillis() - now;
+            this.metrics.time(Phase.SUBMIT, TimeUnit.MILLISECONDS.toNanos(duration));
+            this.logSubmitted(response, duration);
+        } catch (final ProcessingException e) {
+            final var duration = System.currentTimeMillis() - now;
+            final var message = "Streaming submission failed in " + duration + "ms while processing data";
+            this.handleSubmissionError(e, message, true);
+        } catch (final IOException e) {
+            final var duration = System.currentTimeMillis() - now;
+            if (written && teeFile != null) {
+                this.getLog().warn("Streaming submission failed in " + duration + "ms, submitting " + teeFile, e);
+                this.submitData(client, teeFile);
+                return;
+            }
+            final var message = "Streaming submission failed in " + duration + "ms while handling I/O operations";
+            this.handleSubmissionError(e, message, this.failOnServiceError);
+        } catch (final InterruptedException e) {
+            final var duration = System.currentTimeMillis() - now;
+            final var message = "Streaming submission failed in " + duration + "ms due to an interuption";
+            this.getLog().error(message, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Submit data.
      *
@@ -514,11 +956,9 @@ public class CoverallsReportMojo extends AbstractMojo {
         try {
             final var response = client.submit(coverallsFile);
             final var duration = System.currentTimeMillis() - now;
-            this.getLog()
-                    .info("Successfully submitted Coveralls data in " + duration + "ms for " + response.getMessage());
-            this.getLog().info(response.getUrl());
-            this.getLog().info("*** Coverage results are usually available immediately on Coveralls.");
-            this.getLog().info("    If you see question marks or missing data, please allow some time for processing.");
+            this.metrics.time(Phase.SUBMIT, TimeUnit.MILLISECONDS.toNanos(duration));
+            this.metrics.count(Phase.SUBMIT, Metrics.BYTES, coverallsFile.length());
+            this.logSubmitted(response, duration);
         } catch (final ProcessingException e) {
             final var duration = System.currentTimeMillis() - now;
             final var message = "Submission failed in " + duration + "ms while processing data";
@@ -535,6 +975,67 @@ public class CoverallsReportMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Logs a successful submission.
+     *
+     * @param response
+     *            the response
+     * @param duration
+     *            the duration of the submission in milliseconds
+     */
+    private void logSubmitted(final CoverallsResponse response, final long duration) {
+        this.getLog().info("Successfully submitted Coveralls data in " + duration + "ms for " + response.getMessage());
+        this.getLog().info(response.getUrl());
+        this.getLog().info("*** Coverage results are usually available immediately on Coveralls.");
+        this.getLog().info("    If you see question marks or missing data, please allow some time for processing.");
+    }
+
+    /**
+     * Closes the parallel build of the job.
+     *
+     * @param client
+     *            the client
+     * @param job
+     *            the job describing the parallel build
+     *
+     * @throws ProcessingException
+     *             if the job has no service build number or the webhook call fails
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void finishParallel(final CoverallsClient client, final Job job) throws ProcessingException, IOException {
+        if (job.getServiceBuildNumber() == null || job.getServiceBuildNumber().isBlank()) {
+            throw new ProcessingException("Service build number is required to finish a parallel build");
+        }
+        if (job.isDryRun()) {
+            this.getLog().info("Dry run enabled, parallel build " + job.getServiceBuildNumber() + " is not closed");
+            return;
+        }
+        this.getLog().info("Closing parallel build " + job.getServiceBuildNumber());
+        final var now = System.currentTimeMillis();
+        try {
+            final var response = client.finishParallel(job.getRepoToken(), job.getServiceBuildNumber());
+            final var duration = System.currentTimeMillis() - now;
+            this.getLog().info("Successfully closed parallel build in " + duration + "ms");
+            if (response.getUrl() != null) {
+                this.getLog().info(response.getUrl());
+            }
+        } catch (final ProcessingException e) {
+            final var duration = System.currentTimeMillis() - now;
+            final var message = "Closing parallel build failed in " + duration + "ms while processing data";
+            this.handleSubmissionError(e, message, true);
+        } catch (final IOException e) {
+            final var duration = System.currentTimeMillis() - now;
+            final var message = "Closing parallel build failed in " + duration + "ms while handling I/O operations";
+            this.handleSubmissionError(e, message, this.failOnServiceError);
+        } catch (final InterruptedException e) {
+            final var duration = System.currentTimeMillis() - now;
+            final var message = "Closing parallel build failed in " + duration + "ms due to an interuption";
+            this.getLog().error(message, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Handle submission error.
      *
@@ -0,0 +1,277 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Insertion ordered branch storage with a hash index on line, block and branch number. Branches are kept in a flat int
+ * array, four values per branch. Replacing a branch removes the old entry and appends the new one to the end, so the
+ * iteration order is the same as with a list where the duplicate is removed and the replacement added last.
+ */
+final class BranchTable implements Serializable {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /** Number of int values stored per branch. */
+    private static final int FIELDS = 4;
+
+    /** Initial branch capacity. */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Line number marker for removed branches. */
+    private static final int REMOVED = Integer.MIN_VALUE;
+
+    /** The branch data as line, block, branch and hits for each slot. */
+    private int[] data;
+
+    /** Number of used slots, including removed ones. */
+    private int size;
+
+    /** Number of removed slots. */
+    private int removed;
+
+    /** Open addressing hash index containing slot + 1, or 0 for an empty bucket. */
+    private int[] index;
+
+    /**
+     * Instantiates a new empty branch table.
+     */
+    BranchTable() {
+        this.data = new int[BranchTable.INITIAL_CAPACITY * BranchTable.FIELDS];
+        this.index = new int[BranchTable.INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Instantiates a new branch table with the contents of another table.
+     *
+     * @param other
+     *            the table to copy
+     */
+    BranchTable(final BranchTable other) {
+        this.data = other.data.clone();
+        this.size = other.size;
+        this.removed = other.removed;
+        this.index = other.index.clone();
+    }
+
+    /**
+     * Gets the number of branches.
+     *
+     * @return the number of branches
+     */
+    int size() {
+        return this.size - this.removed;
+    }
+
+    /**
+     * Adds a branch. An existing branch with the same line, block and branch number is removed and the new branch is
+     * appended to the end.
+     *
+     * @param lineNumber
+     *            the line number
+     * @param blockNumber
+     *            the block number
+     * @param branchNumber
+     *            the branch number
+     * @param hits
+     *            the hits
+     * @param merge
+     *            true to add the hits of an existing branch to the new one
+     */
+    void put(final int lineNumber, final int blockNumber, final int branchNumber, final int hits, final boolean merge) {
+        if (this.size * BranchTable.FIELDS == this.data.length) {
+            this.resize();
+        }
+        final var bucket = this.locate(lineNumber, blockNumber, branchNumber);
+        var hitSum = hits;
+        final var existing = this.index[bucket] - 1;
+        if (existing >= 0) {
+            final var offset = existing * BranchTable.FIELDS;
+            if (merge) {
+                hitSum += this.data[offset + 3];
+            }
+            this.data[offset] = BranchTable.REMOVED;
+            this.removed++;
+        }
+        final var slot = this.size++;
+        final var offset = slot * BranchTable.FIELDS;
+        this.data[offset] = lineNumber;
+        this.data[offset + 1] = blockNumber;
+        this.data[offset + 2] = branchNumber;
+        this.data[offset + 3] = hitSum;
+        this.index[bucket] = slot + 1;
+    }
+
+    /**
+     * Merges the branches of a newer table into this table. The result is the same as copying the newer table and
+     * putting all branches of this table into the copy with merge: branches only found in the newer table come first,
+     * followed by the branches of this table with the hits of both tables summed. When the newer table has no branches
+     * missing from this table, the hits are added in place without reordering or allocation.
+     *
+     * @param newer
+     *            the newer table
+     */
+    void mergeNewer(final BranchTable newer) {
+        final var end = newer.size * BranchTable.FIELDS;
+        var missing = 0;
+        for (var offset = 0; offset < end; offset += BranchTable.FIELDS) {
+            if (newer.data[offset] != BranchTable.REMOVED && this.index[this.locate(newer.data[offset],
+                    newer.data[offset + 1], newer.data[offset + 2])] == 0) {
+                missing++;
+            }
+        }
+        if (missing == 0) {
+            for (var offset = 0; offset < end; offset += BranchTable.FIELDS) {
+                if (newer.data[offset] != BranchTable.REMOVED) {
+                    final var slot = this.index[this.locate(newer.data[offset], newer.data[offset + 1],
+                            newer.data[offset + 2])] - 1;
+                    this.data[slot * BranchTable.FIELDS + 3] += newer.data[offset + 3];
+                }
+            }
+            return;
+        }
+        final var merged = new BranchTable(newer);
+        final var values = this.toArray();
+        for (var offset = 0; offset < values.length; offset += BranchTable.FIELDS) {
+            merged.put(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], true);
+        }
+        this.data = merged.data;
+        this.size = merged.size;
+        this.removed = merged.removed;
+        this.index = merged.index;
+    }
+
+    /**
+     * Gets the branches in insertion order as line, block, branch and hits values.
+     *
+     * @return the branch values, four for each branch
+     */
+    int[] toArray() {
+        if (this.removed == 0) {
+            return Arrays.copyOf(this.data, this.size * BranchTable.FIELDS);
+        }
+        final var values = new int[this.size() * BranchTable.FIELDS];
+        var target = 0;
+        for (var offset = 0; offset < this.size * BranchTable.FIELDS; offset += BranchTable.FIELDS) {
+            if (this.data[offset] != BranchTable.REMOVED) {
+                System.arraycopy(this.data, offset, values, target, BranchTable.FIELDS);
+                target += BranchTable.FIELDS;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Passes the branches in insertion order to the consumer without allocation.
+     *
+     * @param consumer
+     *            the branch consumer
+     *
+     * @throws IOException
+     *             if the consumer fails
+     */
+    void forEach(final Source.BranchConsumer consumer) throws IOException {
+        final var end = this.size * BranchTable.FIELDS;
+        for (var offset = 0; offset < end; offset += BranchTable.FIELDS) {
+            if (this.data[offset] != BranchTable.REMOVED) {
+                consumer.accept(this.data[offset], this.data[offset + 1], this.data[offset + 2], this.data[offset + 3]);
+            }
+        }
+    }
+
+    /**
+     * Locates the index bucket of a branch. The bucket is either empty or contains the slot of the branch.
+     *
+     * @param lineNumber
+     *            the line number
+     * @param blockNumber
+     *            the block number
+     * @param branchNumber
+     *            the branch number
+     *
+     * @return the index bucket
+     */
+    private int locate(final int lineNumber, final int blockNumber, final int branchNumber) {
+        final var mask = this.index.length - 1;
+        var bucket = BranchTable.hash(lineNumber, blockNumber, branchNumber) & mask;
+        while (this.index[bucket] != 0) {
+            final var offset = (this.index[bucket] - 1) * BranchTable.FIELDS;
+            if (this.data[offset] == lineNumber && this.data[offset + 1] == blockNumber
+                    && this.data[offset + 2] == branchNumber) {
+                return bucket;
+            }
+            bucket = bucket + 1 & mask;
+        }
+        return bucket;
+    }
+
+    /**
+     * Makes room for a new branch. Removed slots are compacted away if they take at least half of the storage,
+     * otherwise the storage is doubled. The hash index is rebuilt in both cases.
+     */
+    private void resize() {
+        if (this.removed * 2 >= this.size) {
+            final var live = this.toArray();
+            this.data = Arrays.copyOf(live, this.data.length);
+            this.size = live.length / BranchTable.FIELDS;
+            this.removed = 0;
+        } else {
+            this.data = Arrays.copyOf(this.data, this.data.length * 2);
+        }
+        this.index = new int[this.data.length / BranchTable.FIELDS * 2];
+        final var mask = this.index.length - 1;
+        for (var slot = 0; slot < this.size; slot++) {
+            final var offset = slot * BranchTable.FIELDS;
+            if (this.data[offset] != BranchTable.REMOVED) {
+                var bucket = BranchTable.hash(this.data[offset], this.data[offset + 1], this.data[offset + 2]) & mask;
+                while (this.index[bucket] != 0) {
+                    bucket = bucket + 1 & mask;
+                }
+                this.index[bucket] = slot + 1;
+            }
+        }
+    }
+
+    /**
+     * Hashes the branch key.
+     *
+     * @param lineNumber
+     *            the line number
+     * @param blockNumber
+     *            the block number
+     * @param branchNumber
+     *            the branch number
+     *
+     * @return the hash
+     */
+    private static int hash(final int lineNumber, final int blockNumber, final int branchNumber) {
+        final var h = ((lineNumber * 31 + blockNumber) * 31 + branchNumber) * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+}
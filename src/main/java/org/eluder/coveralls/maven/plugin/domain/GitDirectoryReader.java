@@ -0,0 +1,537 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Reads git metadata directly from the repository files without opening the repository with JGit. Only
+ * <code>HEAD</code>, the refs it points to, the single head commit object and the repository config are read.
+ * <p>
+ * Repositories using features this reader does not implement, such as reftables, SHA-256 object ids, config includes or
+ * alternate object directories, are reported as unsupported so that the caller can fall back to JGit.
+ */
+final class GitDirectoryReader {
+
+    /** The git directory name. */
+    private static final String DOT_GIT = ".git";
+
+    /** The head reference name. */
+    private static final String HEAD = "HEAD";
+
+    /** The symbolic reference prefix. */
+    private static final String SYMREF_PREFIX = "ref: ";
+
+    /** The git directory file prefix. */
+    private static final String GITDIR_PREFIX = "gitdir: ";
+
+    /** The prefixes stripped from branch names, as in JGit. */
+    private static final String[] SHORTEN_PREFIXES = { "refs/heads/", "refs/tags/", "refs/remotes/" };
+
+    /** The reference prefixes stored per worktree. */
+    private static final String[] WORKTREE_REF_PREFIXES = { "refs/worktree/", "refs/bisect/", "refs/rewritten/" };
+
+    /** The maximum number of symbolic references followed. */
+    private static final int MAX_SYMREF_DEPTH = 5;
+
+    /** Pattern for SHA-1 object ids. */
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-f]{40}");
+
+    /** Pattern for config section headers with an optional subsection. */
+    private static final Pattern SECTION = Pattern
+            .compile("\\[\\s*([A-Za-z0-9.-]+?)\\s*(?:\"((?:[^\"\\\\]|\\\\.)*)\")?\\s*\\]\\s*(?:[#;].*)?");
+
+    /** The source directory. */
+    private final File sourceDirectory;
+
+    /**
+     * Instantiates a new git directory reader.
+     *
+     * @param sourceDirectory
+     *            the source directory
+     */
+    GitDirectoryReader(final File sourceDirectory) {
+        this.sourceDirectory = sourceDirectory;
+    }
+
+    /**
+     * Reads the git metadata.
+     *
+     * @return the git, or <code>null</code> if the repository is not supported by this reader
+     */
+    Git read() {
+        try {
+            return this.readRepository();
+        } catch (final IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Locates the repository and reads the git metadata.
+     *
+     * @return the git, or <code>null</code> if the repository is not supported by this reader
+     *
+     * @throws IOException
+     *             if the repository files cannot be read
+     */
+    private Git readRepository() throws IOException {
+        Path workTree = null;
+        Path gitDirectory = null;
+        for (var directory = this.sourceDirectory.toPath(); directory != null; directory = directory.getParent()) {
+            final var dotGit = directory.resolve(GitDirectoryReader.DOT_GIT);
+            if (Files.isDirectory(dotGit)) {
+                gitDirectory = dotGit;
+            } else if (Files.isRegularFile(dotGit)) {
+                gitDirectory = GitDirectoryReader.readGitFile(dotGit);
+            } else if (Files.isRegularFile(directory.resolve(GitDirectoryReader.HEAD))) {
+                // possibly a bare repository
+                return null;
+            }
+            if (gitDirectory != null) {
+                workTree = directory;
+                break;
+            }
+        }
+        if (gitDirectory == null) {
+            return null;
+        }
+        var commonDirectory = gitDirectory;
+        final var commonDir = gitDirectory.resolve("commondir");
+        if (Files.isRegularFile(commonDir)) {
+            commonDirectory = gitDirectory.resolve(GitDirectoryReader.readLine(commonDir)).normalize();
+        }
+        if (Files.exists(commonDirectory.resolve("reftable"))
+                || Files.exists(commonDirectory.resolve("objects/info/alternates"))) {
+            return null;
+        }
+        final var remotes = GitDirectoryReader.readRemotes(commonDirectory.resolve("config"));
+        if (remotes == null) {
+            return null;
+        }
+
+        final var headRef = GitDirectoryReader.readLine(gitDirectory.resolve(GitDirectoryReader.HEAD));
+        final String branch;
+        if (headRef.startsWith(GitDirectoryReader.SYMREF_PREFIX)) {
+            branch = GitDirectoryReader.shortenRefName(headRef.substring(GitDirectoryReader.SYMREF_PREFIX.length()));
+        } else {
+            branch = headRef;
+        }
+        final var id = GitDirectoryReader.resolve(gitDirectory, commonDirectory, headRef, 0);
+        if (id == null) {
+            return null;
+        }
+        final var commit = new GitObjectReader(commonDirectory.resolve("objects")).read(id);
+        if (commit == null || commit.getType() != GitObjectReader.OBJ_COMMIT) {
+            return null;
+        }
+        final var head = GitDirectoryReader.parseCommit(id, commit.getData());
+        if (head == null) {
+            return null;
+        }
+        return new Git(workTree.toFile(), head, branch, remotes);
+    }
+
+    /**
+     * Reads the git directory from a <code>.git</code> file, as used by worktrees and submodules.
+     *
+     * @param dotGit
+     *            the <code>.git</code> file
+     *
+     * @return the git directory, or <code>null</code> if the file is not a git directory link
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    private static Path readGitFile(final Path dotGit) throws IOException {
+        final var line = GitDirectoryReader.readLine(dotGit);
+        if (!line.startsWith(GitDirectoryReader.GITDIR_PREFIX)) {
+            return null;
+        }
+        final var gitDirectory = dotGit.resolveSibling(line.substring(GitDirectoryReader.GITDIR_PREFIX.length()))
+                .normalize();
+        return Files.isDirectory(gitDirectory) ? gitDirectory : null;
+    }
+
+    /**
+     * Resolves a reference value to an object id, following symbolic references.
+     *
+     * @param gitDirectory
+     *            the git directory
+     * @param commonDirectory
+     *            the common git directory
+     * @param value
+     *            the reference value, either an object id or a symbolic reference
+     * @param depth
+     *            the number of symbolic references followed
+     *
+     * @return the object id, or <code>null</code> if the reference cannot be resolved
+     *
+     * @throws IOException
+     *             if the references cannot be read
+     */
+    private static String resolve(final Path gitDirectory, final Path commonDirectory, final String value,
+            final int depth) throws IOException {
+        if (!value.startsWith(GitDirectoryReader.SYMREF_PREFIX)) {
+            return GitDirectoryReader.OBJECT_ID.matcher(value).matches() ? value : null;
+        }
+        if (depth >= GitDirectoryReader.MAX_SYMREF_DEPTH) {
+            return null;
+        }
+        final var name = value.substring(GitDirectoryReader.SYMREF_PREFIX.length());
+        if (!name.startsWith("refs/") || name.contains("..")) {
+            return null;
+        }
+        var refDirectory = commonDirectory;
+        for (final String prefix : GitDirectoryReader.WORKTREE_REF_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                refDirectory = gitDirectory;
+            }
+        }
+        final var loose = refDirectory.resolve(name);
+        if (Files.isRegularFile(loose)) {
+            return GitDirectoryReader.resolve(gitDirectory, commonDirectory, GitDirectoryReader.readLine(loose),
+                    depth + 1);
+        }
+        return GitDirectoryReader.readPackedRef(commonDirectory.resolve("packed-refs"), name);
+    }
+
+    /**
+     * Reads a reference from the packed references file.
+     *
+     * @param packedRefs
+     *            the packed references file
+     * @param name
+     *            the reference name
+     *
+     * @return the object id, or <code>null</code> if the reference is not packed
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    private static String readPackedRef(final Path packedRefs, final String name) throws IOException {
+        if (!Files.isRegularFile(packedRefs)) {
+            return null;
+        }
+        try (var lines = Files.lines(packedRefs, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.startsWith("#") && !line.startsWith("^"))
+                    .filter(line -> line.length() > 41 && line.charAt(40) == ' ' && line.substring(41).equals(name))
+                    .map(line -> line.substring(0, 40)).filter(id -> GitDirectoryReader.OBJECT_ID.matcher(id).matches())
+                    .findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Shortens a reference name the same way as JGit.
+     *
+     * @param name
+     *            the reference name
+     *
+     * @return the short name
+     */
+    private static String shortenRefName(final String name) {
+        for (final String prefix : GitDirectoryReader.SHORTEN_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return name.substring(prefix.length());
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Parses a raw commit object.
+     *
+     * @param id
+     *            the commit id
+     * @param raw
+     *            the raw commit object
+     *
+     * @return the head, or <code>null</code> if the commit cannot be decoded exactly like JGit would
+     */
+    static Git.Head parseCommit(final String id, final byte[] raw) {
+        final var messageStart = GitDirectoryReader.indexOf(raw, "\n\n", 0);
+        final var headerEnd = messageStart < 0 ? raw.length : messageStart + 1;
+        final var headers = new String(raw, 0, headerEnd, StandardCharsets.ISO_8859_1);
+        String author = null;
+        String committer = null;
+        var charset = StandardCharsets.UTF_8;
+        var lineStart = 0;
+        while (lineStart < headers.length()) {
+            var lineEnd = headers.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = headers.length();
+            }
+            final var line = headers.substring(lineStart, lineEnd);
+            if (author == null && line.startsWith("author ")) {
+                author = line.substring("author ".length());
+            } else if (committer == null && line.startsWith("committer ")) {
+                committer = line.substring("committer ".length());
+            } else if (line.startsWith("encoding ")) {
+                try {
+                    charset = Charset.forName(line.substring("encoding ".length()).trim());
+                } catch (final IllegalCharsetNameException | UnsupportedCharsetException e) {
+                    return null;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (author == null || committer == null) {
+            return null;
+        }
+        final var authorIdent = GitDirectoryReader.parseIdent(author, charset);
+        final var committerIdent = GitDirectoryReader.parseIdent(committer, charset);
+        final var message = messageStart < 0 ? ""
+                : GitDirectoryReader.decode(raw, messageStart + 2, raw.length - messageStart - 2, charset);
+        if (authorIdent == null || committerIdent == null || message == null) {
+            return null;
+        }
+        return new Git.Head(id, authorIdent[0], authorIdent[1], committerIdent[0], committerIdent[1], message);
+    }
+
+    /**
+     * Parses the name and email of a person identity. The name is the text before <code>" &lt;"</code> and the email
+     * the text within the angle brackets.
+     *
+     * @param ident
+     *            the identity header value, decoded as ISO-8859-1
+     * @param charset
+     *            the commit encoding
+     *
+     * @return the name and email, or <code>null</code> if the identity cannot be parsed
+     */
+    private static String[] parseIdent(final String ident, final Charset charset) {
+        final var emailStart = ident.indexOf('<');
+        final var emailEnd = ident.indexOf('>', emailStart + 1);
+        if (emailStart < 0 || emailEnd < 0) {
+            return null;
+        }
+        final var nameEnd = emailStart > 0 && ident.charAt(emailStart - 1) == ' ' ? emailStart - 1 : emailStart;
+        final var bytes = ident.getBytes(StandardCharsets.ISO_8859_1);
+        final var name = GitDirectoryReader.decode(bytes, 0, nameEnd, charset);
+        final var email = GitDirectoryReader.decode(bytes, emailStart + 1, emailEnd - emailStart - 1, charset);
+        if (name == null || email == null) {
+            return null;
+        }
+        return new String[] { name, email };
+    }
+
+    /**
+     * Strictly decodes bytes.
+     *
+     * @param bytes
+     *            the bytes
+     * @param offset
+     *            the offset
+     * @param length
+     *            the length
+     * @param charset
+     *            the charset
+     *
+     * @return the decoded string, or <code>null</code> if the bytes are not valid in the charset
+     */
+    private static String decode(final byte[] bytes, final int offset, final int length, final Charset charset) {
+        try {
+            return charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT).decode(ByteBuffer.wrap(bytes, offset, length))
+                    .toString();
+        } catch (final CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the first occurrence of an ASCII string in bytes.
+     *
+     * @param bytes
+     *            the bytes
+     * @param text
+     *            the ASCII string
+     * @param from
+     *            the start index
+     *
+     * @return the index, or -1 if not found
+     */
+    private static int indexOf(final byte[] bytes, final String text, final int from) {
+        outer: for (var i = from; i <= bytes.length - text.length(); i++) {
+            for (var j = 0; j < text.length(); j++) {
+                if (bytes[i + j] != text.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the remotes from the repository config.
+     *
+     * @param config
+     *            the config file
+     *
+     * @return the remotes in config order, or <code>null</code> if the config uses features this reader does not
+     *         support
+     *
+     * @throws IOException
+     *             if the config cannot be read
+     */
+    static List<Git.Remote> readRemotes(final Path config) throws IOException {
+        final Map<String, String> urls = new LinkedHashMap<>();
+        if (Files.isRegularFile(config)) {
+            String section = null;
+            String subsection = null;
+            for (final String rawLine : Files.readAllLines(config, StandardCharsets.UTF_8)) {
+                final var line = rawLine.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith(";")) {
+                    continue;
+                }
+                if (line.startsWith("[")) {
+                    final var matcher = GitDirectoryReader.SECTION.matcher(line);
+                    if (!matcher.matches() || matcher.group(1).contains(".")) {
+                        return null;
+                    }
+                    section = matcher.group(1).toLowerCase(Locale.ROOT);
+                    subsection = matcher.group(2) == null ? null : matcher.group(2).replaceAll("\\\\(.)", "$1");
+                    if (section.equals("include") || section.equals("includeif") || section.equals("extensions")) {
+                        return null;
+                    }
+                    if (section.equals("remote") && subsection != null) {
+                        urls.putIfAbsent(subsection, null);
+                    }
+                    continue;
+                }
+                final var equals = line.indexOf('=');
+                final var key = (equals < 0 ? line : line.substring(0, equals)).trim().toLowerCase(Locale.ROOT);
+                if ("core".equals(section) && subsection == null && key.equals("worktree")) {
+                    return null;
+                }
+                if ("remote".equals(section) && subsection != null && key.equals("url")) {
+                    if (equals < 0) {
+                        return null;
+                    }
+                    final var value = GitDirectoryReader.parseValue(line.substring(equals + 1));
+                    if (value == null) {
+                        return null;
+                    }
+                    urls.put(subsection, value);
+                }
+            }
+        }
+        final List<Git.Remote> remotes = new ArrayList<>();
+        urls.forEach((name, url) -> remotes.add(new Git.Remote(name, url)));
+        return remotes;
+    }
+
+    /**
+     * Parses a config value, removing quotes, escapes and trailing comments.
+     *
+     * @param raw
+     *            the raw value
+     *
+     * @return the value, or <code>null</code> if the value continues on the next line or is malformed
+     */
+    private static String parseValue(final String raw) {
+        final var value = new StringBuilder();
+        var quoted = false;
+        var trailingSpace = 0;
+        for (var i = 0; i < raw.length(); i++) {
+            final var c = raw.charAt(i);
+            if (c == '\\') {
+                if (++i == raw.length()) {
+                    return null;
+                }
+                final var escaped = raw.charAt(i);
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case '\\':
+                    case '"':
+                        value.append(escaped);
+                        break;
+                    default:
+                        return null;
+                }
+                trailingSpace = 0;
+            } else if (c == '"') {
+                quoted = !quoted;
+                trailingSpace = 0;
+            } else if (!quoted && (c == '#' || c == ';')) {
+                break;
+            } else if (!quoted && Character.isWhitespace(c)) {
+                if (value.length() > 0) {
+                    value.append(c);
+                    trailingSpace++;
+                }
+            } else {
+                value.append(c);
+                trailingSpace = 0;
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        return value.substring(0, value.length() - trailingSpace);
+    }
+
+    /**
+     * Reads the first line of a file.
+     *
+     * @param file
+     *            the file
+     *
+     * @return the first line, trimmed
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    private static String readLine(final Path file) throws IOException {
+        final var content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        final var newline = content.indexOf('\n');
+        return (newline < 0 ? content : content.substring(0, newline)).trim();
+    }
+}
@@ -0,0 +1,567 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads single objects from the object database of a git repository without opening the repository. Loose objects and
+ * objects in packs with version 2 indexes are supported, including deltified objects. Only the index entries and pack
+ * data of the requested object are read, packs are never scanned.
+ */
+final class GitObjectReader {
+
+    /** The commit object type. */
+    static final int OBJ_COMMIT = 1;
+
+    /** The tree object type. */
+    private static final int OBJ_TREE = 2;
+
+    /** The blob object type. */
+    private static final int OBJ_BLOB = 3;
+
+    /** The tag object type. */
+    private static final int OBJ_TAG = 4;
+
+    /** The offset delta object type. */
+    private static final int OBJ_OFS_DELTA = 6;
+
+    /** The reference delta object type. */
+    private static final int OBJ_REF_DELTA = 7;
+
+    /** The maximum length of a delta chain. */
+    private static final int MAX_DELTA_DEPTH = 256;
+
+    /** The length of a SHA-1 object id in bytes. */
+    private static final int ID_LENGTH = 20;
+
+    /** The pack index magic and version 2. */
+    private static final long IDX_V2_HEADER = 0xff744f6300000002L;
+
+    /** The size of the pack index header. */
+    private static final int IDX_HEADER_SIZE = 8;
+
+    /** The size of the pack index fan-out table. */
+    private static final int FANOUT_SIZE = 256 * 4;
+
+    /** The buffer size for reading pack data. */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /** The objects directory. */
+    private final Path objectsDirectory;
+
+    /**
+     * Instantiates a new git object reader.
+     *
+     * @param objectsDirectory
+     *            the objects directory
+     */
+    GitObjectReader(final Path objectsDirectory) {
+        this.objectsDirectory = objectsDirectory;
+    }
+
+    /**
+     * Reads the content of an object.
+     *
+     * @param id
+     *            the hexadecimal SHA-1 object id
+     *
+     * @return the object, or <code>null</code> if it was not found
+     *
+     * @throws IOException
+     *             if the object cannot be read
+     */
+    RawObject read(final String id) throws IOException {
+        final var loose = this.objectsDirectory.resolve(id.substring(0, 2)).resolve(id.substring(2));
+        if (Files.isRegularFile(loose)) {
+            return GitObjectReader.readLoose(loose);
+        }
+        final var idBytes = GitObjectReader.fromHex(id);
+        for (final Path index : this.packIndexes()) {
+            final var offset = GitObjectReader.findOffset(index, idBytes);
+            if (offset >= 0) {
+                final var fileName = index.getFileName().toString();
+                final var pack = index.resolveSibling(fileName.substring(0, fileName.length() - 4) + ".pack");
+                try (var channel = FileChannel.open(pack, StandardOpenOption.READ)) {
+                    return this.readPacked(channel, offset, 0);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lists the pack indexes.
+     *
+     * @return the pack indexes
+     *
+     * @throws IOException
+     *             if the pack directory cannot be listed
+     */
+    private List<Path> packIndexes() throws IOException {
+        final var packDirectory = this.objectsDirectory.resolve("pack");
+        final List<Path> indexes = new ArrayList<>();
+        if (Files.isDirectory(packDirectory)) {
+            try (var files = Files.newDirectoryStream(packDirectory, "*.idx")) {
+                files.forEach(indexes::add);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Reads a loose object.
+     *
+     * @param file
+     *            the object file
+     *
+     * @return the object
+     *
+     * @throws IOException
+     *             if the object cannot be read
+     */
+    private static RawObject readLoose(final Path file) throws IOException {
+        final byte[] raw;
+        try (var in = new InflaterInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            raw = in.readAllBytes();
+        }
+        var headerEnd = 0;
+        while (headerEnd < raw.length && raw[headerEnd] != 0) {
+            headerEnd++;
+        }
+        final var header = new String(raw, 0, headerEnd, StandardCharsets.US_ASCII);
+        final var space = header.indexOf(' ');
+        if (headerEnd == raw.length || space < 0
+                || Integer.parseInt(header.substring(space + 1)) != raw.length - headerEnd - 1) {
+            throw new IOException("Corrupt loose object " + file);
+        }
+        return new RawObject(GitObjectReader.typeOf(header.substring(0, space)),
+                Arrays.copyOfRange(raw, headerEnd + 1, raw.length));
+    }
+
+    /**
+     * Gets the type code of a loose object type name.
+     *
+     * @param type
+     *            the type name
+     *
+     * @return the type code
+     *
+     * @throws IOException
+     *             if the type is unknown
+     */
+    private static int typeOf(final String type) throws IOException {
+        switch (type) {
+            case "commit":
+                return GitObjectReader.OBJ_COMMIT;
+            case "tree":
+                return GitObjectReader.OBJ_TREE;
+            case "blob":
+                return GitObjectReader.OBJ_BLOB;
+            case "tag":
+                return GitObjectReader.OBJ_TAG;
+            default:
+                throw new IOException("Unknown object type " + type);
+        }
+    }
+
+    /**
+     * Finds the pack offset of an object with binary search in a version 2 pack index.
+     *
+     * @param index
+     *            the pack index
+     * @param id
+     *            the object id
+     *
+     * @return the pack offset, or -1 if the object is not in the pack
+     *
+     * @throws IOException
+     *             if the index cannot be read or has an unsupported version
+     */
+    private static long findOffset(final Path index, final byte[] id) throws IOException {
+        try (var channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            final var header = GitObjectReader.readFully(channel, 0, GitObjectReader.IDX_HEADER_SIZE);
+            if (header.getLong() != GitObjectReader.IDX_V2_HEADER) {
+                throw new IOException("Unsupported pack index " + index);
+            }
+            final var fanout = GitObjectReader.readFully(channel, GitObjectReader.IDX_HEADER_SIZE,
+                    GitObjectReader.FANOUT_SIZE);
+            final var first = id[0] & 0xff;
+            var low = first == 0 ? 0 : fanout.getInt((first - 1) * 4);
+            var high = fanout.getInt(first * 4);
+            final long count = fanout.getInt(255 * 4);
+            final long names = GitObjectReader.IDX_HEADER_SIZE + GitObjectReader.FANOUT_SIZE;
+            while (low < high) {
+                final var middle = low + high >>> 1;
+                final var name = GitObjectReader.readFully(channel, names + (long) middle * GitObjectReader.ID_LENGTH,
+                        GitObjectReader.ID_LENGTH);
+                final var compare = Arrays.compareUnsigned(name.array(), id);
+                if (compare < 0) {
+                    low = middle + 1;
+                } else if (compare > 0) {
+                    high = middle;
+                } else {
+                    final var offsets = names + count * (GitObjectReader.ID_LENGTH + 4);
+                    final var offset = GitObjectReader.readFully(channel, offsets + middle * 4L, 4).getInt();
+                    if (offset >= 0) {
+                        return offset;
+                    }
+                    final var large = offsets + count * 4 + (offset & 0x7fffffffL) * 8;
+                    return GitObjectReader.readFully(channel, large, 8).getLong();
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Reads an object from a pack, resolving deltas against their base objects.
+     *
+     * @param channel
+     *            the pack
+     * @param offset
+     *            the offset of the object
+     * @param depth
+     *            the current delta chain length
+     *
+     * @return the object
+     *
+     * @throws IOException
+     *             if the object cannot be read
+     */
+    private RawObject readPacked(final FileChannel channel, final long offset, final int depth) throws IOException {
+        if (depth > GitObjectReader.MAX_DELTA_DEPTH) {
+            throw new IOException("Delta chain too long at offset " + offset);
+        }
+        channel.position(offset);
+        final InputStream in = new BufferedInputStream(Channels.newInputStream(channel), GitObjectReader.BUFFER_SIZE);
+        var c = GitObjectReader.readByte(in);
+        final var type = c >> 4 & 7;
+        long size = c & 15;
+        var shift = 4;
+        while ((c & 0x80) != 0) {
+            c = GitObjectReader.readByte(in);
+            size |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        }
+        if (type == GitObjectReader.OBJ_OFS_DELTA) {
+            c = GitObjectReader.readByte(in);
+            long distance = c & 0x7f;
+            while ((c & 0x80) != 0) {
+                c = GitObjectReader.readByte(in);
+                distance = (distance + 1 << 7) + (c & 0x7f);
+            }
+            final var delta = GitObjectReader.inflate(in, size);
+            final var base = this.readPacked(channel, offset - distance, depth + 1);
+            return new RawObject(base.getType(), GitObjectReader.applyDelta(base.getData(), delta));
+        }
+        if (type == GitObjectReader.OBJ_REF_DELTA) {
+            final var baseId = in.readNBytes(GitObjectReader.ID_LENGTH);
+            final var delta = GitObjectReader.inflate(in, size);
+            final var base = this.read(GitObjectReader.toHex(baseId));
+            if (base == null) {
+                throw new IOException("Missing delta base " + GitObjectReader.toHex(baseId));
+            }
+            return new RawObject(base.getType(), GitObjectReader.applyDelta(base.getData(), delta));
+        }
+        if (type < GitObjectReader.OBJ_COMMIT || type > GitObjectReader.OBJ_TAG) {
+            throw new IOException("Unknown pack object type " + type + " at offset " + offset);
+        }
+        return new RawObject(type, GitObjectReader.inflate(in, size));
+    }
+
+    /**
+     * Applies a git delta to a base object.
+     *
+     * @param base
+     *            the base object content
+     * @param delta
+     *            the delta
+     *
+     * @return the resulting object content
+     *
+     * @throws IOException
+     *             if the delta is corrupt
+     */
+    static byte[] applyDelta(final byte[] base, final byte[] delta) throws IOException {
+        final var position = new int[1];
+        final var baseSize = GitObjectReader.readVarInt(delta, position);
+        final var resultSize = GitObjectReader.readVarInt(delta, position);
+        if (baseSize != base.length || resultSize > Integer.MAX_VALUE) {
+            throw new IOException("Delta does not match its base");
+        }
+        final var result = new byte[(int) resultSize];
+        var p = position[0];
+        var written = 0;
+        try {
+            while (p < delta.length) {
+                final var op = delta[p++] & 0xff;
+                if ((op & 0x80) != 0) {
+                    var copyOffset = 0L;
+                    for (var i = 0; i < 4; i++) {
+                        if ((op & 1 << i) != 0) {
+                            copyOffset |= (delta[p++] & 0xffL) << 8 * i;
+                        }
+                    }
+                    var copySize = 0;
+                    for (var i = 0; i < 3; i++) {
+                        if ((op & 0x10 << i) != 0) {
+                            copySize |= (delta[p++] & 0xff) << 8 * i;
+                        }
+                    }
+                    if (copySize == 0) {
+                        copySize = 0x10000;
+                    }
+                    System.arraycopy(base, Math.toIntExact(copyOffset), result, written, copySize);
+                    written += copySize;
+                } else if (op != 0) {
+                    System.arraycopy(delta, p, result, written, op);
+                    p += op;
+                    written += op;
+                } else {
+                    throw new IOException("Corrupt delta instruction");
+                }
+            }
+        } catch (final IndexOutOfBoundsException | ArithmeticException e) {
+            throw new IOException("Corrupt delta", e);
+        }
+        if (written != result.length) {
+            throw new IOException("Delta result size mismatch");
+        }
+        return result;
+    }
+
+    /**
+     * Reads a little endian base 128 size from a delta.
+     *
+     * @param delta
+     *            the delta
+     * @param position
+     *            the read position, updated
+     *
+     * @return the size
+     *
+     * @throws IOException
+     *             if the delta ends
+     */
+    private static long readVarInt(final byte[] delta, final int[] position) throws IOException {
+        long value = 0;
+        var shift = 0;
+        int c;
+        do {
+            if (position[0] >= delta.length) {
+                throw new IOException("Truncated delta header");
+            }
+            c = delta[position[0]++] & 0xff;
+            value |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Inflates zlib compressed pack data of known size.
+     *
+     * @param in
+     *            the compressed data
+     * @param size
+     *            the inflated size
+     *
+     * @return the inflated data
+     *
+     * @throws IOException
+     *             if the data is corrupt
+     */
+    private static byte[] inflate(final InputStream in, final long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Object too large");
+        }
+        final var result = new byte[(int) size];
+        final var buffer = new byte[GitObjectReader.BUFFER_SIZE];
+        final var inflater = new Inflater();
+        try {
+            var written = 0;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    final var read = in.read(buffer);
+                    if (read < 0) {
+                        throw new EOFException("Truncated pack data");
+                    }
+                    inflater.setInput(buffer, 0, read);
+                }
+                final var count = inflater.inflate(result, written, result.length - written);
+                written += count;
+                if (count == 0 && !inflater.finished() && !inflater.needsInput()) {
+                    throw new IOException("Corrupt pack data");
+                }
+            }
+            if (written != result.length) {
+                throw new IOException("Pack object size mismatch");
+            }
+            return result;
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupt pack data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @param in
+     *            the input stream
+     *
+     * @return the byte
+     *
+     * @throws IOException
+     *             if the stream ends
+     */
+    private static int readByte(final InputStream in) throws IOException {
+        final var c = in.read();
+        if (c < 0) {
+            throw new EOFException("Truncated pack entry");
+        }
+        return c;
+    }
+
+    /**
+     * Reads bytes at a position.
+     *
+     * @param channel
+     *            the channel
+     * @param position
+     *            the position
+     * @param length
+     *            the number of bytes
+     *
+     * @return the bytes, flipped for reading
+     *
+     * @throws IOException
+     *             if the channel ends before
+     */
+    private static ByteBuffer readFully(final FileChannel channel, final long position, final int length)
+            throws IOException {
+        final var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated pack index");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Converts a hexadecimal object id to bytes.
+     *
+     * @param id
+     *            the hexadecimal object id
+     *
+     * @return the object id bytes
+     */
+    private static byte[] fromHex(final String id) {
+        final var bytes = new byte[id.length() / 2];
+        for (var i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(id.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    /**
+     * Converts object id bytes to hexadecimal.
+     *
+     * @param id
+     *            the object id bytes
+     *
+     * @return the hexadecimal object id
+     */
+    private static String toHex(final byte[] id) {
+        final var hex = new StringBuilder(id.length * 2);
+        for (final byte b : id) {
+            hex.append(Character.forDigit(b >> 4 & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * The type and content of an object.
+     */
+    static final class RawObject {
+
+        /** The type. */
+        private final int type;
+
+        /** The data. */
+        private final byte[] data;
+
+        /**
+         * Instantiates a new raw object.
+         *
+         * @param type
+         *            the type
+         * @param data
+         *            the data
+         */
+        RawObject(final int type, final byte[] data) {
+            this.type = type;
+            this.data = data;
+        }
+
+        /**
+         * Gets the type.
+         *
+         * @return the type
+         */
+        int getType() {
+            return this.type;
+        }
+
+        /**
+         * Gets the data.
+         *
+         * @return the data
+         */
+        byte[] getData() {
+            return this.data;
+        }
+    }
+}
@@ -26,17 +26,10 @@ package org.eluder.coveralls.maven.plugin.domain;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import org.eclipse.jgit.lib.Config;
-import org.eclipse.jgit.lib.Constants;
-import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.lib.RepositoryBuilder;
-import org.eclipse.jgit.revwalk.RevWalk;
 
 /**
- * The Class GitRepository.
+ * The Class GitRepository. Git metadata is read directly from the repository files when possible, and with JGit
+ * otherwise.
  */
 public class GitRepository {
 
@@ -62,69 +55,10 @@ public class GitRepository {
      *             Signals that an I/O exception has occurred.
      */
     public Git load() throws IOException {
-        try (var repository = new RepositoryBuilder().findGitDir(this.sourceDirectory).build()) {
-            final var head = this.getHead(repository);
-            final var branch = this.getBranch(repository);
-            final var remotes = this.getRemotes(repository);
-            return new Git(repository.getWorkTree(), head, branch, remotes);
-        }
-    }
-
-    /**
-     * Gets the head.
-     * <p>
-     * Resource is closed in load().
-     *
-     * @param repository
-     *            the repository
-     *
-     * @return the head
-     *
-     * @throws IOException
-     *             Signals that an I/O exception has occurred.
-     */
-    @SuppressWarnings("resource")
-    private Git.Head getHead(final Repository repository) throws IOException {
-        final var revision = repository.resolve(Constants.HEAD);
-        final var commit = new RevWalk(repository).parseCommit(revision);
-        if (revision == null) {
-            throw new IllegalStateException("Cannot resolve HEAD");
-        }
-        return new Git.Head(revision.getName(), commit.getAuthorIdent().getName(),
-                commit.getAuthorIdent().getEmailAddress(), commit.getCommitterIdent().getName(),
-                commit.getCommitterIdent().getEmailAddress(), commit.getFullMessage());
-    }
-
-    /**
-     * Gets the branch.
-     *
-     * @param repository
-     *            the repository
-     *
-     * @return the branch
-     *
-     * @throws IOException
-     *             Signals that an I/O exception has occurred.
-     */
-    private String getBranch(final Repository repository) throws IOException {
-        return repository.getBranch();
-    }
-
-    /**
-     * Gets the remotes.
-     *
-     * @param repository
-     *            the repository
-     *
-     * @return the remotes
-     */
-    private List<Git.Remote> getRemotes(final Repository repository) {
-        final Config config = repository.getConfig();
-        final List<Git.Remote> remotes = new ArrayList<>();
-        for (final String remote : config.getSubsections("remote")) {
-            final var url = config.getString("remote", remote, "url");
-            remotes.add(new Git.Remote(remote, url));
+        final var git = new GitDirectoryReader(this.sourceDirectory).read();
+        if (git != null) {
+            return git;
         }
-        return remotes;
+        return new JGitRepositoryReader(this.sourceDirectory).load();
     }
 }
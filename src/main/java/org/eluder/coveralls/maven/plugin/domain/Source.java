@@ -26,21 +26,31 @@ package org.eluder.coveralls.maven.plugin.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
+import org.eluder.coveralls.maven.plugin.jfr.SourceMergeEvent;
+import org.eluder.coveralls.maven.plugin.json.SourceSerializer;
+
 /**
  * The Class Source.
  */
+@JsonSerialize(using = SourceSerializer.class)
 public final class Source implements JsonObject {
 
     /** The Constant serialVersionUID. */
     private static final long serialVersionUID = 1L;
 
+    /** Line hits value for lines that are not relevant for coverage. */
+    static final int NOT_RELEVANT = -1;
+
     /** The Constant NEWLINE. */
     private static final Pattern NEWLINE = Pattern.compile("\r\n|\r|\n");
 
@@ -54,15 +64,18 @@ public final class Source implements JsonObject {
     /** The digest. */
     String digest;
 
-    /** The coverage. */
-    Integer[] coverage;
+    /** The line hits, {@link #NOT_RELEVANT} for lines without coverage. */
+    int[] coverage;
 
     /** The branches. */
-    List<Branch> branches;
+    BranchTable branches;
 
     /** The classifier. */
     String classifier;
 
+    /** True if the source is a read only view of merged coverage. */
+    boolean readOnly;
+
     /**
      * Instantiates a new source.
      *
@@ -92,9 +105,36 @@ public final class Source implements JsonObject {
     public Source(final String name, final int lines, final String digest, final String classifier) {
         this.name = name;
         this.digest = digest;
-        this.coverage = new Integer[lines];
+        this.coverage = new int[lines];
+        Arrays.fill(this.coverage, Source.NOT_RELEVANT);
+        this.classifier = classifier;
+        this.branches = new BranchTable();
+    }
+
+    /**
+     * Instantiates a new source sharing the given coverage and branches.
+     *
+     * @param name
+     *            the name
+     * @param digest
+     *            the digest
+     * @param coverage
+     *            the line hits
+     * @param branches
+     *            the branches
+     * @param classifier
+     *            the classifier
+     * @param readOnly
+     *            true if the source cannot be modified
+     */
+    private Source(final String name, final String digest, final int[] coverage, final BranchTable branches,
+            final String classifier, final boolean readOnly) {
+        this.name = name;
+        this.digest = digest;
+        this.coverage = coverage;
+        this.branches = branches;
         this.classifier = classifier;
-        this.branches = new ArrayList<>();
+        this.readOnly = readOnly;
     }
 
     /**
@@ -131,13 +171,73 @@ public final class Source implements JsonObject {
     }
 
     /**
-     * Gets the coverage.
+     * Gets the coverage. The returned array is a boxed copy of the line hits where lines that are not relevant are
+     * {@code null}, allocated on every call.
      *
      * @return the coverage
+     *
+     * @deprecated Kept for compatibility, use {@link #getLineCount()}, {@link #isRelevant(int)}, {@link #getHits(int)}
+     *             or {@link #forEachLine(LineConsumer)} to read the coverage without allocation.
      */
-    @JsonProperty("coverage")
+    @Deprecated(since = "5.0.1")
+    @JsonIgnore
     public Integer[] getCoverage() {
-        return this.coverage;
+        final var boxed = new Integer[this.coverage.length];
+        for (var i = 0; i < this.coverage.length; i++) {
+            if (this.coverage[i] != Source.NOT_RELEVANT) {
+                boxed[i] = this.coverage[i];
+            }
+        }
+        return boxed;
+    }
+
+    /**
+     * Gets the line count.
+     *
+     * @return the number of lines in the source
+     */
+    @JsonIgnore
+    public int getLineCount() {
+        return this.coverage.length;
+    }
+
+    /**
+     * Checks if the line is relevant for coverage.
+     *
+     * @param lineNumber
+     *            the line number
+     *
+     * @return true, if the line has coverage
+     */
+    public boolean isRelevant(final int lineNumber) {
+        return this.coverage[lineNumber - 1] != Source.NOT_RELEVANT;
+    }
+
+    /**
+     * Gets the line hits.
+     *
+     * @param lineNumber
+     *            the line number
+     *
+     * @return the hits of a relevant line, or a negative value if the line is not relevant
+     */
+    public int getHits(final int lineNumber) {
+        return this.coverage[lineNumber - 1];
+    }
+
+    /**
+     * Passes the hits of every line in order to the consumer without boxing.
+     *
+     * @param consumer
+     *            the line consumer
+     *
+     * @throws IOException
+     *             if the consumer fails
+     */
+    public void forEachLine(final LineConsumer consumer) throws IOException {
+        for (var i = 0; i < this.coverage.length; i++) {
+            consumer.accept(i + 1, this.coverage[i]);
+        }
     }
 
     /**
@@ -147,14 +247,12 @@ public final class Source implements JsonObject {
      */
     @JsonProperty("branches")
     public Integer[] getBranches() {
-        final List<Integer> branchesRaw = new ArrayList<>(this.branches.size() * 4);
-        for (final Branch b : this.branches) {
-            branchesRaw.add(b.getLineNumber());
-            branchesRaw.add(b.getBlockNumber());
-            branchesRaw.add(b.getBranchNumber());
-            branchesRaw.add(b.getHits());
+        final var values = this.branches.toArray();
+        final var branchesRaw = new Integer[values.length];
+        for (var i = 0; i < values.length; i++) {
+            branchesRaw[i] = values[i];
         }
-        return branchesRaw.toArray(new Integer[branchesRaw.size()]);
+        return branchesRaw;
     }
 
     /**
@@ -163,7 +261,35 @@ public final class Source implements JsonObject {
      * @return the branches list
      */
     public List<Branch> getBranchesList() {
-        return Collections.unmodifiableList(this.branches);
+        final var values = this.branches.toArray();
+        final List<Branch> list = new ArrayList<>(values.length / 4);
+        for (var i = 0; i < values.length; i += 4) {
+            list.add(new Branch(values[i], values[i + 1], values[i + 2], values[i + 3]));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Passes the branches in order to the consumer without creating {@link Branch} objects.
+     *
+     * @param consumer
+     *            the branch consumer
+     *
+     * @throws IOException
+     *             if the consumer fails
+     */
+    public void forEachBranch(final BranchConsumer consumer) throws IOException {
+        this.branches.forEach(consumer);
+    }
+
+    /**
+     * Gets the branch count.
+     *
+     * @return the number of branches
+     */
+    @JsonIgnore
+    public int getBranchCount() {
+        return this.branches.size();
     }
 
     /**
@@ -183,9 +309,19 @@ public final class Source implements JsonObject {
      *            the new classifier
      */
     public void setClassifier(final String classifier) {
+        this.checkWritable();
         this.classifier = classifier;
     }
 
+    /**
+     * Checks that the source can be modified.
+     */
+    private void checkWritable() {
+        if (this.readOnly) {
+            throw new UnsupportedOperationException("Source " + this.name + " is read only");
+        }
+    }
+
     /**
      * Check line range.
      *
@@ -209,8 +345,21 @@ public final class Source implements JsonObject {
      *            the coverage
      */
     public void addCoverage(final int lineNumber, final Integer coverage) {
+        this.addCoverage(lineNumber, coverage == null ? Source.NOT_RELEVANT : coverage.intValue());
+    }
+
+    /**
+     * Adds the coverage. Negative coverage marks the line as not relevant.
+     *
+     * @param lineNumber
+     *            the line number
+     * @param coverage
+     *            the coverage
+     */
+    public void addCoverage(final int lineNumber, final int coverage) {
+        this.checkWritable();
         this.checkLineRange(lineNumber);
-        this.coverage[lineNumber - 1] = coverage;
+        this.coverage[lineNumber - 1] = coverage < 0 ? Source.NOT_RELEVANT : coverage;
     }
 
     /**
@@ -245,20 +394,9 @@ public final class Source implements JsonObject {
      */
     private void addBranchCoverage(final boolean merge, final int lineNumber, final int blockNumber,
             final int branchNumber, final int hits) {
+        this.checkWritable();
         this.checkLineRange(lineNumber);
-        var hitSum = hits;
-        final var it = this.branches.listIterator();
-        while (it.hasNext()) {
-            final var b = it.next();
-            if (b.getLineNumber() == lineNumber && b.getBlockNumber() == blockNumber
-                    && b.getBranchNumber() == branchNumber) {
-                it.remove();
-                if (merge) {
-                    hitSum += b.getHits();
-                }
-            }
-        }
-        this.branches.add(new Branch(lineNumber, blockNumber, branchNumber, hitSum));
+        this.branches.put(lineNumber, blockNumber, branchNumber, hits, merge);
     }
 
     /**
@@ -270,23 +408,45 @@ public final class Source implements JsonObject {
      * @return the source
      */
     public Source merge(final Source source) {
-        final var copy = new Source(this.name, this.coverage.length, this.digest, this.classifier);
-        System.arraycopy(this.coverage, 0, copy.coverage, 0, this.coverage.length);
-        copy.branches.addAll(this.branches);
+        final var event = new SourceMergeEvent();
+        event.begin();
+        final var copy = this.copy();
         if (copy.equals(source)) {
             for (var i = 0; i < copy.coverage.length; i++) {
-                if (source.coverage[i] != null) {
-                    final var base = copy.coverage[i] != null ? copy.coverage[i] : 0;
-                    copy.coverage[i] = base + source.coverage[i];
+                final var hits = source.coverage[i];
+                if (hits != Source.NOT_RELEVANT) {
+                    final var base = copy.coverage[i];
+                    copy.coverage[i] = base == Source.NOT_RELEVANT ? hits : base + hits;
                 }
             }
-            for (final Branch b : source.branches) {
-                copy.addBranchCoverage(true, b.getLineNumber(), b.getBlockNumber(), b.getBranchNumber(), b.getHits());
+            final var values = source.branches.toArray();
+            for (var i = 0; i < values.length; i += 4) {
+                copy.addBranchCoverage(true, values[i], values[i + 1], values[i + 2], values[i + 3]);
             }
         }
+        event.commit(copy.getName(), copy.getLineCount(), source.getBranchCount());
         return copy;
     }
 
+    /**
+     * Copies the source. The copy can be modified even if this source is read only.
+     *
+     * @return the copy
+     */
+    Source copy() {
+        return new Source(this.name, this.digest, this.coverage.clone(), new BranchTable(this.branches),
+                this.classifier, false);
+    }
+
+    /**
+     * Gets a read only view of the source. The view shares the coverage of this source.
+     *
+     * @return the read only view
+     */
+    Source readOnlyView() {
+        return new Source(this.name, this.digest, this.coverage, this.branches, this.classifier, true);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (!(obj instanceof Source)) {
@@ -318,4 +478,48 @@ public final class Source implements JsonObject {
         }
         return lines;
     }
+
+    /**
+     * Consumer of line coverage values.
+     */
+    @FunctionalInterface
+    public interface LineConsumer {
+
+        /**
+         * Accepts a line.
+         *
+         * @param lineNumber
+         *            the line number
+         * @param hits
+         *            the hits of a relevant line, or a negative value if the line is not relevant
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        void accept(int lineNumber, int hits) throws IOException;
+    }
+
+    /**
+     * Consumer of branch coverage values.
+     */
+    @FunctionalInterface
+    public interface BranchConsumer {
+
+        /**
+         * Accepts a branch.
+         *
+         * @param lineNumber
+         *            the line number
+         * @param blockNumber
+         *            the block number
+         * @param branchNumber
+         *            the branch number
+         * @param hits
+         *            the hits
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        void accept(int lineNumber, int blockNumber, int branchNumber, int hits) throws IOException;
+    }
 }
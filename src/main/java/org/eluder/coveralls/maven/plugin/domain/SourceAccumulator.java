@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import org.eluder.coveralls.maven.plugin.jfr.SourceMergeEvent;
+
+/**
+ * Accumulates the coverage of equal sources from multiple coverage reports. The coverage is merged in place, so each
+ * source is copied at most once regardless of how many times it is added. The result is the same as merging the sources
+ * with {@link Source#merge(Source)}, each added source merged onto the previous result.
+ * <p>
+ * The first source is not copied until another source is added, so it must not be modified after it has been passed to
+ * the accumulator.
+ */
+public final class SourceAccumulator {
+
+    /** The merged source. */
+    private Source source;
+
+    /** True if the merged source is a private copy that can be modified. */
+    private boolean owned;
+
+    /**
+     * Instantiates a new source accumulator.
+     *
+     * @param source
+     *            the first source
+     */
+    public SourceAccumulator(final Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Adds the coverage of a newer equal source. Line and branch hits are summed and the classifier of the newer source
+     * is kept.
+     *
+     * @param newer
+     *            the newer source
+     *
+     * @throws IllegalArgumentException
+     *             if the newer source is not equal to the accumulated source
+     */
+    public void add(final Source newer) {
+        if (!this.source.equals(newer)) {
+            throw new IllegalArgumentException(
+                    "Source " + newer.getName() + " does not match " + this.source.getName());
+        }
+        final var event = new SourceMergeEvent();
+        event.begin();
+        if (!this.owned) {
+            this.source = this.source.copy();
+            this.owned = true;
+        }
+        final var coverage = this.source.coverage;
+        for (var i = 0; i < coverage.length; i++) {
+            final var hits = newer.coverage[i];
+            if (hits != Source.NOT_RELEVANT) {
+                final var base = coverage[i];
+                coverage[i] = base == Source.NOT_RELEVANT ? hits : base + hits;
+            }
+        }
+        this.source.branches.mergeNewer(newer.branches);
+        this.source.classifier = newer.classifier;
+        event.commit(newer.getName(), newer.getLineCount(), newer.getBranchCount());
+    }
+
+    /**
+     * Gets a read only view of the accumulated source. The view shares the accumulated coverage, so it should be used
+     * only after all sources have been added.
+     *
+     * @return the accumulated source
+     */
+    public Source getSource() {
+        return this.source.readOnly ? this.source : this.source.readOnlyView();
+    }
+}
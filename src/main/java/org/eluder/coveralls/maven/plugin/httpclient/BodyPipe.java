@@ -0,0 +1,241 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory pipe from a writing thread to a request body that is read by the http client. Unlike the piped
+ * streams of the JDK the pipe does not depend on the liveness of the reading thread, which is a pooled http client
+ * thread. The writer fails instead of blocking forever when the reader closes the pipe, the pipe is aborted or the
+ * request it feeds has completed.
+ */
+final class BodyPipe {
+
+    /** The number of chunks buffered between the writer and the reader. */
+    private static final int CAPACITY = 16;
+
+    /** The interval in milliseconds for checking if the reader is gone while the pipe is full. */
+    private static final long POLL_MILLIS = 100;
+
+    /** The end of stream marker. */
+    private static final byte[] EOF = {};
+
+    /** The chunks. */
+    private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(BodyPipe.CAPACITY);
+
+    /** The output stream. */
+    private final OutputStream output = new PipeOutputStream();
+
+    /** The input stream. */
+    private final InputStream input = new PipeInputStream();
+
+    /** True if the reader has closed the pipe or the pipe was aborted. */
+    private volatile boolean closed;
+
+    /** The request reading the pipe, or null if not yet sent. */
+    private volatile Future<?> consumer;
+
+    /**
+     * Gets the output stream written by the producer.
+     *
+     * @return the output stream
+     */
+    OutputStream getOutputStream() {
+        return this.output;
+    }
+
+    /**
+     * Gets the input stream read by the http client.
+     *
+     * @return the input stream
+     */
+    InputStream getInputStream() {
+        return this.input;
+    }
+
+    /**
+     * Sets the request reading the pipe. Writes fail once the request has completed.
+     *
+     * @param consumer
+     *            the request
+     */
+    void setConsumer(final Future<?> consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Aborts the pipe. Pending and later reads and writes fail.
+     */
+    void abort() {
+        this.closed = true;
+        this.chunks.clear();
+    }
+
+    /**
+     * Passes a chunk to the reader, waiting while the pipe is full.
+     *
+     * @param chunk
+     *            the chunk
+     *
+     * @throws IOException
+     *             if the reader is gone
+     */
+    private void put(final byte[] chunk) throws IOException {
+        if (this.closed) {
+            throw new IOException("Request body aborted");
+        }
+        try {
+            while (!this.chunks.offer(chunk, BodyPipe.POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                this.checkReader();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming request body");
+        }
+    }
+
+    /**
+     * Checks that the reader is still reading.
+     *
+     * @throws IOException
+     *             if the reader is gone
+     */
+    private void checkReader() throws IOException {
+        final var request = this.consumer;
+        if (this.closed || request != null && request.isDone()) {
+            throw new IOException("Request ended before the body was completely written");
+        }
+    }
+
+    /**
+     * The writing side of the pipe. Every write is passed to the reader as its own chunk, so writes should be buffered.
+     */
+    private final class PipeOutputStream extends OutputStream {
+
+        /** True if closed. */
+        private boolean eof;
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (this.eof) {
+                throw new IOException("Pipe closed");
+            }
+            if (len > 0) {
+                BodyPipe.this.put(Arrays.copyOfRange(b, off, off + len));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!this.eof) {
+                this.eof = true;
+                BodyPipe.this.put(BodyPipe.EOF);
+            }
+        }
+    }
+
+    /**
+     * The reading side of the pipe.
+     */
+    private final class PipeInputStream extends InputStream {
+
+        /** The current chunk. */
+        private byte[] chunk = BodyPipe.EOF;
+
+        /** The read position in the current chunk. */
+        private int position;
+
+        /** True when the end of stream has been read. */
+        private boolean eof;
+
+        @Override
+        public int read() throws IOException {
+            final var one = new byte[1];
+            return this.read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (this.position == this.chunk.length) {
+                if (this.eof) {
+                    return -1;
+                }
+                this.next();
+            }
+            final var count = Math.min(len, this.chunk.length - this.position);
+            System.arraycopy(this.chunk, this.position, b, off, count);
+            this.position += count;
+            return count;
+        }
+
+        /**
+         * Takes the next chunk from the writer.
+         *
+         * @throws IOException
+         *             if the pipe was aborted
+         */
+        private void next() throws IOException {
+            try {
+                byte[] next;
+                do {
+                    if (BodyPipe.this.closed) {
+                        throw new IOException("Request body aborted");
+                    }
+                    next = BodyPipe.this.chunks.poll(BodyPipe.POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } while (next == null);
+                this.eof = next == BodyPipe.EOF;
+                this.chunk = next;
+                this.position = 0;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading request body");
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!this.eof) {
+                BodyPipe.this.closed = true;
+            }
+        }
+    }
+}
@@ -27,7 +27,6 @@ package org.eluder.coveralls.maven.plugin.httpclient;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,13 +36,15 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.security.Provider;
 import java.security.Security;
 import java.time.Duration;
 
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.eluder.coveralls.maven.plugin.ProcessingException;
 import org.eluder.coveralls.maven.plugin.domain.CoverallsResponse;
+import org.eluder.coveralls.maven.plugin.jfr.SubmitEvent;
 
 /**
  * The Class CoverallsClient.
@@ -64,6 +65,9 @@ public class CoverallsClient {
     /** The Constant FILE_NAME. */
     private static final String FILE_NAME = "coveralls.json";
 
+    /** The Constant WEBHOOK_PATH. */
+    private static final String WEBHOOK_PATH = "/webhook";
+
     /** The Constant USER_AGENT_STRING. */
     private static final String USER_AGENT_STRING = "coveralls-maven-plugin";
 
@@ -76,6 +80,15 @@ public class CoverallsClient {
     /** The object mapper. */
     private final ObjectMapper objectMapper;
 
+    /** Send gzip compressed files with gzip content encoding instead of inflating them. */
+    private boolean gzipEncoding;
+
+    /** The retry policy. */
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+
+    /** The log for request attempts. */
+    private Log log = new SystemStreamLog();
+
     /**
      * Instantiates a new Coveralls Client.
      *
@@ -111,11 +124,52 @@ public class CoverallsClient {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Sets how gzip compressed coveralls files are sent. When enabled, the compressed file is sent as is with
+     * {@code Content-Encoding: gzip}. Otherwise the file is decompressed while it is sent. Uncompressed files are not
+     * affected.
+     *
+     * @param gzipEncoding
+     *            true to send compressed files with gzip content encoding
+     *
+     * @return the coveralls client
+     */
+    public CoverallsClient gzipEncoding(final boolean gzipEncoding) {
+        this.gzipEncoding = gzipEncoding;
+        return this;
+    }
+
+    /**
+     * Sets the retry policy for failed requests. Requests are not retried by default.
+     *
+     * @param retryPolicy
+     *            the retry policy
+     *
+     * @return the coveralls client
+     */
+    public CoverallsClient retryPolicy(final RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the log that request attempts and their latencies are reported to.
+     *
+     * @param log
+     *            the log
+     *
+     * @return the coveralls client
+     */
+    public CoverallsClient log(final Log log) {
+        this.log = log;
+        return this;
+    }
+
     /**
      * Submit a coveralls json file to the API.
      *
      * @param file
-     *            A coveralls report that can be submitted to the jobs API
+     *            A coveralls report that can be submitted to the jobs API, either plain or gzip compressed
      *
      * @return An API response body deserialized to a {@link CoverallsResponse}
      *
@@ -127,32 +181,164 @@ public class CoverallsClient {
      *             the interrupted exception
      */
     public CoverallsResponse submit(final File file) throws ProcessingException, IOException, InterruptedException {
-        final var filePath = file.toPath();
-
-        // Generate a unique boundary
-        final String boundary = "----CoverallsBoundary" + System.currentTimeMillis();
-        final String CRLF = "\r\n";
-
-        // Build multipart body
-        final var byteStream = new ByteArrayOutputStream();
-        byteStream.write(("--" + boundary + CRLF).getBytes(StandardCharsets.UTF_8));
-        byteStream.write(("Content-Disposition: form-data; name=\"json_file\"; filename=\"" + FILE_NAME + "\"" + CRLF)
-                .getBytes(StandardCharsets.UTF_8));
-        byteStream
-                .write(("Content-Type: application/json;charset=UTF-8" + CRLF + CRLF).getBytes(StandardCharsets.UTF_8));
-        byteStream.write(Files.readAllBytes(filePath));
-        byteStream.write((CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.UTF_8));
-        final byte[] multipartBody = byteStream.toByteArray();
-
-        final var request = HttpRequest.newBuilder().version(HttpClient.Version.HTTP_1_1)
-                .uri(URI.create(this.coverallsUrl)).timeout(CoverallsClient.DEFAULT_SOCKET_TIMEOUT)
-                .header("User-Agent", CoverallsClient.USER_AGENT_STRING)
-                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
-                .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody)).build();
-
-        final HttpResponse<InputStream> response = this.httpClient.send(request,
-                HttpResponse.BodyHandlers.ofInputStream());
-        return this.parseResponse(response);
+        // Stream the multipart body from the file instead of buffering it in memory
+        final var body = new MultipartBody("json_file", CoverallsClient.FILE_NAME, "application/json;charset=UTF-8");
+
+        final var path = file.toPath();
+        final var event = new SubmitEvent();
+        event.begin();
+        final var gzip = MultipartBody.isGzip(path);
+        var status = 0;
+        try {
+            final var builder = this.newRequest(URI.create(this.coverallsUrl))
+                    .timeout(CoverallsClient.DEFAULT_SOCKET_TIMEOUT)
+                    .header("User-Agent", CoverallsClient.USER_AGENT_STRING)
+                    .header("Content-Type", body.getContentType());
+            if (!gzip) {
+                builder.POST(body.publisher(path));
+            } else if (this.gzipEncoding) {
+                builder.header("Content-Encoding", "gzip").POST(body.gzipPublisher(path));
+            } else {
+                builder.POST(body.inflatingPublisher(path));
+            }
+            final var request = builder.build();
+
+            final var response = this.send(request);
+            status = response.statusCode();
+            return this.parseResponse(response);
+        } finally {
+            event.commit(this.coverallsUrl, file, gzip, status);
+        }
+    }
+
+    /**
+     * Starts a submission whose coveralls json content is streamed into the request while the request is sent. The
+     * content is not stored, so the request is sent once without retries.
+     *
+     * @param gzip
+     *            true if the written content is gzip compressed, it is then sent with gzip content encoding
+     *
+     * @return the streaming submission
+     */
+    public StreamingSubmission openSubmission(final boolean gzip) {
+        final var body = new MultipartBody("json_file", CoverallsClient.FILE_NAME, "application/json;charset=UTF-8");
+        final var pipe = new BodyPipe();
+
+        final var builder = this.newRequest(URI.create(this.coverallsUrl))
+                .header("User-Agent", CoverallsClient.USER_AGENT_STRING).header("Content-Type", body.getContentType());
+        if (gzip) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        final var request = builder.POST(body.streamingPublisher(pipe.getInputStream(), gzip)).build();
+        return new StreamingSubmission(this, pipe,
+                this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+    }
+
+    /**
+     * Closes a parallel build by calling the Coveralls webhook. Coveralls combines the jobs submitted with the same
+     * build number once the build is closed.
+     *
+     * @param repoToken
+     *            the repository token
+     * @param buildNumber
+     *            the service build number shared by the parallel jobs
+     *
+     * @return An API response body deserialized to a {@link CoverallsResponse}
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    public CoverallsResponse finishParallel(final String repoToken, final String buildNumber)
+            throws ProcessingException, IOException, InterruptedException {
+        final var json = this.objectMapper.createObjectNode();
+        if (repoToken != null) {
+            json.put("repo_token", repoToken);
+        }
+        json.putObject("payload").put("build_num", buildNumber).put("status", "done");
+
+        final var request = this.newRequest(URI.create(this.coverallsUrl).resolve(CoverallsClient.WEBHOOK_PATH))
+                .timeout(CoverallsClient.DEFAULT_SOCKET_TIMEOUT).header("User-Agent", CoverallsClient.USER_AGENT_STRING)
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(json))).build();
+
+        return this.parseResponse(this.send(request));
+    }
+
+    /**
+     * Creates a request builder. HTTPS requests negotiate HTTP/2 with the server, plain HTTP requests use HTTP/1.1
+     * because the cleartext upgrade to HTTP/2 is not reliable for requests with a body.
+     *
+     * @param uri
+     *            the request uri
+     *
+     * @return the request builder
+     */
+    private HttpRequest.Builder newRequest(final URI uri) {
+        final var builder = HttpRequest.newBuilder(uri);
+        if ("http".equalsIgnoreCase(uri.getScheme())) {
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        return builder;
+    }
+
+    /**
+     * Sends a request, retrying on I/O errors and retryable HTTP statuses as allowed by the retry policy. The same
+     * request is sent on every attempt, request bodies are reopened from their source.
+     *
+     * @param request
+     *            the request
+     *
+     * @return the last response
+     *
+     * @throws IOException
+     *             if the last attempt failed with an I/O error
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    private HttpResponse<InputStream> send(final HttpRequest request) throws IOException, InterruptedException {
+        final var attempts = this.retryPolicy.getMaxRetries() + 1;
+        final var start = this.retryPolicy.currentTimeMillis();
+        final var deadline = start + this.retryPolicy.getDeadline().toMillis();
+        for (var attempt = 1;; attempt++) {
+            final var attemptStart = this.retryPolicy.currentTimeMillis();
+            HttpResponse<InputStream> response = null;
+            IOException failure = null;
+            try {
+                response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (final IOException e) {
+                failure = e;
+            }
+            final var now = this.retryPolicy.currentTimeMillis();
+            final var outcome = failure != null ? "failed with " + failure
+                    : "returned HTTP status " + response.statusCode() + " over " + response.version();
+            final var attemptMessage = "Coveralls API attempt " + attempt + "/" + attempts + " " + outcome + " in "
+                    + (now - attemptStart) + "ms";
+            if (failure == null && !this.retryPolicy.isRetryable(response.statusCode())) {
+                this.log.info(attemptMessage);
+                return response;
+            }
+
+            final var delay = attempt < attempts
+                    ? this.retryPolicy.delay(attempt,
+                            response != null ? response.headers().firstValue("Retry-After").orElse(null) : null)
+                    : null;
+            if (delay == null || now + delay.toMillis() > deadline) {
+                this.log.warn(attemptMessage + ", giving up after " + attempt + " attempts in " + (now - start) + "ms");
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            this.log.warn(attemptMessage + ", retrying in " + delay.toMillis() + "ms");
+            if (response != null) {
+                response.body().close();
+            }
+            this.retryPolicy.sleep(delay);
+        }
     }
 
     /**
@@ -168,11 +354,13 @@ public class CoverallsClient {
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private CoverallsResponse parseResponse(final HttpResponse<InputStream> response)
-            throws ProcessingException, IOException {
+    CoverallsResponse parseResponse(final HttpResponse<InputStream> response) throws ProcessingException, IOException {
         if (response.statusCode() >= 500) {
             throw new IOException(this.getResponseErrorMessage(response, "Coveralls API internal error"));
         }
+        if (response.statusCode() == 429) {
+            throw new IOException(this.getResponseErrorMessage(response, "Coveralls API rate limit exceeded"));
+        }
 
         try (var reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
             final var cr = this.objectMapper.readValue(reader, CoverallsResponse.class);
@@ -30,6 +30,9 @@ import java.net.PasswordAuthentication;
 import java.net.ProxySelector;
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.settings.Proxy;
@@ -37,19 +40,26 @@ import org.eluder.coveralls.maven.plugin.util.UrlUtils;
 import org.eluder.coveralls.maven.plugin.util.Wildcards;
 
 /**
- * A factory for creating HttpClient objects.
+ * A factory for creating HttpClient objects. Clients negotiate HTTP/2 when the server supports it and are shared per
+ * proxy configuration, so that requests to the same host within a build, or within a long running Maven daemon, reuse
+ * pooled connections instead of repeating the TCP and TLS handshakes.
  */
-class HttpClientFactory {
+public class HttpClientFactory {
 
     /** The Constant DEFAULT_CONNECTION_TIMEOUT. */
     private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(10);
 
+    /** The shared clients by proxy configuration. */
+    private static final Map<ClientKey, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
     /** The target url. */
     private final String targetUrl;
 
-    /** The hcb. */
-    private final HttpClient.Builder hcb = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
-            .followRedirects(HttpClient.Redirect.ALWAYS).connectTimeout(HttpClientFactory.DEFAULT_CONNECTION_TIMEOUT);
+    /** The proxy used for the target url, or null for a direct connection. */
+    private Proxy proxy;
+
+    /** True to use the default proxy selector of the JVM. */
+    private boolean systemProxy;
 
     /**
      * Instantiates a new http client factory.
@@ -57,7 +67,7 @@ class HttpClientFactory {
      * @param targetUrl
      *            the target url for the coveralls API
      */
-    HttpClientFactory(final String targetUrl) {
+    public HttpClientFactory(final String targetUrl) {
         this.targetUrl = targetUrl;
     }
 
@@ -70,29 +80,65 @@ class HttpClientFactory {
      * @return the http client factory
      */
     public HttpClientFactory proxy(final Proxy proxy) {
-        if (proxy != null && this.isProxied(this.targetUrl, proxy)) {
-            this.hcb.proxy(ProxySelector.of(new InetSocketAddress(proxy.getHost(), proxy.getPort())));
+        this.proxy = proxy != null && this.isProxied(this.targetUrl, proxy) ? proxy : null;
+        this.systemProxy = false;
+        return this;
+    }
 
-            if (StringUtils.isNotBlank(proxy.getUsername())) {
-                final Authenticator authenticator = new Authenticator() {
-                    @Override
-                    protected PasswordAuthentication getPasswordAuthentication() {
-                        return new PasswordAuthentication(proxy.getUsername(), proxy.getPassword().toCharArray());
-                    }
-                };
-                this.hcb.authenticator(authenticator);
-            }
-        }
+    /**
+     * Uses the default proxy selector of the JVM, which honours the <code>http.proxyHost</code>,
+     * <code>https.proxyHost</code> and <code>http.nonProxyHosts</code> system properties, like
+     * {@link java.net.URL#openStream()}.
+     *
+     * @return the http client factory
+     */
+    public HttpClientFactory systemProxy() {
+        this.proxy = null;
+        this.systemProxy = true;
         return this;
     }
 
     /**
-     * Creates a new instance of HttpClient.
+     * Gets the shared HttpClient for the proxy configuration, building it on first use.
      *
-     * @return a new instance of HttpClient
+     * @return the shared HttpClient
      */
     public HttpClient create() {
-        return this.hcb.build();
+        return HttpClientFactory.CLIENTS.computeIfAbsent(new ClientKey(this.proxy, this.systemProxy),
+                HttpClientFactory::build);
+    }
+
+    /**
+     * Builds a new HttpClient.
+     *
+     * @param key
+     *            the proxy configuration
+     *
+     * @return a new instance of HttpClient
+     */
+    private static HttpClient build(final ClientKey key) {
+        final var hcb = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.ALWAYS)
+                .connectTimeout(HttpClientFactory.DEFAULT_CONNECTION_TIMEOUT);
+        if (key.systemProxy) {
+            final var proxySelector = ProxySelector.getDefault();
+            if (proxySelector != null) {
+                hcb.proxy(proxySelector);
+            }
+        } else if (key.host != null) {
+            hcb.proxy(ProxySelector.of(new InetSocketAddress(key.host, key.port)));
+
+            if (StringUtils.isNotBlank(key.username)) {
+                final Authenticator authenticator = new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        return new PasswordAuthentication(key.username, key.password.toCharArray());
+                    }
+                };
+                hcb.authenticator(authenticator);
+            }
+        }
+        return hcb.build();
     }
 
     /**
@@ -117,4 +163,60 @@ class HttpClientFactory {
         }
         return true;
     }
+
+    /**
+     * The proxy configuration a shared client is built for.
+     */
+    private static final class ClientKey {
+
+        /** The proxy host, or null for a direct connection. */
+        private final String host;
+
+        /** The proxy port. */
+        private final int port;
+
+        /** The proxy username. */
+        private final String username;
+
+        /** The proxy password. */
+        private final String password;
+
+        /** True to use the default proxy selector of the JVM. */
+        private final boolean systemProxy;
+
+        /**
+         * Instantiates a new client key.
+         *
+         * @param proxy
+         *            the proxy, or null for a direct connection
+         * @param systemProxy
+         *            true to use the default proxy selector of the JVM
+         */
+        ClientKey(final Proxy proxy, final boolean systemProxy) {
+            this.systemProxy = systemProxy;
+            this.host = proxy != null ? proxy.getHost() : null;
+            this.port = proxy != null ? proxy.getPort() : 0;
+            this.username = proxy != null ? proxy.getUsername() : null;
+            this.password = proxy != null ? proxy.getPassword() : null;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClientKey)) {
+                return false;
+            }
+            final var other = (ClientKey) obj;
+            return this.port == other.port && this.systemProxy == other.systemProxy
+                    && Objects.equals(this.host, other.host) && Objects.equals(this.username, other.username)
+                    && Objects.equals(this.password, other.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.host, this.port, this.username, this.password, this.systemProxy);
+        }
+    }
 }
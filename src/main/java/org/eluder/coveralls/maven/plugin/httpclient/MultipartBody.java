@@ -0,0 +1,285 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Multipart form data body with a single file part. The file is streamed from disk when the request is sent, so the
+ * heap usage does not depend on the file size. The content length is computed up front, and every subscription to the
+ * body publisher reopens the file, which allows the same body to be sent again.
+ * <p>
+ * Gzip compressed files can either be sent as they are with the multipart framing compressed into separate gzip
+ * members, which together form a valid multi-member gzip stream for {@code Content-Encoding: gzip}, or be inflated
+ * while they are sent.
+ */
+final class MultipartBody {
+
+    /** The Constant BUFFER_SIZE. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The Constant CRLF. */
+    private static final String CRLF = "\r\n";
+
+    /** The boundary. */
+    private final String boundary;
+
+    /** The part headers written before the file content. */
+    private final byte[] preamble;
+
+    /** The closing boundary written after the file content. */
+    private final byte[] epilogue;
+
+    /**
+     * Instantiates a new multipart body.
+     *
+     * @param name
+     *            the form field name
+     * @param fileName
+     *            the file name
+     * @param contentType
+     *            the content type of the file part
+     */
+    MultipartBody(final String name, final String fileName, final String contentType) {
+        this.boundary = "----CoverallsBoundary" + System.currentTimeMillis();
+        this.preamble = ("--" + this.boundary + MultipartBody.CRLF + "Content-Disposition: form-data; name=\"" + name
+                + "\"; filename=\"" + fileName + "\"" + MultipartBody.CRLF + "Content-Type: " + contentType
+                + MultipartBody.CRLF + MultipartBody.CRLF).getBytes(StandardCharsets.UTF_8);
+        this.epilogue = (MultipartBody.CRLF + "--" + this.boundary + "--" + MultipartBody.CRLF)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the content type header value of the request.
+     *
+     * @return the content type
+     */
+    String getContentType() {
+        return "multipart/form-data; boundary=" + this.boundary;
+    }
+
+    /**
+     * Gets the total content length for a file part of given size.
+     *
+     * @param fileSize
+     *            the file size
+     *
+     * @return the content length
+     */
+    long getContentLength(final long fileSize) {
+        return this.preamble.length + fileSize + this.epilogue.length;
+    }
+
+    /**
+     * Creates a body publisher that streams the file between the multipart headers and the closing boundary.
+     *
+     * @param file
+     *            the file
+     *
+     * @return the body publisher
+     *
+     * @throws IOException
+     *             if the file size cannot be read
+     */
+    HttpRequest.BodyPublisher publisher(final Path file) throws IOException {
+        final var contentLength = this.getContentLength(Files.size(file));
+        final var stream = HttpRequest.BodyPublishers.ofInputStream(() -> this.open(file));
+        return HttpRequest.BodyPublishers.fromPublisher(stream, contentLength);
+    }
+
+    /**
+     * Creates a body publisher for a gzip compressed file that is sent with {@code Content-Encoding: gzip}. The file is
+     * streamed as is and the multipart headers and closing boundary are added as their own gzip members.
+     *
+     * @param file
+     *            the gzip compressed file
+     *
+     * @return the body publisher
+     *
+     * @throws IOException
+     *             if the file size cannot be read
+     */
+    HttpRequest.BodyPublisher gzipPublisher(final Path file) throws IOException {
+        final var preambleMember = MultipartBody.gzip(this.preamble);
+        final var epilogueMember = MultipartBody.gzip(this.epilogue);
+        final var contentLength = preambleMember.length + Files.size(file) + epilogueMember.length;
+        final var stream = HttpRequest.BodyPublishers
+                .ofInputStream(() -> MultipartBody.open(preambleMember, file, epilogueMember, false));
+        return HttpRequest.BodyPublishers.fromPublisher(stream, contentLength);
+    }
+
+    /**
+     * Creates a body publisher for a gzip compressed file that is inflated while sent. The uncompressed size is not
+     * known up front, so the body is sent without a content length.
+     *
+     * @param file
+     *            the gzip compressed file
+     *
+     * @return the body publisher
+     */
+    HttpRequest.BodyPublisher inflatingPublisher(final Path file) {
+        return HttpRequest.BodyPublishers
+                .ofInputStream(() -> MultipartBody.open(this.preamble, file, this.epilogue, true));
+    }
+
+    /**
+     * Creates a body publisher for content that is streamed while the request is sent, without a content length. The
+     * content can be read only once, so the body cannot be sent again.
+     *
+     * @param content
+     *            the file content
+     * @param gzip
+     *            true if the content is gzip compressed and sent with {@code Content-Encoding: gzip}
+     *
+     * @return the body publisher
+     */
+    HttpRequest.BodyPublisher streamingPublisher(final InputStream content, final boolean gzip) {
+        final var head = gzip ? MultipartBody.gzip(this.preamble) : this.preamble;
+        final var tail = gzip ? MultipartBody.gzip(this.epilogue) : this.epilogue;
+        final var subscribed = new AtomicBoolean();
+        return HttpRequest.BodyPublishers.ofInputStream(() -> {
+            if (subscribed.getAndSet(true)) {
+                throw new IllegalStateException("Streamed request body can be sent only once");
+            }
+            final List<InputStream> parts = List.of(new ByteArrayInputStream(head), content,
+                    new ByteArrayInputStream(tail));
+            return new SequenceInputStream(Collections.enumeration(parts));
+        });
+    }
+
+    /**
+     * Checks if the file is gzip compressed.
+     *
+     * @param file
+     *            the file
+     *
+     * @return true, if the file starts with the gzip magic bytes
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    static boolean isGzip(final Path file) throws IOException {
+        try (var in = Files.newInputStream(file)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+
+    /**
+     * Opens the complete body as a stream.
+     *
+     * @param file
+     *            the file
+     *
+     * @return the input stream
+     */
+    private InputStream open(final Path file) {
+        return MultipartBody.open(this.preamble, file, this.epilogue, false);
+    }
+
+    /**
+     * Opens the file between the given head and tail bytes as a single stream.
+     *
+     * @param head
+     *            the bytes before the file
+     * @param file
+     *            the file
+     * @param tail
+     *            the bytes after the file
+     * @param inflate
+     *            true to decompress the gzip compressed file
+     *
+     * @return the input stream
+     */
+    private static InputStream open(final byte[] head, final Path file, final byte[] tail, final boolean inflate) {
+        try {
+            var content = Files.newInputStream(file);
+            if (inflate) {
+                content = MultipartBody.inflate(content);
+            }
+            final List<InputStream> parts = List.of(new ByteArrayInputStream(head), content,
+                    new ByteArrayInputStream(tail));
+            return new SequenceInputStream(Collections.enumeration(parts));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wraps the compressed content in an inflating stream. The content is closed if the gzip header cannot be read, as
+     * the caller has no stream to close then.
+     *
+     * @param content
+     *            the gzip compressed content
+     *
+     * @return the inflating input stream
+     *
+     * @throws IOException
+     *             if the gzip header is invalid or cannot be read
+     */
+    static InputStream inflate(final InputStream content) throws IOException {
+        try {
+            return new GZIPInputStream(content, MultipartBody.BUFFER_SIZE);
+        } catch (final IOException e) {
+            try {
+                content.close();
+            } catch (final IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compresses the bytes into a single gzip member.
+     *
+     * @param bytes
+     *            the bytes
+     *
+     * @return the gzip member
+     */
+    private static byte[] gzip(final byte[] bytes) {
+        final var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed Coveralls API request is sent again. Retries are delayed with exponential backoff
+ * and jitter, or by the time the server asked for with a <code>Retry-After</code> header. No retry is started that
+ * would end after the overall deadline.
+ */
+public class RetryPolicy {
+
+    /** Policy that never retries. */
+    public static final RetryPolicy NONE = new RetryPolicy(0, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    /** The HTTP status for too many requests. */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /** The HTTP status for not implemented. */
+    private static final int NOT_IMPLEMENTED = 501;
+
+    /** The HTTP status for HTTP version not supported. */
+    private static final int HTTP_VERSION_NOT_SUPPORTED = 505;
+
+    /** The maximum number of retries after the first attempt. */
+    private final int maxRetries;
+
+    /** The delay before the first retry. */
+    private final Duration initialDelay;
+
+    /** The maximum backoff delay. */
+    private final Duration maxDelay;
+
+    /** The overall deadline for all attempts. */
+    private final Duration deadline;
+
+    /**
+     * Instantiates a new retry policy.
+     *
+     * @param maxRetries
+     *            the maximum number of retries after the first attempt
+     * @param initialDelay
+     *            the delay before the first retry, doubled for every further retry
+     * @param maxDelay
+     *            the maximum backoff delay
+     * @param deadline
+     *            the overall deadline for all attempts, measured from the start of the first attempt
+     *
+     * @throws IllegalArgumentException
+     *             if the retry count or a duration is negative
+     */
+    public RetryPolicy(final int maxRetries, final Duration initialDelay, final Duration maxDelay,
+            final Duration deadline) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Retry count must not be negative, was " + maxRetries);
+        }
+        if (initialDelay.isNegative() || maxDelay.isNegative() || deadline.isNegative()) {
+            throw new IllegalArgumentException("Retry delays and deadline must not be negative");
+        }
+        this.maxRetries = maxRetries;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Gets the maximum number of retries after the first attempt.
+     *
+     * @return the maximum number of retries
+     */
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    /**
+     * Gets the overall deadline for all attempts.
+     *
+     * @return the deadline
+     */
+    public Duration getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Checks if a response with the given status may succeed when sent again. Rate limited requests and server errors
+     * are retried, except for the server errors that will never change.
+     *
+     * @param statusCode
+     *            the HTTP status code
+     *
+     * @return true, if the request should be retried
+     */
+    public boolean isRetryable(final int statusCode) {
+        if (statusCode == RetryPolicy.TOO_MANY_REQUESTS) {
+            return true;
+        }
+        return statusCode >= 500 && statusCode != RetryPolicy.NOT_IMPLEMENTED
+                && statusCode != RetryPolicy.HTTP_VERSION_NOT_SUPPORTED;
+    }
+
+    /**
+     * Gets the delay before a retry. A valid <code>Retry-After</code> value takes precedence over the backoff.
+     *
+     * @param retry
+     *            the one based number of the retry
+     * @param retryAfter
+     *            the <code>Retry-After</code> header value, or <code>null</code>
+     *
+     * @return the delay
+     */
+    public Duration delay(final int retry, final String retryAfter) {
+        final var requested = RetryPolicy.parseRetryAfter(retryAfter, Instant.ofEpochMilli(this.currentTimeMillis()));
+        return requested != null ? requested : this.backoff(retry);
+    }
+
+    /**
+     * Gets the backoff delay before a retry. The delay doubles with every retry up to the maximum delay, and a random
+     * jitter of up to half of the delay is subtracted so that clients failing together do not retry together.
+     *
+     * @param retry
+     *            the one based number of the retry
+     *
+     * @return the backoff delay
+     */
+    public Duration backoff(final int retry) {
+        final var exponent = Math.min(Math.max(retry - 1, 0), 30);
+        final var delay = Math.min(this.initialDelay.toMillis() << exponent, this.maxDelay.toMillis());
+        final var jitter = (long) (delay / 2.0 * this.random());
+        return Duration.ofMillis(delay - jitter);
+    }
+
+    /**
+     * Parses a <code>Retry-After</code> header value given either in seconds or as an HTTP date.
+     *
+     * @param value
+     *            the header value, or <code>null</code>
+     * @param now
+     *            the current time, used for HTTP dates
+     *
+     * @return the requested delay, or <code>null</code> if the value is missing or invalid
+     */
+    public static Duration parseRetryAfter(final String value, final Instant now) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        final var trimmed = value.trim();
+        try {
+            final var seconds = Long.parseLong(trimmed);
+            return seconds < 0 ? null : Duration.ofSeconds(seconds);
+        } catch (final NumberFormatException e) {
+            // not delay seconds, try an HTTP date
+        }
+        try {
+            final var date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.isAfter(now) ? Duration.between(now, date) : Duration.ZERO;
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Waits before a retry.
+     *
+     * @param delay
+     *            the delay
+     *
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    protected void sleep(final Duration delay) throws InterruptedException {
+        Thread.sleep(delay.toMillis());
+    }
+
+    /**
+     * Gets the current time in milliseconds.
+     *
+     * @return the current time
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Gets a random value for the jitter.
+     *
+     * @return a random value between zero (inclusive) and one (exclusive)
+     */
+    protected double random() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.CoverallsResponse;
+
+/**
+ * A report submission whose content is streamed into the request body while the request is in flight. Content is
+ * written to the output stream, and the submission is completed after the output stream has been closed.
+ */
+public final class StreamingSubmission {
+
+    /** The client. */
+    private final CoverallsClient client;
+
+    /** The pipe feeding the request body. */
+    private final BodyPipe pipe;
+
+    /** The response. */
+    private final CompletableFuture<HttpResponse<InputStream>> response;
+
+    /**
+     * Instantiates a new streaming submission.
+     *
+     * @param client
+     *            the client that parses the response
+     * @param pipe
+     *            the pipe feeding the request body
+     * @param response
+     *            the response of the request in flight
+     */
+    StreamingSubmission(final CoverallsClient client, final BodyPipe pipe,
+            final CompletableFuture<HttpResponse<InputStream>> response) {
+        this.client = client;
+        this.pipe = pipe;
+        this.response = response;
+        pipe.setConsumer(response);
+    }
+
+    /**
+     * Gets the output stream the coveralls data is written to. Writes are passed to the request as they are, so the
+     * stream should be buffered. Writes fail if the request has ended.
+     *
+     * @return the output stream
+     */
+    public OutputStream getOutputStream() {
+        return this.pipe.getOutputStream();
+    }
+
+    /**
+     * Checks if the request has ended, either because the complete body was sent or because it failed.
+     *
+     * @return true, if the request has ended
+     */
+    public boolean isDone() {
+        return this.response.isDone();
+    }
+
+    /**
+     * Waits for the response after the output stream has been closed.
+     *
+     * @return An API response body deserialized to a {@link CoverallsResponse}
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    public CoverallsResponse complete() throws ProcessingException, IOException, InterruptedException {
+        final HttpResponse<InputStream> result;
+        try {
+            result = this.response.get();
+        } catch (final ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Streaming submission failed", cause);
+        }
+        return this.client.parseResponse(result);
+    }
+
+    /**
+     * Aborts the submission. The request is cancelled and writes to the output stream fail.
+     */
+    public void abort() {
+        this.pipe.abort();
+        this.response.cancel(true);
+    }
+}
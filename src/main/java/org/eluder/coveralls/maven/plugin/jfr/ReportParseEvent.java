@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of parsing a coverage report.
+ */
+@Name("org.eluder.coveralls.ReportParse")
+@Label("Coverage Report Parse")
+@Category("Coveralls")
+@Description("Parsing of a coverage report, including loading the sources it refers to")
+public final class ReportParseEvent extends Event {
+
+    /** The coverage report file. */
+    @Label("Report File")
+    String reportFile;
+
+    /** The parser name. */
+    @Label("Parser")
+    String parser;
+
+    /** The size of the coverage report. */
+    @Label("Report Size")
+    @DataAmount
+    long reportSize;
+
+    /** The number of sources reported. */
+    @Label("Sources")
+    long sources;
+
+    /**
+     * Ends the event and commits it if the event is enabled and within its threshold.
+     *
+     * @param reportFile
+     *            the coverage report file
+     * @param reportSize
+     *            the size of the coverage data in bytes
+     * @param parser
+     *            the parser name
+     * @param sources
+     *            the number of sources reported
+     */
+    public void commit(final File reportFile, final long reportSize, final String parser, final long sources) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.reportFile = reportFile == null ? null : reportFile.getAbsolutePath();
+            this.reportSize = reportSize;
+            this.parser = parser;
+            this.sources = sources;
+            this.commit();
+        }
+    }
+}
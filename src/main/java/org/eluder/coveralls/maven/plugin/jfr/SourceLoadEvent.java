@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of loading a source file.
+ */
+@Name("org.eluder.coveralls.SourceLoad")
+@Label("Source Load")
+@Category("Coveralls")
+@Description("Loading of a source file, either read and hashed or served from the source digest cache")
+public final class SourceLoadEvent extends Event {
+
+    /** The source file. */
+    @Label("Source File")
+    String sourceFile;
+
+    /** The number of bytes read. */
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+
+    /** The number of lines. */
+    @Label("Lines")
+    int lines;
+
+    /** True if the source was found. */
+    @Label("Found")
+    boolean found;
+
+    /** True if the source was served from the source digest cache. */
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    /**
+     * Adds read bytes. Bytes are counted only while the event is enabled.
+     *
+     * @param count
+     *            the number of bytes read
+     */
+    public void addBytes(final long count) {
+        this.bytes += count;
+    }
+
+    /**
+     * Ends the event and commits it if the event is enabled and within its threshold.
+     *
+     * @param sourceFile
+     *            the source file
+     * @param lines
+     *            the number of lines, or negative if the source was not found
+     * @param cacheHit
+     *            true if the source was served from the source digest cache
+     */
+    public void commit(final String sourceFile, final int lines, final boolean cacheHit) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.sourceFile = sourceFile;
+            this.found = lines >= 0;
+            this.lines = Math.max(0, lines);
+            this.cacheHit = cacheHit;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of merging the coverage of equal sources from multiple coverage reports.
+ */
+@Name("org.eluder.coveralls.SourceMerge")
+@Label("Source Merge")
+@Category("Coveralls")
+@Description("Merging of the coverage of a source reported by multiple coverage reports")
+public final class SourceMergeEvent extends Event {
+
+    /** The source name. */
+    @Label("Source")
+    String source;
+
+    /** The number of lines. */
+    @Label("Lines")
+    int lines;
+
+    /** The number of merged branches. */
+    @Label("Branches")
+    int branches;
+
+    /**
+     * Ends the event and commits it if the event is enabled and within its threshold.
+     *
+     * @param source
+     *            the source name
+     * @param lines
+     *            the number of lines
+     * @param branches
+     *            the number of merged branches
+     */
+    public void commit(final String source, final int lines, final int branches) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.source = source;
+            this.lines = lines;
+            this.branches = branches;
+            this.commit();
+        }
+    }
+}
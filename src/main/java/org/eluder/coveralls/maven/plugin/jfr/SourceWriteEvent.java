@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of serializing a source to the coveralls data.
+ */
+@Name("org.eluder.coveralls.SourceWrite")
+@Label("Source Write")
+@Category("Coveralls")
+@Description("Serialization of a source to the coveralls data")
+public final class SourceWriteEvent extends Event {
+
+    /** The source name. */
+    @Label("Source")
+    String source;
+
+    /** The number of lines. */
+    @Label("Lines")
+    int lines;
+
+    /** The number of branches. */
+    @Label("Branches")
+    int branches;
+
+    /** The size of the serialized source before compression. */
+    @Label("JSON Size")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Ends the event and commits it if the event is enabled and within its threshold.
+     *
+     * @param source
+     *            the source name
+     * @param lines
+     *            the number of lines
+     * @param branches
+     *            the number of branches
+     * @param bytes
+     *            the size of the serialized source before compression
+     */
+    public void commit(final String source, final int lines, final int branches, final long bytes) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.source = source;
+            this.lines = lines;
+            this.branches = branches;
+            this.bytes = bytes;
+            this.commit();
+        }
+    }
+}
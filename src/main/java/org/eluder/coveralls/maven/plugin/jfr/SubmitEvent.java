@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of submitting a coveralls file to the API.
+ */
+@Name("org.eluder.coveralls.Submit")
+@Label("Coveralls Submit")
+@Category("Coveralls")
+@Description("Submission of a coveralls file to the API, including retries")
+public final class SubmitEvent extends Event {
+
+    /** The API url. */
+    @Label("URL")
+    String url;
+
+    /** The size of the coveralls file. */
+    @Label("File Size")
+    @DataAmount
+    long fileSize;
+
+    /** True if the coveralls file is gzip compressed. */
+    @Label("Compressed")
+    boolean compressed;
+
+    /** The HTTP status of the last response, or zero if no response was received. */
+    @Label("Status")
+    int status;
+
+    /**
+     * Ends the event and commits it if the event is enabled and within its threshold.
+     *
+     * @param url
+     *            the API url
+     * @param file
+     *            the coveralls file
+     * @param compressed
+     *            true if the coveralls file is gzip compressed
+     * @param status
+     *            the HTTP status of the last response, or zero if no response was received
+     */
+    public void commit(final String url, final File file, final boolean compressed, final int status) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.url = url;
+            this.fileSize = file.length();
+            this.compressed = compressed;
+            this.status = status;
+            this.commit();
+        }
+    }
+}
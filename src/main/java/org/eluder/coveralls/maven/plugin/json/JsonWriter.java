@@ -29,18 +29,24 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.io.output.CountingOutputStream;
 import org.eluder.coveralls.maven.plugin.ProcessingException;
 import org.eluder.coveralls.maven.plugin.domain.Job;
 import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.jfr.SourceWriteEvent;
 import org.eluder.coveralls.maven.plugin.source.SourceCallback;
 
 /**
@@ -48,6 +54,9 @@ import org.eluder.coveralls.maven.plugin.source.SourceCallback;
  */
 public class JsonWriter implements SourceCallback, Closeable {
 
+    /** The Constant BUFFER_SIZE. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /** The Constant TIMESTAMP_FORMAT. */
     protected static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss Z";
 
@@ -57,6 +66,12 @@ public class JsonWriter implements SourceCallback, Closeable {
     /** The coveralls file. */
     private final File coverallsFile;
 
+    /** The output stream of the coveralls file. */
+    private final OutputStream out;
+
+    /** Counts the bytes flushed by the generator, before compression. */
+    private final CountingOutputStream counter;
+
     /** The generator. */
     private final JsonGenerator generator;
 
@@ -72,13 +87,69 @@ public class JsonWriter implements SourceCallback, Closeable {
      *             Signals that an I/O exception has occurred.
      */
     public JsonWriter(final Job job, final File coverallsFile) throws IOException {
-        final var directory = coverallsFile.getParentFile();
+        this(job, coverallsFile, false);
+    }
+
+    /**
+     * Instantiates a new json writer.
+     *
+     * @param job
+     *            the job
+     * @param coverallsFile
+     *            the coveralls file
+     * @param compress
+     *            true to write the coveralls file gzip compressed
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public JsonWriter(final Job job, final File coverallsFile, final boolean compress) throws IOException {
+        this(job, JsonWriter.open(coverallsFile), coverallsFile, compress);
+    }
+
+    /**
+     * Instantiates a new json writer that writes to a stream, such as a request body. The stream is buffered by the
+     * writer and closed when the writer is closed.
+     *
+     * @param job
+     *            the job
+     * @param out
+     *            the output stream
+     * @param coverallsFile
+     *            the coveralls file the stream is copied to, or <code>null</code> if not stored
+     * @param compress
+     *            true to write the coveralls data gzip compressed
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public JsonWriter(final Job job, final OutputStream out, final File coverallsFile, final boolean compress)
+            throws IOException {
+        this.job = job;
+        this.coverallsFile = coverallsFile;
+        final var buffered = new BufferedOutputStream(out, JsonWriter.BUFFER_SIZE);
+        this.out = compress ? new GZIPOutputStream(buffered, JsonWriter.BUFFER_SIZE) : buffered;
+        this.counter = new CountingOutputStream(this.out);
+        this.generator = new MappingJsonFactory().createGenerator(this.counter, JsonEncoding.UTF8);
+    }
+
+    /**
+     * Opens a coveralls file for writing, creating the parent directories if needed.
+     *
+     * @param coverallsFile
+     *            the coveralls file
+     *
+     * @return the output stream
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static OutputStream open(final File coverallsFile) throws IOException {
+        final var directory = coverallsFile.getAbsoluteFile().getParentFile();
         if (!directory.exists()) {
             directory.mkdirs();
         }
-        this.job = job;
-        this.coverallsFile = coverallsFile;
-        this.generator = new MappingJsonFactory().createGenerator(coverallsFile, JsonEncoding.UTF8);
+        return Files.newOutputStream(coverallsFile.toPath());
     }
 
     /**
@@ -99,6 +170,25 @@ public class JsonWriter implements SourceCallback, Closeable {
         return this.coverallsFile;
     }
 
+    /**
+     * Gets the generator.
+     *
+     * @return the generator
+     */
+    final JsonGenerator getGenerator() {
+        return this.generator;
+    }
+
+    /**
+     * Gets the output stream the generator writes to. Content may be written to the stream directly only after flushing
+     * the generator.
+     *
+     * @return the output stream
+     */
+    final OutputStream getOutputStream() {
+        return this.out;
+    }
+
     @Override
     public void onBegin() throws ProcessingException, IOException {
         try {
@@ -122,11 +212,25 @@ public class JsonWriter implements SourceCallback, Closeable {
 
     @Override
     public void onSource(final Source source) throws ProcessingException, IOException {
+        final var event = new SourceWriteEvent();
+        event.begin();
+        final var written = event.isEnabled() ? this.getGeneratedBytes() : 0;
         try {
-            this.generator.writeObject(source);
+            SourceSerializer.write(source, this.generator);
         } catch (final JsonProcessingException e) {
             throw new ProcessingException(e);
         }
+        event.commit(source.getName(), source.getLineCount(), source.getBranchCount(),
+                event.isEnabled() ? this.getGeneratedBytes() - written : 0);
+    }
+
+    /**
+     * Gets the number of bytes generated so far, including the bytes buffered by the generator.
+     *
+     * @return the number of generated bytes before compression
+     */
+    private long getGeneratedBytes() {
+        return this.counter.getByteCount() + this.generator.getOutputBuffered();
     }
 
     @Override
@@ -0,0 +1,281 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Job;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.jfr.SourceWriteEvent;
+
+/**
+ * Json writer that serializes sources on a worker pool and appends them to the coveralls file from a single writer
+ * thread. Serialized sources are written in the order they were passed to {@link #onSource(Source)}, so the coveralls
+ * file is identical to the one written by {@link JsonWriter}. At most four times the number of worker threads sources
+ * are serialized ahead of the writer thread, after which {@link #onSource(Source)} blocks.
+ * <p>
+ * Sources are serialized after {@link #onSource(Source)} returns, so they must not be modified afterwards.
+ */
+public class ParallelJsonWriter extends JsonWriter {
+
+    /** Marks the end of the sources in the write queue. */
+    private static final Future<ByteArrayOutputStream> END = CompletableFuture.completedFuture(null);
+
+    /** The initial size of a serialized source buffer. */
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    /** The json factory for serializing sources. */
+    private final JsonFactory factory = new JsonFactory();
+
+    /** The number of worker threads. */
+    private final int threads;
+
+    /** The serialized sources in write order. */
+    private final BlockingQueue<Future<ByteArrayOutputStream>> queue;
+
+    /** The serializer executor, created on begin. */
+    private ExecutorService executor;
+
+    /** The writer thread, created on begin. */
+    private Thread writer;
+
+    /** The first failure of the writer thread. */
+    private volatile Throwable failure;
+
+    /**
+     * Instantiates a new parallel json writer.
+     *
+     * @param job
+     *            the job
+     * @param coverallsFile
+     *            the coveralls file
+     * @param compress
+     *            true to write the coveralls file gzip compressed
+     * @param threads
+     *            the number of serializer threads
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public ParallelJsonWriter(final Job job, final File coverallsFile, final boolean compress, final int threads)
+            throws IOException {
+        this(job, JsonWriter.open(coverallsFile), coverallsFile, compress, threads);
+    }
+
+    /**
+     * Instantiates a new parallel json writer that writes to a stream, such as a request body.
+     *
+     * @param job
+     *            the job
+     * @param out
+     *            the output stream
+     * @param coverallsFile
+     *            the coveralls file the stream is copied to, or <code>null</code> if not stored
+     * @param compress
+     *            true to write the coveralls data gzip compressed
+     * @param threads
+     *            the number of serializer threads
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public ParallelJsonWriter(final Job job, final OutputStream out, final File coverallsFile, final boolean compress,
+            final int threads) throws IOException {
+        super(job, out, coverallsFile, compress);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.threads = threads;
+        this.queue = new ArrayBlockingQueue<>(threads * 4);
+    }
+
+    @Override
+    public void onBegin() throws ProcessingException, IOException {
+        super.onBegin();
+        this.getGenerator().flush();
+        this.executor = Executors.newFixedThreadPool(this.threads, new WriterThreadFactory());
+        this.writer = new Thread(this::write, "coveralls-json-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void onSource(final Source source) throws ProcessingException, IOException {
+        this.checkFailure();
+        this.enqueue(this.executor.submit(() -> this.serialize(source)));
+    }
+
+    @Override
+    public void onComplete() throws ProcessingException, IOException {
+        this.enqueue(ParallelJsonWriter.END);
+        try {
+            this.writer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrupted while writing coveralls data", e);
+        } finally {
+            this.executor.shutdownNow();
+        }
+        this.checkFailure();
+        super.onComplete();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.writer != null && this.writer.isAlive()) {
+            this.writer.interrupt();
+            this.executor.shutdownNow();
+        }
+        super.close();
+    }
+
+    /**
+     * Serializes a source.
+     *
+     * @param source
+     *            the source
+     *
+     * @return the serialized source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private ByteArrayOutputStream serialize(final Source source) throws IOException {
+        final var event = new SourceWriteEvent();
+        event.begin();
+        final var chunk = new ByteArrayOutputStream(ParallelJsonWriter.CHUNK_SIZE);
+        try (var gen = this.factory.createGenerator(chunk, JsonEncoding.UTF8)) {
+            SourceSerializer.write(source, gen);
+        }
+        event.commit(source.getName(), source.getLineCount(), source.getBranchCount(), chunk.size());
+        return chunk;
+    }
+
+    /**
+     * Adds a serialized source to the write queue, waiting for space if the queue is full.
+     *
+     * @param chunk
+     *            the serialized source
+     *
+     * @throws ProcessingException
+     *             if interrupted while waiting
+     */
+    private void enqueue(final Future<ByteArrayOutputStream> chunk) throws ProcessingException {
+        try {
+            this.queue.put(chunk);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrupted while writing coveralls data", e);
+        }
+    }
+
+    /**
+     * Writes the serialized sources in queue order until the end marker. After a failure the remaining sources are
+     * discarded so that producers waiting for queue space are not blocked.
+     */
+    private void write() {
+        final var out = this.getOutputStream();
+        var first = true;
+        try {
+            Future<ByteArrayOutputStream> next;
+            while ((next = this.queue.take()) != ParallelJsonWriter.END) {
+                if (this.failure != null) {
+                    continue;
+                }
+                try {
+                    final var chunk = next.get();
+                    if (!first) {
+                        out.write(',');
+                    }
+                    chunk.writeTo(out);
+                    first = false;
+                } catch (final ExecutionException e) {
+                    this.failure = e.getCause();
+                } catch (final IOException e) {
+                    this.failure = e;
+                }
+            }
+        } catch (final InterruptedException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Rethrows the failure of the writer thread.
+     *
+     * @throws ProcessingException
+     *             if serialization failed or the writer thread was interrupted
+     * @throws IOException
+     *             if writing failed
+     */
+    private void checkFailure() throws ProcessingException, IOException {
+        final var cause = this.failure;
+        if (cause == null) {
+            return;
+        }
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new ProcessingException(cause);
+    }
+
+    /**
+     * Thread factory for named daemon serializer threads.
+     */
+    private static final class WriterThreadFactory implements ThreadFactory {
+
+        /** The thread counter. */
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final var thread = new Thread(runnable, "coveralls-json-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
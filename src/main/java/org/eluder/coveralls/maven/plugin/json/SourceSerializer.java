@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.domain.Source;
+
+/**
+ * Writes a source straight from its primitive coverage storage. The output is identical to the bean serialization of
+ * {@link Source}, but no objects are created for lines or branches and no properties are resolved by reflection.
+ */
+public final class SourceSerializer extends StdSerializer<Source> {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Instantiates a new source serializer.
+     */
+    public SourceSerializer() {
+        super(Source.class);
+    }
+
+    @Override
+    public void serialize(final Source value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        SourceSerializer.write(value, gen);
+    }
+
+    /**
+     * Writes a source as a JSON object.
+     *
+     * @param source
+     *            the source
+     * @param gen
+     *            the generator
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static void write(final Source source, final JsonGenerator gen) throws IOException {
+        gen.writeStartObject(source);
+
+        gen.writeArrayFieldStart("branchesList");
+        source.forEachBranch((lineNumber, blockNumber, branchNumber, hits) -> {
+            gen.writeStartObject();
+            gen.writeNumberField("lineNumber", lineNumber);
+            gen.writeNumberField("blockNumber", blockNumber);
+            gen.writeNumberField("branchNumber", branchNumber);
+            gen.writeNumberField("hits", hits);
+            gen.writeEndObject();
+        });
+        gen.writeEndArray();
+
+        SourceSerializer.writeOptionalString(gen, "source_digest", source.getDigest());
+
+        gen.writeFieldName("coverage");
+        gen.writeStartArray(source, source.getLineCount());
+        source.forEachLine((lineNumber, hits) -> {
+            if (hits < 0) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(hits);
+            }
+        });
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("branches");
+        source.forEachBranch((lineNumber, blockNumber, branchNumber, hits) -> {
+            gen.writeNumber(lineNumber);
+            gen.writeNumber(blockNumber);
+            gen.writeNumber(branchNumber);
+            gen.writeNumber(hits);
+        });
+        gen.writeEndArray();
+
+        SourceSerializer.writeOptionalString(gen, "name", source.getFullName());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes a string field unless the value is null, as null values of JSON objects are not included.
+     *
+     * @param gen
+     *            the generator
+     * @param field
+     *            the field
+     * @param value
+     *            the value
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void writeOptionalString(final JsonGenerator gen, final String field, final String value)
+            throws IOException {
+        if (value != null) {
+            gen.writeStringField(field, value);
+        }
+    }
+}
@@ -28,7 +28,6 @@ import java.io.IOException;
 
 import org.apache.maven.plugin.logging.Log;
 import org.eluder.coveralls.maven.plugin.ProcessingException;
-import org.eluder.coveralls.maven.plugin.domain.Branch;
 import org.eluder.coveralls.maven.plugin.domain.Source;
 import org.eluder.coveralls.maven.plugin.source.ChainingSourceCallback;
 import org.eluder.coveralls.maven.plugin.source.SourceCallback;
@@ -158,21 +157,21 @@ public class CoverageTracingLogger extends ChainingSourceCallback implements Log
     @Override
     protected void onSourceInternal(final Source source) throws ProcessingException, IOException {
         this.files++;
-        this.lines += source.getCoverage().length;
-        for (final Integer coverage : source.getCoverage()) {
-            if (coverage != null) {
+        this.lines += source.getLineCount();
+        source.forEachLine((lineNumber, hits) -> {
+            if (hits >= 0) {
                 this.relevant++;
-                if (coverage > 0) {
+                if (hits > 0) {
                     this.covered++;
                 }
             }
-        }
+        });
 
-        this.branches += source.getBranchesList().size();
-        for (final Branch b : source.getBranchesList()) {
-            if (b.getHits() > 0) {
+        this.branches += source.getBranchCount();
+        source.forEachBranch((lineNumber, blockNumber, branchNumber, hits) -> {
+            if (hits > 0) {
                 this.coveredBranches++;
             }
-        }
+        });
     }
 }
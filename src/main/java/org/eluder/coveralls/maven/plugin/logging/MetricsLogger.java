@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.logging;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+
+/**
+ * Logs the metrics of the coveralls report as a summary table. The metrics of each report are logged on debug level.
+ */
+public class MetricsLogger implements Logger {
+
+    /** The metrics. */
+    private final Metrics metrics;
+
+    /**
+     * Instantiates a new metrics logger.
+     *
+     * @param metrics
+     *            the metrics
+     */
+    public MetricsLogger(final Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Position getPosition() {
+        return Position.AFTER;
+    }
+
+    @Override
+    public void log(final Log log) {
+        log.info("Coveralls report metrics:");
+        log.info(String.format(Locale.ROOT, "  %-10s %10s  %s", "phase", "time (ms)", "counters"));
+        for (final Phase phase : Phase.values()) {
+            log.info(String.format(Locale.ROOT, "  %-10s %10d  %s", phase.getName(), this.metrics.getMillis(phase),
+                    MetricsLogger.format(this.metrics.getCounters(phase))).stripTrailing());
+        }
+        final var parsers = this.metrics.getParsers();
+        if (!parsers.isEmpty()) {
+            log.info(String.format(Locale.ROOT, "  %-20s %8s %10s %12s %10s", "parser", "reports", "time (ms)", "bytes",
+                    "sources"));
+            parsers.forEach((name, parser) -> log.info(String.format(Locale.ROOT, "  %-20s %8d %10d %12d %10d", name,
+                    parser.getCount(), parser.getMillis(), parser.getBytes(), parser.getSources())));
+        }
+        if (log.isDebugEnabled()) {
+            for (final Metrics.Report report : this.metrics.getReports()) {
+                log.debug("  " + report.getFile().getAbsolutePath() + " (" + report.getParser() + "): "
+                        + report.getMillis() + "ms, " + report.getBytes() + " bytes, " + report.getSources()
+                        + " sources");
+            }
+        }
+    }
+
+    /**
+     * Formats counters.
+     *
+     * @param counters
+     *            the counters
+     *
+     * @return the formatted counters
+     */
+    private static String format(final Map<String, Long> counters) {
+        final var out = new StringBuilder();
+        counters.forEach((name, value) -> {
+            if (out.length() > 0) {
+                out.append(' ');
+            }
+            out.append(name).append('=').append(value);
+        });
+        return out.toString();
+    }
+}
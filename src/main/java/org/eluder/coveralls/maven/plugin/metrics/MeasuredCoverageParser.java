@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.jfr.ReportParseEvent;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+
+/**
+ * Coverage parser that records the parse time, report size and number of parsed sources of a report. Parsers pass
+ * sources synchronously to the source callback and load them on the parsing thread, so the time spent in the callback
+ * and in the measured source loader is excluded from the parse time. It is recorded in the merge, write and sources
+ * phases instead.
+ */
+public final class MeasuredCoverageParser implements CoverageParser {
+
+    /** The delegate. */
+    private final CoverageParser delegate;
+
+    /** The metrics. */
+    private final Metrics metrics;
+
+    /** The source loader used by the parser, or null if source loading is not measured. */
+    private final MeasuredSourceLoader sourceLoader;
+
+    /**
+     * Instantiates a new measured coverage parser.
+     *
+     * @param delegate
+     *            the parser to measure
+     * @param metrics
+     *            the metrics
+     */
+    public MeasuredCoverageParser(final CoverageParser delegate, final Metrics metrics) {
+        this(delegate, metrics, null);
+    }
+
+    /**
+     * Instantiates a new measured coverage parser that excludes the time spent loading sources from the parse time.
+     *
+     * @param delegate
+     *            the parser to measure
+     * @param metrics
+     *            the metrics
+     * @param sourceLoader
+     *            the measured source loader used by the parser
+     */
+    public MeasuredCoverageParser(final CoverageParser delegate, final Metrics metrics,
+            final MeasuredSourceLoader sourceLoader) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.sourceLoader = sourceLoader;
+    }
+
+    @Override
+    public void parse(final SourceCallback callback) throws ProcessingException, IOException {
+        final var counter = new CountingSourceCallback(callback);
+        final var event = new ReportParseEvent();
+        event.begin();
+        final var loadStart = this.loadNanos();
+        final var start = System.nanoTime();
+        this.delegate.parse(counter);
+        final var nanos = System.nanoTime() - start - counter.nanos - (this.loadNanos() - loadStart);
+        final var size = this.getCoverageSize();
+        event.commit(this.getCoverageFile(), size, this.delegate.getClass().getSimpleName(), counter.sources);
+        this.metrics.report(this.getCoverageFile(), this.delegate.getClass().getSimpleName(), size, counter.sources,
+                nanos);
+    }
+
+    @Override
+    public File getCoverageFile() {
+        return this.delegate.getCoverageFile();
+    }
+
+    @Override
+    public long getCoverageSize() {
+        return this.delegate.getCoverageSize();
+    }
+
+    /**
+     * Gets the time spent loading sources on the current thread.
+     *
+     * @return the load time in nanoseconds
+     */
+    private long loadNanos() {
+        return this.sourceLoader == null ? 0 : this.sourceLoader.getThreadNanos();
+    }
+
+    /**
+     * Source callback that counts the parsed sources and the time spent in the delegate.
+     */
+    private static final class CountingSourceCallback implements SourceCallback {
+
+        /** The delegate. */
+        private final SourceCallback delegate;
+
+        /** The number of sources. */
+        private long sources;
+
+        /** The time spent in the delegate. */
+        private long nanos;
+
+        /**
+         * Instantiates a new counting source callback.
+         *
+         * @param delegate
+         *            the delegate
+         */
+        private CountingSourceCallback(final SourceCallback delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onBegin() throws ProcessingException, IOException {
+            final var start = System.nanoTime();
+            try {
+                this.delegate.onBegin();
+            } finally {
+                this.nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void onSource(final Source source) throws ProcessingException, IOException {
+            this.sources++;
+            final var start = System.nanoTime();
+            try {
+                this.delegate.onSource(source);
+            } finally {
+                this.nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void onComplete() throws ProcessingException, IOException {
+            final var start = System.nanoTime();
+            try {
+                this.delegate.onComplete();
+            } finally {
+                this.nanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+
+/**
+ * Source callback that records the time spent in a callback of the chain and the sources, lines and branches passed to
+ * it. The time spent in a nested measured callback further down the chain is excluded, so that each phase is only
+ * counted once.
+ */
+public final class MeasuredSourceCallback implements SourceCallback {
+
+    /** The delegate. */
+    private final SourceCallback delegate;
+
+    /** The metrics. */
+    private final Metrics metrics;
+
+    /** The phase. */
+    private final Phase phase;
+
+    /** The nested measured callback, or null. */
+    private final MeasuredSourceCallback nested;
+
+    /** The time spent in this callback including the nested callback, in nanoseconds. */
+    private long nanos;
+
+    /**
+     * Instantiates a new measured source callback.
+     *
+     * @param delegate
+     *            the callback to measure
+     * @param metrics
+     *            the metrics
+     * @param phase
+     *            the phase to record
+     */
+    public MeasuredSourceCallback(final SourceCallback delegate, final Metrics metrics, final Phase phase) {
+        this(delegate, metrics, phase, null);
+    }
+
+    /**
+     * Instantiates a new measured source callback.
+     *
+     * @param delegate
+     *            the callback to measure
+     * @param metrics
+     *            the metrics
+     * @param phase
+     *            the phase to record
+     * @param nested
+     *            the measured callback further down the chain whose time is excluded, or null
+     */
+    public MeasuredSourceCallback(final SourceCallback delegate, final Metrics metrics, final Phase phase,
+            final MeasuredSourceCallback nested) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.phase = phase;
+        this.nested = nested;
+    }
+
+    @Override
+    public void onBegin() throws ProcessingException, IOException {
+        final var start = System.nanoTime();
+        final var nestedStart = this.nestedNanos();
+        try {
+            this.delegate.onBegin();
+        } finally {
+            this.stop(start, nestedStart);
+        }
+    }
+
+    @Override
+    public void onSource(final Source source) throws ProcessingException, IOException {
+        this.metrics.count(this.phase, Metrics.SOURCES, 1);
+        this.metrics.count(this.phase, Metrics.LINES, source.getLineCount());
+        this.metrics.count(this.phase, Metrics.BRANCHES, source.getBranchCount());
+        final var start = System.nanoTime();
+        final var nestedStart = this.nestedNanos();
+        try {
+            this.delegate.onSource(source);
+        } finally {
+            this.stop(start, nestedStart);
+        }
+    }
+
+    @Override
+    public void onComplete() throws ProcessingException, IOException {
+        final var start = System.nanoTime();
+        final var nestedStart = this.nestedNanos();
+        try {
+            this.delegate.onComplete();
+        } finally {
+            this.stop(start, nestedStart);
+        }
+    }
+
+    /**
+     * Gets the time spent in the nested callback so far.
+     *
+     * @return the time in nanoseconds
+     */
+    private long nestedNanos() {
+        return this.nested == null ? 0 : this.nested.nanos;
+    }
+
+    /**
+     * Stops measuring a call and records the time excluding the nested callback.
+     *
+     * @param start
+     *            the start time
+     * @param nestedStart
+     *            the time spent in the nested callback when the call started
+     */
+    private void stop(final long start, final long nestedStart) {
+        final var elapsed = System.nanoTime() - start;
+        this.nanos += elapsed;
+        this.metrics.time(this.phase, elapsed - (this.nestedNanos() - nestedStart));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+
+/**
+ * Source loader that records the load time and the number of loaded and missing sources and their lines.
+ */
+public final class MeasuredSourceLoader implements SourceLoader {
+
+    /** The delegate. */
+    private final SourceLoader delegate;
+
+    /** The metrics. */
+    private final Metrics metrics;
+
+    /** The load time of the current thread, excluded from the parse time of the parser loading the sources. */
+    private final ThreadLocal<long[]> threadNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Instantiates a new measured source loader.
+     *
+     * @param delegate
+     *            the source loader to measure
+     * @param metrics
+     *            the metrics
+     */
+    public MeasuredSourceLoader(final SourceLoader delegate, final Metrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Source load(final String sourceFile) throws IOException {
+        final var start = System.nanoTime();
+        try {
+            final var source = this.delegate.load(sourceFile);
+            if (source == null) {
+                this.metrics.count(Phase.SOURCES, Metrics.MISSING, 1);
+            } else {
+                this.metrics.count(Phase.SOURCES, Metrics.FILES, 1);
+                this.metrics.count(Phase.SOURCES, Metrics.LINES, source.getLineCount());
+            }
+            return source;
+        } finally {
+            final var elapsed = System.nanoTime() - start;
+            this.threadNanos.get()[0] += elapsed;
+            this.metrics.time(Phase.SOURCES, elapsed);
+        }
+    }
+
+    /**
+     * Gets the time spent loading sources on the current thread.
+     *
+     * @return the load time of the current thread in nanoseconds
+     */
+    long getThreadNanos() {
+        return this.threadNanos.get()[0];
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing and throughput metrics of the phases of the coveralls report. Metrics may be recorded concurrently, e.g. by
+ * parsers running on a worker pool.
+ */
+public final class Metrics {
+
+    /** The counter of files. */
+    public static final String FILES = "files";
+
+    /** The counter of bytes. */
+    public static final String BYTES = "bytes";
+
+    /** The counter of lines. */
+    public static final String LINES = "lines";
+
+    /** The counter of branches. */
+    public static final String BRANCHES = "branches";
+
+    /** The counter of sources. */
+    public static final String SOURCES = "sources";
+
+    /** The counter of sources that were not found. */
+    public static final String MISSING = "missing";
+
+    /** The counter of source digest cache hits. */
+    public static final String CACHE_HITS = "cache_hits";
+
+    /** The counter of source digest cache misses. */
+    public static final String CACHE_MISSES = "cache_misses";
+
+    /**
+     * The phases of the coveralls report. The time of each phase excludes the nested phases, e.g. the time of the parse
+     * phase excludes loading, merging and writing the parsed sources and the time of the merge phase excludes writing.
+     */
+    public enum Phase {
+
+        /** Loading the git metadata. */
+        GIT,
+
+        /** Discovering the coverage reports. */
+        DISCOVERY,
+
+        /** Parsing the coverage reports. */
+        PARSE,
+
+        /** Loading and hashing the sources. */
+        SOURCES,
+
+        /** Merging the coverage of sources found in multiple reports. */
+        MERGE,
+
+        /** Writing the coveralls data. */
+        WRITE,
+
+        /** Submitting the coveralls data. */
+        SUBMIT;
+
+        /**
+         * Gets the name used in the metrics output.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** The phase timers, in nanoseconds. */
+    private final Map<Phase, LongAdder> times = new EnumMap<>(Phase.class);
+
+    /** The phase counters. */
+    private final Map<Phase, Map<String, LongAdder>> counters = new EnumMap<>(Phase.class);
+
+    /** The parsed reports. */
+    private final ConcurrentLinkedQueue<Report> reports = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Instantiates new metrics.
+     */
+    public Metrics() {
+        for (final Phase phase : Phase.values()) {
+            this.times.put(phase, new LongAdder());
+            this.counters.put(phase, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Adds time to a phase.
+     *
+     * @param phase
+     *            the phase
+     * @param nanos
+     *            the time in nanoseconds
+     */
+    public void time(final Phase phase, final long nanos) {
+        this.times.get(phase).add(nanos);
+    }
+
+    /**
+     * Adds to a counter of a phase.
+     *
+     * @param phase
+     *            the phase
+     * @param counter
+     *            the counter
+     * @param delta
+     *            the amount to add
+     */
+    public void count(final Phase phase, final String counter, final long delta) {
+        this.counters.get(phase).computeIfAbsent(counter, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Records a parsed report. The time and size are also added to the parse phase.
+     *
+     * @param file
+     *            the report file
+     * @param parser
+     *            the parser name
+     * @param bytes
+     *            the size of the report
+     * @param sources
+     *            the number of sources parsed from the report
+     * @param nanos
+     *            the parse time in nanoseconds
+     */
+    public void report(final File file, final String parser, final long bytes, final long sources, final long nanos) {
+        this.reports.add(new Report(file, parser, bytes, sources, nanos));
+        this.time(Phase.PARSE, nanos);
+        this.count(Phase.PARSE, Metrics.FILES, 1);
+        this.count(Phase.PARSE, Metrics.BYTES, bytes);
+        this.count(Phase.PARSE, Metrics.SOURCES, sources);
+    }
+
+    /**
+     * Gets the time of a phase.
+     *
+     * @param phase
+     *            the phase
+     *
+     * @return the time in milliseconds
+     */
+    public long getMillis(final Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(this.times.get(phase).sum());
+    }
+
+    /**
+     * Gets the time of a phase.
+     *
+     * @param phase
+     *            the phase
+     *
+     * @return the time in seconds
+     */
+    public double getSeconds(final Phase phase) {
+        return this.times.get(phase).sum() / 1e9;
+    }
+
+    /**
+     * Gets the counters of a phase.
+     *
+     * @param phase
+     *            the phase
+     *
+     * @return the counters sorted by name
+     */
+    public Map<String, Long> getCounters(final Phase phase) {
+        final Map<String, Long> values = new LinkedHashMap<>();
+        this.counters.get(phase).keySet().stream().sorted()
+                .forEach(key -> values.put(key, this.counters.get(phase).get(key).sum()));
+        return values;
+    }
+
+    /**
+     * Gets a counter of a phase.
+     *
+     * @param phase
+     *            the phase
+     * @param counter
+     *            the counter
+     *
+     * @return the value, 0 if not counted
+     */
+    public long getCount(final Phase phase, final String counter) {
+        final var value = this.counters.get(phase).get(counter);
+        return value == null ? 0 : value.sum();
+    }
+
+    /**
+     * Gets the parsed reports.
+     *
+     * @return the reports in completion order
+     */
+    public List<Report> getReports() {
+        return Collections.unmodifiableList(new ArrayList<>(this.reports));
+    }
+
+    /**
+     * Gets the parsed reports summed by parser.
+     *
+     * @return the parser totals sorted by parser name
+     */
+    public Map<String, Report> getParsers() {
+        final Map<String, Report> parsers = new TreeMap<>();
+        for (final Report report : this.reports) {
+            parsers.merge(report.getParser(), report,
+                    (a, b) -> new Report(null, a.getParser(), a.getBytes() + b.getBytes(),
+                            a.getSources() + b.getSources(), a.nanos + b.nanos, a.count + b.count));
+        }
+        return parsers;
+    }
+
+    /**
+     * The metrics of a parsed report, or the sum of the reports of a parser.
+     */
+    public static final class Report {
+
+        /** The report file, null for parser totals. */
+        private final File file;
+
+        /** The parser name. */
+        private final String parser;
+
+        /** The report size in bytes. */
+        private final long bytes;
+
+        /** The number of parsed sources. */
+        private final long sources;
+
+        /** The parse time in nanoseconds. */
+        private final long nanos;
+
+        /** The number of reports. */
+        private final int count;
+
+        /**
+         * Instantiates a new report.
+         *
+         * @param file
+         *            the report file
+         * @param parser
+         *            the parser name
+         * @param bytes
+         *            the report size in bytes
+         * @param sources
+         *            the number of parsed sources
+         * @param nanos
+         *            the parse time in nanoseconds
+         */
+        Report(final File file, final String parser, final long bytes, final long sources, final long nanos) {
+            this(file, parser, bytes, sources, nanos, 1);
+        }
+
+        /**
+         * Instantiates a new report.
+         *
+         * @param file
+         *            the report file
+         * @param parser
+         *            the parser name
+         * @param bytes
+         *            the report size in bytes
+         * @param sources
+         *            the number of parsed sources
+         * @param nanos
+         *            the parse time in nanoseconds
+         * @param count
+         *            the number of reports
+         */
+        private Report(final File file, final String parser, final long bytes, final long sources, final long nanos,
+                final int count) {
+            this.file = file;
+            this.parser = parser;
+            this.bytes = bytes;
+            this.sources = sources;
+            this.nanos = nanos;
+            this.count = count;
+        }
+
+        /**
+         * Gets the report file.
+         *
+         * @return the report file, null for parser totals
+         */
+        public File getFile() {
+            return this.file;
+        }
+
+        /**
+         * Gets the parser name.
+         *
+         * @return the parser name
+         */
+        public String getParser() {
+            return this.parser;
+        }
+
+        /**
+         * Gets the report size.
+         *
+         * @return the size in bytes
+         */
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * Gets the number of parsed sources.
+         *
+         * @return the number of sources
+         */
+        public long getSources() {
+            return this.sources;
+        }
+
+        /**
+         * Gets the parse time.
+         *
+         * @return the time in milliseconds
+         */
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(this.nanos);
+        }
+
+        /**
+         * Gets the parse time.
+         *
+         * @return the time in seconds
+         */
+        public double getSeconds() {
+            return this.nanos / 1e9;
+        }
+
+        /**
+         * Gets the number of reports.
+         *
+         * @return the number of reports
+         */
+        public int getCount() {
+            return this.count;
+        }
+    }
+}
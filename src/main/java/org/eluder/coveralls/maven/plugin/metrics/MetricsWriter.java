@@ -0,0 +1,231 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+
+/**
+ * Writes metrics as JSON or in the Prometheus text exposition format, e.g. for the textfile collector of the node
+ * exporter. The Prometheus output has one series per phase and parser, per report metrics are only written as JSON to
+ * keep the number of series bounded.
+ */
+public final class MetricsWriter {
+
+    /** The metrics. */
+    private final Metrics metrics;
+
+    /**
+     * Instantiates a new metrics writer.
+     *
+     * @param metrics
+     *            the metrics
+     */
+    public MetricsWriter(final Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Writes the metrics as JSON.
+     *
+     * @param file
+     *            the file to write
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writeJson(final File file) throws IOException {
+        final Map<String, Object> phases = new LinkedHashMap<>();
+        for (final Phase phase : Phase.values()) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("time_ms", this.metrics.getMillis(phase));
+            values.putAll(this.metrics.getCounters(phase));
+            phases.put(phase.getName(), values);
+        }
+        final Map<String, Object> parsers = new LinkedHashMap<>();
+        this.metrics.getParsers().forEach((name, parser) -> {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("reports", parser.getCount());
+            values.putAll(MetricsWriter.values(parser));
+            parsers.put(name, values);
+        });
+        final List<Object> reports = new ArrayList<>();
+        for (final Metrics.Report report : this.metrics.getReports()) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("file", report.getFile().getAbsolutePath());
+            values.put("parser", report.getParser());
+            values.putAll(MetricsWriter.values(report));
+            reports.add(values);
+        }
+        final Map<String, Object> root = new LinkedHashMap<>();
+        root.put("phases", phases);
+        root.put("parsers", parsers);
+        root.put("reports", reports);
+        final var bytes = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build()
+                .writeValueAsBytes(root);
+        MetricsWriter.write(file, bytes);
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text exposition format.
+     *
+     * @param file
+     *            the file to write
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void writePrometheus(final File file) throws IOException {
+        final var out = new StringBuilder();
+        MetricsWriter.header(out, "coveralls_phase_seconds", "Time spent in a phase of the coveralls report.");
+        for (final Phase phase : Phase.values()) {
+            MetricsWriter.sample(out, "coveralls_phase_seconds", "phase=\"" + phase.getName() + "\"",
+                    Double.toString(this.metrics.getSeconds(phase)));
+        }
+        MetricsWriter.header(out, "coveralls_phase_items", "Items processed in a phase of the coveralls report.");
+        for (final Phase phase : Phase.values()) {
+            this.metrics.getCounters(phase)
+                    .forEach((counter, value) -> MetricsWriter.sample(out, "coveralls_phase_items",
+                            "phase=\"" + phase.getName() + "\",counter=\"" + MetricsWriter.escape(counter) + "\"",
+                            Long.toString(value)));
+        }
+        final var parsers = this.metrics.getParsers();
+        MetricsWriter.header(out, "coveralls_parser_seconds", "Time spent parsing the reports of a parser.");
+        parsers.forEach((name, parser) -> MetricsWriter.sample(out, "coveralls_parser_seconds",
+                MetricsWriter.parserLabel(name), Double.toString(parser.getSeconds())));
+        MetricsWriter.header(out, "coveralls_parser_reports", "Reports parsed by a parser.");
+        parsers.forEach((name, parser) -> MetricsWriter.sample(out, "coveralls_parser_reports",
+                MetricsWriter.parserLabel(name), Integer.toString(parser.getCount())));
+        MetricsWriter.header(out, "coveralls_parser_bytes", "Size of the reports parsed by a parser.");
+        parsers.forEach((name, parser) -> MetricsWriter.sample(out, "coveralls_parser_bytes",
+                MetricsWriter.parserLabel(name), Long.toString(parser.getBytes())));
+        MetricsWriter.header(out, "coveralls_parser_sources", "Sources parsed by a parser.");
+        parsers.forEach((name, parser) -> MetricsWriter.sample(out, "coveralls_parser_sources",
+                MetricsWriter.parserLabel(name), Long.toString(parser.getSources())));
+        MetricsWriter.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the values of a report.
+     *
+     * @param report
+     *            the report
+     *
+     * @return the values
+     */
+    private static Map<String, Object> values(final Metrics.Report report) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("time_ms", report.getMillis());
+        values.put("bytes", report.getBytes());
+        values.put("sources", report.getSources());
+        return values;
+    }
+
+    /**
+     * Appends the help and type lines of a gauge.
+     *
+     * @param out
+     *            the output
+     * @param name
+     *            the metric name
+     * @param help
+     *            the help text
+     */
+    private static void header(final StringBuilder out, final String name, final String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+    }
+
+    /**
+     * Appends a sample.
+     *
+     * @param out
+     *            the output
+     * @param name
+     *            the metric name
+     * @param labels
+     *            the labels
+     * @param value
+     *            the value
+     */
+    private static void sample(final StringBuilder out, final String name, final String labels, final String value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    /**
+     * Gets the parser label.
+     *
+     * @param parser
+     *            the parser name
+     *
+     * @return the label
+     */
+    private static String parserLabel(final String parser) {
+        return "parser=\"" + MetricsWriter.escape(parser) + "\"";
+    }
+
+    /**
+     * Escapes a label value.
+     *
+     * @param value
+     *            the value
+     *
+     * @return the escaped value
+     */
+    static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Writes a file atomically, so that collectors never read a partially written file.
+     *
+     * @param file
+     *            the file
+     * @param bytes
+     *            the content
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void write(final File file, final byte[] bytes) throws IOException {
+        final var target = file.getAbsoluteFile().toPath();
+        Files.createDirectories(target.getParent());
+        final var temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -47,6 +47,12 @@ import org.eluder.coveralls.maven.plugin.source.SourceLoader;
  */
 public abstract class AbstractXmlEventParser implements CoverageParser {
 
+    /** The read buffer size for coverage reports. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The shared input factory, configured once on first use. */
+    private static volatile XMLInputFactory inputFactory;
+
     /** The coverage file. */
     private final File coverageFile;
 
@@ -70,7 +76,7 @@ public abstract class AbstractXmlEventParser implements CoverageParser {
     public final void parse(final SourceCallback callback) throws ProcessingException, IOException {
         XMLStreamReader xml = null;
         try (var is = Files.newInputStream(this.coverageFile.toPath());
-                var bis = new BufferedInputStream(is)) {
+                var bis = new BufferedInputStream(is, AbstractXmlEventParser.BUFFER_SIZE)) {
             xml = this.createEventReader(bis);
             while (xml.hasNext()) {
                 xml.next();
@@ -101,12 +107,11 @@ public abstract class AbstractXmlEventParser implements CoverageParser {
      */
     protected XMLStreamReader createEventReader(final InputStream inputStream) throws ProcessingException {
         try {
-            final var xmlif = XMLInputFactory.newInstance();
-            xmlif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-            xmlif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
-            xmlif.setProperty(XMLInputFactory.IS_VALIDATING, false);
-            xmlif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-            return xmlif.createXMLStreamReader(inputStream);
+            final var xmlif = AbstractXmlEventParser.inputFactory();
+            // factory implementations are not required to be thread safe, reports may be parsed concurrently
+            synchronized (xmlif) {
+                return xmlif.createXMLStreamReader(inputStream);
+            }
         } catch (final FactoryConfigurationError e) {
             throw new IllegalArgumentException(e);
         } catch (final XMLStreamException e) {
@@ -114,6 +119,34 @@ public abstract class AbstractXmlEventParser implements CoverageParser {
         }
     }
 
+    /**
+     * Gets the shared input factory. The factory is looked up once with the standard StAX lookup, so a faster
+     * implementation such as Woodstox or Aalto is used when it is on the plugin classpath or selected with the
+     * <code>javax.xml.stream.XMLInputFactory</code> system property.
+     *
+     * @return the configured input factory
+     *
+     * @throws FactoryConfigurationError
+     *             if the factory cannot be created
+     */
+    static XMLInputFactory inputFactory() {
+        var xmlif = AbstractXmlEventParser.inputFactory;
+        if (xmlif == null) {
+            synchronized (AbstractXmlEventParser.class) {
+                xmlif = AbstractXmlEventParser.inputFactory;
+                if (xmlif == null) {
+                    xmlif = XMLInputFactory.newInstance();
+                    xmlif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+                    xmlif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+                    xmlif.setProperty(XMLInputFactory.IS_VALIDATING, false);
+                    xmlif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+                    AbstractXmlEventParser.inputFactory = xmlif;
+                }
+            }
+        }
+        return xmlif;
+    }
+
     /**
      * Close.
      *
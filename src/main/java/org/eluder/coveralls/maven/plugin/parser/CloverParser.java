@@ -27,6 +27,7 @@ package org.eluder.coveralls.maven.plugin.parser;
 import java.io.File;
 import java.io.IOException;
 
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
@@ -61,29 +62,121 @@ public class CloverParser extends AbstractXmlEventParser {
     @Override
     protected void onEvent(final XMLStreamReader xml, final SourceCallback callback)
             throws XMLStreamException, ProcessingException, IOException {
-        if (this.isStartElement(xml, "package")) {
-            this.packageName = xml.getAttributeValue(null, "name");
-        } else if (this.isStartElement(xml, "file") && this.packageName != null) {
-            final var sourceFile = this.getSourceFile(xml.getAttributeValue(null, "name"));
-            this.source = this.loadSource(sourceFile);
-        } else if (this.isStartElement(xml, "line") && this.source != null) {
-            // lines can be "method", "stmt", or "cond"
-            final var type = xml.getAttributeValue(null, "type");
-            var coverage = 0;
-            if ("method".equals(type) || "stmt".equals(type)) {
-                coverage = Integer.parseInt(xml.getAttributeValue(null, "count")) == 0 ? 0 : 1;
-            } else if ("cond".equals(type)) {
-                final var falseCount = Integer.parseInt(xml.getAttributeValue(null, "falsecount"));
-                final var trueCount = Integer.parseInt(xml.getAttributeValue(null, "truecount"));
-                coverage = trueCount == 0 || falseCount == 0 ? 0 : 1;
+        switch (xml.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                this.onStartElement(xml);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                this.onEndElement(xml, callback);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * On start element.
+     *
+     * @param xml
+     *            the xml
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void onStartElement(final XMLStreamReader xml) throws IOException {
+        switch (xml.getLocalName()) {
+            case "line":
+                if (this.source != null) {
+                    this.onLine(xml);
+                }
+                break;
+            case "file":
+                if (this.packageName != null) {
+                    final var sourceFile = this.getSourceFile(xml.getAttributeValue(null, "name"));
+                    this.source = this.loadSource(sourceFile);
+                }
+                break;
+            case "package":
+                this.packageName = xml.getAttributeValue(null, "name");
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * On line element. Attributes are read by index in a single pass instead of looking each one up by name.
+     *
+     * @param xml
+     *            the xml
+     */
+    private void onLine(final XMLStreamReader xml) {
+        String type = null;
+        String num = null;
+        String count = null;
+        String falseCount = null;
+        String trueCount = null;
+        for (int i = 0, n = xml.getAttributeCount(); i < n; i++) {
+            switch (xml.getAttributeLocalName(i)) {
+                case "type":
+                    type = xml.getAttributeValue(i);
+                    break;
+                case "num":
+                    num = xml.getAttributeValue(i);
+                    break;
+                case "count":
+                    count = xml.getAttributeValue(i);
+                    break;
+                case "falsecount":
+                    falseCount = xml.getAttributeValue(i);
+                    break;
+                case "truecount":
+                    trueCount = xml.getAttributeValue(i);
+                    break;
+                default:
+                    break;
             }
-            final var lineNumber = Integer.parseInt(xml.getAttributeValue(null, "num"));
-            this.source.addCoverage(lineNumber, coverage);
-        } else if (this.isEndElement(xml, "file") && this.source != null) {
-            callback.onSource(this.source);
-            this.source = null;
-        } else if (this.isEndElement(xml, "package")) {
-            this.packageName = null;
+        }
+        // lines can be "method", "stmt", or "cond"
+        var coverage = 0;
+        if ("method".equals(type) || "stmt".equals(type)) {
+            coverage = Integer.parseInt(count) == 0 ? 0 : 1;
+        } else if ("cond".equals(type)) {
+            final var falses = Integer.parseInt(falseCount);
+            final var trues = Integer.parseInt(trueCount);
+            coverage = trues == 0 || falses == 0 ? 0 : 1;
+        }
+        final var lineNumber = Integer.parseInt(num);
+        this.source.addCoverage(lineNumber, coverage);
+    }
+
+    /**
+     * On end element.
+     *
+     * @param xml
+     *            the xml
+     * @param callback
+     *            the callback
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void onEndElement(final XMLStreamReader xml, final SourceCallback callback)
+            throws ProcessingException, IOException {
+        switch (xml.getLocalName()) {
+            case "file":
+                if (this.source != null) {
+                    callback.onSource(this.source);
+                    this.source = null;
+                }
+                break;
+            case "package":
+                this.packageName = null;
+                break;
+            default:
+                break;
         }
     }
 
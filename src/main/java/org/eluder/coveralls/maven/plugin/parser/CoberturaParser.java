@@ -27,6 +27,7 @@ package org.eluder.coveralls.maven.plugin.parser;
 import java.io.File;
 import java.io.IOException;
 
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
@@ -67,53 +68,142 @@ public class CoberturaParser extends AbstractXmlEventParser {
     @Override
     protected void onEvent(final XMLStreamReader xml, final SourceCallback callback)
             throws XMLStreamException, ProcessingException, IOException {
-        if (this.isStartElement(xml, "class")) {
-            this.source = this.loadSource(xml.getAttributeValue(null, "filename"));
-            final var className = xml.getAttributeValue(null, "name");
-            final var classifierPosition = className.indexOf('$');
-            if (classifierPosition > 0) {
-                this.source.setClassifier(className.substring(classifierPosition + 1));
-            }
-            this.branchId = 0;
-        } else if (this.isStartElement(xml, "methods") && this.source != null) {
-            this.inMethods = true;
-        } else if (this.isEndElement(xml, "methods") && this.source != null) {
-            this.inMethods = false;
-        } else if (this.isStartElement(xml, "line") && !this.inMethods && this.source != null) {
-            final var nr = Integer.parseInt(xml.getAttributeValue(null, "number"));
-            this.source.addCoverage(nr, Integer.valueOf(xml.getAttributeValue(null, "hits")));
-            if (Boolean.parseBoolean(xml.getAttributeValue(null, "branch"))) {
-                final var value = xml.getAttributeValue(null, "condition-coverage");
-
-                // Is "condition-coverage" attribute always here?
-                if (value == null) {
-                    return;
-                }
+        switch (xml.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                this.onStartElement(xml);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                this.onEndElement(xml, callback);
+                break;
+            default:
+                break;
+        }
+    }
 
-                // C'mon Cobertura, human readable format for XML ?
-                final var values = value // 50% (2/4)
-                        .replace(" ", "") // 50%(2/4)
-                        .replace("%", "/") // 50/(2/4)
-                        .replace("(", "") // 50/2/4)
-                        .replace(")", "") // 50/2/4
-                        .split("/", -1);
-
-                final var cb = Integer.parseInt(values[1]);
-                final var tb = Integer.parseInt(values[2]);
-                final var mb = tb - cb;
-
-                // add branches. unfortunately, there is NO block number and
-                // branch number will NOT be unique between coverage changes.
-                for (var b = 0; b < cb; b++) {
-                    this.source.addBranchCoverage(nr, 0, this.branchId++, 1);
+    /**
+     * On start element.
+     *
+     * @param xml
+     *            the xml
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void onStartElement(final XMLStreamReader xml) throws IOException {
+        switch (xml.getLocalName()) {
+            case "line":
+                if (!this.inMethods && this.source != null) {
+                    this.onLine(xml);
                 }
-                for (var b = 0; b < mb; b++) {
-                    this.source.addBranchCoverage(nr, 0, this.branchId++, 0);
+                break;
+            case "methods":
+                if (this.source != null) {
+                    this.inMethods = true;
                 }
+                break;
+            case "class":
+                this.source = this.loadSource(xml.getAttributeValue(null, "filename"));
+                final var className = xml.getAttributeValue(null, "name");
+                final var classifierPosition = className.indexOf('$');
+                if (classifierPosition > 0) {
+                    this.source.setClassifier(className.substring(classifierPosition + 1));
+                }
+                this.branchId = 0;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * On line element. Attributes are read by index in a single pass instead of looking each one up by name.
+     *
+     * @param xml
+     *            the xml
+     */
+    private void onLine(final XMLStreamReader xml) {
+        String number = null;
+        String hits = null;
+        String branch = null;
+        String value = null;
+        for (int i = 0, n = xml.getAttributeCount(); i < n; i++) {
+            switch (xml.getAttributeLocalName(i)) {
+                case "number":
+                    number = xml.getAttributeValue(i);
+                    break;
+                case "hits":
+                    hits = xml.getAttributeValue(i);
+                    break;
+                case "branch":
+                    branch = xml.getAttributeValue(i);
+                    break;
+                case "condition-coverage":
+                    value = xml.getAttributeValue(i);
+                    break;
+                default:
+                    break;
             }
-        } else if (this.isEndElement(xml, "class") && this.source != null) {
-            callback.onSource(this.source);
-            this.source = null;
+        }
+        final var nr = Integer.parseInt(number);
+        this.source.addCoverage(nr, Integer.parseInt(hits));
+        if (Boolean.parseBoolean(branch)) {
+            // Is "condition-coverage" attribute always here?
+            if (value == null) {
+                return;
+            }
+
+            // C'mon Cobertura, human readable format for XML ?
+            final var values = value // 50% (2/4)
+                    .replace(" ", "") // 50%(2/4)
+                    .replace("%", "/") // 50/(2/4)
+                    .replace("(", "") // 50/2/4)
+                    .replace(")", "") // 50/2/4
+                    .split("/", -1);
+
+            final var cb = Integer.parseInt(values[1]);
+            final var tb = Integer.parseInt(values[2]);
+            final var mb = tb - cb;
+
+            // add branches. unfortunately, there is NO block number and
+            // branch number will NOT be unique between coverage changes.
+            for (var b = 0; b < cb; b++) {
+                this.source.addBranchCoverage(nr, 0, this.branchId++, 1);
+            }
+            for (var b = 0; b < mb; b++) {
+                this.source.addBranchCoverage(nr, 0, this.branchId++, 0);
+            }
+        }
+    }
+
+    /**
+     * On end element.
+     *
+     * @param xml
+     *            the xml
+     * @param callback
+     *            the callback
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void onEndElement(final XMLStreamReader xml, final SourceCallback callback)
+            throws ProcessingException, IOException {
+        switch (xml.getLocalName()) {
+            case "methods":
+                if (this.source != null) {
+                    this.inMethods = false;
+                }
+                break;
+            case "class":
+                if (this.source != null) {
+                    callback.onSource(this.source);
+                    this.source = null;
+                }
+                break;
+            default:
+                break;
         }
     }
 
@@ -0,0 +1,304 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.ExecFileLoader;
+
+/**
+ * Parses JaCoCo execution data directly, without a jacoco.xml report. The execution data files are merged in memory and
+ * the compiled classes are analyzed with the JaCoCo core analyzer, so the sources passed to the callback are the same
+ * as parsed from the XML report of the merged execution data.
+ */
+public class JaCoCoExecParser implements CoverageParser {
+
+    /** Orders source files by package and name. */
+    private static final Comparator<ISourceFileCoverage> SOURCE_ORDER = Comparator
+            .comparing(ISourceFileCoverage::getPackageName).thenComparing(ISourceFileCoverage::getName);
+
+    /** The execution data files. */
+    private final List<File> execFiles;
+
+    /** The class directories. */
+    private final List<File> classDirectories;
+
+    /** The source loader. */
+    private final SourceLoader sourceLoader;
+
+    /** The number of analyzer threads. */
+    private final int threads;
+
+    /**
+     * Instantiates a new JaCoCo execution data parser.
+     *
+     * @param execFiles
+     *            the execution data files, at least one
+     * @param classDirectories
+     *            the directories of the compiled classes
+     * @param sourceLoader
+     *            the source loader
+     * @param threads
+     *            the number of threads used to analyze classes
+     */
+    public JaCoCoExecParser(final List<File> execFiles, final List<File> classDirectories,
+            final SourceLoader sourceLoader, final int threads) {
+        if (execFiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one execution data file is required");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.execFiles = List.copyOf(execFiles);
+        this.classDirectories = List.copyOf(classDirectories);
+        this.sourceLoader = sourceLoader;
+        this.threads = threads;
+    }
+
+    @Override
+    public void parse(final SourceCallback callback) throws ProcessingException, IOException {
+        final var loader = new ExecFileLoader();
+        for (final File execFile : this.execFiles) {
+            loader.load(execFile);
+        }
+        final var coverage = this.analyze(loader.getExecutionDataStore(), this.classFiles());
+
+        final List<ISourceFileCoverage> sourceFiles = new ArrayList<>(coverage.getSourceFiles());
+        sourceFiles.sort(JaCoCoExecParser.SOURCE_ORDER);
+        for (final ISourceFileCoverage sourceFile : sourceFiles) {
+            final var source = this.sourceLoader.load(sourceFile.getPackageName() + "/" + sourceFile.getName());
+            if (source == null) {
+                continue;
+            }
+            var branchId = 0;
+            final var first = sourceFile.getFirstLine() == ISourceNode.UNKNOWN_LINE ? 1 : sourceFile.getFirstLine();
+            for (var nr = first; nr <= sourceFile.getLastLine(); nr++) {
+                final var line = sourceFile.getLine(nr);
+                if (line.getStatus() == ICounter.EMPTY) {
+                    continue;
+                }
+                // jacoco does not count hits. this is why hits is always 0 or 1
+                source.addCoverage(nr, line.getInstructionCounter().getCoveredCount() == 0 ? 0 : 1);
+                for (var b = line.getBranchCounter().getCoveredCount(); b > 0; b--) {
+                    source.addBranchCoverage(nr, 0, branchId++, 1);
+                }
+                for (var b = line.getBranchCounter().getMissedCount(); b > 0; b--) {
+                    source.addBranchCoverage(nr, 0, branchId++, 0);
+                }
+            }
+            callback.onSource(source);
+        }
+    }
+
+    @Override
+    public File getCoverageFile() {
+        return this.execFiles.get(0);
+    }
+
+    /**
+     * Gets the size of the coverage data, which is the total length of the merged execution data files.
+     *
+     * @return the size in bytes
+     */
+    @Override
+    public long getCoverageSize() {
+        var size = 0L;
+        for (final File execFile : this.execFiles) {
+            size += execFile.length();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the execution data files.
+     *
+     * @return the execution data files
+     */
+    public List<File> getExecFiles() {
+        return this.execFiles;
+    }
+
+    /**
+     * Lists the class files and archives in the class directories.
+     *
+     * @return the files in a stable order
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private List<Path> classFiles() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        for (final File directory : this.classDirectories) {
+            if (directory.isDirectory()) {
+                try (Stream<Path> walk = Files.walk(directory.toPath())) {
+                    files.addAll(walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Analyzes the class files. With more than one thread the files are split between the threads, each with its own
+     * analyzer, and the class coverage is combined afterwards.
+     *
+     * @param store
+     *            the merged execution data
+     * @param files
+     *            the class files
+     *
+     * @return the coverage of all classes
+     *
+     * @throws ProcessingException
+     *             if interrupted while analyzing
+     * @throws IOException
+     *             if a class file cannot be read or analyzed
+     */
+    private CoverageBuilder analyze(final ExecutionDataStore store, final List<Path> files)
+            throws ProcessingException, IOException {
+        final var workers = Math.min(this.threads, Math.max(1, files.size()));
+        if (workers == 1) {
+            return JaCoCoExecParser.analyze(store, files, 0, 1);
+        }
+        final var executor = Executors.newFixedThreadPool(workers, new AnalyzerThreadFactory());
+        try {
+            final List<Future<CoverageBuilder>> futures = new ArrayList<>();
+            for (var worker = 0; worker < workers; worker++) {
+                final var offset = worker;
+                futures.add(executor.submit(() -> JaCoCoExecParser.analyze(store, files, offset, workers)));
+            }
+            final var coverage = new CoverageBuilder();
+            for (final Future<CoverageBuilder> future : futures) {
+                for (final IClassCoverage classCoverage : JaCoCoExecParser.await(future).getClasses()) {
+                    coverage.visitCoverage(classCoverage);
+                }
+            }
+            return coverage;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyzes every n-th class file.
+     *
+     * @param store
+     *            the merged execution data
+     * @param files
+     *            the class files
+     * @param offset
+     *            the index of the first file to analyze
+     * @param step
+     *            the distance between analyzed files
+     *
+     * @return the coverage of the analyzed classes
+     *
+     * @throws IOException
+     *             if a class file cannot be read or analyzed
+     */
+    private static CoverageBuilder analyze(final ExecutionDataStore store, final List<Path> files, final int offset,
+            final int step) throws IOException {
+        final var coverage = new CoverageBuilder();
+        final var analyzer = new Analyzer(store, coverage);
+        for (var i = offset; i < files.size(); i += step) {
+            analyzer.analyzeAll(files.get(i).toFile());
+        }
+        return coverage;
+    }
+
+    /**
+     * Waits for an analyzer thread to complete.
+     *
+     * @param future
+     *            the future
+     *
+     * @return the coverage of the analyzed classes
+     *
+     * @throws ProcessingException
+     *             if interrupted while analyzing
+     * @throws IOException
+     *             if a class file cannot be read or analyzed
+     */
+    private static CoverageBuilder await(final Future<CoverageBuilder> future) throws ProcessingException, IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrupted while analyzing classes", e);
+        } catch (final ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ProcessingException(cause);
+        }
+    }
+
+    /**
+     * Thread factory for named daemon analyzer threads.
+     */
+    private static final class AnalyzerThreadFactory implements ThreadFactory {
+
+        /** The thread counter. */
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final var thread = new Thread(runnable, "coveralls-jacoco-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -27,6 +27,7 @@ package org.eluder.coveralls.maven.plugin.parser;
 import java.io.File;
 import java.io.IOException;
 
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
@@ -64,34 +65,123 @@ public class JaCoCoParser extends AbstractXmlEventParser {
     @Override
     protected void onEvent(final XMLStreamReader xml, final SourceCallback callback)
             throws XMLStreamException, ProcessingException, IOException {
-        if (this.isStartElement(xml, "package")) {
-            this.packageName = xml.getAttributeValue(null, "name");
-        } else if (this.isStartElement(xml, "sourcefile") && this.packageName != null) {
-            final var sourceFile = this.packageName + "/" + xml.getAttributeValue(null, "name");
-            this.source = this.loadSource(sourceFile);
-            this.branchId = 0;
-        } else if (this.isStartElement(xml, "line") && this.source != null) {
-            final var ci = Integer.parseInt(xml.getAttributeValue(null, "ci"));
-            final var cb = Integer.parseInt(xml.getAttributeValue(null, "cb"));
-            final var mb = Integer.parseInt(xml.getAttributeValue(null, "mb"));
-            final var nr = Integer.parseInt(xml.getAttributeValue(null, "nr"));
+        switch (xml.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                this.onStartElement(xml);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                this.onEndElement(xml, callback);
+                break;
+            default:
+                break;
+        }
+    }
 
-            // jacoco does not count hits. this is why hits is always 0 or 1
-            this.source.addCoverage(nr, ci == 0 ? 0 : 1);
+    /**
+     * On start element.
+     *
+     * @param xml
+     *            the xml
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void onStartElement(final XMLStreamReader xml) throws IOException {
+        switch (xml.getLocalName()) {
+            case "line":
+                if (this.source != null) {
+                    this.onLine(xml);
+                }
+                break;
+            case "sourcefile":
+                if (this.packageName != null) {
+                    final var sourceFile = this.packageName + "/" + xml.getAttributeValue(null, "name");
+                    this.source = this.loadSource(sourceFile);
+                    this.branchId = 0;
+                }
+                break;
+            case "package":
+                this.packageName = xml.getAttributeValue(null, "name");
+                break;
+            default:
+                break;
+        }
+    }
 
-            // add branches. unfortunately, there is NO block number and
-            // branch number will NOT be unique between coverage changes.
-            for (var b = 0; b < cb; b++) {
-                this.source.addBranchCoverage(nr, 0, this.branchId++, 1);
-            }
-            for (var b = 0; b < mb; b++) {
-                this.source.addBranchCoverage(nr, 0, this.branchId++, 0);
+    /**
+     * On line element. Attributes are read by index in a single pass instead of looking each one up by name.
+     *
+     * @param xml
+     *            the xml
+     */
+    private void onLine(final XMLStreamReader xml) {
+        String nrValue = null;
+        String ciValue = null;
+        String cbValue = null;
+        String mbValue = null;
+        for (int i = 0, n = xml.getAttributeCount(); i < n; i++) {
+            switch (xml.getAttributeLocalName(i)) {
+                case "nr":
+                    nrValue = xml.getAttributeValue(i);
+                    break;
+                case "ci":
+                    ciValue = xml.getAttributeValue(i);
+                    break;
+                case "cb":
+                    cbValue = xml.getAttributeValue(i);
+                    break;
+                case "mb":
+                    mbValue = xml.getAttributeValue(i);
+                    break;
+                default:
+                    break;
             }
-        } else if (this.isEndElement(xml, "sourcefile") && this.source != null) {
-            callback.onSource(this.source);
-            this.source = null;
-        } else if (this.isEndElement(xml, "package")) {
-            this.packageName = null;
+        }
+        final var ci = Integer.parseInt(ciValue);
+        final var cb = Integer.parseInt(cbValue);
+        final var mb = Integer.parseInt(mbValue);
+        final var nr = Integer.parseInt(nrValue);
+
+        // jacoco does not count hits. this is why hits is always 0 or 1
+        this.source.addCoverage(nr, ci == 0 ? 0 : 1);
+
+        // add branches. unfortunately, there is NO block number and
+        // branch number will NOT be unique between coverage changes.
+        for (var b = 0; b < cb; b++) {
+            this.source.addBranchCoverage(nr, 0, this.branchId++, 1);
+        }
+        for (var b = 0; b < mb; b++) {
+            this.source.addBranchCoverage(nr, 0, this.branchId++, 0);
+        }
+    }
+
+    /**
+     * On end element.
+     *
+     * @param xml
+     *            the xml
+     * @param callback
+     *            the callback
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void onEndElement(final XMLStreamReader xml, final SourceCallback callback)
+            throws ProcessingException, IOException {
+        switch (xml.getLocalName()) {
+            case "sourcefile":
+                if (this.source != null) {
+                    callback.onSource(this.source);
+                    this.source = null;
+                }
+                break;
+            case "package":
+                this.packageName = null;
+                break;
+            default:
+                break;
         }
     }
 
@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+
+/**
+ * Runs coverage parsers on a bounded worker pool. Each parser collects its sources into a private buffer, and the
+ * buffers are replayed to the callback on the calling thread in the same order as the parsers were given. This keeps
+ * the callback chain single threaded and makes the output identical to parsing the reports one after another.
+ */
+public class ParallelParserRunner {
+
+    /** The number of worker threads. */
+    private final int threads;
+
+    /** The log. */
+    private final Log log;
+
+    /**
+     * Instantiates a new parallel parser runner.
+     *
+     * @param threads
+     *            the number of worker threads
+     * @param log
+     *            the log
+     */
+    public ParallelParserRunner(final int threads, final Log log) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.threads = threads;
+        this.log = log;
+    }
+
+    /**
+     * Parses all coverage reports and passes the parsed sources to the callback in parser order. At most twice the
+     * number of worker threads reports are parsed ahead of the report that is currently replayed.
+     *
+     * @param parsers
+     *            the coverage parsers
+     * @param callback
+     *            the source callback handler
+     *
+     * @throws ProcessingException
+     *             if processing of a coverage report fails
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public void run(final List<CoverageParser> parsers, final SourceCallback callback)
+            throws ProcessingException, IOException {
+        final var executor = Executors.newFixedThreadPool(this.threads, new ParserThreadFactory());
+        final Deque<Future<List<Source>>> pending = new ArrayDeque<>();
+        final var window = this.threads * 2;
+        var next = 0;
+        try {
+            while (next < parsers.size() && pending.size() < window) {
+                pending.add(this.submit(executor, parsers.get(next++)));
+            }
+            var current = 0;
+            while (!pending.isEmpty()) {
+                final var sources = this.await(pending.poll());
+                if (next < parsers.size()) {
+                    pending.add(this.submit(executor, parsers.get(next++)));
+                }
+                this.log.info("Processing coverage report from "
+                        + parsers.get(current++).getCoverageFile().getAbsolutePath());
+                for (final Source source : sources) {
+                    callback.onSource(source);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Submits a parser to the executor.
+     *
+     * @param executor
+     *            the executor
+     * @param parser
+     *            the parser
+     *
+     * @return the future holding the parsed sources
+     */
+    private Future<List<Source>> submit(final ExecutorService executor, final CoverageParser parser) {
+        final Callable<List<Source>> task = () -> {
+            final var buffer = new BufferingSourceCallback();
+            parser.parse(buffer);
+            return buffer.sources;
+        };
+        return executor.submit(task);
+    }
+
+    /**
+     * Waits for the parser to complete.
+     *
+     * @param future
+     *            the future
+     *
+     * @return the parsed sources
+     *
+     * @throws ProcessingException
+     *             if processing of the coverage report failed
+     * @throws IOException
+     *             if an I/O error occurred
+     */
+    private List<Source> await(final Future<List<Source>> future) throws ProcessingException, IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrupted while parsing coverage reports", e);
+        } catch (final ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ProcessingException(cause);
+        }
+    }
+
+    /**
+     * Source callback that only collects the parsed sources of a single report.
+     */
+    private static final class BufferingSourceCallback implements SourceCallback {
+
+        /** The sources. */
+        private final List<Source> sources = new ArrayList<>();
+
+        @Override
+        public void onBegin() {
+            // not called by parsers
+        }
+
+        @Override
+        public void onSource(final Source source) {
+            this.sources.add(source);
+        }
+
+        @Override
+        public void onComplete() {
+            // not called by parsers
+        }
+    }
+
+    /**
+     * Thread factory for named daemon parser threads.
+     */
+    private static final class ParserThreadFactory implements ThreadFactory {
+
+        /** The thread counter. */
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final var thread = new Thread(runnable, "coveralls-parser-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
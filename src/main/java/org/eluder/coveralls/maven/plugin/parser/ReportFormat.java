@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+
+/**
+ * Coverage report formats that can be detected from the root element of a report.
+ */
+public enum ReportFormat {
+
+    /** JaCoCo XML report, root element <code>report</code>. */
+    JACOCO {
+        @Override
+        public CoverageParser createParser(final File coverageFile, final SourceLoader sourceLoader) {
+            return new JaCoCoParser(coverageFile, sourceLoader);
+        }
+    },
+
+    /** Cobertura XML report, root element <code>coverage</code>. */
+    COBERTURA {
+        // Cobertura reports stay supported until the deprecated parser is removed
+        @SuppressWarnings("removal")
+        @Override
+        public CoverageParser createParser(final File coverageFile, final SourceLoader sourceLoader) {
+            return new CoberturaParser(coverageFile, sourceLoader);
+        }
+    },
+
+    /** Clover XML report, root element <code>coverage</code> with a <code>clover</code> attribute. */
+    CLOVER {
+        @Override
+        public CoverageParser createParser(final File coverageFile, final SourceLoader sourceLoader) {
+            return new CloverParser(coverageFile, sourceLoader);
+        }
+    };
+
+    /**
+     * Creates a parser for a report in this format.
+     *
+     * @param coverageFile
+     *            the coverage file
+     * @param sourceLoader
+     *            the source loader
+     *
+     * @return the coverage parser
+     */
+    public abstract CoverageParser createParser(File coverageFile, SourceLoader sourceLoader);
+
+    /**
+     * Detects the format of a report by reading only up to its root element.
+     *
+     * @param coverageFile
+     *            the coverage file
+     *
+     * @return the format, or <code>null</code> if the file is not a supported coverage report
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static ReportFormat detect(final File coverageFile) throws IOException {
+        try (var in = new BufferedInputStream(Files.newInputStream(coverageFile.toPath()))) {
+            final var xmlif = AbstractXmlEventParser.inputFactory();
+            final XMLStreamReader xml;
+            synchronized (xmlif) {
+                xml = xmlif.createXMLStreamReader(in);
+            }
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                        return ReportFormat.detect(xml);
+                    }
+                }
+                return null;
+            } finally {
+                xml.close();
+            }
+        } catch (final XMLStreamException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Detects the format from the root element.
+     *
+     * @param xml
+     *            the XML stream reader positioned at the root element
+     *
+     * @return the format, or <code>null</code> if the root element is not known
+     */
+    private static ReportFormat detect(final XMLStreamReader xml) {
+        final var root = xml.getLocalName();
+        if ("report".equals(root)) {
+            return ReportFormat.JACOCO;
+        }
+        if ("coverage".equals(root)) {
+            return xml.getAttributeValue(null, "clover") != null ? ReportFormat.CLOVER : ReportFormat.COBERTURA;
+        }
+        return null;
+    }
+}
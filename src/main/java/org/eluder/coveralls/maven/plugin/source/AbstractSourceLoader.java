@@ -24,12 +24,18 @@
  */
 package org.eluder.coveralls.maven.plugin.source;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.jfr.SourceLoadEvent;
+import org.eluder.coveralls.maven.plugin.util.LineCounter;
 import org.eluder.coveralls.maven.plugin.util.Sha512DigestInputStream;
 
 /**
@@ -37,12 +43,18 @@ import org.eluder.coveralls.maven.plugin.util.Sha512DigestInputStream;
  */
 public abstract class AbstractSourceLoader implements SourceLoader {
 
+    /** The read buffer size for sources in ASCII compatible encodings. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /** The source encoding. */
     private final Charset sourceEncoding;
 
     /** The directory prefix. */
     private final String directoryPrefix;
 
+    /** The source digest cache, or null if sources are always read. */
+    private SourceDigestCache digestCache;
+
     /**
      * Instantiates a new abstract source loader.
      *
@@ -58,14 +70,128 @@ public abstract class AbstractSourceLoader implements SourceLoader {
         this.directoryPrefix = base.relativize(sourceBase).toString();
     }
 
+    /**
+     * Sets the source digest cache. Sources located on the file system are then read and hashed only if they have
+     * changed since the digest was cached.
+     *
+     * @param digestCache
+     *            the source digest cache
+     */
+    public void setDigestCache(final SourceDigestCache digestCache) {
+        this.digestCache = digestCache;
+    }
+
     @Override
     public Source load(final String sourceFile) throws IOException {
+        final var event = new SourceLoadEvent();
+        event.begin();
+        if (this.digestCache != null) {
+            final var path = this.locateFile(sourceFile);
+            if (path != null) {
+                return this.loadFile(sourceFile, path, null, event);
+            }
+        }
         final var stream = this.locate(sourceFile);
         if (stream == null) {
+            event.commit(sourceFile, -1, false);
             return null;
         }
+        final var source = this.read(sourceFile, stream, event);
+        event.commit(sourceFile, source.getLineCount(), false);
+        return source;
+    }
+
+    /**
+     * Loads a source file that has already been located on the file system, using the digest cache if set.
+     *
+     * @param sourceFile
+     *            the source file
+     * @param path
+     *            the located source file
+     * @param attributes
+     *            the attributes of the located source file, read when the digest cache is used
+     *
+     * @return the source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    final Source loadFile(final String sourceFile, final Path path, final BasicFileAttributes attributes)
+            throws IOException {
+        final var event = new SourceLoadEvent();
+        event.begin();
+        return this.loadFile(sourceFile, path, attributes, event);
+    }
+
+    /**
+     * Loads a source file that has already been located on the file system, using the digest cache if set.
+     *
+     * @param sourceFile
+     *            the source file
+     * @param path
+     *            the located source file
+     * @param knownAttributes
+     *            the attributes of the located source file, or <code>null</code> to read them
+     * @param event
+     *            the started source load event, committed when the source has been loaded
+     *
+     * @return the source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private Source loadFile(final String sourceFile, final Path path, final BasicFileAttributes knownAttributes,
+            final SourceLoadEvent event) throws IOException {
+        if (this.digestCache == null) {
+            final var source = this.read(sourceFile, new BufferedInputStream(Files.newInputStream(path)), event);
+            event.commit(sourceFile, source.getLineCount(), false);
+            return source;
+        }
+        final var attributes = knownAttributes != null ? knownAttributes
+                : Files.readAttributes(path, BasicFileAttributes.class);
+        final var entry = this.digestCache.get(path, attributes);
+        if (entry != null) {
+            event.commit(sourceFile, entry.getLines(), true);
+            return new Source(this.getFileName(sourceFile), entry.getLines(), entry.getDigest(), null);
+        }
+        final var source = this.read(sourceFile, new BufferedInputStream(Files.newInputStream(path)), event);
+        this.digestCache.put(path, attributes, source.getLineCount(), source.getDigest());
+        event.commit(sourceFile, source.getLineCount(), false);
+        return source;
+    }
+
+    /**
+     * Reads a source, computing the digest and counting the lines. Sources in ASCII compatible encodings are counted
+     * from the raw bytes in a single pass, other encodings are decoded first.
+     *
+     * @param sourceFile
+     *            the source file
+     * @param stream
+     *            the source content, closed when done
+     * @param event
+     *            the source load event the read bytes are added to
+     *
+     * @return the source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private Source read(final String sourceFile, final InputStream stream, final SourceLoadEvent event)
+            throws IOException {
         try (var ds = new Sha512DigestInputStream(stream)) {
-            final var source = new String(ds.readAllBytes(), this.getSourceEncoding());
+            if (LineCounter.isAsciiCompatible(this.getSourceEncoding())) {
+                final var counter = new LineCounter();
+                final var buffer = new byte[AbstractSourceLoader.BUFFER_SIZE];
+                int read;
+                while ((read = ds.read(buffer)) != -1) {
+                    counter.update(buffer, 0, read);
+                    event.addBytes(read);
+                }
+                return new Source(this.getFileName(sourceFile), counter.getLines(), ds.getDigestHex(), null);
+            }
+            final var bytes = ds.readAllBytes();
+            event.addBytes(bytes.length);
+            final var source = new String(bytes, this.getSourceEncoding());
             return new Source(this.getFileName(sourceFile), source, ds.getDigestHex());
         }
     }
@@ -103,4 +229,20 @@ public abstract class AbstractSourceLoader implements SourceLoader {
      *             Signals that an I/O exception has occurred.
      */
     protected abstract InputStream locate(String sourceFile) throws IOException;
+
+    /**
+     * Locates a source file on the file system. Loaders that read sources from files override this to allow the digest
+     * of unchanged files to be cached.
+     *
+     * @param sourceFile
+     *            the source file
+     *
+     * @return the path of the source file, or <code>null</code> if not found or not a local file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected Path locateFile(final String sourceFile) throws IOException {
+        return null;
+    }
 }
@@ -55,14 +55,32 @@ public class DirectorySourceLoader extends AbstractSourceLoader {
         this.sourceDirectory = sourceDirectory;
     }
 
+    /**
+     * Gets the source directory.
+     *
+     * @return the source directory
+     */
+    File getSourceDirectory() {
+        return this.sourceDirectory;
+    }
+
     @Override
     protected InputStream locate(final String sourceFile) throws IOException {
+        final var path = this.locateFile(sourceFile);
+        if (path == null) {
+            return null;
+        }
+        return new BufferedInputStream(Files.newInputStream(path));
+    }
+
+    @Override
+    protected Path locateFile(final String sourceFile) throws IOException {
         final var path = Path.of(this.sourceDirectory.toString(), sourceFile);
         if (Files.exists(path)) {
             if (!Files.isRegularFile(path)) {
                 throw new IllegalArgumentException(path.toAbsolutePath() + " is not file");
             }
-            return new BufferedInputStream(Files.newInputStream(path));
+            return path;
         }
         return null;
     }
@@ -24,20 +24,51 @@
  */
 package org.eluder.coveralls.maven.plugin.source;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import org.eluder.coveralls.maven.plugin.domain.Source;
 
 /**
  * The Class MultiSourceLoader.
+ * <p>
+ * When more than one {@link DirectorySourceLoader} is added, the source directories are walked once on the first lookup
+ * and every relative file path is mapped to the first directory loader that contains it, together with the file
+ * attributes read during the walk. A lookup is then a single hash probe instead of a file system check per directory,
+ * and the attributes are passed on to the digest cache instead of being read again. Paths outside the index skip the
+ * directory loaders without touching the file system. Paths that match an indexed file or directory only when case is
+ * ignored are still checked in each directory, so they resolve as before on case insensitive file systems and fail as
+ * before when they name a directory. Other source loaders are asked in the order they were added. Files created after
+ * the first lookup are not indexed, the index can be disabled with {@link #withPathIndex(boolean)}.
  */
 public class MultiSourceLoader implements SourceLoader {
 
+    /** Marker for source loaders that are not indexed. */
+    private static final PathIndex NOT_INDEXED = new PathIndex();
+
     /** The source loaders. */
     private final List<SourceLoader> sourceLoaders = new ArrayList<>();
 
+    /** True to index the directory source loaders. */
+    private boolean pathIndex = true;
+
+    /** The path index of the directory loaders, built on first use. */
+    private volatile PathIndex index;
+
     /**
      * Instantiates a new multi source loader.
      */
@@ -55,17 +86,231 @@ public class MultiSourceLoader implements SourceLoader {
      */
     public MultiSourceLoader add(final SourceLoader sourceLoader) {
         this.sourceLoaders.add(sourceLoader);
+        this.index = null;
+        return this;
+    }
+
+    /**
+     * With path index.
+     *
+     * @param pathIndex
+     *            true to resolve files of directory source loaders from a path index, false to check each directory
+     *
+     * @return the multi source loader
+     */
+    public MultiSourceLoader withPathIndex(final boolean pathIndex) {
+        this.pathIndex = pathIndex;
+        this.index = null;
         return this;
     }
 
     @Override
     public Source load(final String sourceFile) throws IOException {
-        for (final SourceLoader sourceLoader : this.sourceLoaders) {
-            final var source = sourceLoader.load(sourceFile);
+        final var paths = MultiSourceLoader.isIndexable(sourceFile) ? this.index() : null;
+        IndexedFile indexed = null;
+        var check = true;
+        if (paths != null) {
+            indexed = paths.files.get(sourceFile);
+            check = indexed == null && paths.folded.contains(MultiSourceLoader.fold(sourceFile));
+        }
+        for (var i = 0; i < this.sourceLoaders.size(); i++) {
+            final var sourceLoader = this.sourceLoaders.get(i);
+            Source source;
+            if (paths != null && sourceLoader instanceof DirectorySourceLoader) {
+                if (indexed != null && indexed.owner == i) {
+                    source = ((DirectorySourceLoader) sourceLoader).loadFile(sourceFile, indexed.path,
+                            indexed.attributes);
+                } else if (check) {
+                    source = sourceLoader.load(sourceFile);
+                } else {
+                    continue;
+                }
+            } else {
+                source = sourceLoader.load(sourceFile);
+            }
             if (source != null) {
                 return source;
             }
         }
         throw new IOException("No source found for " + sourceFile);
     }
+
+    /**
+     * Gets the path index, building it on first use.
+     *
+     * @return the path index, or <code>null</code> if directory loaders are not indexed
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private PathIndex index() throws IOException {
+        if (!this.pathIndex) {
+            return null;
+        }
+        var paths = this.index;
+        if (paths == null) {
+            synchronized (this) {
+                paths = this.index;
+                if (paths == null) {
+                    paths = this.buildIndex();
+                    this.index = paths;
+                }
+            }
+        }
+        return paths == MultiSourceLoader.NOT_INDEXED ? null : paths;
+    }
+
+    /**
+     * Builds the path index by walking every source directory once.
+     *
+     * @return the path index, or {@link #NOT_INDEXED} if fewer than two directory loaders are added
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private PathIndex buildIndex() throws IOException {
+        final List<Integer> positions = new ArrayList<>();
+        for (var i = 0; i < this.sourceLoaders.size(); i++) {
+            if (this.sourceLoaders.get(i) instanceof DirectorySourceLoader) {
+                positions.add(i);
+            }
+        }
+        if (positions.size() < 2) {
+            return MultiSourceLoader.NOT_INDEXED;
+        }
+        final var paths = new PathIndex();
+        for (final Integer position : positions) {
+            final File directory = ((DirectorySourceLoader) this.sourceLoaders.get(position)).getSourceDirectory();
+            final var root = directory.toPath();
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                            if (!dir.equals(root)) {
+                                paths.folded.add(MultiSourceLoader.fold(MultiSourceLoader.relativePath(root, dir)));
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile()) {
+                                final var relative = MultiSourceLoader.relativePath(root, file);
+                                paths.files.putIfAbsent(relative, new IndexedFile(position, file, attrs));
+                                paths.folded.add(MultiSourceLoader.fold(relative));
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                            // unreadable files and link cycles are not sources
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        }
+        return paths;
+    }
+
+    /**
+     * Folds the case of a relative path.
+     *
+     * @param path
+     *            the relative path
+     *
+     * @return the path in lower case
+     */
+    private static String fold(final String path) {
+        return path.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the relative path of a file with forward slashes, as used by coverage reports.
+     *
+     * @param root
+     *            the source directory
+     * @param file
+     *            the file
+     *
+     * @return the relative path
+     */
+    private static String relativePath(final Path root, final Path file) {
+        final var relative = root.relativize(file);
+        final var path = new StringBuilder();
+        for (final Path segment : relative) {
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(segment);
+        }
+        return path.toString();
+    }
+
+    /**
+     * Checks if a source file can be resolved from the index. Paths that are absolute, not normalized or use
+     * backslashes are resolved by checking each directory.
+     *
+     * @param sourceFile
+     *            the source file
+     *
+     * @return true, if the source file is a plain relative path
+     */
+    private static boolean isIndexable(final String sourceFile) {
+        if (sourceFile.isEmpty() || sourceFile.charAt(0) == '/' || sourceFile.indexOf('\\') >= 0
+                || sourceFile.indexOf(':') >= 0 || sourceFile.contains("//") || sourceFile.endsWith("/")) {
+            return false;
+        }
+        for (final String segment : sourceFile.split("/", -1)) {
+            if (".".equals(segment) || "..".equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The indexed files of the directory loaders.
+     */
+    private static final class PathIndex {
+
+        /** The first indexed file of each relative path. */
+        private final Map<String, IndexedFile> files = new HashMap<>();
+
+        /** The case folded relative paths of all indexed files and directories. */
+        private final Set<String> folded = new HashSet<>();
+    }
+
+    /**
+     * A file found while indexing the directory loaders.
+     */
+    private static final class IndexedFile {
+
+        /** The position of the owning directory loader. */
+        private final int owner;
+
+        /** The file. */
+        private final Path path;
+
+        /** The attributes read while indexing. */
+        private final BasicFileAttributes attributes;
+
+        /**
+         * Instantiates a new indexed file.
+         *
+         * @param owner
+         *            the position of the owning directory loader
+         * @param path
+         *            the file
+         * @param attributes
+         *            the attributes read while indexing
+         */
+        IndexedFile(final int owner, final Path path, final BasicFileAttributes attributes) {
+            this.owner = owner;
+            this.path = path;
+            this.attributes = attributes;
+        }
+    }
 }
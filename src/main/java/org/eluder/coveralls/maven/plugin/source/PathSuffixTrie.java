@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.source;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie of reversed path segments that finds the first file whose path ends with a given relative path. A lookup walks
+ * one node per segment of the looked up path, independent of the number of indexed files. The result is the same as
+ * matching <code>**&#47;</code> followed by the path against each file in order.
+ */
+final class PathSuffixTrie {
+
+    /** The indexed files, in the order given. */
+    private final String[] files;
+
+    /** The root node, matching the empty suffix. */
+    private final Node root = new Node();
+
+    /**
+     * Instantiates a new path suffix trie.
+     *
+     * @param files
+     *            the relative file paths, separated with the platform separator
+     */
+    PathSuffixTrie(final String[] files) {
+        this.files = files;
+        for (var i = 0; i < files.length; i++) {
+            final var segments = files[i].replace(File.separatorChar, '/').split("/");
+            var node = this.root;
+            for (var s = segments.length - 1; s >= 0; s--) {
+                node = node.children.computeIfAbsent(segments[s], key -> new Node());
+                if (node.first < 0) {
+                    node.first = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the first file ending with the given relative path.
+     *
+     * @param path
+     *            the relative path, segments separated with <code>/</code>
+     *
+     * @return the first matching file, or <code>null</code> if none matches
+     */
+    String find(final String path) {
+        final var segments = path.split("/");
+        var node = this.root;
+        for (var s = segments.length - 1; s >= 0 && node != null; s--) {
+            node = node.children.get(segments[s]);
+        }
+        return node == null ? null : this.files[node.first];
+    }
+
+    /**
+     * Gets the indexed files.
+     *
+     * @return the files in the order given
+     */
+    String[] getFiles() {
+        return this.files;
+    }
+
+    /**
+     * Checks if a path can be looked up literally, without wildcards or relative segments.
+     *
+     * @param path
+     *            the path
+     *
+     * @return true, if the path is a plain relative path
+     */
+    static boolean isLiteral(final String path) {
+        if (path.isEmpty() || path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('\\') >= 0) {
+            return false;
+        }
+        for (final String segment : path.split("/", -1)) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A trie node for one path segment.
+     */
+    private static final class Node {
+
+        /** The child nodes by preceding path segment. */
+        private final Map<String, Node> children = new HashMap<>(4);
+
+        /** The index of the first file with this suffix. */
+        private int first = -1;
+    }
+}
@@ -31,8 +31,8 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FilenameUtils;
 import org.codehaus.plexus.util.DirectoryScanner;
@@ -44,7 +44,7 @@ import org.codehaus.plexus.util.SelectorUtils;
 public class ScanSourceLoader extends AbstractSourceLoader {
 
     /** The cache. */
-    private final Map<String, String[]> cache = new HashMap<>();
+    private final Map<String, PathSuffixTrie> cache = new ConcurrentHashMap<>();
 
     /** The source directory. */
     private final File sourceDirectory;
@@ -66,13 +66,21 @@ public class ScanSourceLoader extends AbstractSourceLoader {
 
     @Override
     protected InputStream locate(final String sourceFile) throws IOException {
-        final var path = Path.of(this.sourceDirectory.toString(), this.getFileName(sourceFile));
+        final var path = this.locateFile(sourceFile);
+        if (path == null) {
+            return null;
+        }
+        return new BufferedInputStream(Files.newInputStream(path));
+    }
 
+    @Override
+    protected Path locateFile(final String sourceFile) throws IOException {
+        final var path = Path.of(this.sourceDirectory.toString(), this.getFileName(sourceFile));
         if (Files.exists(path)) {
             if (!Files.isRegularFile(path)) {
                 throw new IllegalArgumentException(path.toAbsolutePath() + " is not file");
             }
-            return new BufferedInputStream(Files.newInputStream(path));
+            return path;
         }
         return null;
     }
@@ -83,16 +91,16 @@ public class ScanSourceLoader extends AbstractSourceLoader {
      * @param extension
      *            the extension
      *
-     * @return the string[]
+     * @return the scanned files indexed by path suffix
      */
-    private String[] scanFor(final String extension) {
+    private PathSuffixTrie scanFor(final String extension) {
         return this.cache.computeIfAbsent(extension, ext -> {
             final var scanner = new DirectoryScanner();
             scanner.setBasedir(this.sourceDirectory);
             scanner.addDefaultExcludes();
             scanner.setIncludes(new String[] { "**/*." + ext });
             scanner.scan();
-            return scanner.getIncludedFiles();
+            return new PathSuffixTrie(scanner.getIncludedFiles());
         });
     }
 
@@ -101,7 +109,11 @@ public class ScanSourceLoader extends AbstractSourceLoader {
         final var extension = FilenameUtils.getExtension(sourceFile);
         final var matchingExtensionFiles = this.scanFor(extension);
 
-        for (final String matchingExtensionFile : matchingExtensionFiles) {
+        if (PathSuffixTrie.isLiteral(sourceFile)) {
+            final var matchingExtensionFile = matchingExtensionFiles.find(sourceFile);
+            return matchingExtensionFile == null ? sourceFile : matchingExtensionFile;
+        }
+        for (final String matchingExtensionFile : matchingExtensionFiles.getFiles()) {
             if (SelectorUtils.matchPath("**/" + sourceFile, matchingExtensionFile, true)) {
                 return matchingExtensionFile;
             }
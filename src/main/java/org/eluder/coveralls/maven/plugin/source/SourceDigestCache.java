@@ -0,0 +1,331 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.source;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistent cache of source file digests and line counts. A cached value is reused only when the size, the
+ * modification time and the file key (the inode on most file systems) of the file are unchanged, so unmodified sources
+ * are neither read nor hashed again. The cache is stored as a small text file, one source per line, and only the
+ * sources looked up during the current build are written back.
+ */
+public class SourceDigestCache {
+
+    /** The cache file format header. */
+    private static final String HEADER = "# coveralls source digests v1 ";
+
+    /** Files modified within this many milliseconds are not cached, their modification time may still change. */
+    private static final long RACY_MILLIS = 2000L;
+
+    /** The cache file. */
+    private final Path file;
+
+    /** The source encoding the line counts were computed with. */
+    private final Charset encoding;
+
+    /** The entries read from the cache file. */
+    private final Map<String, Entry> previous;
+
+    /** The entries looked up or added during this build. */
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    /** True if an entry has been added, removed or changed. */
+    private volatile boolean dirty;
+
+    /** The number of lookups that found an unchanged entry. */
+    private final LongAdder hits = new LongAdder();
+
+    /** The number of lookups that found no entry or a changed one. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Instantiates a new source digest cache.
+     *
+     * @param file
+     *            the cache file
+     * @param encoding
+     *            the source encoding
+     * @param previous
+     *            the previously stored entries
+     */
+    private SourceDigestCache(final Path file, final Charset encoding, final Map<String, Entry> previous) {
+        this.file = file;
+        this.encoding = encoding;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the cache from a file. A missing, unreadable or incompatible cache file results in an empty cache.
+     *
+     * @param file
+     *            the cache file
+     * @param encoding
+     *            the source encoding
+     *
+     * @return the source digest cache
+     */
+    public static SourceDigestCache load(final Path file, final Charset encoding) {
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        try {
+            final var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (!lines.isEmpty() && lines.get(0).equals(SourceDigestCache.HEADER + encoding.name())) {
+                for (var i = 1; i < lines.size(); i++) {
+                    final var values = lines.get(i).split("\t", -1);
+                    if (values.length == 6) {
+                        entries.put(values[0], new Entry(Long.parseLong(values[1]), Long.parseLong(values[2]),
+                                values[3], Integer.parseInt(values[4]), values[5]));
+                    }
+                }
+            }
+        } catch (final NoSuchFileException e) {
+            // first build, nothing cached yet
+        } catch (final IOException | RuntimeException e) {
+            // corrupt cache is rebuilt
+            entries.clear();
+        }
+        final var cache = new SourceDigestCache(file, encoding, entries);
+        cache.dirty = entries.isEmpty();
+        return cache;
+    }
+
+    /**
+     * Gets the cached entry of a file if the file has not changed since the entry was stored.
+     *
+     * @param path
+     *            the source file
+     * @param attributes
+     *            the current attributes of the source file
+     *
+     * @return the cached entry, or <code>null</code> if the file is not cached or has changed
+     */
+    public Entry get(final Path path, final BasicFileAttributes attributes) {
+        final var key = SourceDigestCache.key(path);
+        var entry = this.current.get(key);
+        if (entry == null) {
+            entry = this.previous.get(key);
+            if (entry != null) {
+                this.current.put(key, entry);
+            }
+        }
+        if (entry != null && entry.matches(attributes)) {
+            this.hits.increment();
+            return entry;
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    /**
+     * Gets the number of lookups that found an unchanged entry.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found no entry or a changed one.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Stores the digest and line count of a file.
+     *
+     * @param path
+     *            the source file
+     * @param attributes
+     *            the attributes of the source file when it was read
+     * @param lines
+     *            the number of lines
+     * @param digest
+     *            the digest
+     */
+    public void put(final Path path, final BasicFileAttributes attributes, final int lines, final String digest) {
+        final var key = SourceDigestCache.key(path);
+        final var modified = attributes.lastModifiedTime().toMillis();
+        if (key.indexOf('\t') >= 0 || key.indexOf('\n') >= 0 || key.indexOf('\r') >= 0
+                || modified > System.currentTimeMillis() - SourceDigestCache.RACY_MILLIS) {
+            this.current.remove(key);
+        } else {
+            this.current.put(key,
+                    new Entry(attributes.size(), modified, SourceDigestCache.fileKey(attributes), lines, digest));
+        }
+        this.dirty = true;
+    }
+
+    /**
+     * Writes the entries used by this build to the cache file, if anything changed. The file is replaced atomically
+     * where supported so that concurrent builds never read a partially written cache.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void save() throws IOException {
+        if (!this.dirty && this.current.size() == this.previous.size()) {
+            return;
+        }
+        final var content = new StringBuilder(this.current.size() * 200);
+        content.append(SourceDigestCache.HEADER).append(this.encoding.name()).append('\n');
+        for (final Map.Entry<String, Entry> e : new TreeMap<>(this.current).entrySet()) {
+            final var entry = e.getValue();
+            content.append(e.getKey()).append('\t').append(entry.size).append('\t').append(entry.modified).append('\t')
+                    .append(entry.fileKey).append('\t').append(entry.lines).append('\t').append(entry.digest)
+                    .append('\n');
+        }
+        final var parent = this.file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var temp = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException e) {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        this.dirty = false;
+    }
+
+    /**
+     * Gets the cache key of a file.
+     *
+     * @param path
+     *            the file
+     *
+     * @return the cache key
+     */
+    private static String key(final Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Gets the file key of a file, or <code>-</code> if the file system does not provide one.
+     *
+     * @param attributes
+     *            the file attributes
+     *
+     * @return the file key
+     */
+    private static String fileKey(final BasicFileAttributes attributes) {
+        final var fileKey = attributes.fileKey();
+        if (fileKey == null) {
+            return "-";
+        }
+        return fileKey.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * A cached digest and line count of a single source file.
+     */
+    public static final class Entry {
+
+        /** The file size. */
+        private final long size;
+
+        /** The file modification time in milliseconds. */
+        private final long modified;
+
+        /** The file key. */
+        private final String fileKey;
+
+        /** The number of lines. */
+        private final int lines;
+
+        /** The digest. */
+        private final String digest;
+
+        /**
+         * Instantiates a new entry.
+         *
+         * @param size
+         *            the file size
+         * @param modified
+         *            the file modification time
+         * @param fileKey
+         *            the file key
+         * @param lines
+         *            the number of lines
+         * @param digest
+         *            the digest
+         */
+        Entry(final long size, final long modified, final String fileKey, final int lines, final String digest) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+            this.lines = lines;
+            this.digest = digest;
+        }
+
+        /**
+         * Gets the number of lines.
+         *
+         * @return the number of lines
+         */
+        public int getLines() {
+            return this.lines;
+        }
+
+        /**
+         * Gets the digest.
+         *
+         * @return the digest
+         */
+        public String getDigest() {
+            return this.digest;
+        }
+
+        /**
+         * Checks if the entry is still valid for a file.
+         *
+         * @param attributes
+         *            the current file attributes
+         *
+         * @return true, if size, modification time and file key are unchanged
+         */
+        boolean matches(final BasicFileAttributes attributes) {
+            return this.size == attributes.size() && this.modified == attributes.lastModifiedTime().toMillis()
+                    && this.fileKey.equals(SourceDigestCache.fileKey(attributes));
+        }
+    }
+}
@@ -24,26 +24,84 @@
  */
 package org.eluder.coveralls.maven.plugin.source;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 
 import org.eluder.coveralls.maven.plugin.ProcessingException;
 import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.domain.SourceAccumulator;
 
 /**
  * Source callback that tracks passed by source files and provides only unique source files to the delegate. Note that
  * the implementation is not thread safe so the {@link #onSource(org.eluder.coveralls.maven.plugin.domain.Source)} can
  * be called only from single thread concurrently.
+ * <p>
+ * Equal sources are merged in place into a {@link SourceAccumulator} keyed by name, digest and line count with a cached
+ * hash. The delegate receives read only views of the merged sources. Passed sources must not be modified afterwards, as
+ * unique sources are not copied.
+ * <p>
+ * With a memory budget the merged sources are spilled to run files in a spill directory whenever their estimated size
+ * exceeds the budget. Each run is sorted by source identity and every source carries the sequence number of its first
+ * occurrence, so no state is kept in memory for spilled sources. On completion the runs are merged by identity, then
+ * sorted back by sequence number, so the delegate receives the same sources in the same order as without a budget. At
+ * most {@link #MAX_FAN_IN} runs are open at a time, more runs are merged in several passes through intermediate runs.
  */
 public class UniqueSourceCallback implements SourceCallback {
 
-    /** The cache. */
-    private final Map<Source, Source> cache;
+    /** The maximum number of runs merged at a time. */
+    static final int MAX_FAN_IN = 64;
+
+    /** The run file buffer size. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The order of source identity, equal sources are merged. */
+    private static final Comparator<Record> IDENTITY_ORDER = Comparator
+            .comparing((final Record record) -> record.source.getName())
+            .thenComparing(record -> record.source.getDigest(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(record -> record.source.getLineCount());
+
+    /** The order of first occurrence. */
+    private static final Comparator<Record> SEQUENCE_ORDER = Comparator
+            .comparingLong((final Record record) -> record.sequence);
+
+    /** The merged sources in order of first occurrence. */
+    private final Map<SourceKey, SourceAccumulator> cache;
 
     /** The delegate. */
     private final SourceCallback delegate;
 
+    /** The memory budget in bytes, zero or less to keep all sources in memory. */
+    private final long memoryBudget;
+
+    /** The spill directory. */
+    private final Path spillDirectory;
+
+    /** The maximum number of runs merged at a time. */
+    private final int fanIn;
+
+    /** The run files on disk. */
+    private final List<Path> runs = new ArrayList<>();
+
+    /** The number of sources added to the cache, including spilled sources. */
+    private long sequence;
+
+    /** The estimated size of the cached sources. */
+    private long memoryUsed;
+
     /**
      * Instantiates a new unique source callback.
      *
@@ -51,8 +109,50 @@ public class UniqueSourceCallback implements SourceCallback {
      *            the delegate
      */
     public UniqueSourceCallback(final SourceCallback delegate) {
+        this(delegate, 0L, null);
+    }
+
+    /**
+     * Instantiates a new unique source callback with bounded memory.
+     *
+     * @param delegate
+     *            the delegate
+     * @param memoryBudget
+     *            the estimated size of merged sources kept in memory before spilling to disk, in bytes, zero or less
+     *            for no limit
+     * @param spillDirectory
+     *            the directory for run files, required with a memory budget
+     */
+    public UniqueSourceCallback(final SourceCallback delegate, final long memoryBudget, final Path spillDirectory) {
+        this(delegate, memoryBudget, spillDirectory, UniqueSourceCallback.MAX_FAN_IN);
+    }
+
+    /**
+     * Instantiates a new unique source callback with bounded memory and merge fan-in.
+     *
+     * @param delegate
+     *            the delegate
+     * @param memoryBudget
+     *            the estimated size of merged sources kept in memory before spilling to disk, in bytes, zero or less
+     *            for no limit
+     * @param spillDirectory
+     *            the directory for run files, required with a memory budget
+     * @param fanIn
+     *            the maximum number of runs merged at a time, at least two
+     */
+    UniqueSourceCallback(final SourceCallback delegate, final long memoryBudget, final Path spillDirectory,
+            final int fanIn) {
+        if (memoryBudget > 0 && spillDirectory == null) {
+            throw new IllegalArgumentException("spillDirectory is required with a memory budget");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2");
+        }
         this.cache = new LinkedHashMap<>();
         this.delegate = delegate;
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+        this.fanIn = fanIn;
     }
 
     @Override
@@ -62,15 +162,513 @@ public class UniqueSourceCallback implements SourceCallback {
 
     @Override
     public void onSource(final Source source) throws ProcessingException, IOException {
-        final var merged = source.merge(this.cache.get(source));
-        this.cache.put(merged, merged);
+        final var key = new SourceKey(source);
+        var accumulator = this.cache.get(key);
+        long previousSize = 0;
+        if (accumulator == null) {
+            accumulator = new SourceAccumulator(source);
+            this.cache.put(key, accumulator);
+            this.sequence++;
+        } else {
+            if (this.memoryBudget > 0) {
+                previousSize = UniqueSourceCallback.estimateSize(accumulator.getSource());
+            }
+            accumulator.add(source);
+        }
+        if (this.memoryBudget > 0) {
+            this.memoryUsed += UniqueSourceCallback.estimateSize(accumulator.getSource()) - previousSize;
+            if (this.memoryUsed > this.memoryBudget) {
+                this.spill();
+            }
+        }
     }
 
     @Override
     public void onComplete() throws ProcessingException, IOException {
-        for (final Source source : this.cache.values()) {
-            this.delegate.onSource(source);
+        if (this.runs.isEmpty()) {
+            for (final SourceAccumulator accumulator : this.cache.values()) {
+                this.delegate.onSource(accumulator.getSource());
+            }
+        } else {
+            try {
+                this.spill();
+                this.mergeRuns();
+            } finally {
+                for (final Path run : this.runs) {
+                    Files.deleteIfExists(run);
+                }
+                this.runs.clear();
+            }
         }
         this.delegate.onComplete();
     }
+
+    /**
+     * Writes the cached sources to a new run file ordered by identity and clears the cache. The cache iterates in
+     * insertion order, so the sequence number of each source is derived from its position in the cache.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void spill() throws IOException {
+        final List<Record> records = new ArrayList<>(this.cache.size());
+        var next = this.sequence - this.cache.size();
+        for (final SourceAccumulator accumulator : this.cache.values()) {
+            records.add(new Record(next++, accumulator.getSource()));
+        }
+        records.sort(UniqueSourceCallback.IDENTITY_ORDER);
+        this.writeRun(records);
+        this.cache.clear();
+        this.memoryUsed = 0;
+    }
+
+    /**
+     * Merges all run files into the delegate. Equal sources are first merged by identity in run order, which is the
+     * order they were passed to this callback, keeping the smallest sequence number. The merged sources are then sorted
+     * by sequence number within the memory budget, spilling sorted runs as needed, and passed to the delegate.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void mergeRuns() throws ProcessingException, IOException {
+        final List<Record> buffer = new ArrayList<>();
+        final List<Path> sorted = new ArrayList<>();
+        final var identityRuns = this.reduce(new ArrayList<>(this.runs), UniqueSourceCallback.IDENTITY_ORDER);
+        this.merge(identityRuns, UniqueSourceCallback.IDENTITY_ORDER, record -> {
+            buffer.add(record);
+            this.memoryUsed += UniqueSourceCallback.estimateSize(record.source);
+            if (this.memoryUsed > this.memoryBudget) {
+                buffer.sort(UniqueSourceCallback.SEQUENCE_ORDER);
+                sorted.add(this.writeRun(buffer));
+                buffer.clear();
+                this.memoryUsed = 0;
+            }
+        });
+        this.delete(identityRuns);
+        buffer.sort(UniqueSourceCallback.SEQUENCE_ORDER);
+        if (sorted.isEmpty()) {
+            for (final Record record : buffer) {
+                this.delegate.onSource(record.source);
+            }
+        } else {
+            if (!buffer.isEmpty()) {
+                sorted.add(this.writeRun(buffer));
+            }
+            buffer.clear();
+            final var sequenceRuns = this.reduce(sorted, UniqueSourceCallback.SEQUENCE_ORDER);
+            this.merge(sequenceRuns, UniqueSourceCallback.SEQUENCE_ORDER,
+                    record -> this.delegate.onSource(record.source));
+        }
+        this.memoryUsed = 0;
+    }
+
+    /**
+     * Merges consecutive groups of runs into intermediate runs until at most the fan-in runs remain. Merged runs are
+     * deleted.
+     *
+     * @param runs
+     *            the runs, each sorted in the given order
+     * @param order
+     *            the order of the runs
+     *
+     * @return the remaining runs, in the same relative order
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private List<Path> reduce(final List<Path> runs, final Comparator<Record> order)
+            throws ProcessingException, IOException {
+        var remaining = runs;
+        while (remaining.size() > this.fanIn) {
+            final List<Path> next = new ArrayList<>();
+            for (var i = 0; i < remaining.size(); i += this.fanIn) {
+                final var group = remaining.subList(i, Math.min(i + this.fanIn, remaining.size()));
+                if (group.size() == 1) {
+                    next.add(group.get(0));
+                    continue;
+                }
+                final var run = this.createRun();
+                try (var writer = new RunWriter(run)) {
+                    this.merge(group, order, writer::write);
+                }
+                this.delete(group);
+                next.add(run);
+            }
+            remaining = next;
+        }
+        return remaining;
+    }
+
+    /**
+     * Merges runs into a record sink. Records that are equal in the given order are merged in run order, keeping the
+     * smallest sequence number.
+     *
+     * @param runs
+     *            the runs, each sorted in the given order
+     * @param order
+     *            the order of the runs
+     * @param sink
+     *            the record sink
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void merge(final List<Path> runs, final Comparator<Record> order, final RecordSink sink)
+            throws ProcessingException, IOException {
+        final PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator
+                .comparing((final RunReader reader) -> reader.record, order).thenComparingInt(reader -> reader.run));
+        final List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            for (var i = 0; i < runs.size(); i++) {
+                final var reader = new RunReader(runs.get(i), i);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                var reader = queue.poll();
+                final var first = reader.record;
+                var sequence = first.sequence;
+                SourceAccumulator merged = null;
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+                while (!queue.isEmpty() && order.compare(queue.peek().record, first) == 0) {
+                    reader = queue.poll();
+                    if (merged == null) {
+                        merged = new SourceAccumulator(first.source);
+                    }
+                    merged.add(reader.record.source);
+                    sequence = Math.min(sequence, reader.record.sequence);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+                sink.accept(merged == null ? first : new Record(sequence, merged.getSource()));
+            }
+        } finally {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a new empty run file.
+     *
+     * @return the run file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private Path createRun() throws IOException {
+        final var run = Files.createTempFile(this.spillDirectory, "coveralls-merge", ".run");
+        this.runs.add(run);
+        return run;
+    }
+
+    /**
+     * Writes records to a new run file.
+     *
+     * @param records
+     *            the records, in run order
+     *
+     * @return the run file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private Path writeRun(final List<Record> records) throws IOException {
+        final var run = this.createRun();
+        try (var writer = new RunWriter(run)) {
+            for (final Record record : records) {
+                writer.write(record);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Deletes run files that are no longer needed.
+     *
+     * @param runs
+     *            the run files
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void delete(final List<Path> runs) throws IOException {
+        for (final Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        this.runs.removeAll(runs);
+    }
+
+    /**
+     * Estimates the heap size of a source.
+     *
+     * @param source
+     *            the source
+     *
+     * @return the estimated size in bytes
+     */
+    private static long estimateSize(final Source source) {
+        final var digest = source.getDigest();
+        return 128L + 2L * (source.getName().length() + (digest == null ? 0 : digest.length()))
+                + 4L * source.getLineCount() + 24L * source.getBranchCount();
+    }
+
+    /**
+     * Writes a source to a run file.
+     *
+     * @param out
+     *            the output
+     * @param source
+     *            the source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void writeSource(final DataOutputStream out, final Source source) throws IOException {
+        out.writeUTF(source.getName());
+        out.writeBoolean(source.getDigest() != null);
+        if (source.getDigest() != null) {
+            out.writeUTF(source.getDigest());
+        }
+        out.writeBoolean(source.getClassifier() != null);
+        if (source.getClassifier() != null) {
+            out.writeUTF(source.getClassifier());
+        }
+        out.writeInt(source.getLineCount());
+        source.forEachLine((lineNumber, hits) -> out.writeInt(hits));
+        out.writeInt(source.getBranchCount());
+        source.forEachBranch((lineNumber, blockNumber, branchNumber, hits) -> {
+            out.writeInt(lineNumber);
+            out.writeInt(blockNumber);
+            out.writeInt(branchNumber);
+            out.writeInt(hits);
+        });
+    }
+
+    /**
+     * Reads a source from a run file.
+     *
+     * @param in
+     *            the input
+     *
+     * @return the source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static Source readSource(final DataInputStream in) throws IOException {
+        final var name = in.readUTF();
+        final var digest = in.readBoolean() ? in.readUTF() : null;
+        final var classifier = in.readBoolean() ? in.readUTF() : null;
+        final var lines = in.readInt();
+        final var source = new Source(name, lines, digest, classifier);
+        for (var line = 1; line <= lines; line++) {
+            source.addCoverage(line, in.readInt());
+        }
+        for (var i = in.readInt(); i > 0; i--) {
+            source.addBranchCoverage(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        }
+        return source;
+    }
+
+    /**
+     * Consumer of merged records.
+     */
+    private interface RecordSink {
+
+        /**
+         * Accepts a record.
+         *
+         * @param record
+         *            the record
+         *
+         * @throws ProcessingException
+         *             the processing exception
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        void accept(Record record) throws ProcessingException, IOException;
+    }
+
+    /**
+     * A source with the sequence number of its first occurrence.
+     */
+    private static final class Record {
+
+        /** The sequence number of the first occurrence. */
+        private final long sequence;
+
+        /** The source. */
+        private final Source source;
+
+        /**
+         * Instantiates a new record.
+         *
+         * @param sequence
+         *            the sequence number of the first occurrence
+         * @param source
+         *            the source
+         */
+        Record(final long sequence, final Source source) {
+            this.sequence = sequence;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Sequential writer of a run file.
+     */
+    private static final class RunWriter implements Closeable {
+
+        /** The output. */
+        private final DataOutputStream out;
+
+        /**
+         * Instantiates a new run writer.
+         *
+         * @param file
+         *            the run file
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        RunWriter(final Path file) throws IOException {
+            this.out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file), UniqueSourceCallback.BUFFER_SIZE));
+        }
+
+        /**
+         * Writes a record.
+         *
+         * @param record
+         *            the record
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        void write(final Record record) throws IOException {
+            this.out.writeLong(record.sequence);
+            UniqueSourceCallback.writeSource(this.out, record.source);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Sequential reader of a run file.
+     */
+    private static final class RunReader implements Closeable {
+
+        /** The input. */
+        private final DataInputStream in;
+
+        /** The run number. */
+        private final int run;
+
+        /** The current record. */
+        private Record record;
+
+        /**
+         * Instantiates a new run reader.
+         *
+         * @param file
+         *            the run file
+         * @param run
+         *            the run number
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        RunReader(final Path file, final int run) throws IOException {
+            this.in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(file), UniqueSourceCallback.BUFFER_SIZE));
+            this.run = run;
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return true, if a record was read, false at the end of the run
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        boolean next() throws IOException {
+            final long sequence;
+            try {
+                sequence = this.in.readLong();
+            } catch (final EOFException e) {
+                this.record = null;
+                return false;
+            }
+            this.record = new Record(sequence, UniqueSourceCallback.readSource(this.in));
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.in.close();
+        }
+    }
+
+    /**
+     * Identity of a source, without its coverage.
+     */
+    private static final class SourceKey {
+
+        /** The name. */
+        private final String name;
+
+        /** The digest. */
+        private final String digest;
+
+        /** The line count. */
+        private final int lines;
+
+        /** The hash code. */
+        private final int hash;
+
+        /**
+         * Instantiates a new source key.
+         *
+         * @param source
+         *            the source
+         */
+        SourceKey(final Source source) {
+            this.name = source.getName();
+            this.digest = source.getDigest();
+            this.lines = source.getLineCount();
+            this.hash = Objects.hash(this.name, this.digest, this.lines);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof SourceKey)) {
+                return false;
+            }
+            final var other = (SourceKey) obj;
+            return this.hash == other.hash && this.lines == other.lines && Objects.equals(this.name, other.name)
+                    && Objects.equals(this.digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
 }
@@ -26,16 +26,29 @@ package org.eluder.coveralls.maven.plugin.source;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.Charset;
+import java.time.Duration;
 
+import org.eluder.coveralls.maven.plugin.httpclient.HttpClientFactory;
 import org.eluder.coveralls.maven.plugin.util.UrlUtils;
 
 /**
- * The Class UrlSourceLoader.
+ * The Class UrlSourceLoader. Sources from HTTP and HTTPS urls are fetched with the shared HTTP client that uses the
+ * default proxy selector of the JVM, other urls are opened directly.
  */
 public class UrlSourceLoader extends AbstractSourceLoader {
 
+    /** The Constant REQUEST_TIMEOUT. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /** The Constant HTTP_OK. */
+    private static final int HTTP_OK = 200;
+
     /** The source url. */
     private final URL sourceUrl;
 
@@ -57,6 +70,9 @@ public class UrlSourceLoader extends AbstractSourceLoader {
     @Override
     protected InputStream locate(final String sourceFile) throws IOException {
         final var url = new URL(this.sourceUrl, sourceFile);
+        if ("http".equalsIgnoreCase(url.getProtocol()) || "https".equalsIgnoreCase(url.getProtocol())) {
+            return this.fetch(url);
+        }
         // Checkstyle OFF: EmptyBlock
         try {
             return url.openStream();
@@ -66,4 +82,35 @@ public class UrlSourceLoader extends AbstractSourceLoader {
         // Checkstyle ON: EmptyBlock
         return null;
     }
+
+    /**
+     * Fetches a source with the shared HTTP client. The client is looked up from the shared clients on every fetch, as
+     * sources are loaded concurrently.
+     *
+     * @param url
+     *            the source url
+     *
+     * @return the source content, or <code>null</code> if not found
+     *
+     * @throws IOException
+     *             if interrupted while fetching
+     */
+    private InputStream fetch(final URL url) throws IOException {
+        final var httpClient = new HttpClientFactory(url.toString()).systemProxy().create();
+        try {
+            final var request = HttpRequest.newBuilder(url.toURI()).timeout(UrlSourceLoader.REQUEST_TIMEOUT).GET()
+                    .build();
+            final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() == UrlSourceLoader.HTTP_OK) {
+                return response.body();
+            }
+            response.body().close();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + url);
+        } catch (final IOException | URISyntaxException | IllegalArgumentException e) {
+            // not found from url
+        }
+        return null;
+    }
 }
@@ -29,13 +29,18 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.maven.project.MavenProject;
 import org.eluder.coveralls.maven.plugin.CoverageParser;
 import org.eluder.coveralls.maven.plugin.parser.CloverParser;
-import org.eluder.coveralls.maven.plugin.parser.CoberturaParser;
+import org.eluder.coveralls.maven.plugin.parser.JaCoCoExecParser;
 import org.eluder.coveralls.maven.plugin.parser.JaCoCoParser;
+import org.eluder.coveralls.maven.plugin.parser.ReportFormat;
 import org.eluder.coveralls.maven.plugin.parser.SagaParser;
 import org.eluder.coveralls.maven.plugin.source.SourceLoader;
 
@@ -56,6 +61,12 @@ public class CoverageParsersFactory {
     /** The Constant DEFAULT_JACOCO_MERGED_DIRECTORY. */
     static final String DEFAULT_JACOCO_MERGED_DIRECTORY = "jacoco-merged-report";
 
+    /** The Constant JACOCO_EXEC_FILE. */
+    static final String JACOCO_EXEC_FILE = "jacoco.exec";
+
+    /** The Constant JACOCO_IT_EXEC_FILE. */
+    static final String JACOCO_IT_EXEC_FILE = "jacoco-it.exec";
+
     /** The Constant COBERTURA_FILE. */
     private static final String COBERTURA_FILE = "coverage.xml";
 
@@ -105,6 +116,24 @@ public class CoverageParsersFactory {
     /** The relative report dirs. */
     private List<String> relativeReportDirs;
 
+    /** Read JaCoCo execution data instead of the XML reports. */
+    private boolean jacocoExecData;
+
+    /** The number of threads used to analyze classes for JaCoCo execution data. */
+    private int analyzerThreads = 1;
+
+    /** The glob patterns of additional reports relative to the build and reporting directories. */
+    private List<String> reportPatterns;
+
+    /** The number of threads used to discover reports. */
+    private int discoveryThreads = 1;
+
+    /** The zero based index of the shard to create parsers for. */
+    private int shardIndex;
+
+    /** The total number of shards. */
+    private int shardCount = 1;
+
     /**
      * Instantiates a new coverage parsers factory.
      *
@@ -203,24 +232,177 @@ public class CoverageParsersFactory {
         return this;
     }
 
+    /**
+     * With JaCoCo execution data.
+     * <p>
+     * When enabled, the <code>jacoco.exec</code> and <code>jacoco-it.exec</code> execution data in the build directory
+     * of each project is merged and analyzed against the compiled classes of the project. The JaCoCo XML reports of
+     * projects with execution data are not read, including reports matching the report patterns.
+     *
+     * @param jacocoExecData
+     *            true to read JaCoCo execution data
+     *
+     * @return the coverage parsers factory
+     *
+     * @since 5.0.1
+     */
+    public CoverageParsersFactory withJaCoCoExecData(final boolean jacocoExecData) {
+        this.jacocoExecData = jacocoExecData;
+        return this;
+    }
+
+    /**
+     * With analyzer threads.
+     *
+     * @param analyzerThreads
+     *            the number of threads used to analyze classes for JaCoCo execution data
+     *
+     * @return the coverage parsers factory
+     *
+     * @since 5.0.1
+     */
+    public CoverageParsersFactory withAnalyzerThreads(final int analyzerThreads) {
+        this.analyzerThreads = analyzerThreads;
+        return this;
+    }
+
+    /**
+     * With shard.
+     * <p>
+     * Restricts the parsers to the reports of the projects in a single shard, see
+     * {@link MavenProjectCollector#withShard(int, int)}. Explicitly configured reports are not tied to a project, they
+     * are assigned to shards round robin in the order JaCoCo, Cobertura, Saga and Clover reports. A shard without any
+     * reports creates no parsers instead of failing.
+     *
+     * @param shardIndex
+     *            the zero based index of the shard
+     * @param shardCount
+     *            the total number of shards
+     *
+     * @return the coverage parsers factory
+     *
+     * @since 5.0.1
+     */
+    public CoverageParsersFactory withShard(final int shardIndex, final int shardCount) {
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        return this;
+    }
+
+    /**
+     * With report patterns.
+     * <p>
+     * The build and reporting directories of each project are walked once for files matching the glob patterns, and the
+     * format of each matching file is detected from its root element. Files that are not JaCoCo, Cobertura or Clover
+     * reports are ignored, as are JaCoCo reports of projects whose execution data is read.
+     *
+     * @param reportPatterns
+     *            the glob patterns relative to the build and reporting directories, e.g.
+     *            <code>coverage/**&#47;*.xml</code>
+     *
+     * @return the coverage parsers factory
+     *
+     * @since 5.0.1
+     */
+    public CoverageParsersFactory withReportPatterns(final List<String> reportPatterns) {
+        this.reportPatterns = reportPatterns;
+        return this;
+    }
+
+    /**
+     * With discovery threads.
+     *
+     * @param discoveryThreads
+     *            the number of threads used to probe report locations and walk report directories
+     *
+     * @return the coverage parsers factory
+     *
+     * @since 5.0.1
+     */
+    public CoverageParsersFactory withDiscoveryThreads(final int discoveryThreads) {
+        this.discoveryThreads = discoveryThreads;
+        return this;
+    }
+
     /**
      * Creates a new CoverageParsers object.
      *
-     * @return the list of coverage parsers
+     * @return the list of coverage parsers, empty only if sharded and no reports belong to the shard
      *
      * @throws IOException
-     *             Signals that an I/O exception has occurred.
+     *             if no reports were found without sharding, or an I/O exception has occurred
      */
     public List<CoverageParser> createParsers() throws IOException {
-        final List<CoverageParser> parsers = new ArrayList<>();
-        final var projects = new MavenProjectCollector(this.project).collect();
-
-        final var jacocoFiles = this.jacocoAggregateReport != null
-                ? ExistingFiles.create(List.of(this.jacocoAggregateReport))
-                : ExistingFiles.create(this.jacocoReports);
-        final var coberturaFiles = ExistingFiles.create(this.coberturaReports);
-        final var sagaFiles = ExistingFiles.create(this.sagaReports);
-        final var cloverFiles = ExistingFiles.create(this.cloverReports);
+        final var projects = new MavenProjectCollector(this.project).withShard(this.shardIndex, this.shardCount)
+                .collect();
+
+        // Record every candidate location without touching the file system, so that all of them are probed in one
+        // parallel discovery. Decisions depending on the existence of a report see no reports while recording and
+        // therefore record all alternatives.
+        final Set<File> candidates = new HashSet<>();
+        this.collectReports(projects, file -> {
+            candidates.add(file);
+            return false;
+        });
+        final List<Path> directories = new ArrayList<>();
+        for (final MavenProject p : projects) {
+            directories.add(Path.of(p.getModel().getReporting().getOutputDirectory()));
+            directories.add(Path.of(p.getBuild().getDirectory()));
+        }
+        final var discovered = new ReportDiscovery(this.reportPatterns, this.discoveryThreads).discover(candidates,
+                directories);
+        final var reports = this.collectReports(projects, discovered::exists);
+
+        // Use ExistingFiles.toParsers to create parser instances
+        final List<CoverageParser> parsers = new ArrayList<>(reports.execParsers);
+        parsers.addAll(reports.jacocoFiles.toParsers(file -> new JaCoCoParser(file, this.sourceLoader)));
+        parsers.addAll(
+                reports.coberturaFiles.toParsers(file -> ReportFormat.COBERTURA.createParser(file, this.sourceLoader)));
+        parsers.addAll(reports.sagaFiles.toParsers(file -> new SagaParser(file, this.sourceLoader)));
+        parsers.addAll(reports.cloverFiles.toParsers(file -> new CloverParser(file, this.sourceLoader)));
+        for (final Map.Entry<File, ReportFormat> matched : discovered.getMatched().entrySet()) {
+            if (!reports.contains(matched.getKey())
+                    && !reports.replacedByExecData(matched.getKey(), matched.getValue())) {
+                parsers.add(matched.getValue().createParser(matched.getKey(), this.sourceLoader));
+            }
+        }
+
+        if (parsers.isEmpty() && this.shardCount <= 1) {
+            throw new IOException("No coverage report files found");
+        }
+
+        return Collections.unmodifiableList(parsers);
+    }
+
+    /**
+     * Collects the reports at the known locations of the projects and the explicitly configured reports.
+     *
+     * @param projects
+     *            the projects
+     * @param existing
+     *            the existence check of report files
+     *
+     * @return the reports
+     */
+    private Reports collectReports(final List<MavenProject> projects, final Predicate<File> existing) {
+        final var explicitJaCoCoReports = this.jacocoAggregateReport != null ? List.of(this.jacocoAggregateReport)
+                : this.jacocoReports;
+        var offset = 0;
+        final var jacocoReportsOfShard = this.shard(explicitJaCoCoReports, offset);
+        offset += CoverageParsersFactory.size(explicitJaCoCoReports);
+        final var coberturaReportsOfShard = this.shard(this.coberturaReports, offset);
+        offset += CoverageParsersFactory.size(this.coberturaReports);
+        final var sagaReportsOfShard = this.shard(this.sagaReports, offset);
+        offset += CoverageParsersFactory.size(this.sagaReports);
+        final var cloverReportsOfShard = this.shard(this.cloverReports, offset);
+        final var reports = new Reports(ExistingFiles.create(jacocoReportsOfShard, existing),
+                ExistingFiles.create(coberturaReportsOfShard, existing),
+                ExistingFiles.create(sagaReportsOfShard, existing),
+                ExistingFiles.create(cloverReportsOfShard, existing));
+        final var jacocoFiles = reports.jacocoFiles;
+        final var coberturaFiles = reports.coberturaFiles;
+        final var sagaFiles = reports.sagaFiles;
+        final var cloverFiles = reports.cloverFiles;
         for (final MavenProject p : projects) {
             final var reportingDirectory = Path.of(p.getModel().getReporting().getOutputDirectory());
             final var buildDirectory = Path.of(p.getBuild().getDirectory());
@@ -229,12 +411,21 @@ public class CoverageParsersFactory {
                     .resolve(CoverageParsersFactory.DEFAULT_JACOCO_MERGED_DIRECTORY)
                     .resolve(CoverageParsersFactory.JACOCO_FILE).toFile();
 
+            // Execution data replaces the unit test, IT and merged reports of the project, it is merged in memory.
+            final var execParser = this.jacocoExecData ? this.createJaCoCoExecParser(p, buildDirectory, existing)
+                    : null;
+            if (execParser != null) {
+                reports.execParsers.add(execParser);
+                reports.execDirectories.add(reportingDirectory);
+                reports.execDirectories.add(buildDirectory);
+            }
+
             // If a JaCoCo merged report exists there is no need to individually add reports for unit tests and IT.
             // Note that in a Maven multi-module project JaCoCo can also be configured to aggregate all reports to a
             // single module. In which case there is no need to gather reports from individual Maven projects
             // as it's already done. Therefore, we only need to add to jacocoFiles if jacocoAggregateReport is null.
-            if (this.jacocoAggregateReport == null) {
-                if (jacocoMergedReport.exists() && jacocoMergedReport.canRead()) {
+            if (this.jacocoAggregateReport == null && execParser == null) {
+                if (existing.test(jacocoMergedReport) && jacocoMergedReport.canRead()) {
                     jacocoFiles.add(jacocoMergedReport);
                 } else {
                     jacocoFiles.add(reportingDirectory.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY)
@@ -256,18 +447,68 @@ public class CoverageParsersFactory {
             this.setupRelativeReportDirs(jacocoFiles, coberturaFiles, sagaFiles, cloverFiles, reportingDirectory,
                     buildDirectory);
         }
+        return reports;
+    }
 
-        // Use ExistingFiles.toParsers to create parser instances
-        parsers.addAll(jacocoFiles.toParsers(file -> new JaCoCoParser(file, this.sourceLoader)));
-        parsers.addAll(coberturaFiles.toParsers(file -> new CoberturaParser(file, this.sourceLoader)));
-        parsers.addAll(sagaFiles.toParsers(file -> new SagaParser(file, this.sourceLoader)));
-        parsers.addAll(cloverFiles.toParsers(file -> new CloverParser(file, this.sourceLoader)));
-
-        if (parsers.isEmpty()) {
-            throw new IOException("No coverage report files found");
+    /**
+     * Selects the explicitly configured reports of the shard. Reports are assigned to shards round robin by their
+     * position among all explicitly configured reports.
+     *
+     * @param files
+     *            the explicitly configured reports of a format, may be <code>null</code>
+     * @param offset
+     *            the number of explicitly configured reports of the preceding formats
+     *
+     * @return the reports of the shard
+     */
+    private List<File> shard(final List<File> files, final int offset) {
+        final List<File> selected = new ArrayList<>();
+        if (files != null) {
+            for (var i = 0; i < files.size(); i++) {
+                if ((offset + i) % this.shardCount == this.shardIndex) {
+                    selected.add(files.get(i));
+                }
+            }
         }
+        return selected;
+    }
 
-        return Collections.unmodifiableList(parsers);
+    /**
+     * Gets the number of files.
+     *
+     * @param files
+     *            the files, may be <code>null</code>
+     *
+     * @return the number of files
+     */
+    private static int size(final List<File> files) {
+        return files == null ? 0 : files.size();
+    }
+
+    /**
+     * Creates a parser for the JaCoCo execution data of a project.
+     *
+     * @param project
+     *            the project
+     * @param buildDirectory
+     *            the build directory of the project
+     * @param existing
+     *            the existence check of report files
+     *
+     * @return the parser, or <code>null</code> if the project has no execution data or compiled classes
+     */
+    private CoverageParser createJaCoCoExecParser(final MavenProject project, final Path buildDirectory,
+            final Predicate<File> existing) {
+        final var classDirectory = new File(project.getBuild().getOutputDirectory());
+        final List<File> execFiles = new ArrayList<>();
+        ExistingFiles
+                .create(List.of(buildDirectory.resolve(CoverageParsersFactory.JACOCO_EXEC_FILE).toFile(),
+                        buildDirectory.resolve(CoverageParsersFactory.JACOCO_IT_EXEC_FILE).toFile()), existing)
+                .forEach(execFiles::add);
+        if (execFiles.isEmpty() || !classDirectory.isDirectory()) {
+            return null;
+        }
+        return new JaCoCoExecParser(execFiles, List.of(classDirectory), this.sourceLoader, this.analyzerThreads);
     }
 
     /**
@@ -312,4 +553,84 @@ public class CoverageParsersFactory {
         }
     }
 
+    /**
+     * The reports collected from the known locations.
+     */
+    private static final class Reports {
+
+        /** The JaCoCo execution data parsers. */
+        private final List<CoverageParser> execParsers = new ArrayList<>();
+
+        /** The build and reporting directories of the projects with JaCoCo execution data parsers. */
+        private final List<Path> execDirectories = new ArrayList<>();
+
+        /** The jacoco files. */
+        private final ExistingFiles jacocoFiles;
+
+        /** The cobertura files. */
+        private final ExistingFiles coberturaFiles;
+
+        /** The saga files. */
+        private final ExistingFiles sagaFiles;
+
+        /** The clover files. */
+        private final ExistingFiles cloverFiles;
+
+        /**
+         * Instantiates new reports.
+         *
+         * @param jacocoFiles
+         *            the jacoco files
+         * @param coberturaFiles
+         *            the cobertura files
+         * @param sagaFiles
+         *            the saga files
+         * @param cloverFiles
+         *            the clover files
+         */
+        private Reports(final ExistingFiles jacocoFiles, final ExistingFiles coberturaFiles,
+                final ExistingFiles sagaFiles, final ExistingFiles cloverFiles) {
+            this.jacocoFiles = jacocoFiles;
+            this.coberturaFiles = coberturaFiles;
+            this.sagaFiles = sagaFiles;
+            this.cloverFiles = cloverFiles;
+        }
+
+        /**
+         * Checks if a report file has been collected.
+         *
+         * @param file
+         *            the report file
+         *
+         * @return true if the file has been collected
+         */
+        private boolean contains(final File file) {
+            return this.jacocoFiles.contains(file) || this.coberturaFiles.contains(file)
+                    || this.sagaFiles.contains(file) || this.cloverFiles.contains(file);
+        }
+
+        /**
+         * Checks if a report file is a JaCoCo report of a project whose execution data is read, and would therefore
+         * count the same coverage twice.
+         *
+         * @param file
+         *            the report file
+         * @param format
+         *            the detected report format
+         *
+         * @return true if the report is replaced by execution data
+         */
+        private boolean replacedByExecData(final File file, final ReportFormat format) {
+            if (format != ReportFormat.JACOCO) {
+                return false;
+            }
+            final var path = file.toPath();
+            for (final Path directory : this.execDirectories) {
+                if (path.startsWith(directory)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -27,24 +27,40 @@ package org.eluder.coveralls.maven.plugin.util;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.eluder.coveralls.maven.plugin.CoverageParser;
 
 /**
- * The Class ExistingFiles.
+ * The Class ExistingFiles. Files are kept in insertion order without duplicates.
  */
 public class ExistingFiles implements Iterable<File> {
 
     /** The delegate. */
-    private final List<File> delegate = new ArrayList<>();
+    private final Set<File> delegate = new LinkedHashSet<>();
+
+    /** The existence check. */
+    private final Predicate<File> existing;
 
     /**
      * Instantiates a new existing files.
      */
     public ExistingFiles() {
-        // do nothing
+        this(File::isFile);
+    }
+
+    /**
+     * Instantiates a new existing files with an existence check, e.g. the result of an earlier discovery.
+     *
+     * @param existing
+     *            the existence check, true if a file exists and is a regular file
+     */
+    public ExistingFiles(final Predicate<File> existing) {
+        this.existing = existing;
     }
 
     /**
@@ -77,12 +93,24 @@ public class ExistingFiles implements Iterable<File> {
         if (file == null) {
             throw new NullPointerException("File must be defined");
         }
-        if (file.exists() && file.isFile() && !this.delegate.contains(file)) {
+        if (!this.delegate.contains(file) && this.existing.test(file)) {
             this.delegate.add(file);
         }
         return this;
     }
 
+    /**
+     * Checks if a file has been added.
+     *
+     * @param file
+     *            the file
+     *
+     * @return true if the file has been added
+     */
+    public boolean contains(final File file) {
+        return this.delegate.contains(file);
+    }
+
     @Override
     public Iterator<File> iterator() {
         return this.delegate.iterator();
@@ -97,7 +125,21 @@ public class ExistingFiles implements Iterable<File> {
      * @return the existing files
      */
     public static ExistingFiles create(final Iterable<File> files) {
-        final var existingFiles = new ExistingFiles();
+        return ExistingFiles.create(files, File::isFile);
+    }
+
+    /**
+     * Creates the.
+     *
+     * @param files
+     *            the files
+     * @param existing
+     *            the existence check, true if a file exists and is a regular file
+     *
+     * @return the existing files
+     */
+    public static ExistingFiles create(final Iterable<File> files, final Predicate<File> existing) {
+        final var existingFiles = new ExistingFiles(existing);
         if (files != null) {
             existingFiles.addAll(files);
         }
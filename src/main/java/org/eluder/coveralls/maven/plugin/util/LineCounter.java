@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.util;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Counts the lines of encoded source content without decoding it. Line terminators are <code>\r\n</code>,
+ * <code>\r</code> and <code>\n</code>, and the count is one more than the number of terminators, so the result equals
+ * counting the same terminators in the decoded text. This is only valid for ASCII compatible encodings where the bytes
+ * of carriage return and line feed never occur inside another character.
+ */
+public final class LineCounter {
+
+    /** The number of lines. */
+    private int lines = 1;
+
+    /** True if the previous byte was a carriage return. */
+    private boolean carriageReturn;
+
+    /**
+     * Instantiates a new line counter.
+     */
+    public LineCounter() {
+        // do nothing
+    }
+
+    /**
+     * Checks if newlines can be counted from the encoded bytes of the given charset.
+     *
+     * @param charset
+     *            the charset
+     *
+     * @return true, if the charset encodes carriage return and line feed as single ASCII bytes that never occur inside
+     *         another character
+     */
+    public static boolean isAsciiCompatible(final Charset charset) {
+        final var name = charset.name().toUpperCase(Locale.ROOT);
+        return "UTF-8".equals(name) || "US-ASCII".equals(name) || name.startsWith("ISO-8859-")
+                || name.startsWith("WINDOWS-125");
+    }
+
+    /**
+     * Counts the line terminators in a chunk of content. Chunks must be given in order.
+     *
+     * @param bytes
+     *            the buffer
+     * @param offset
+     *            the offset of the chunk
+     * @param length
+     *            the length of the chunk
+     */
+    public void update(final byte[] bytes, final int offset, final int length) {
+        var count = this.lines;
+        var cr = this.carriageReturn;
+        final var end = offset + length;
+        for (var i = offset; i < end; i++) {
+            final var b = bytes[i];
+            if (b == '\r') {
+                count++;
+                cr = true;
+            } else {
+                if (b == '\n' && !cr) {
+                    count++;
+                }
+                cr = false;
+            }
+        }
+        this.lines = count;
+        this.carriageReturn = cr;
+    }
+
+    /**
+     * Gets the number of lines counted so far.
+     *
+     * @return the number of lines
+     */
+    public int getLines() {
+        return this.lines;
+    }
+}
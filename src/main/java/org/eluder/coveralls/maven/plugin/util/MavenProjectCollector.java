@@ -38,6 +38,12 @@ public class MavenProjectCollector {
     /** The root. */
     private final MavenProject root;
 
+    /** The zero based index of the shard to collect. */
+    private int shardIndex;
+
+    /** The total number of shards. */
+    private int shardCount = 1;
+
     /**
      * Instantiates a new maven project collector.
      *
@@ -48,6 +54,34 @@ public class MavenProjectCollector {
         this.root = root;
     }
 
+    /**
+     * Restricts the collected projects to a single shard. Projects are assigned to shards round robin in reactor order,
+     * so every project belongs to exactly one shard and the assignment is the same on every build of the same project
+     * tree.
+     *
+     * @param shardIndex
+     *            the zero based index of the shard to collect
+     * @param shardCount
+     *            the total number of shards
+     *
+     * @return the maven project collector
+     *
+     * @throws IllegalArgumentException
+     *             if the shard count is not positive or the shard index is out of range
+     */
+    public MavenProjectCollector withShard(final int shardIndex, final int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive, was " + shardCount);
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(
+                    "Shard index must be between 0 and " + (shardCount - 1) + ", was " + shardIndex);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        return this;
+    }
+
     /**
      * Collect.
      *
@@ -56,7 +90,14 @@ public class MavenProjectCollector {
     public List<MavenProject> collect() {
         final List<MavenProject> projects = new ArrayList<>();
         this.collect(this.root, projects);
-        return Collections.unmodifiableList(projects);
+        if (this.shardCount == 1) {
+            return Collections.unmodifiableList(projects);
+        }
+        final List<MavenProject> shard = new ArrayList<>();
+        for (var i = this.shardIndex; i < projects.size(); i += this.shardCount) {
+            shard.add(projects.get(i));
+        }
+        return Collections.unmodifiableList(shard);
     }
 
     /**
@@ -0,0 +1,347 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eluder.coveralls.maven.plugin.parser.ReportFormat;
+
+/**
+ * Discovers coverage report files. Known report locations are probed with a single file system call each, and the
+ * report directories of the modules are walked once each for files matching the configured glob patterns. Files found
+ * by the walk are identified by sniffing their root element. Probing and walking run on a bounded worker pool, which
+ * hides the latency of network file systems.
+ */
+public class ReportDiscovery {
+
+    /** The minimum number of candidates probed by a single task. */
+    private static final int MIN_PROBES_PER_TASK = 16;
+
+    /** The report patterns, relative to the walked directories. */
+    private final List<PathMatcher> matchers = new ArrayList<>();
+
+    /** The maximum depth of the directory walks. */
+    private final int maxDepth;
+
+    /** The number of worker threads. */
+    private final int threads;
+
+    /**
+     * Instantiates a new report discovery.
+     *
+     * @param patterns
+     *            the glob patterns of reports relative to the walked directories, e.g.
+     *            <code>coverage/**&#47;*.xml</code>, or <code>null</code> to only probe known locations;
+     *            <code>**&#47;</code> matches zero or more directories
+     * @param threads
+     *            the number of worker threads
+     */
+    public ReportDiscovery(final List<String> patterns, final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.threads = threads;
+        var depth = 0;
+        if (patterns != null) {
+            for (final String pattern : patterns) {
+                this.matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+                if (pattern.contains("**/")) {
+                    // let **/ match no directories as well, like in ant and git patterns
+                    this.matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern.replace("**/", "")));
+                }
+                depth = Math.max(depth, pattern.contains("**") ? Integer.MAX_VALUE : pattern.split("/").length);
+            }
+        }
+        this.maxDepth = depth;
+    }
+
+    /**
+     * Probes the candidate report files and walks the report directories for reports matching the patterns.
+     *
+     * @param candidates
+     *            the candidate report files at known locations
+     * @param directories
+     *            the report directories to walk, ignored without patterns
+     *
+     * @return the discovered reports
+     *
+     * @throws IOException
+     *             if a report matching the patterns cannot be read
+     */
+    public Result discover(final Collection<File> candidates, final Collection<Path> directories) throws IOException {
+        final List<Callable<Result>> tasks = new ArrayList<>();
+        final List<File> files = new ArrayList<>(new HashSet<>(candidates));
+        final var chunk = Math.max(ReportDiscovery.MIN_PROBES_PER_TASK,
+                (files.size() + this.threads - 1) / this.threads);
+        for (var i = 0; i < files.size(); i += chunk) {
+            final var probed = files.subList(i, Math.min(files.size(), i + chunk));
+            tasks.add(() -> this.probe(probed));
+        }
+        if (!this.matchers.isEmpty()) {
+            for (final Path directory : new LinkedHashSet<>(directories)) {
+                tasks.add(() -> this.walk(directory));
+            }
+        }
+
+        final var result = new Result();
+        if (this.threads == 1 || tasks.size() < 2) {
+            for (final Callable<Result> task : tasks) {
+                result.merge(ReportDiscovery.call(task));
+            }
+            return result;
+        }
+        final var executor = Executors.newFixedThreadPool(Math.min(this.threads, tasks.size()),
+                new DiscoveryThreadFactory());
+        try {
+            final List<Future<Result>> futures = new ArrayList<>();
+            for (final Callable<Result> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (final Future<Result> future : futures) {
+                result.merge(ReportDiscovery.await(future));
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Probes candidate report files.
+     *
+     * @param candidates
+     *            the candidates
+     *
+     * @return the existing candidates
+     */
+    private Result probe(final List<File> candidates) {
+        final var result = new Result();
+        for (final File candidate : candidates) {
+            if (candidate.isFile()) {
+                result.existing.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Walks a report directory for reports matching the patterns.
+     *
+     * @param directory
+     *            the directory
+     *
+     * @return the matching reports in path order
+     *
+     * @throws IOException
+     *             if a matching report cannot be read
+     */
+    private Result walk(final Path directory) throws IOException {
+        final var result = new Result();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+        final List<Path> matches = new ArrayList<>();
+        Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), this.maxDepth,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile() && ReportDiscovery.this.matches(directory.relativize(file))) {
+                            matches.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        Collections.sort(matches);
+        for (final Path match : matches) {
+            final var file = match.toFile();
+            final var format = ReportFormat.detect(file);
+            if (format != null) {
+                result.existing.add(file);
+                result.matched.put(file, format);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tests a relative path against the patterns.
+     *
+     * @param path
+     *            the path relative to the walked directory
+     *
+     * @return true if any pattern matches
+     */
+    private boolean matches(final Path path) {
+        for (final PathMatcher matcher : this.matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs a task on the calling thread.
+     *
+     * @param task
+     *            the task
+     *
+     * @return the result
+     *
+     * @throws IOException
+     *             if the task fails
+     */
+    private static Result call(final Callable<Result> task) throws IOException {
+        try {
+            return task.call();
+        } catch (final IOException | RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Waits for a task to complete.
+     *
+     * @param future
+     *            the future
+     *
+     * @return the result
+     *
+     * @throws IOException
+     *             if the task failed
+     */
+    private static Result await(final Future<Result> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while discovering coverage reports", e);
+        } catch (final ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The discovered reports.
+     */
+    public static final class Result {
+
+        /** The existing report files. */
+        private final Set<File> existing = new HashSet<>();
+
+        /** The reports matching the patterns and their formats, in discovery order. */
+        private final Map<File, ReportFormat> matched = new LinkedHashMap<>();
+
+        /**
+         * Checks if a report file exists.
+         *
+         * @param file
+         *            the report file
+         *
+         * @return true if the file was probed or matched and is a regular file
+         */
+        public boolean exists(final File file) {
+            return this.existing.contains(file);
+        }
+
+        /**
+         * Gets the reports matching the patterns, in directory order and path order within a directory.
+         *
+         * @return the matched reports and their formats
+         */
+        public Map<File, ReportFormat> getMatched() {
+            return Collections.unmodifiableMap(this.matched);
+        }
+
+        /**
+         * Merges another result into this result.
+         *
+         * @param other
+         *            the other result
+         */
+        private void merge(final Result other) {
+            this.existing.addAll(other.existing);
+            other.matched.forEach(this.matched::putIfAbsent);
+        }
+    }
+
+    /**
+     * Thread factory for named daemon discovery threads.
+     */
+    private static final class DiscoveryThreadFactory implements ThreadFactory {
+
+        /** The thread counter. */
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final var thread = new Thread(runnable, "coveralls-discovery-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
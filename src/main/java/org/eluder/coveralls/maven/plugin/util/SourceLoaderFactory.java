@@ -34,6 +34,7 @@ import org.apache.maven.project.MavenProject;
 import org.eluder.coveralls.maven.plugin.source.DirectorySourceLoader;
 import org.eluder.coveralls.maven.plugin.source.MultiSourceLoader;
 import org.eluder.coveralls.maven.plugin.source.ScanSourceLoader;
+import org.eluder.coveralls.maven.plugin.source.SourceDigestCache;
 import org.eluder.coveralls.maven.plugin.source.SourceLoader;
 
 /**
@@ -56,6 +57,9 @@ public class SourceLoaderFactory {
     /** The scan for sources. */
     private boolean scanForSources;
 
+    /** The source digest cache. */
+    private SourceDigestCache digestCache;
+
     /**
      * Instantiates a new source loader factory.
      *
@@ -98,6 +102,19 @@ public class SourceLoaderFactory {
         return this;
     }
 
+    /**
+     * With digest cache.
+     *
+     * @param digestCache
+     *            the source digest cache, or <code>null</code> to always read sources
+     *
+     * @return the source loader factory
+     */
+    public SourceLoaderFactory withDigestCache(final SourceDigestCache digestCache) {
+        this.digestCache = digestCache;
+        return this;
+    }
+
     /**
      * Creates a new SourceLoader object.
      *
@@ -119,6 +136,7 @@ public class SourceLoaderFactory {
         for (final File directory : directories) {
             if (directory.exists() && directory.isDirectory()) {
                 final var moduleSourceLoader = new DirectorySourceLoader(this.baseDir, directory, this.sourceEncoding);
+                moduleSourceLoader.setDigestCache(this.digestCache);
                 multiSourceLoader.add(moduleSourceLoader);
             }
         }
@@ -127,6 +145,7 @@ public class SourceLoaderFactory {
             for (final File directory : directories) {
                 if (directory.exists() && directory.isDirectory()) {
                     final var scanSourceLoader = new ScanSourceLoader(this.baseDir, directory, this.sourceEncoding);
+                    scanSourceLoader.setDigestCache(this.digestCache);
                     multiSourceLoader.add(scanSourceLoader);
                 }
             }
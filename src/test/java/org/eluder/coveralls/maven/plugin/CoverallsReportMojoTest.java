@@ -24,14 +24,18 @@
  */
 package org.eluder.coveralls.maven.plugin;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Model;
@@ -46,6 +50,7 @@ import org.eluder.coveralls.maven.plugin.domain.Git;
 import org.eluder.coveralls.maven.plugin.domain.Job;
 import org.eluder.coveralls.maven.plugin.domain.Source;
 import org.eluder.coveralls.maven.plugin.httpclient.CoverallsClient;
+import org.eluder.coveralls.maven.plugin.httpclient.StreamingSubmission;
 import org.eluder.coveralls.maven.plugin.json.JsonWriter;
 import org.eluder.coveralls.maven.plugin.parser.CoberturaParser;
 import org.eluder.coveralls.maven.plugin.service.ServiceSetup;
@@ -208,6 +213,52 @@ class CoverallsReportMojoTest {
         Assertions.assertThrows(IOException.class, () -> this.mojo.createCoverageParsers(this.sourceLoaderMock));
     }
 
+    /**
+     * A shard beyond the number of projects has no coverage reports and skips the submission.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void shardWithoutCoverageReports() throws Exception {
+        this.mojo = new CoverallsReportMojo() {
+            @Override
+            protected SourceLoader createSourceLoader(final Job job) {
+                return CoverallsReportMojoTest.this.sourceLoaderMock;
+            }
+
+            @Override
+            protected Environment createEnvironment() {
+                return new Environment(this, Collections.<ServiceSetup> emptyList());
+            }
+
+            @Override
+            protected Job createJob() {
+                return CoverallsReportMojoTest.this.jobMock;
+            }
+
+            @Override
+            protected CoverallsClient createCoverallsClient() {
+                return CoverallsReportMojoTest.this.coverallsClientMock;
+            }
+
+            @Override
+            public Log getLog() {
+                return CoverallsReportMojoTest.this.logMock;
+            }
+        };
+        this.mojo.settings = this.settingsMock;
+        this.mojo.project = this.projectMock;
+        this.mojo.sourceEncoding = "UTF-8";
+        this.mojo.shardIndex = 2;
+        this.mojo.shardCount = 3;
+
+        this.mojo.execute();
+
+        Mockito.verify(this.logMock).info("No coverage reports found for shard 2/3, skipping submission");
+        Mockito.verifyNoInteractions(this.coverallsClientMock);
+    }
+
     /**
      * Test create source loader.
      *
@@ -297,6 +348,121 @@ class CoverallsReportMojoTest {
         CoverallsReportMojoTest.verifySuccessfulSubmit(this.logMock, fixture);
     }
 
+    /**
+     * Write the metrics files next to the coveralls file.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void writeMetrics() throws Exception {
+        Mockito.when(this.coverallsClientMock.submit(ArgumentMatchers.any(File.class)))
+                .thenReturn(new CoverallsResponse("success", false, null));
+        this.mojo.metricsJson = true;
+        this.mojo.metricsPrometheus = true;
+        this.mojo.execute();
+
+        final var json = TestIoUtil.readFileContent(this.folder.resolve("coveralls-metrics.json").toFile());
+        Assertions.assertTrue(json.contains("\"phases\""));
+        Assertions.assertTrue(json.contains("\"reports\""));
+        final var prometheus = TestIoUtil.readFileContent(this.folder.resolve("coveralls-metrics.prom").toFile());
+        Assertions.assertTrue(prometheus.contains("coveralls_phase_seconds{phase=\"submit\"}"));
+        Mockito.verify(this.logMock).info("Coveralls report metrics:");
+    }
+
+    /**
+     * Stream the coveralls data directly into the submission.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void directSubmission() throws Exception {
+        final var body = new ByteArrayOutputStream();
+        final var submission = Mockito.mock(StreamingSubmission.class);
+        Mockito.when(submission.getOutputStream()).thenReturn(body);
+        Mockito.when(submission.complete()).thenReturn(new CoverallsResponse("success", false, null));
+        Mockito.when(this.coverallsClientMock.openSubmission(false)).thenReturn(submission);
+        this.mojo.directSubmit = true;
+        this.mojo.execute();
+
+        final var json = body.toString(StandardCharsets.UTF_8);
+        final var fixture = CoverageFixture.JAVA_FILES;
+        for (final List<String> coverageFile : fixture) {
+            Assertions.assertTrue(json.contains(coverageFile.get(0)));
+        }
+        Assertions.assertEquals(0, this.coverallsFile.length());
+        Mockito.verify(this.coverallsClientMock, Mockito.never()).submit(ArgumentMatchers.any(File.class));
+        CoverallsReportMojoTest.verifySuccessfulSubmit(this.logMock, fixture);
+    }
+
+    /**
+     * Submit the tee copy when the streamed submission fails.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void directSubmissionFallsBackToTeeFile() throws Exception {
+        final var body = new ByteArrayOutputStream();
+        final var submission = Mockito.mock(StreamingSubmission.class);
+        Mockito.when(submission.getOutputStream()).thenReturn(body);
+        Mockito.when(submission.complete()).thenThrow(new IOException("connection reset"));
+        Mockito.when(this.coverallsClientMock.openSubmission(false)).thenReturn(submission);
+        final var teeFile = this.folder.resolve("tee").resolve("coveralls.json").toFile();
+        Mockito.when(this.coverallsClientMock.submit(teeFile))
+                .thenReturn(new CoverallsResponse("success", false, null));
+        this.mojo.directSubmit = true;
+        this.mojo.directSubmitTee = true;
+        this.mojo.coverallsFile = teeFile;
+        this.mojo.execute();
+
+        Assertions.assertEquals(body.toString(StandardCharsets.UTF_8), TestIoUtil.readFileContent(teeFile));
+        CoverallsReportMojoTest.verifySuccessfulSubmit(this.logMock, CoverageFixture.JAVA_FILES);
+    }
+
+    /**
+     * Abort the streamed submission before its body is closed when loading a source fails part way, so that partial
+     * data is never submitted.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void directSubmissionAbortsOnParserFailure() throws Exception {
+        final var aborted = new AtomicBoolean();
+        final var closedBeforeAbort = new AtomicBoolean();
+        final var body = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closedBeforeAbort.compareAndSet(false, !aborted.get());
+            }
+        };
+        final var submission = Mockito.mock(StreamingSubmission.class);
+        Mockito.when(submission.getOutputStream()).thenReturn(body);
+        Mockito.doAnswer(invocation -> {
+            aborted.set(true);
+            return null;
+        }).when(submission).abort();
+        Mockito.when(this.coverallsClientMock.openSubmission(false)).thenReturn(submission);
+        final var loads = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new IOException("source failure");
+            }
+            final var sourceFile = invocation.getArguments()[0].toString();
+            final var content = this.readFileContent(sourceFile);
+            return new Source(sourceFile, content, TestIoUtil.getSha512DigestHex(content));
+        }).when(this.sourceLoaderMock).load(ArgumentMatchers.anyString());
+        this.mojo.directSubmit = true;
+
+        Assertions.assertThrows(MojoFailureException.class, () -> this.mojo.execute());
+        Assertions.assertTrue(aborted.get());
+        Assertions.assertFalse(closedBeforeAbort.get());
+        Mockito.verify(submission, Mockito.never()).complete();
+        Mockito.verify(this.coverallsClientMock, Mockito.never()).submit(ArgumentMatchers.any(File.class));
+    }
+
     /**
      * Fail with processing exception.
      *
@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class BranchTableTest.
+ */
+class BranchTableTest {
+
+    /**
+     * Test put keeps insertion order.
+     */
+    @Test
+    void putKeepsInsertionOrder() {
+        final var table = new BranchTable();
+        table.put(2, 0, 0, 1, false);
+        table.put(1, 0, 1, 0, false);
+        table.put(3, 1, 0, 4, false);
+        Assertions.assertEquals(3, table.size());
+        Assertions.assertArrayEquals(new int[] { 2, 0, 0, 1, 1, 0, 1, 0, 3, 1, 0, 4 }, table.toArray());
+    }
+
+    /**
+     * Test put replaces and moves existing branch to the end.
+     */
+    @Test
+    void putReplacesExisting() {
+        final var table = new BranchTable();
+        table.put(2, 0, 0, 1, false);
+        table.put(2, 0, 1, 0, false);
+        table.put(2, 0, 0, 5, false);
+        Assertions.assertEquals(2, table.size());
+        Assertions.assertArrayEquals(new int[] { 2, 0, 1, 0, 2, 0, 0, 5 }, table.toArray());
+    }
+
+    /**
+     * Test put merges hits of existing branch.
+     */
+    @Test
+    void putMergesExisting() {
+        final var table = new BranchTable();
+        table.put(2, 0, 0, 1, false);
+        table.put(2, 0, 0, 5, true);
+        Assertions.assertArrayEquals(new int[] { 2, 0, 0, 6 }, table.toArray());
+    }
+
+    /**
+     * Test copy is independent.
+     */
+    @Test
+    void copyIsIndependent() {
+        final var table = new BranchTable();
+        table.put(2, 0, 0, 1, false);
+        final var copy = new BranchTable(table);
+        copy.put(2, 0, 0, 3, true);
+        Assertions.assertArrayEquals(new int[] { 2, 0, 0, 1 }, table.toArray());
+        Assertions.assertArrayEquals(new int[] { 2, 0, 0, 4 }, copy.toArray());
+    }
+
+    /**
+     * Test against list based reference implementation with resizing and compaction.
+     */
+    @Test
+    void matchesListImplementation() {
+        final var random = new Random(42);
+        final var table = new BranchTable();
+        final List<int[]> reference = new ArrayList<>();
+        for (var i = 0; i < 20000; i++) {
+            final var line = random.nextInt(200) + 1;
+            final var block = random.nextInt(3);
+            final var branch = random.nextInt(40);
+            final var hits = random.nextInt(5);
+            final var merge = random.nextBoolean();
+            var hitSum = hits;
+            for (var j = 0; j < reference.size(); j++) {
+                final var b = reference.get(j);
+                if (b[0] == line && b[1] == block && b[2] == branch) {
+                    reference.remove(j);
+                    if (merge) {
+                        hitSum += b[3];
+                    }
+                    break;
+                }
+            }
+            reference.add(new int[] { line, block, branch, hitSum });
+            table.put(line, block, branch, hits, merge);
+        }
+        final var expected = new int[reference.size() * 4];
+        for (var i = 0; i < reference.size(); i++) {
+            System.arraycopy(reference.get(i), 0, expected, i * 4, 4);
+        }
+        Assertions.assertEquals(reference.size(), table.size());
+        Assertions.assertArrayEquals(expected, table.toArray());
+    }
+
+    /**
+     * Test merge newer adds hits in place when no branches are new.
+     */
+    @Test
+    void mergeNewerInPlace() {
+        final var table = new BranchTable();
+        table.put(2, 0, 0, 1, false);
+        table.put(1, 0, 1, 0, false);
+        final var newer = new BranchTable();
+        newer.put(1, 0, 1, 3, false);
+        table.mergeNewer(newer);
+        Assertions.assertArrayEquals(new int[] { 2, 0, 0, 1, 1, 0, 1, 3 }, table.toArray());
+    }
+
+    /**
+     * Test merge newer matches copying the newer table and merging this table into it.
+     */
+    @Test
+    void mergeNewerMatchesCopyAndPut() {
+        final var random = new Random(14);
+        for (var round = 0; round < 200; round++) {
+            final var table = new BranchTable();
+            final var newer = new BranchTable();
+            for (var i = random.nextInt(30); i > 0; i--) {
+                table.put(random.nextInt(10) + 1, random.nextInt(2), random.nextInt(4), random.nextInt(5), false);
+            }
+            for (var i = random.nextInt(30); i > 0; i--) {
+                newer.put(random.nextInt(10) + 1, random.nextInt(2), random.nextInt(4), random.nextInt(5), false);
+            }
+            final var expected = new BranchTable(newer);
+            final var values = table.toArray();
+            for (var i = 0; i < values.length; i += 4) {
+                expected.put(values[i], values[i + 1], values[i + 2], values[i + 3], true);
+            }
+            table.mergeNewer(newer);
+            Assertions.assertEquals(expected.size(), table.size());
+            Assertions.assertArrayEquals(expected.toArray(), table.toArray());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class GitDirectoryReaderTest.
+ */
+class GitDirectoryReaderTest {
+
+    /** The work tree. */
+    @TempDir
+    Path workTree;
+
+    /** The JGit repository. */
+    private org.eclipse.jgit.api.Git git;
+
+    /**
+     * Creates a repository with two commits and two remotes.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @BeforeEach
+    void init() throws Exception {
+        this.git = org.eclipse.jgit.api.Git.init().setDirectory(this.workTree.toFile()).setInitialBranch("main").call();
+        final var config = this.git.getRepository().getConfig();
+        config.setString("remote", "origin", "url", "https://github.com/example/project.git");
+        config.setString("remote", "upstream", "url", "git@github.com:upstream/project.git");
+        config.save();
+        this.commit("README.md", "first", "Initial commit");
+        this.commit("README.md", "second", "Second commit\n\nWith a body, and\nmultiple lines.\n");
+    }
+
+    @Test
+    void readLooseObjects() throws IOException {
+        final var git = this.assertSameAsJGit(this.workTree.toFile());
+        Assertions.assertEquals(this.workTree.toFile(), git.getBaseDir());
+    }
+
+    @Test
+    void readPackedObjectsAndRefs() throws IOException, GitAPIException {
+        this.git.gc().call();
+        Assertions.assertTrue(Files.isRegularFile(this.workTree.resolve(".git/packed-refs")));
+        Assertions.assertFalse(Files.exists(this.workTree.resolve(".git/refs/heads/main")));
+        this.assertSameAsJGit(this.workTree.toFile());
+    }
+
+    @Test
+    void readDetachedHead() throws IOException, GitAPIException {
+        final var first = this.git.log().call().iterator().next().getParent(0).getName();
+        this.git.checkout().setName(first).call();
+        final var git = this.assertSameAsJGit(this.workTree.toFile());
+        Assertions.assertEquals(first, git.getBranch());
+        Assertions.assertEquals(first, git.getHead().getId());
+    }
+
+    @Test
+    void readFromSubdirectory() throws IOException {
+        final var subdirectory = Files.createDirectories(this.workTree.resolve("src/main/java"));
+        final var git = this.assertSameAsJGit(subdirectory.toFile());
+        Assertions.assertEquals(this.workTree.toFile(), git.getBaseDir());
+    }
+
+    @Test
+    void readGitFile(@TempDir final Path gitDirectory) throws IOException {
+        this.git.close();
+        final var moved = gitDirectory.resolve(".git");
+        Files.move(this.workTree.resolve(".git"), moved);
+        Files.writeString(this.workTree.resolve(".git"), "gitdir: " + moved + "\n");
+        final var git = this.assertSameAsJGit(this.workTree.toFile());
+        Assertions.assertEquals(this.workTree.toFile(), git.getBaseDir());
+    }
+
+    @Test
+    void readLinkedWorktree(@TempDir final Path linked) throws IOException, GitAPIException {
+        this.git.branchCreate().setName("feature").call();
+        final var worktreeDirectory = Files.createDirectories(this.workTree.resolve(".git/worktrees/linked"));
+        Files.writeString(worktreeDirectory.resolve("HEAD"), "ref: refs/heads/feature\n");
+        Files.writeString(worktreeDirectory.resolve("commondir"), "../..\n");
+        Files.writeString(linked.resolve(".git"), "gitdir: " + worktreeDirectory + "\n");
+        final var expected = this.assertSameAsJGit(this.workTree.toFile());
+        final var git = new GitDirectoryReader(linked.toFile()).read();
+        Assertions.assertNotNull(git);
+        Assertions.assertEquals(linked.toFile(), git.getBaseDir());
+        Assertions.assertEquals("feature", git.getBranch());
+        Assertions.assertEquals(expected.getHead().getId(), git.getHead().getId());
+        Assertions.assertEquals(2, git.getRemotes().size());
+    }
+
+    @Test
+    void readEncodedMessage() throws IOException, GitAPIException {
+        this.commit("README.md", "third", "Ünïcödé commit ✓");
+        final var git = this.assertSameAsJGit(this.workTree.toFile());
+        Assertions.assertEquals("Ünïcödé commit ✓", git.getHead().getMessage());
+        Assertions.assertEquals("Jürgen Doe", git.getHead().getAuthorName());
+    }
+
+    @Test
+    void unsupportedConfigFallsBack() throws IOException {
+        Files.writeString(this.workTree.resolve(".git/config"), "[include]\n\tpath = other.config\n",
+                StandardCharsets.UTF_8, java.nio.file.StandardOpenOption.APPEND);
+        Assertions.assertNull(new GitDirectoryReader(this.workTree.toFile()).read());
+        Assertions.assertNotNull(new GitRepository(this.workTree.toFile()).load().getHead().getId());
+    }
+
+    @Test
+    void notRepository(@TempDir final Path directory) {
+        Assertions.assertNull(new GitDirectoryReader(directory.toFile()).read());
+    }
+
+    @Test
+    void readRemotes(@TempDir final Path directory) throws IOException {
+        final var config = directory.resolve("config");
+        Files.writeString(config, String.join("\n", "[core]", "\tbare = false", "[remote \"origin\"]",
+                "\turl = \"https://example.com/a b.git\" ; comment", "\tfetch = +refs/heads/*:refs/remotes/origin/*",
+                "[Remote \"empty\"]", "[remote \"origin\"]", "\tURL = https://example.com/c.git # comment", ""));
+        final var remotes = GitDirectoryReader.readRemotes(config);
+        Assertions.assertEquals(2, remotes.size());
+        Assertions.assertEquals("origin", remotes.get(0).getName());
+        Assertions.assertEquals("https://example.com/c.git", remotes.get(0).getUrl());
+        Assertions.assertEquals("empty", remotes.get(1).getName());
+        Assertions.assertNull(remotes.get(1).getUrl());
+    }
+
+    /**
+     * Asserts that the lightweight reader produces the same head, branch and remotes as JGit.
+     *
+     * @param directory
+     *            the directory to read from
+     *
+     * @return the git metadata
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private Git assertSameAsJGit(final File directory) throws IOException {
+        final var expected = new JGitRepositoryReader(directory).load();
+        final var actual = new GitDirectoryReader(directory).read();
+        Assertions.assertNotNull(actual);
+        Assertions.assertEquals(expected.getBranch(), actual.getBranch());
+        Assertions.assertEquals(expected.getHead().getId(), actual.getHead().getId());
+        Assertions.assertEquals(expected.getHead().getAuthorName(), actual.getHead().getAuthorName());
+        Assertions.assertEquals(expected.getHead().getAuthorEmail(), actual.getHead().getAuthorEmail());
+        Assertions.assertEquals(expected.getHead().getCommitterName(), actual.getHead().getCommitterName());
+        Assertions.assertEquals(expected.getHead().getCommitterEmail(), actual.getHead().getCommitterEmail());
+        Assertions.assertEquals(expected.getHead().getMessage(), actual.getHead().getMessage());
+        Assertions.assertEquals(expected.getRemotes().size(), actual.getRemotes().size());
+        for (var i = 0; i < expected.getRemotes().size(); i++) {
+            Assertions.assertEquals(expected.getRemotes().get(i).getName(), actual.getRemotes().get(i).getName());
+            Assertions.assertEquals(expected.getRemotes().get(i).getUrl(), actual.getRemotes().get(i).getUrl());
+        }
+        return actual;
+    }
+
+    /**
+     * Commits a file.
+     *
+     * @param file
+     *            the file name
+     * @param content
+     *            the file content
+     * @param message
+     *            the commit message
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws GitAPIException
+     *             the git API exception
+     */
+    private void commit(final String file, final String content, final String message)
+            throws IOException, GitAPIException {
+        Files.writeString(this.workTree.resolve(file), content);
+        this.git.add().addFilepattern(file).call();
+        this.git.commit().setMessage(message).setAuthor(new PersonIdent("Jürgen Doe", "jurgen@example.com"))
+                .setCommitter(new PersonIdent("Committer", "committer@example.com")).setSign(false).call();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class GitObjectReaderTest.
+ */
+class GitObjectReaderTest {
+
+    @Test
+    void applyDelta() throws IOException {
+        final var base = "Hello, World!".getBytes(StandardCharsets.US_ASCII);
+        // base size 13, result size 12, copy 7 bytes from offset 0, insert "Git!", copy 1 byte from offset 12
+        final var delta = new byte[] { 13, 12, (byte) 0x90, 7, 4, 'G', 'i', 't', '!', (byte) 0x91, 12, 1 };
+        Assertions.assertEquals("Hello, Git!!",
+                new String(GitObjectReader.applyDelta(base, delta), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void applyDeltaWithWrongBase() {
+        final var delta = new byte[] { 5, 1, 1, 'x' };
+        Assertions.assertThrows(IOException.class, () -> GitObjectReader.applyDelta(new byte[4], delta));
+    }
+
+    @Test
+    void readMissingObject(@TempDir final Path objects) throws IOException {
+        Assertions.assertNull(new GitObjectReader(objects).read("0123456789012345678901234567890123456789"));
+    }
+
+    @Test
+    void readLooseAndPackedObjects(@TempDir final Path workTree) throws Exception {
+        try (var git = org.eclipse.jgit.api.Git.init().setDirectory(workTree.toFile()).call()) {
+            final var content = new StringBuilder();
+            for (var i = 0; i < 2000; i++) {
+                content.append("line ").append(i).append('\n');
+            }
+            for (var i = 0; i < 10; i++) {
+                content.insert(0, "revision " + i + "\n");
+                Files.writeString(workTree.resolve("file.txt"), content);
+                git.add().addFilepattern("file.txt").call();
+                git.commit().setMessage("Commit " + i).setSign(false).call();
+            }
+            final var objects = workTree.resolve(".git/objects");
+            this.assertAllObjects(git, objects);
+            git.gc().setAggressive(true).call();
+            this.assertAllObjects(git, objects);
+        }
+    }
+
+    /**
+     * Asserts that all objects reachable from HEAD are read with the same type and content as JGit.
+     *
+     * @param git
+     *            the JGit repository
+     * @param objects
+     *            the objects directory
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void assertAllObjects(final org.eclipse.jgit.api.Git git, final Path objects) throws IOException {
+        final var repository = git.getRepository();
+        final var reader = new GitObjectReader(objects);
+        try (var walk = new org.eclipse.jgit.revwalk.ObjectWalk(repository)) {
+            walk.markStart(walk.parseCommit(repository.resolve(Constants.HEAD)));
+            var count = 0;
+            for (RevObject object = walk.next(); object != null; object = walk.next()) {
+                this.assertObject(repository, reader, object);
+                count++;
+            }
+            for (RevObject object = walk.nextObject(); object != null; object = walk.nextObject()) {
+                this.assertObject(repository, reader, object);
+                count++;
+            }
+            Assertions.assertTrue(count > 20);
+        }
+    }
+
+    /**
+     * Asserts that an object is read with the same type and content as JGit.
+     *
+     * @param repository
+     *            the repository
+     * @param reader
+     *            the object reader
+     * @param object
+     *            the object
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void assertObject(final org.eclipse.jgit.lib.Repository repository, final GitObjectReader reader,
+            final RevObject object) throws IOException {
+        final var expected = repository.open(object).getCachedBytes(Integer.MAX_VALUE);
+        final var actual = reader.read(object.getName());
+        Assertions.assertNotNull(actual, object.getName());
+        Assertions.assertEquals(object.getType(), actual.getType());
+        Assertions.assertArrayEquals(expected, actual.getData());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.domain;
+
+import java.util.Random;
+
+import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class SourceAccumulatorTest.
+ */
+class SourceAccumulatorTest {
+
+    /**
+     * Test a single source is passed through without copying its coverage.
+     */
+    @Test
+    void singleSource() {
+        final var source = this.createSource(new Random(1), "Inner");
+        final var accumulator = new SourceAccumulator(source);
+        final var view = accumulator.getSource();
+        Assertions.assertEquals(source, view);
+        Assertions.assertSame(source.coverage, view.coverage);
+        Assertions.assertEquals("Inner", view.getClassifier());
+    }
+
+    /**
+     * Test adding sources matches merging them.
+     */
+    @Test
+    void matchesMerge() {
+        final var random = new Random(14);
+        for (var round = 0; round < 100; round++) {
+            var expected = this.createSource(random, null);
+            final var accumulator = new SourceAccumulator(expected);
+            for (var i = random.nextInt(4); i >= 0; i--) {
+                final var newer = this.createSource(random, random.nextBoolean() ? "Inner" + i : null);
+                expected = newer.merge(expected);
+                accumulator.add(newer);
+            }
+            final var merged = accumulator.getSource();
+            Assertions.assertArrayEquals(TestIoUtil.getHits(expected), TestIoUtil.getHits(merged));
+            Assertions.assertArrayEquals(expected.getBranches(), merged.getBranches());
+            Assertions.assertEquals(expected.getClassifier(), merged.getClassifier());
+        }
+    }
+
+    /**
+     * Test added sources are not modified.
+     */
+    @Test
+    void addedSourcesAreNotModified() {
+        final var random = new Random(3);
+        final var first = this.createSource(random, null);
+        final var coverage = TestIoUtil.getHits(first);
+        final var branches = first.getBranches();
+        final var accumulator = new SourceAccumulator(first);
+        accumulator.add(first);
+        accumulator.add(this.createSource(random, null));
+        Assertions.assertArrayEquals(coverage, TestIoUtil.getHits(first));
+        Assertions.assertArrayEquals(branches, first.getBranches());
+    }
+
+    /**
+     * Test adding a different source fails.
+     */
+    @Test
+    void addDifferentSource() {
+        final var accumulator = new SourceAccumulator(new Source("Hello.java", 3, "ABC", null));
+        final var other = new Source("Hello.java", 3, "DEF", null);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accumulator.add(other));
+    }
+
+    /**
+     * Test the accumulated source is read only.
+     */
+    @Test
+    void sourceIsReadOnly() {
+        final var accumulator = new SourceAccumulator(new Source("Hello.java", 3, "ABC", null));
+        final var source = accumulator.getSource();
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> source.addCoverage(1, 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> source.addBranchCoverage(1, 0, 0, 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> source.setClassifier("Inner"));
+        final var copy = source.merge(source);
+        copy.addCoverage(1, 1);
+        Assertions.assertEquals(1, copy.getHits(1));
+    }
+
+    /**
+     * Creates a source with random coverage.
+     *
+     * @param random
+     *            the random
+     * @param classifier
+     *            the classifier
+     *
+     * @return the source
+     */
+    Source createSource(final Random random, final String classifier) {
+        final var source = new Source("src/main/java/Hello.java", 12, "609BD24390ADB11D11536CA2ADD18BD0", classifier);
+        for (var line = 1; line <= 12; line++) {
+            if (random.nextInt(3) > 0) {
+                source.addCoverage(line, random.nextInt(4));
+            }
+        }
+        for (var i = random.nextInt(8); i > 0; i--) {
+            source.addBranchCoverage(1 + random.nextInt(12), random.nextInt(2), random.nextInt(3), random.nextInt(4));
+        }
+        return source;
+    }
+}
@@ -24,6 +24,12 @@
  */
 package org.eluder.coveralls.maven.plugin.domain;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -37,6 +43,7 @@ class SourceTest {
      * Test add coverage.
      */
     @Test
+    @SuppressWarnings("deprecation")
     void addCoverage() {
         final var source = new Source("src/main/java/Hello.java", "public class Hello {\n  \n}\n",
                 "E8BD88CF0BDB77A6408234FD91FD22C3");
@@ -45,6 +52,58 @@ class SourceTest {
         Assertions.assertArrayEquals(new Integer[] { 3, null, 3, null }, source.getCoverage());
     }
 
+    /**
+     * Test for each line.
+     *
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    @Test
+    void forEachLine() throws IOException {
+        final var source = new Source("src/main/java/Hello.java", "public class Hello {\n  \n}\n",
+                "E8BD88CF0BDB77A6408234FD91FD22C3");
+        source.addCoverage(1, 3);
+        source.addCoverage(3, 0);
+        final var lines = new StringBuilder();
+        source.forEachLine((lineNumber, hits) -> lines.append(lineNumber).append('=').append(hits).append(' '));
+        Assertions.assertEquals("1=3 2=-1 3=0 4=-1 ", lines.toString());
+    }
+
+    /**
+     * Test line hits access without boxing.
+     */
+    @Test
+    void lineHits() {
+        final var source = new Source("src/main/java/Hello.java", "public class Hello {\n  \n}\n",
+                "E8BD88CF0BDB77A6408234FD91FD22C3");
+        source.addCoverage(1, 3);
+        source.addCoverage(2, 0);
+        source.addCoverage(3, (Integer) null);
+        Assertions.assertEquals(4, source.getLineCount());
+        Assertions.assertTrue(source.isRelevant(1));
+        Assertions.assertEquals(3, source.getHits(1));
+        Assertions.assertTrue(source.isRelevant(2));
+        Assertions.assertEquals(0, source.getHits(2));
+        Assertions.assertFalse(source.isRelevant(3));
+        Assertions.assertFalse(source.isRelevant(4));
+    }
+
+    /**
+     * Test coverage serialization.
+     *
+     * @throws JsonProcessingException
+     *             the json processing exception
+     */
+    @Test
+    void coverageSerialization() throws JsonProcessingException {
+        final var source = new Source("src/main/java/Hello.java", "public class Hello {\n  \n}\n",
+                "E8BD88CF0BDB77A6408234FD91FD22C3");
+        source.addCoverage(1, 3);
+        source.addCoverage(3, 0);
+        final var json = new ObjectMapper().writeValueAsString(source);
+        org.assertj.core.api.Assertions.assertThat(json).contains("\"coverage\":[3,null,0,null]");
+    }
+
     /**
      * Test add branch coverage.
      */
@@ -138,10 +197,10 @@ class SourceTest {
         Assertions.assertEquals(source1.getName(), merged.getName());
         Assertions.assertEquals(source1.getDigest(), merged.getDigest());
         Assertions.assertEquals(source1.getClassifier(), merged.getClassifier());
-        Assertions.assertEquals(Integer.valueOf(2), merged.getCoverage()[0]);
-        Assertions.assertEquals(Integer.valueOf(1), merged.getCoverage()[1]);
-        Assertions.assertEquals(Integer.valueOf(7), merged.getCoverage()[2]);
-        Assertions.assertNull(merged.getCoverage()[3]);
+        Assertions.assertEquals(2, merged.getHits(1));
+        Assertions.assertEquals(1, merged.getHits(2));
+        Assertions.assertEquals(7, merged.getHits(3));
+        Assertions.assertFalse(merged.isRelevant(4));
         Assertions.assertEquals(Integer.valueOf(2), merged.getBranches()[0]);
         Assertions.assertEquals(Integer.valueOf(0), merged.getBranches()[1]);
         Assertions.assertEquals(Integer.valueOf(0), merged.getBranches()[2]);
@@ -166,7 +225,7 @@ class SourceTest {
         final var merged = source1.merge(source2);
         org.assertj.core.api.Assertions.assertThat(source1).isNotSameAs(merged);
         org.assertj.core.api.Assertions.assertThat(source2).isNotSameAs(merged);
-        Assertions.assertArrayEquals(source1.getCoverage(), merged.getCoverage());
+        Assertions.assertArrayEquals(TestIoUtil.getHits(source1), TestIoUtil.getHits(merged));
     }
 
     /**
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class BodyPipeTest.
+ */
+class BodyPipeTest {
+
+    /**
+     * Content written on one thread is read on another in order.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void transfer() throws Exception {
+        final var pipe = new BodyPipe();
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            final var read = executor.submit(() -> pipe.getInputStream().readAllBytes());
+            final var expected = new ByteArrayOutputStream();
+            try (var out = pipe.getOutputStream()) {
+                for (var i = 0; i < 1000; i++) {
+                    final var chunk = new byte[i % 97 + 1];
+                    Arrays.fill(chunk, (byte) i);
+                    out.write(chunk);
+                    expected.write(chunk);
+                }
+                out.write(255);
+                expected.write(255);
+            }
+            Assertions.assertArrayEquals(expected.toByteArray(), read.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A full pipe fails the writer once the request has completed.
+     */
+    @Test
+    void writeAfterRequestCompleted() {
+        final var pipe = new BodyPipe();
+        pipe.setConsumer(CompletableFuture.completedFuture(null));
+        final var out = pipe.getOutputStream();
+        Assertions.assertThrows(IOException.class, () -> {
+            for (var i = 0; i < 100; i++) {
+                out.write(new byte[] { 1 });
+            }
+        });
+    }
+
+    /**
+     * Aborting fails later writes and reads.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void abort() throws IOException {
+        final var pipe = new BodyPipe();
+        pipe.getOutputStream().write(1);
+        pipe.abort();
+        Assertions.assertThrows(IOException.class, () -> pipe.getOutputStream().write(2));
+        Assertions.assertThrows(IOException.class, () -> pipe.getInputStream().read());
+    }
+
+    /**
+     * Closing the reader before the end fails the writer.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void readerClosed() throws IOException {
+        final var pipe = new BodyPipe();
+        pipe.getInputStream().close();
+        Assertions.assertThrows(IOException.class, () -> pipe.getOutputStream().write(1));
+    }
+}
@@ -26,6 +26,9 @@ package org.eluder.coveralls.maven.plugin.httpclient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
@@ -38,6 +41,9 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.eluder.coveralls.maven.plugin.ProcessingException;
@@ -46,6 +52,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.api.io.CleanupMode;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentMatchers;
@@ -59,6 +66,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class CoverallsClientTest {
 
+    /** The stub Coveralls server. */
+    @RegisterExtension
+    static WireMockExtension coverallsServer = WireMockExtension.newInstance()
+            .options(WireMockConfiguration.wireMockConfig().dynamicPort()).build();
+
     /** The http client mock. */
     @Mock
     HttpClient httpClientMock;
@@ -193,6 +205,175 @@ class CoverallsClientTest {
         Assertions.assertThrows(ProcessingException.class, () -> client.submit(this.file));
     }
 
+    /**
+     * Finish a parallel build against a stub webhook.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void finishParallel() throws Exception {
+        CoverallsClientTest.coverallsServer
+                .stubFor(WireMock.post("/webhook").withHeader("Content-Type", WireMock.containing("application/json"))
+                        .withRequestBody(WireMock.equalToJson(
+                                "{\"repo_token\":\"token\",\"payload\":{\"build_num\":\"42\",\"status\":\"done\"}}"))
+                        .willReturn(WireMock.okJson("{\"done\":true,\"url\":\"https://coveralls.io/builds/42\"}")));
+        final var client = new CoverallsClient(CoverallsClientTest.coverallsServer.baseUrl() + "/api/v1/jobs",
+                HttpClient.newHttpClient(), new ObjectMapper());
+        final var response = client.finishParallel("token", "42");
+        Assertions.assertFalse(response.isError());
+        Assertions.assertEquals("https://coveralls.io/builds/42", response.getUrl());
+        CoverallsClientTest.coverallsServer.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/webhook")));
+    }
+
+    /**
+     * Fail to finish a parallel build on a service error.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void finishParallelOnServiceError() throws Exception {
+        CoverallsClientTest.coverallsServer
+                .stubFor(WireMock.post("/webhook").willReturn(WireMock.aResponse().withStatus(503)));
+        CoverallsClientTest.coverallsServer.stubFor(
+                WireMock.post("/webhook").withRequestBody(WireMock.matchingJsonPath("$.payload[?(@.build_num == '7')]"))
+                        .willReturn(WireMock.jsonResponse("{\"message\":\"build not found\",\"error\":true}", 422)));
+        final var client = new CoverallsClient(CoverallsClientTest.coverallsServer.baseUrl() + "/api/v1/jobs",
+                HttpClient.newHttpClient(), new ObjectMapper());
+        Assertions.assertThrows(IOException.class, () -> client.finishParallel("token", "42"));
+        Assertions.assertThrows(ProcessingException.class, () -> client.finishParallel("token", "7"));
+    }
+
+    /**
+     * Retry the same file after a server error.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void retryServerError() throws Exception {
+        Files.writeString(this.file.toPath(), "{\"source_files\":[]}");
+        CoverallsClientTest.coverallsServer.stubFor(WireMock.post("/api/v1/jobs").inScenario("retry")
+                .willReturn(WireMock.aResponse().withStatus(503)).willSetStateTo("recovered"));
+        CoverallsClientTest.coverallsServer
+                .stubFor(WireMock.post("/api/v1/jobs").inScenario("retry").whenScenarioStateIs("recovered")
+                        .willReturn(WireMock.okJson("{\"message\":\"success\",\"error\":false}")));
+        final var retryPolicy = new FakeTimeRetryPolicy(3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        final var client = this.stubClient().retryPolicy(retryPolicy);
+        Assertions.assertEquals("success", client.submit(this.file).getMessage());
+        Assertions.assertEquals(List.of(Duration.ofSeconds(1)), retryPolicy.sleeps);
+        CoverallsClientTest.coverallsServer.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/v1/jobs"))
+                .withRequestBody(WireMock.containing("{\"source_files\":[]}")));
+    }
+
+    /**
+     * Honour the delay requested by a rate limited response.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void retryAfterRateLimit() throws Exception {
+        CoverallsClientTest.coverallsServer.stubFor(WireMock.post("/webhook").inScenario("rate limit")
+                .willReturn(WireMock.aResponse().withStatus(429).withHeader("Retry-After", "7"))
+                .willSetStateTo("allowed"));
+        CoverallsClientTest.coverallsServer.stubFor(WireMock.post("/webhook").inScenario("rate limit")
+                .whenScenarioStateIs("allowed").willReturn(WireMock.okJson("{\"done\":true}")));
+        final var retryPolicy = new FakeTimeRetryPolicy(3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        final var client = this.stubClient().retryPolicy(retryPolicy);
+        Assertions.assertFalse(client.finishParallel("token", "42").isError());
+        Assertions.assertEquals(List.of(Duration.ofSeconds(7)), retryPolicy.sleeps);
+    }
+
+    /**
+     * Give up when the next retry would end after the deadline.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void retryUntilDeadline() throws Exception {
+        CoverallsClientTest.coverallsServer
+                .stubFor(WireMock.post("/api/v1/jobs").willReturn(WireMock.aResponse().withStatus(502)));
+        final var retryPolicy = new FakeTimeRetryPolicy(10, Duration.ofSeconds(2), Duration.ofSeconds(5));
+        final var client = this.stubClient().retryPolicy(retryPolicy);
+        Assertions.assertThrows(IOException.class, () -> client.submit(this.file));
+        Assertions.assertEquals(List.of(Duration.ofSeconds(2)), retryPolicy.sleeps);
+        CoverallsClientTest.coverallsServer.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/v1/jobs")));
+    }
+
+    /**
+     * Client errors are not retried.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void noRetryOnClientError() throws Exception {
+        CoverallsClientTest.coverallsServer.stubFor(WireMock.post("/api/v1/jobs")
+                .willReturn(WireMock.jsonResponse("{\"message\":\"invalid\",\"error\":true}", 422)));
+        final var retryPolicy = new FakeTimeRetryPolicy(3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        final var client = this.stubClient().retryPolicy(retryPolicy);
+        Assertions.assertThrows(ProcessingException.class, () -> client.submit(this.file));
+        Assertions.assertTrue(retryPolicy.sleeps.isEmpty());
+        CoverallsClientTest.coverallsServer.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/api/v1/jobs")));
+    }
+
+    /**
+     * Retry after an I/O error.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void retryIoError() throws Exception {
+        Mockito.when(this.httpClientMock.send(ArgumentMatchers.any(HttpRequest.class),
+                ArgumentMatchers.any(HttpResponse.BodyHandler.class))).thenThrow(new IOException("connection reset"))
+                .thenReturn(this.httpResponseMock);
+        Mockito.when(this.httpResponseMock.statusCode()).thenReturn(200);
+        Mockito.when(this.httpResponseMock.body())
+                .thenReturn(this.coverallsResponse(new CoverallsResponse("success", false, "")));
+        final var retryPolicy = new FakeTimeRetryPolicy(1, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        final var client = new CoverallsClient("https://test.com/coveralls", this.httpClientMock, new ObjectMapper())
+                .retryPolicy(retryPolicy);
+        Assertions.assertEquals("success", client.submit(this.file).getMessage());
+        Assertions.assertEquals(1, retryPolicy.sleeps.size());
+    }
+
+    /**
+     * Stream coveralls data into a submission.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void streamingSubmission() throws Exception {
+        CoverallsClientTest.coverallsServer.stubFor(
+                WireMock.post("/api/v1/jobs").withHeader("Content-Type", WireMock.containing("multipart/form-data"))
+                        .willReturn(WireMock.okJson("{\"message\":\"streamed\",\"error\":false}")));
+        final var submission = this.stubClient().openSubmission(false);
+        try (var out = submission.getOutputStream()) {
+            out.write("{\"source_files\":".getBytes(StandardCharsets.UTF_8));
+            out.write("[]}".getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals("streamed", submission.complete().getMessage());
+        CoverallsClientTest.coverallsServer.verify(1,
+                WireMock.postRequestedFor(WireMock.urlEqualTo("/api/v1/jobs"))
+                        .withRequestBody(WireMock.containing("filename=\"coveralls.json\""))
+                        .withRequestBody(WireMock.containing("{\"source_files\":[]}")));
+    }
+
+    /**
+     * Creates a client for the stub Coveralls server.
+     *
+     * @return the coveralls client
+     */
+    private CoverallsClient stubClient() {
+        return new CoverallsClient(CoverallsClientTest.coverallsServer.baseUrl() + "/api/v1/jobs",
+                HttpClient.newHttpClient(), new ObjectMapper());
+    }
+
     /**
      * Coveralls response.
      *
@@ -209,4 +390,45 @@ class CoverallsClientTest {
         return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Retry policy without jitter on a fake clock that records the delays instead of sleeping.
+     */
+    private static final class FakeTimeRetryPolicy extends RetryPolicy {
+
+        /** The recorded delays. */
+        private final List<Duration> sleeps = new ArrayList<>();
+
+        /** The fake time. */
+        private long time;
+
+        /**
+         * Instantiates a new fake time retry policy.
+         *
+         * @param maxRetries
+         *            the maximum number of retries
+         * @param initialDelay
+         *            the initial delay
+         * @param deadline
+         *            the deadline
+         */
+        FakeTimeRetryPolicy(final int maxRetries, final Duration initialDelay, final Duration deadline) {
+            super(maxRetries, initialDelay, Duration.ofMinutes(1), deadline);
+        }
+
+        @Override
+        protected void sleep(final Duration delay) {
+            this.sleeps.add(delay);
+            this.time += delay.toMillis();
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return this.time;
+        }
+
+        @Override
+        protected double random() {
+            return 0;
+        }
+    }
 }
@@ -29,9 +29,12 @@ import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 
 import java.io.IOException;
+import java.net.ProxySelector;
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.Optional;
 
 import org.apache.maven.settings.Proxy;
 import org.junit.jupiter.api.Assertions;
@@ -182,4 +185,37 @@ class HttpClientFactoryTest {
         Assertions.assertEquals("Hello World!", response.body());
     }
 
+    /**
+     * Clients are shared per proxy configuration and negotiate HTTP/2.
+     */
+    @Test
+    void sharedClients() {
+        final var client = new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).create();
+        Assertions.assertEquals(HttpClient.Version.HTTP_2, client.version());
+        Assertions.assertSame(client, new HttpClientFactory("https://coveralls.io/api/v1/jobs").create());
+        Assertions.assertSame(client, new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).proxy(null).create());
+
+        final var proxy = new Proxy();
+        proxy.setHost("localhost");
+        proxy.setPort(HttpClientFactoryTest.PROXY_PORT);
+        final var proxied = new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).proxy(proxy).create();
+        Assertions.assertNotSame(client, proxied);
+        Assertions.assertSame(proxied, new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).proxy(proxy).create());
+
+        proxy.setNonProxyHosts("localhost");
+        Assertions.assertSame(client, new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).proxy(proxy).create());
+    }
+
+    /**
+     * The system proxy client uses the default proxy selector of the JVM and is shared separately.
+     */
+    @Test
+    void systemProxyClient() {
+        final var client = new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).create();
+        final var system = new HttpClientFactory(HttpClientFactoryTest.TARGET_URL).systemProxy().create();
+        Assertions.assertNotSame(client, system);
+        Assertions.assertSame(system, new HttpClientFactory("https://example.com/src/").systemProxy().create());
+        Assertions.assertEquals(Optional.ofNullable(ProxySelector.getDefault()), system.proxy());
+    }
+
 }
@@ -0,0 +1,274 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class MultipartBodyTest.
+ */
+class MultipartBodyTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test streamed body content and length.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void publisher() throws Exception {
+        final var file = this.folder.resolve("coveralls.json");
+        Files.writeString(file, "{\"source_files\":[]}", StandardCharsets.UTF_8);
+        final var body = new MultipartBody("json_file", "coveralls.json", "application/json;charset=UTF-8");
+        final var boundary = body.getContentType().substring("multipart/form-data; boundary=".length());
+
+        final var expected = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"json_file\"; filename=\"coveralls.json\"\r\n"
+                + "Content-Type: application/json;charset=UTF-8\r\n\r\n" + "{\"source_files\":[]}" + "\r\n--" + boundary
+                + "--\r\n";
+
+        final var publisher = body.publisher(file);
+        Assertions.assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, publisher.contentLength());
+        Assertions.assertEquals(expected, MultipartBodyTest.drain(publisher));
+        // body can be sent again
+        Assertions.assertEquals(expected, MultipartBodyTest.drain(publisher));
+    }
+
+    /**
+     * Test gzip encoded body of compressed file.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void gzipPublisher() throws Exception {
+        final var file = this.writeGzip("{\"source_files\":[]}");
+        Assertions.assertTrue(MultipartBody.isGzip(file));
+        final var body = new MultipartBody("json_file", "coveralls.json", "application/json;charset=UTF-8");
+
+        final var publisher = body.gzipPublisher(file);
+        final var encoded = MultipartBodyTest.drainBytes(publisher);
+        Assertions.assertEquals(encoded.length, publisher.contentLength());
+        final String decoded;
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            decoded = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Assertions.assertEquals(MultipartBodyTest.drain(body.publisher(this.writePlain("{\"source_files\":[]}"))),
+                decoded);
+    }
+
+    /**
+     * Test inflating body of compressed file.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    void inflatingPublisher() throws Exception {
+        final var file = this.writeGzip("{\"source_files\":[]}");
+        final var body = new MultipartBody("json_file", "coveralls.json", "application/json;charset=UTF-8");
+        final var publisher = body.inflatingPublisher(file);
+        Assertions.assertEquals(-1, publisher.contentLength());
+        Assertions.assertEquals(MultipartBodyTest.drain(body.publisher(this.writePlain("{\"source_files\":[]}"))),
+                MultipartBodyTest.drain(publisher));
+    }
+
+    /**
+     * Test invalid gzip content is closed.
+     */
+    @Test
+    void inflateClosesInvalidContent() {
+        final var closed = new AtomicBoolean();
+        final var content = new ByteArrayInputStream(new byte[] { 0x1f, (byte) 0x8b }) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        Assertions.assertThrows(EOFException.class, () -> MultipartBody.inflate(content));
+        Assertions.assertTrue(closed.get());
+    }
+
+    /**
+     * Test corrupt compressed file fails the inflating body.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void inflatingPublisherWithCorruptFile() throws IOException {
+        final var file = Files.write(this.folder.resolve("corrupt.json.gz"), new byte[] { 0x1f, (byte) 0x8b, 0x00 });
+        final var body = new MultipartBody("json_file", "coveralls.json", "application/json;charset=UTF-8");
+        final var publisher = body.inflatingPublisher(file);
+        Assertions.assertThrows(UncheckedIOException.class, () -> MultipartBodyTest.drain(publisher));
+    }
+
+    /**
+     * Test plain file is not gzip.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void plainIsNotGzip() throws IOException {
+        Assertions.assertFalse(MultipartBody.isGzip(this.writePlain("{}")));
+        Assertions.assertFalse(MultipartBody.isGzip(this.writePlain("")));
+    }
+
+    /**
+     * Test missing file.
+     */
+    @Test
+    void missingFile() {
+        final var body = new MultipartBody("json_file", "coveralls.json", "application/json;charset=UTF-8");
+        Assertions.assertThrows(IOException.class, () -> body.publisher(this.folder.resolve("missing.json")));
+    }
+
+    /**
+     * Write plain file.
+     *
+     * @param content
+     *            the content
+     *
+     * @return the path
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    Path writePlain(final String content) throws IOException {
+        return Files.writeString(this.folder.resolve("plain.json"), content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write gzip compressed file.
+     *
+     * @param content
+     *            the content
+     *
+     * @return the path
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    Path writeGzip(final String content) throws IOException {
+        final var file = this.folder.resolve("coveralls.json.gz");
+        try (var out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    /**
+     * Reads all bytes from a body publisher as string.
+     *
+     * @param publisher
+     *            the publisher
+     *
+     * @return the content as string
+     *
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @throws ExecutionException
+     *             the execution exception
+     * @throws TimeoutException
+     *             the timeout exception
+     */
+    static String drain(final HttpRequest.BodyPublisher publisher)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return new String(MultipartBodyTest.drainBytes(publisher), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads all bytes from a body publisher.
+     *
+     * @param publisher
+     *            the publisher
+     *
+     * @return the content
+     *
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @throws ExecutionException
+     *             the execution exception
+     * @throws TimeoutException
+     *             the timeout exception
+     */
+    static byte[] drainBytes(final HttpRequest.BodyPublisher publisher)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        final var result = new CompletableFuture<byte[]>();
+        final var content = new ByteArrayOutputStream();
+        publisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                final var bytes = new byte[item.remaining()];
+                item.get(bytes);
+                content.writeBytes(bytes);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(content.toByteArray());
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
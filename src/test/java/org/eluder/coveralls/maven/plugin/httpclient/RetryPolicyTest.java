@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.httpclient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class RetryPolicyTest.
+ */
+class RetryPolicyTest {
+
+    /**
+     * Invalid policies.
+     */
+    @Test
+    void invalidPolicy() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(-1, Duration.ZERO, Duration.ZERO, Duration.ZERO));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(1, Duration.ofSeconds(-1), Duration.ZERO, Duration.ZERO));
+    }
+
+    /**
+     * Retryable statuses.
+     */
+    @Test
+    void retryableStatuses() {
+        final var policy = RetryPolicy.NONE;
+        Assertions.assertTrue(policy.isRetryable(429));
+        Assertions.assertTrue(policy.isRetryable(500));
+        Assertions.assertTrue(policy.isRetryable(503));
+        Assertions.assertFalse(policy.isRetryable(200));
+        Assertions.assertFalse(policy.isRetryable(422));
+        Assertions.assertFalse(policy.isRetryable(501));
+        Assertions.assertFalse(policy.isRetryable(505));
+    }
+
+    /**
+     * Backoff doubles up to the maximum delay.
+     */
+    @Test
+    void exponentialBackoff() {
+        final var policy = this.policy(0);
+        Assertions.assertEquals(Duration.ofMillis(100), policy.backoff(1));
+        Assertions.assertEquals(Duration.ofMillis(200), policy.backoff(2));
+        Assertions.assertEquals(Duration.ofMillis(400), policy.backoff(3));
+        Assertions.assertEquals(Duration.ofSeconds(1), policy.backoff(5));
+        Assertions.assertEquals(Duration.ofSeconds(1), policy.backoff(100));
+    }
+
+    /**
+     * Jitter removes up to half of the backoff.
+     */
+    @Test
+    void jitter() {
+        Assertions.assertEquals(Duration.ofMillis(150), this.policy(0.5).backoff(2));
+        Assertions.assertEquals(Duration.ofMillis(501), this.policy(0.999).backoff(5));
+        final var random = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ZERO);
+        for (var i = 0; i < 100; i++) {
+            final var delay = random.backoff(3).toMillis();
+            Assertions.assertTrue(delay > 200 && delay <= 400, "delay " + delay);
+        }
+    }
+
+    /**
+     * Retry-After takes precedence over the backoff.
+     */
+    @Test
+    void delay() {
+        final var policy = this.policy(0);
+        Assertions.assertEquals(Duration.ofSeconds(30), policy.delay(1, "30"));
+        Assertions.assertEquals(Duration.ofMillis(200), policy.delay(2, null));
+        Assertions.assertEquals(Duration.ofMillis(200), policy.delay(2, "soon"));
+    }
+
+    /**
+     * Parses Retry-After seconds and HTTP dates.
+     */
+    @Test
+    void parseRetryAfter() {
+        final var now = Instant.parse("2025-01-01T12:00:00Z");
+        final var date = DateTimeFormatter.RFC_1123_DATE_TIME.format(now.plusSeconds(90).atOffset(ZoneOffset.UTC));
+        Assertions.assertEquals(Duration.ofSeconds(120), RetryPolicy.parseRetryAfter(" 120 ", now));
+        Assertions.assertEquals(Duration.ofSeconds(90), RetryPolicy.parseRetryAfter(date, now));
+        Assertions.assertEquals(Duration.ZERO, RetryPolicy.parseRetryAfter("Wed, 01 Jan 2020 00:00:00 GMT", now));
+        Assertions.assertNull(RetryPolicy.parseRetryAfter("-5", now));
+        Assertions.assertNull(RetryPolicy.parseRetryAfter("later", now));
+        Assertions.assertNull(RetryPolicy.parseRetryAfter(null, now));
+    }
+
+    /**
+     * Creates a policy with a fixed random value.
+     *
+     * @param random
+     *            the random value used for the jitter
+     *
+     * @return the retry policy
+     */
+    private RetryPolicy policy(final double random) {
+        return new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofMinutes(1)) {
+            @Override
+            protected double random() {
+                return random;
+            }
+        };
+    }
+}
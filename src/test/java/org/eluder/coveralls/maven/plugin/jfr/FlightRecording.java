@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Flight recording of events for tests. All events of the enabled types are recorded regardless of their duration.
+ */
+final class FlightRecording implements AutoCloseable {
+
+    /** The recording. */
+    private final Recording recording = new Recording();
+
+    /**
+     * Starts a new flight recording.
+     *
+     * @param events
+     *            the event types to record
+     */
+    @SafeVarargs
+    FlightRecording(final Class<? extends Event>... events) {
+        for (final Class<? extends Event> event : events) {
+            this.recording.enable(event).withThreshold(Duration.ZERO);
+        }
+        this.recording.start();
+    }
+
+    /**
+     * Stops the recording and reads the recorded events.
+     *
+     * @param folder
+     *            the folder the recording is dumped to
+     * @param eventType
+     *            the event type to read
+     *
+     * @return the recorded events of the type in order of their start time
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    List<RecordedEvent> stop(final Path folder, final Class<? extends Event> eventType) throws IOException {
+        this.recording.stop();
+        final var file = folder.resolve("recording.jfr");
+        this.recording.dump(file);
+        final List<RecordedEvent> events = new ArrayList<>();
+        final var name = eventType.getAnnotation(Name.class).value();
+        for (final RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (name.equals(event.getEventType().getName())) {
+                events.add(event);
+            }
+        }
+        events.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return events;
+    }
+
+    @Override
+    public void close() {
+        this.recording.close();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class ReportParseEventTest.
+ */
+class ReportParseEventTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test the parsed report is recorded.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void recordReportParse() throws IOException {
+        final var report = Files.write(this.folder.resolve("jacoco.xml"), new byte[42]).toFile();
+
+        try (var recording = new FlightRecording(ReportParseEvent.class)) {
+            final var event = new ReportParseEvent();
+            event.begin();
+            event.commit(report, report.length(), "JaCoCoParser", 3);
+
+            final var events = recording.stop(this.folder, ReportParseEvent.class);
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals(report.getAbsolutePath(), events.get(0).getString("reportFile"));
+            Assertions.assertEquals("JaCoCoParser", events.get(0).getString("parser"));
+            Assertions.assertEquals(42, events.get(0).getLong("reportSize"));
+            Assertions.assertEquals(3, events.get(0).getLong("sources"));
+        }
+    }
+
+    /**
+     * Test the event is disabled without a flight recording.
+     */
+    @Test
+    void disabled() {
+        final var event = new ReportParseEvent();
+        event.begin();
+        Assertions.assertFalse(event.isEnabled());
+        event.commit(this.folder.resolve("missing.xml").toFile(), 0, "JaCoCoParser", 3);
+        Assertions.assertFalse(event.shouldCommit());
+    }
+
+}
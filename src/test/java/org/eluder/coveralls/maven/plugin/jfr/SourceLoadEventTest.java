@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.eluder.coveralls.maven.plugin.source.DirectorySourceLoader;
+import org.eluder.coveralls.maven.plugin.source.SourceDigestCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class SourceLoadEventTest.
+ */
+class SourceLoadEventTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test loaded, cached and missing sources are recorded.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void recordSourceLoads() throws IOException {
+        final var sources = Files.createDirectory(this.folder.resolve("src"));
+        Files.writeString(sources.resolve("Foo.java"), "class Foo {\n}\n", StandardCharsets.UTF_8);
+        // recently modified files are not served from the cache
+        Files.setLastModifiedTime(sources.resolve("Foo.java"), FileTime.fromMillis(1_000_000_000L));
+        final var sourceLoader = new DirectorySourceLoader(sources.toFile(), sources.toFile(), StandardCharsets.UTF_8);
+        sourceLoader.setDigestCache(SourceDigestCache.load(this.folder.resolve("digests.txt"), StandardCharsets.UTF_8));
+
+        try (var recording = new FlightRecording(SourceLoadEvent.class)) {
+            sourceLoader.load("Foo.java");
+            sourceLoader.load("Foo.java");
+            Assertions.assertNull(sourceLoader.load("Bar.java"));
+
+            final var events = recording.stop(this.folder, SourceLoadEvent.class);
+            Assertions.assertEquals(3, events.size());
+            Assertions.assertEquals("Foo.java", events.get(0).getString("sourceFile"));
+            Assertions.assertEquals(14, events.get(0).getLong("bytes"));
+            Assertions.assertEquals(3, events.get(0).getInt("lines"));
+            Assertions.assertTrue(events.get(0).getBoolean("found"));
+            Assertions.assertFalse(events.get(0).getBoolean("cacheHit"));
+            Assertions.assertEquals(0, events.get(1).getLong("bytes"));
+            Assertions.assertTrue(events.get(1).getBoolean("cacheHit"));
+            Assertions.assertEquals("Bar.java", events.get(2).getString("sourceFile"));
+            Assertions.assertFalse(events.get(2).getBoolean("found"));
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.domain.SourceAccumulator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class SourceMergeEventTest.
+ */
+class SourceMergeEventTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test merges of accumulated and merged sources are recorded.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void recordSourceMerges() throws IOException {
+        final var source1 = new Source("Foo.java", 4, "DIGEST", null);
+        source1.addCoverage(1, 1);
+        final var source2 = new Source("Foo.java", 4, "DIGEST", null);
+        source2.addBranchCoverage(2, 0, 0, 1);
+        source2.addBranchCoverage(2, 0, 1, 0);
+
+        try (var recording = new FlightRecording(SourceMergeEvent.class)) {
+            new SourceAccumulator(source1).add(source2);
+            source1.merge(source2);
+
+            final var events = recording.stop(this.folder, SourceMergeEvent.class);
+            Assertions.assertEquals(2, events.size());
+            for (final var event : events) {
+                Assertions.assertEquals("Foo.java", event.getString("source"));
+                Assertions.assertEquals(4, event.getInt("lines"));
+                Assertions.assertEquals(2, event.getInt("branches"));
+            }
+        }
+    }
+
+}
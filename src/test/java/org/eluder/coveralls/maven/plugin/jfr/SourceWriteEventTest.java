@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Job;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.json.JsonWriter;
+import org.eluder.coveralls.maven.plugin.json.ParallelJsonWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class SourceWriteEventTest.
+ */
+class SourceWriteEventTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test the sequential and parallel writers record the same serialized sizes.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void recordSourceWrites() throws ProcessingException, IOException {
+        final var file = this.folder.resolve("coveralls.json").toFile();
+        final var source = new Source("Foo.java", 3, "DIGEST", null);
+        source.addCoverage(1, 2);
+        source.addBranchCoverage(2, 0, 0, 1);
+
+        try (var recording = new FlightRecording(SourceWriteEvent.class)) {
+            try (var writer = new JsonWriter(new Job(), file)) {
+                writer.onBegin();
+                writer.onSource(source);
+                writer.onComplete();
+            }
+            try (var writer = new ParallelJsonWriter(new Job(), file, true, 2)) {
+                writer.onBegin();
+                writer.onSource(source);
+                writer.onComplete();
+            }
+
+            final var events = recording.stop(this.folder, SourceWriteEvent.class);
+            Assertions.assertEquals(2, events.size());
+            for (final var event : events) {
+                Assertions.assertEquals("Foo.java", event.getString("source"));
+                Assertions.assertEquals(3, event.getInt("lines"));
+                Assertions.assertEquals(1, event.getInt("branches"));
+                Assertions.assertTrue(event.getLong("bytes") > 0);
+            }
+            Assertions.assertEquals(events.get(0).getLong("bytes"), events.get(1).getLong("bytes"));
+        }
+    }
+
+}
@@ -29,6 +29,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -39,6 +41,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.zip.GZIPInputStream;
 
 import org.eluder.coveralls.maven.plugin.ProcessingException;
 import org.eluder.coveralls.maven.plugin.domain.Git;
@@ -176,6 +179,30 @@ class JsonWriterTest {
         Assertions.assertEquals(1, ((Collection<?>) jsonMap.get("coverage")).size());
     }
 
+    /**
+     * Test compressed output.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ProcessingException
+     *             the processing exception
+     */
+    @Test
+    void compressed() throws IOException, ProcessingException {
+        try (var writer = new JsonWriter(this.job(), this.file, true)) {
+            writer.onBegin();
+            writer.onSource(this.source());
+            writer.onComplete();
+        }
+        final String content;
+        try (var in = new GZIPInputStream(Files.newInputStream(this.file.toPath()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        final var jsonMap = this.stringToJsonMap(content);
+        Assertions.assertEquals("service", jsonMap.get("service_name"));
+        Assertions.assertEquals(1, ((Collection<?>) jsonMap.get("source_files")).size());
+    }
+
     /**
      * Job.
      *
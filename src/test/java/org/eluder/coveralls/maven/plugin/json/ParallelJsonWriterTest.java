@@ -0,0 +1,214 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Job;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class ParallelJsonWriterTest.
+ */
+class ParallelJsonWriterTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test the written file is identical to the sequential writer output.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ProcessingException
+     *             the processing exception
+     */
+    @Test
+    void matchesSequentialWriter() throws IOException, ProcessingException {
+        final var job = new JsonWriterTest().job();
+        final var sources = this.sources(500);
+        final var expected = this.folder.resolve("expected.json").toFile();
+        try (var writer = new JsonWriter(job, expected)) {
+            this.write(writer, sources);
+        }
+        for (final int threads : new int[] { 1, 3, 8 }) {
+            final var actual = this.folder.resolve("actual" + threads + ".json").toFile();
+            try (var writer = new ParallelJsonWriter(job, actual, false, threads)) {
+                this.write(writer, sources);
+            }
+            Assertions.assertArrayEquals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(actual.toPath()),
+                    "threads " + threads);
+        }
+    }
+
+    /**
+     * Test compressed output is identical to the sequential writer output.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ProcessingException
+     *             the processing exception
+     */
+    @Test
+    void compressed() throws IOException, ProcessingException {
+        final var job = new JsonWriterTest().job();
+        final var sources = this.sources(50);
+        final var expected = this.folder.resolve("expected.json.gz").toFile();
+        try (var writer = new JsonWriter(job, expected, true)) {
+            this.write(writer, sources);
+        }
+        final var actual = this.folder.resolve("actual.json.gz").toFile();
+        try (var writer = new ParallelJsonWriter(job, actual, true, 4)) {
+            this.write(writer, sources);
+        }
+        Assertions.assertArrayEquals(this.gunzip(expected), this.gunzip(actual));
+    }
+
+    /**
+     * Test without sources.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ProcessingException
+     *             the processing exception
+     */
+    @Test
+    void noSources() throws IOException, ProcessingException {
+        final var job = new Job().withServiceName("service");
+        final var file = this.folder.resolve("empty.json").toFile();
+        try (var writer = new ParallelJsonWriter(job, file, false, 2)) {
+            this.write(writer, List.of());
+        }
+        Assertions.assertEquals("{\"service_name\":\"service\",\"source_files\":[]}", Files.readString(file.toPath()));
+    }
+
+    /**
+     * Test closing without completing stops the writer.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ProcessingException
+     *             the processing exception
+     */
+    @Test
+    void closeWithoutComplete() throws IOException, ProcessingException {
+        final var file = this.folder.resolve("incomplete.json").toFile();
+        try (var writer = new ParallelJsonWriter(new Job(), file, false, 2)) {
+            writer.onBegin();
+            for (final Source source : this.sources(20)) {
+                writer.onSource(source);
+            }
+        }
+        Assertions.assertTrue(file.exists());
+    }
+
+    /**
+     * Test thread count validation.
+     */
+    @Test
+    void invalidThreads() {
+        final var file = this.folder.resolve("invalid.json").toFile();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ParallelJsonWriter(new Job(), file, false, 0));
+    }
+
+    /**
+     * Writes the sources.
+     *
+     * @param writer
+     *            the writer
+     * @param sources
+     *            the sources
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ProcessingException
+     *             the processing exception
+     */
+    void write(final JsonWriter writer, final List<Source> sources) throws IOException, ProcessingException {
+        writer.onBegin();
+        for (final Source source : sources) {
+            writer.onSource(source);
+        }
+        writer.onComplete();
+    }
+
+    /**
+     * Creates sources with random coverage.
+     *
+     * @param count
+     *            the number of sources
+     *
+     * @return the sources
+     */
+    List<Source> sources(final int count) {
+        final var random = new Random(16);
+        final List<Source> sources = new ArrayList<>();
+        for (var i = 0; i < count; i++) {
+            final var lines = 1 + random.nextInt(300);
+            final var source = new Source("src/main/java/Source" + i + ".java", lines, "DIGEST" + i, null);
+            for (var line = 1; line <= lines; line++) {
+                if (random.nextBoolean()) {
+                    source.addCoverage(line, random.nextInt(10));
+                }
+            }
+            for (var b = random.nextInt(10); b > 0; b--) {
+                source.addBranchCoverage(1 + random.nextInt(lines), 0, b, random.nextInt(3));
+            }
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    /**
+     * Reads a gzip compressed file.
+     *
+     * @param file
+     *            the file
+     *
+     * @return the uncompressed content
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    byte[] gunzip(final File file) throws IOException {
+        try (var in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            return in.readAllBytes();
+        }
+    }
+}
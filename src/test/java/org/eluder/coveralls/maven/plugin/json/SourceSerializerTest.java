@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class SourceSerializerTest.
+ */
+class SourceSerializerTest {
+
+    /** The object mapper. */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Test output of a source with line and branch coverage matches bean serialization.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void matchesBeanSerialization() throws IOException {
+        final var source = new Source("src/Foo.java", "a\nb\nc\nd\ne\n", "ABC");
+        source.addCoverage(1, 3);
+        source.addCoverage(3, 0);
+        source.addCoverage(5, 1000);
+        source.addBranchCoverage(3, 0, 0, 1);
+        source.addBranchCoverage(3, 0, 1, 0);
+        source.addBranchCoverage(3, 0, 0, 2);
+        this.assertSameJson(source);
+    }
+
+    /**
+     * Test output of sources without coverage or digest matches bean serialization.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void matchesBeanSerializationForEmptySources() throws IOException {
+        this.assertSameJson(new Source("src/Bar.java", "", "DEF"));
+        this.assertSameJson(new Source("src/Baz.java", 0, null, "Inner"));
+        this.assertSameJson(new Source(null, 1, null, null));
+    }
+
+    /**
+     * Test output of random merged sources matches bean serialization.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void matchesBeanSerializationForMergedSources() throws IOException {
+        final var random = new Random(15);
+        for (var round = 0; round < 50; round++) {
+            var merged = this.createSource(random);
+            for (var i = random.nextInt(3); i > 0; i--) {
+                merged = this.createSource(random).merge(merged);
+            }
+            this.assertSameJson(merged);
+        }
+    }
+
+    /**
+     * Asserts that the source is written the same way as by the object mapper.
+     *
+     * @param source
+     *            the source
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    void assertSameJson(final Source source) throws IOException {
+        final var writer = new StringWriter();
+        try (var gen = this.mapper.getFactory().createGenerator(writer)) {
+            SourceSerializer.write(source, gen);
+        }
+        Assertions.assertEquals(this.mapper.writeValueAsString(source), writer.toString());
+    }
+
+    /**
+     * Creates a source with random coverage.
+     *
+     * @param random
+     *            the random
+     *
+     * @return the source
+     */
+    Source createSource(final Random random) {
+        final var source = new Source("src/main/java/Hello.java", 20, "609BD24390ADB11D11536CA2ADD18BD0", null);
+        for (var line = 1; line <= 20; line++) {
+            if (random.nextBoolean()) {
+                source.addCoverage(line, random.nextInt(Integer.MAX_VALUE / 4));
+            }
+        }
+        for (var i = random.nextInt(20); i > 0; i--) {
+            source.addBranchCoverage(1 + random.nextInt(20), random.nextInt(3), random.nextInt(4), random.nextInt(9));
+        }
+        return source;
+    }
+}
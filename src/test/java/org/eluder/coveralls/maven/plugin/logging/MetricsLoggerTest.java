@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.logging;
+
+import java.io.File;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eluder.coveralls.maven.plugin.logging.Logger.Position;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class MetricsLoggerTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class MetricsLoggerTest {
+
+    /** The log mock. */
+    @Mock
+    Log logMock;
+
+    /**
+     * Test get position.
+     */
+    @Test
+    void position() {
+        Assertions.assertEquals(Position.AFTER, new MetricsLogger(new Metrics()).getPosition());
+    }
+
+    /**
+     * Test logging phases and parsers.
+     */
+    @Test
+    void log() {
+        final var metrics = new Metrics();
+        metrics.time(Phase.GIT, 5_000_000L);
+        metrics.count(Phase.WRITE, Metrics.SOURCES, 2);
+        metrics.count(Phase.WRITE, Metrics.BYTES, 100);
+        metrics.report(new File("/target/jacoco.xml"), "JaCoCoParser", 1000, 4, 3_000_000L);
+        Mockito.when(this.logMock.isDebugEnabled()).thenReturn(true);
+
+        new MetricsLogger(metrics).log(this.logMock);
+
+        Mockito.verify(this.logMock).info("Coveralls report metrics:");
+        Mockito.verify(this.logMock).info("  git                 5");
+        Mockito.verify(this.logMock).info("  write               0  bytes=100 sources=2");
+        Mockito.verify(this.logMock).info("  parse               3  bytes=1000 files=1 sources=4");
+        Mockito.verify(this.logMock).info("  JaCoCoParser                1          3         1000          4");
+        Mockito.verify(this.logMock).debug("  " + new File("/target/jacoco.xml").getAbsolutePath()
+                + " (JaCoCoParser): 3ms, 1000 bytes, 4 sources");
+    }
+
+    /**
+     * Test parsers are not logged without reports.
+     */
+    @Test
+    void logWithoutReports() {
+        new MetricsLogger(new Metrics()).log(this.logMock);
+
+        Mockito.verify(this.logMock, Mockito.times(Phase.values().length + 2)).info(Mockito.anyString());
+        Mockito.verify(this.logMock, Mockito.never()).debug(Mockito.anyString());
+    }
+
+}
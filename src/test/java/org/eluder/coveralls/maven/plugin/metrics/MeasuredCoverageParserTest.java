@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class MeasuredCoverageParserTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeasuredCoverageParserTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /** The source callback mock. */
+    @Mock
+    SourceCallback sourceCallbackMock;
+
+    /**
+     * Test the parsed report is recorded.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void parse() throws ProcessingException, IOException {
+        final var report = Files.write(this.folder.resolve("report.xml"), new byte[123]).toFile();
+        final var source1 = new Source("Foo.java", 1, "DIGEST1", null);
+        final var source2 = new Source("Bar.java", 1, "DIGEST2", null);
+        final var metrics = new Metrics();
+
+        final var parser = new MeasuredCoverageParser(new FixedCoverageParser(report, source1, source2), metrics);
+        Assertions.assertEquals(report, parser.getCoverageFile());
+        parser.parse(this.sourceCallbackMock);
+
+        Mockito.verify(this.sourceCallbackMock).onSource(source1);
+        Mockito.verify(this.sourceCallbackMock).onSource(source2);
+        Assertions.assertEquals(1, metrics.getReports().size());
+        final var recorded = metrics.getReports().get(0);
+        Assertions.assertEquals(report, recorded.getFile());
+        Assertions.assertEquals("FixedCoverageParser", recorded.getParser());
+        Assertions.assertEquals(123, recorded.getBytes());
+        Assertions.assertEquals(2, recorded.getSources());
+        Assertions.assertEquals(1, metrics.getCount(Phase.PARSE, Metrics.FILES));
+    }
+
+    /**
+     * Test the recorded size is the coverage size of the parser, which may span more than the coverage file.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void coverageSize() throws ProcessingException, IOException {
+        final var report = Files.write(this.folder.resolve("jacoco.exec"), new byte[10]).toFile();
+        final var metrics = new Metrics();
+
+        final var parser = new MeasuredCoverageParser(new FixedCoverageParser(report) {
+            @Override
+            public long getCoverageSize() {
+                return 30;
+            }
+        }, metrics);
+        Assertions.assertEquals(30, parser.getCoverageSize());
+        parser.parse(this.sourceCallbackMock);
+
+        Assertions.assertEquals(30, metrics.getReports().get(0).getBytes());
+        Assertions.assertEquals(30, metrics.getCount(Phase.PARSE, Metrics.BYTES));
+    }
+
+    /**
+     * Test the time spent in the source callback and loading sources is excluded from the parse time.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void excludesDownstreamTime() throws ProcessingException, IOException {
+        final var report = Files.write(this.folder.resolve("report.xml"), new byte[10]).toFile();
+        final var metrics = new Metrics();
+        final var sourceLoader = new MeasuredSourceLoader(sourceFile -> {
+            MeasuredCoverageParserTest.sleep();
+            return new Source(sourceFile, 1, "DIGEST", null);
+        }, metrics);
+        final CoverageParser loadingParser = new FixedCoverageParser(report) {
+            @Override
+            public void parse(final SourceCallback callback) throws ProcessingException, IOException {
+                callback.onSource(sourceLoader.load("Foo.java"));
+            }
+        };
+        Mockito.doAnswer(invocation -> {
+            MeasuredCoverageParserTest.sleep();
+            return null;
+        }).when(this.sourceCallbackMock).onSource(ArgumentMatchers.any(Source.class));
+
+        new MeasuredCoverageParser(loadingParser, metrics, sourceLoader).parse(this.sourceCallbackMock);
+
+        Assertions.assertTrue(metrics.getMillis(Phase.SOURCES) >= 100);
+        Assertions.assertTrue(metrics.getMillis(Phase.PARSE) < 100, () -> metrics.getMillis(Phase.PARSE) + "ms");
+        Assertions.assertEquals(1, metrics.getReports().get(0).getSources());
+    }
+
+    /**
+     * Sleeps longer than the parse time of the test parsers.
+     */
+    private static void sleep() {
+        try {
+            Thread.sleep(120);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Coverage parser that reports fixed sources.
+     */
+    private static class FixedCoverageParser implements CoverageParser {
+
+        /** The coverage file. */
+        private final File coverageFile;
+
+        /** The sources. */
+        private final Source[] sources;
+
+        /**
+         * Instantiates a new fixed coverage parser.
+         *
+         * @param coverageFile
+         *            the coverage file
+         * @param sources
+         *            the sources
+         */
+        private FixedCoverageParser(final File coverageFile, final Source... sources) {
+            this.coverageFile = coverageFile;
+            this.sources = sources;
+        }
+
+        @Override
+        public void parse(final SourceCallback callback) throws ProcessingException, IOException {
+            for (final Source source : this.sources) {
+                callback.onSource(source);
+            }
+        }
+
+        @Override
+        public File getCoverageFile() {
+            return this.coverageFile;
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class MeasuredSourceCallbackTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeasuredSourceCallbackTest {
+
+    /** The source callback mock. */
+    @Mock
+    SourceCallback sourceCallbackMock;
+
+    /**
+     * Test sources are counted and delegated.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void countsSources() throws ProcessingException, IOException {
+        final var metrics = new Metrics();
+        final var source = new Source("Foo.java", 5, "DIGEST", null);
+        source.addBranchCoverage(2, 0, 0, 1);
+        source.addBranchCoverage(2, 0, 1, 0);
+
+        final var callback = new MeasuredSourceCallback(this.sourceCallbackMock, metrics, Phase.WRITE);
+        callback.onBegin();
+        callback.onSource(source);
+        callback.onComplete();
+
+        Mockito.verify(this.sourceCallbackMock).onBegin();
+        Mockito.verify(this.sourceCallbackMock).onSource(source);
+        Mockito.verify(this.sourceCallbackMock).onComplete();
+        Assertions.assertEquals(1, metrics.getCount(Phase.WRITE, Metrics.SOURCES));
+        Assertions.assertEquals(5, metrics.getCount(Phase.WRITE, Metrics.LINES));
+        Assertions.assertEquals(2, metrics.getCount(Phase.WRITE, Metrics.BRANCHES));
+    }
+
+    /**
+     * Test time spent in a nested measured callback is excluded.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void excludesNestedTime() throws ProcessingException, IOException {
+        final var metrics = new Metrics();
+        final var nested = new MeasuredSourceCallback(new SleepingSourceCallback(), metrics, Phase.WRITE);
+        final var callback = new MeasuredSourceCallback(nested, metrics, Phase.MERGE, nested);
+
+        callback.onSource(new Source("Foo.java", 1, "DIGEST", null));
+
+        Assertions.assertTrue(metrics.getMillis(Phase.WRITE) >= 50);
+        Assertions.assertTrue(metrics.getMillis(Phase.MERGE) < 50);
+        Assertions.assertEquals(1, metrics.getCount(Phase.MERGE, Metrics.SOURCES));
+        Assertions.assertEquals(1, metrics.getCount(Phase.WRITE, Metrics.SOURCES));
+    }
+
+    /**
+     * Test time is recorded when the delegate fails.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void failingDelegate() throws ProcessingException, IOException {
+        final var metrics = new Metrics();
+        Mockito.doThrow(new IOException("failed")).when(this.sourceCallbackMock).onComplete();
+
+        final var callback = new MeasuredSourceCallback(this.sourceCallbackMock, metrics, Phase.WRITE);
+        Assertions.assertThrows(IOException.class, callback::onComplete);
+    }
+
+    /**
+     * Source callback that sleeps on every source.
+     */
+    private static final class SleepingSourceCallback implements SourceCallback {
+
+        @Override
+        public void onBegin() {
+            // do nothing
+        }
+
+        @Override
+        public void onSource(final Source source) {
+            try {
+                Thread.sleep(60);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            // do nothing
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.IOException;
+
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class MeasuredSourceLoaderTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeasuredSourceLoaderTest {
+
+    /** The source loader mock. */
+    @Mock
+    SourceLoader sourceLoaderMock;
+
+    /**
+     * Test loaded and missing sources are counted.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void load() throws IOException {
+        final var source = new Source("Foo.java", 7, "DIGEST", null);
+        Mockito.when(this.sourceLoaderMock.load("Foo.java")).thenReturn(source);
+        final var metrics = new Metrics();
+
+        final var loader = new MeasuredSourceLoader(this.sourceLoaderMock, metrics);
+        Assertions.assertSame(source, loader.load("Foo.java"));
+        Assertions.assertNull(loader.load("Bar.java"));
+
+        Assertions.assertEquals(1, metrics.getCount(Phase.SOURCES, Metrics.FILES));
+        Assertions.assertEquals(7, metrics.getCount(Phase.SOURCES, Metrics.LINES));
+        Assertions.assertEquals(1, metrics.getCount(Phase.SOURCES, Metrics.MISSING));
+    }
+
+    /**
+     * Test failures are propagated.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void loadFailure() throws IOException {
+        Mockito.when(this.sourceLoaderMock.load("Foo.java")).thenThrow(new IOException("failed"));
+        final var metrics = new Metrics();
+
+        final var loader = new MeasuredSourceLoader(this.sourceLoaderMock, metrics);
+        Assertions.assertThrows(IOException.class, () -> loader.load("Foo.java"));
+        Assertions.assertEquals(0, metrics.getCount(Phase.SOURCES, Metrics.FILES));
+    }
+
+}
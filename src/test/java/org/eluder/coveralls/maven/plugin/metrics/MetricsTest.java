@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class MetricsTest.
+ */
+class MetricsTest {
+
+    /**
+     * Test times and counters of a phase.
+     */
+    @Test
+    void timeAndCount() {
+        final var metrics = new Metrics();
+        metrics.time(Phase.MERGE, 1_500_000L);
+        metrics.time(Phase.MERGE, 2_000_000L);
+        metrics.count(Phase.MERGE, Metrics.SOURCES, 2);
+        metrics.count(Phase.MERGE, Metrics.LINES, 10);
+        metrics.count(Phase.MERGE, Metrics.SOURCES, 1);
+
+        Assertions.assertEquals(3, metrics.getMillis(Phase.MERGE));
+        Assertions.assertEquals(0.0035, metrics.getSeconds(Phase.MERGE), 1e-9);
+        Assertions.assertEquals(3, metrics.getCount(Phase.MERGE, Metrics.SOURCES));
+        Assertions.assertEquals(0, metrics.getCount(Phase.MERGE, Metrics.BRANCHES));
+        Assertions.assertEquals(List.of(Metrics.LINES, Metrics.SOURCES),
+                List.copyOf(metrics.getCounters(Phase.MERGE).keySet()));
+        Assertions.assertEquals(0, metrics.getMillis(Phase.WRITE));
+        Assertions.assertEquals(Map.of(), metrics.getCounters(Phase.WRITE));
+    }
+
+    /**
+     * Test parsed reports are summed by parser.
+     */
+    @Test
+    void reports() {
+        final var metrics = new Metrics();
+        metrics.report(new File("b.xml"), "JaCoCoParser", 100, 3, 4_000_000L);
+        metrics.report(new File("a.xml"), "CoberturaParser", 50, 1, 1_000_000L);
+        metrics.report(new File("c.xml"), "JaCoCoParser", 200, 5, 6_000_000L);
+
+        Assertions.assertEquals(3, metrics.getReports().size());
+        Assertions.assertEquals(new File("b.xml"), metrics.getReports().get(0).getFile());
+        Assertions.assertEquals(11, metrics.getMillis(Phase.PARSE));
+        Assertions.assertEquals(3, metrics.getCount(Phase.PARSE, Metrics.FILES));
+        Assertions.assertEquals(350, metrics.getCount(Phase.PARSE, Metrics.BYTES));
+        Assertions.assertEquals(9, metrics.getCount(Phase.PARSE, Metrics.SOURCES));
+
+        final var parsers = metrics.getParsers();
+        Assertions.assertEquals(List.of("CoberturaParser", "JaCoCoParser"), List.copyOf(parsers.keySet()));
+        final var jacoco = parsers.get("JaCoCoParser");
+        Assertions.assertNull(jacoco.getFile());
+        Assertions.assertEquals(2, jacoco.getCount());
+        Assertions.assertEquals(300, jacoco.getBytes());
+        Assertions.assertEquals(8, jacoco.getSources());
+        Assertions.assertEquals(10, jacoco.getMillis());
+        Assertions.assertEquals(1, parsers.get("CoberturaParser").getCount());
+    }
+
+    /**
+     * Test phase names.
+     */
+    @Test
+    void phaseNames() {
+        Assertions.assertEquals("git", Phase.GIT.getName());
+        Assertions.assertEquals("submit", Phase.SUBMIT.getName());
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.metrics;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eluder.coveralls.maven.plugin.metrics.Metrics.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class MetricsWriterTest.
+ */
+class MetricsWriterTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /** The metrics. */
+    private Metrics metrics;
+
+    /**
+     * Inits the metrics.
+     */
+    @BeforeEach
+    void init() {
+        this.metrics = new Metrics();
+        this.metrics.time(Phase.GIT, 2_000_000L);
+        this.metrics.count(Phase.WRITE, Metrics.BYTES, 4096);
+        this.metrics.report(new File("target/site/jacoco/jacoco.xml"), "JaCoCoParser", 1000, 4, 3_000_000L);
+    }
+
+    /**
+     * Test writing JSON metrics.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void writeJson() throws IOException {
+        final var file = this.folder.resolve("metrics/coveralls-metrics.json").toFile();
+        new MetricsWriter(this.metrics).writeJson(file);
+
+        final var json = JsonMapper.builder().build().readTree(file);
+        Assertions.assertEquals(2, json.get("phases").get("git").get("time_ms").asLong());
+        Assertions.assertEquals(4096, json.get("phases").get("write").get("bytes").asLong());
+        Assertions.assertEquals(1, json.get("phases").get("parse").get("files").asLong());
+        Assertions.assertEquals(1, json.get("parsers").get("JaCoCoParser").get("reports").asInt());
+        Assertions.assertEquals(1000, json.get("parsers").get("JaCoCoParser").get("bytes").asLong());
+        Assertions.assertEquals(new File("target/site/jacoco/jacoco.xml").getAbsolutePath(),
+                json.get("reports").get(0).get("file").asText());
+        Assertions.assertEquals(4, json.get("reports").get(0).get("sources").asLong());
+        Assertions.assertFalse(Files.exists(file.toPath().resolveSibling("coveralls-metrics.json.tmp")));
+    }
+
+    /**
+     * Test writing Prometheus metrics.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void writePrometheus() throws IOException {
+        final var file = this.folder.resolve("coveralls-metrics.prom").toFile();
+        new MetricsWriter(this.metrics).writePrometheus(file);
+
+        final var content = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(content.contains("# TYPE coveralls_phase_seconds gauge\n"));
+        Assertions.assertTrue(content.contains("coveralls_phase_seconds{phase=\"git\"} 0.002\n"));
+        Assertions.assertTrue(content.contains("coveralls_phase_items{phase=\"write\",counter=\"bytes\"} 4096\n"));
+        Assertions.assertTrue(content.contains("coveralls_parser_reports{parser=\"JaCoCoParser\"} 1\n"));
+        Assertions.assertTrue(content.contains("coveralls_parser_bytes{parser=\"JaCoCoParser\"} 1000\n"));
+        Assertions.assertFalse(content.contains("jacoco.xml"));
+    }
+
+    /**
+     * Test escaping label values.
+     */
+    @Test
+    void escape() {
+        Assertions.assertEquals("a\\\\b\\\"c\\nd", MetricsWriter.escape("a\\b\"c\nd"));
+    }
+
+}
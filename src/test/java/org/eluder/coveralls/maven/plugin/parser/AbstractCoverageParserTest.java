@@ -33,6 +33,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.xml.stream.XMLInputFactory;
+
 import org.eluder.coveralls.maven.plugin.CoverageFixture;
 import org.eluder.coveralls.maven.plugin.CoverageParser;
 import org.eluder.coveralls.maven.plugin.ProcessingException;
@@ -153,6 +155,29 @@ public abstract class AbstractCoverageParserTest {
         }
     }
 
+    /**
+     * Parses the same coverage reports twice with the shared input factory.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void parseCoverageWithSharedInputFactory() throws ProcessingException, IOException {
+        final var first = new SourceCollector();
+        final var second = new SourceCollector();
+        for (final String coverageResource : this.getCoverageResources()) {
+            final var file = TestIoUtil.getFile(coverageResource);
+            this.createCoverageParser(file, this.sourceLoaderMock).parse(first);
+            this.createCoverageParser(file, this.sourceLoaderMock).parse(second);
+        }
+        Assertions.assertEquals(first.sources.size(), second.sources.size());
+        Assertions.assertSame(AbstractXmlEventParser.inputFactory(), AbstractXmlEventParser.inputFactory());
+        Assertions.assertEquals(Boolean.FALSE,
+                AbstractXmlEventParser.inputFactory().getProperty(XMLInputFactory.SUPPORT_DTD));
+    }
+
     /**
      * Creates the coverage parser.
      *
@@ -276,18 +301,17 @@ public abstract class AbstractCoverageParserTest {
         if (tested == null) {
             Assertions.fail("Expected source " + name + " not found from coverage report");
         }
-        if (tested.getCoverage().length != lines) {
-            Assertions.fail("Expected " + lines + " lines for " + name + " was " + tested.getCoverage().length);
+        if (tested.getLineCount() != lines) {
+            Assertions.fail("Expected " + lines + " lines for " + name + " was " + tested.getLineCount());
         }
-        for (var i = 0; i < tested.getCoverage().length; i++) {
-            final var lineNumber = i + 1;
+        for (var lineNumber = 1; lineNumber <= tested.getLineCount(); lineNumber++) {
             final var message = name + " line " + lineNumber + " coverage";
             if (coveredLines.contains(lineNumber)) {
-                Assertions.assertTrue(tested.getCoverage()[i] > 0, message);
+                Assertions.assertTrue(tested.getHits(lineNumber) > 0, message);
             } else if (missedLines.contains(lineNumber)) {
-                Assertions.assertEquals(0, tested.getCoverage()[i], message);
+                Assertions.assertEquals(0, tested.getHits(lineNumber), message);
             } else {
-                Assertions.assertNull(tested.getCoverage()[i], message);
+                Assertions.assertFalse(tested.isRelevant(lineNumber), message);
             }
         }
         for (final Branch b : tested.getBranchesList()) {
@@ -0,0 +1,357 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Branch;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.domain.SourceAccumulator;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfoStore;
+import org.jacoco.core.instr.Instrumenter;
+import org.jacoco.core.runtime.LoggerRuntime;
+import org.jacoco.core.runtime.RuntimeData;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.jacoco.report.DirectorySourceFileLocator;
+import org.jacoco.report.xml.XMLFormatter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class JaCoCoExecParserTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class JaCoCoExecParserTest {
+
+    /** The classes copied to the class directory, the first one is executed. */
+    private static final List<Class<?>> CLASSES = List.of(JaCoCoExecFixture.class, Source.class,
+            SourceAccumulator.class, Branch.class);
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /** The source loader mock. */
+    @Mock
+    private SourceLoader sourceLoaderMock;
+
+    /** The class directory. */
+    private Path classes;
+
+    /** The execution data of a run with a positive value. */
+    private File positive;
+
+    /** The execution data of a run with a negative value. */
+    private File negative;
+
+    /**
+     * Copies the classes and writes execution data of two runs of the fixture.
+     *
+     * @throws Exception
+     *             if instrumenting or running the fixture fails
+     */
+    @BeforeEach
+    void init() throws Exception {
+        this.classes = Files.createDirectory(this.folder.resolve("classes"));
+        for (final Class<?> type : JaCoCoExecParserTest.CLASSES) {
+            final var file = this.classes.resolve(type.getName().replace('.', '/') + ".class");
+            Files.createDirectories(file.getParent());
+            Files.write(file, JaCoCoExecParserTest.classBytes(type));
+        }
+        this.positive = this.execute(5, "positive.exec");
+        this.negative = this.execute(-5, "negative.exec");
+        Mockito.lenient().when(this.sourceLoaderMock.load(ArgumentMatchers.anyString()))
+                .thenAnswer(invocation -> new Source(invocation.getArgument(0), 2000, "DIGEST", null));
+    }
+
+    /**
+     * Test merged execution data gives the same sources as the XML report of the merged data.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void matchesXmlReport() throws ProcessingException, IOException {
+        final var xml = this.xmlReport(this.positive, this.negative);
+        final var expected = this.parse(new JaCoCoParser(xml, this.sourceLoaderMock));
+        Assertions.assertEquals(JaCoCoExecParserTest.CLASSES.size(), expected.size());
+        for (final int threads : new int[] { 1, 2, 8 }) {
+            final var actual = this.parse(new JaCoCoExecParser(List.of(this.positive, this.negative),
+                    List.of(this.classes.toFile()), this.sourceLoaderMock, threads));
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (var i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).getName(), actual.get(i).getName());
+                Assertions.assertArrayEquals(TestIoUtil.getHits(expected.get(i)), TestIoUtil.getHits(actual.get(i)));
+                Assertions.assertArrayEquals(expected.get(i).getBranches(), actual.get(i).getBranches());
+            }
+        }
+    }
+
+    /**
+     * Test execution data files are merged.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void mergesExecutionData() throws ProcessingException, IOException {
+        final var single = this.fixture(this.parse(new JaCoCoExecParser(List.of(this.positive),
+                List.of(this.classes.toFile()), this.sourceLoaderMock, 1)));
+        final var merged = this.fixture(this.parse(new JaCoCoExecParser(List.of(this.positive, this.negative),
+                List.of(this.classes.toFile()), this.sourceLoaderMock, 1)));
+        Assertions.assertEquals(1, this.coveredBranches(single));
+        Assertions.assertEquals(2, this.coveredBranches(merged));
+    }
+
+    /**
+     * Test the coverage file is the first execution data file and the coverage size covers all execution data files.
+     */
+    @Test
+    void coverageFile() {
+        final var parser = new JaCoCoExecParser(List.of(this.positive, this.negative), List.of(this.classes.toFile()),
+                this.sourceLoaderMock, 1);
+        Assertions.assertEquals(this.positive, parser.getCoverageFile());
+        Assertions.assertEquals(List.of(this.positive, this.negative), parser.getExecFiles());
+        Assertions.assertEquals(this.positive.length() + this.negative.length(), parser.getCoverageSize());
+    }
+
+    /**
+     * Test execution data files are required.
+     */
+    @Test
+    void missingExecFiles() {
+        final List<File> execFiles = List.of();
+        final List<File> classDirectories = List.of(this.classes.toFile());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new JaCoCoExecParser(execFiles, classDirectories, this.sourceLoaderMock, 1));
+    }
+
+    /**
+     * Parses the sources.
+     *
+     * @param parser
+     *            the parser
+     *
+     * @return the sources in callback order
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    List<Source> parse(final CoverageParser parser) throws ProcessingException, IOException {
+        final List<Source> sources = new ArrayList<>();
+        parser.parse(new SourceCallback() {
+            @Override
+            public void onBegin() {
+                // Does nothing
+            }
+
+            @Override
+            public void onSource(final Source source) {
+                sources.add(source);
+            }
+
+            @Override
+            public void onComplete() {
+                // Does nothing
+            }
+        });
+        sources.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return sources;
+    }
+
+    /**
+     * Gets the source of the executed fixture.
+     *
+     * @param sources
+     *            the sources
+     *
+     * @return the fixture source
+     */
+    Source fixture(final List<Source> sources) {
+        return sources.stream().filter(source -> source.getName().endsWith("/JaCoCoExecFixture.java")).findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Counts the covered branches.
+     *
+     * @param source
+     *            the source
+     *
+     * @return the number of covered branches
+     */
+    long coveredBranches(final Source source) {
+        return source.getBranchesList().stream().filter(branch -> branch.getHits() > 0).count();
+    }
+
+    /**
+     * Runs the fixture with JaCoCo instrumentation and writes the execution data.
+     *
+     * @param value
+     *            the value passed to the fixture
+     * @param name
+     *            the execution data file name
+     *
+     * @return the execution data file
+     *
+     * @throws Exception
+     *             if instrumenting or running the fixture fails
+     */
+    File execute(final int value, final String name) throws Exception {
+        final var runtime = new LoggerRuntime();
+        final var className = JaCoCoExecFixture.class.getName();
+        final var instrumented = new Instrumenter(runtime)
+                .instrument(JaCoCoExecParserTest.classBytes(JaCoCoExecFixture.class), className);
+        final var data = new RuntimeData();
+        runtime.startup(data);
+        try {
+            final var loader = new InstrumentedClassLoader(className, instrumented);
+            final var fixture = (IntUnaryOperator) loader.loadClass(className).getDeclaredConstructor().newInstance();
+            fixture.applyAsInt(value);
+        } finally {
+            runtime.shutdown();
+        }
+        final var executionData = new ExecutionDataStore();
+        final var sessionInfos = new SessionInfoStore();
+        data.collect(executionData, sessionInfos, false);
+        final var file = this.folder.resolve(name);
+        try (var out = Files.newOutputStream(file)) {
+            final var writer = new ExecutionDataWriter(out);
+            sessionInfos.accept(writer);
+            executionData.accept(writer);
+        }
+        return file.toFile();
+    }
+
+    /**
+     * Writes the JaCoCo XML report of the merged execution data.
+     *
+     * @param execFiles
+     *            the execution data files
+     *
+     * @return the XML report
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    File xmlReport(final File... execFiles) throws IOException {
+        final var loader = new ExecFileLoader();
+        for (final File execFile : execFiles) {
+            loader.load(execFile);
+        }
+        final var coverage = new CoverageBuilder();
+        new Analyzer(loader.getExecutionDataStore(), coverage).analyzeAll(this.classes.toFile());
+        final var file = this.folder.resolve("jacoco.xml");
+        try (var out = Files.newOutputStream(file)) {
+            final var visitor = new XMLFormatter().createVisitor(out);
+            visitor.visitInfo(loader.getSessionInfoStore().getInfos(), loader.getExecutionDataStore().getContents());
+            visitor.visitBundle(coverage.getBundle("test"),
+                    new DirectorySourceFileLocator(this.folder.toFile(), "UTF-8", 4));
+            visitor.visitEnd();
+        }
+        return file.toFile();
+    }
+
+    /**
+     * Reads the class file of a class.
+     *
+     * @param type
+     *            the class
+     *
+     * @return the class file content
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    static byte[] classBytes(final Class<?> type) throws IOException {
+        final var resource = type.getName().replace('.', '/') + ".class";
+        try (var in = type.getClassLoader().getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Class loader that defines a single instrumented class.
+     */
+    static final class InstrumentedClassLoader extends ClassLoader {
+
+        /** The class name. */
+        private final String className;
+
+        /** The instrumented class file. */
+        private final byte[] definition;
+
+        /**
+         * Instantiates a new instrumented class loader.
+         *
+         * @param className
+         *            the class name
+         * @param definition
+         *            the instrumented class file
+         */
+        InstrumentedClassLoader(final String className, final byte[] definition) {
+            super(JaCoCoExecParserTest.class.getClassLoader());
+            this.className = className;
+            this.definition = definition;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (this.className.equals(name)) {
+                return this.defineClass(name, this.definition, 0, this.definition.length);
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eluder.coveralls.maven.plugin.CoverageParser;
+import org.eluder.coveralls.maven.plugin.ProcessingException;
+import org.eluder.coveralls.maven.plugin.domain.Source;
+import org.eluder.coveralls.maven.plugin.source.SourceCallback;
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class ParallelParserRunnerTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class ParallelParserRunnerTest {
+
+    /** The log mock. */
+    @Mock
+    Log logMock;
+
+    /** The source loader. */
+    final SourceLoader sourceLoader = sourceFile -> {
+        final var content = TestIoUtil.readFileContent(TestIoUtil.getFile(sourceFile));
+        return new Source(sourceFile, content, TestIoUtil.getSha512DigestHex(content));
+    };
+
+    /**
+     * Invalid thread count.
+     */
+    @Test
+    void invalidThreadCount() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelParserRunner(0, this.logMock));
+    }
+
+    /**
+     * Parallel parsing keeps parser order.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void keepsParserOrder() throws ProcessingException, IOException {
+        final var serial = new SourceCollector();
+        for (final CoverageParser parser : this.createParsers()) {
+            parser.parse(serial);
+        }
+
+        final var parallel = new SourceCollector();
+        new ParallelParserRunner(2, this.logMock).run(this.createParsers(), parallel);
+
+        Assertions.assertEquals(serial.sources.size(), parallel.sources.size());
+        for (var i = 0; i < serial.sources.size(); i++) {
+            final var expected = serial.sources.get(i);
+            final var actual = parallel.sources.get(i);
+            Assertions.assertEquals(expected.getName(), actual.getName());
+            Assertions.assertArrayEquals(TestIoUtil.getHits(expected), TestIoUtil.getHits(actual));
+            Assertions.assertArrayEquals(expected.getBranches(), actual.getBranches());
+        }
+    }
+
+    /**
+     * Parser failure is propagated.
+     */
+    @Test
+    void propagatesParserFailure() {
+        final List<CoverageParser> parsers = new ArrayList<>(this.createParsers());
+        parsers.add(new JaCoCoParser(new File("missing-jacoco.xml"), this.sourceLoader));
+        final var runner = new ParallelParserRunner(2, this.logMock);
+        Assertions.assertThrows(IOException.class, () -> runner.run(parsers, new SourceCollector()));
+    }
+
+    /**
+     * Creates the parsers.
+     *
+     * @return the list
+     */
+    List<CoverageParser> createParsers() {
+        final List<CoverageParser> parsers = new ArrayList<>();
+        parsers.add(new JaCoCoParser(TestIoUtil.getFile("jacoco1.xml"), this.sourceLoader));
+        parsers.add(new JaCoCoParser(TestIoUtil.getFile("jacoco2.xml"), this.sourceLoader));
+        parsers.add(new JaCoCoParser(TestIoUtil.getFile("jacoco2-it.xml"), this.sourceLoader));
+        return parsers;
+    }
+
+    /**
+     * The Class SourceCollector.
+     */
+    static class SourceCollector implements SourceCallback {
+
+        /** The sources. */
+        final List<Source> sources = new ArrayList<>();
+
+        @Override
+        public void onBegin() {
+            // Does nothing
+        }
+
+        @Override
+        public void onSource(final Source source) {
+            this.sources.add(source);
+        }
+
+        @Override
+        public void onComplete() {
+            // Does nothing
+        }
+    }
+}
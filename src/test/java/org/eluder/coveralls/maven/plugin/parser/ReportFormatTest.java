@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eluder.coveralls.maven.plugin.source.SourceLoader;
+import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * The Class ReportFormatTest.
+ */
+class ReportFormatTest {
+
+    @Test
+    void detectJaCoCo() throws IOException {
+        Assertions.assertEquals(ReportFormat.JACOCO, ReportFormat.detect(TestIoUtil.getFile("jacoco1.xml")));
+    }
+
+    @Test
+    void detectCobertura() throws IOException {
+        Assertions.assertEquals(ReportFormat.COBERTURA, ReportFormat.detect(TestIoUtil.getFile("cobertura.xml")));
+        Assertions.assertEquals(ReportFormat.COBERTURA, ReportFormat.detect(TestIoUtil.getFile("saga.xml")));
+    }
+
+    @Test
+    void detectClover() throws IOException {
+        Assertions.assertEquals(ReportFormat.CLOVER, ReportFormat.detect(TestIoUtil.getFile("clover.xml")));
+    }
+
+    @Test
+    void detectUnknown(@TempDir final Path folder) throws IOException {
+        final var other = Files.writeString(folder.resolve("pom.xml"), "<project><modelVersion/></project>");
+        final var text = Files.writeString(folder.resolve("coverage.txt"), "not xml");
+        final var empty = Files.createFile(folder.resolve("empty.xml"));
+        Assertions.assertNull(ReportFormat.detect(other.toFile()));
+        Assertions.assertNull(ReportFormat.detect(text.toFile()));
+        Assertions.assertNull(ReportFormat.detect(empty.toFile()));
+    }
+
+    @Test
+    void createParser() {
+        final var sourceLoader = Mockito.mock(SourceLoader.class);
+        final var file = TestIoUtil.getFile("jacoco1.xml");
+        Assertions.assertEquals(JaCoCoParser.class, ReportFormat.JACOCO.createParser(file, sourceLoader).getClass());
+        Assertions.assertEquals(CoberturaParser.class,
+                ReportFormat.COBERTURA.createParser(file, sourceLoader).getClass());
+        Assertions.assertEquals(CloverParser.class, ReportFormat.CLOVER.createParser(file, sourceLoader).getClass());
+        Assertions.assertEquals(file, ReportFormat.CLOVER.createParser(file, sourceLoader).getCoverageFile());
+    }
+}
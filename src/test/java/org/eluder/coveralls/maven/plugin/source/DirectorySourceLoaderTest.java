@@ -88,7 +88,7 @@ class DirectorySourceLoaderTest {
         Assertions.assertEquals(
                 "27F0B29785725F4946DBD05F7963E507B8DB735C2803BBB80C93ECB02291B2E2F9B03CBF27526DB68B6A862F1C6541275CD413A1CCD3E07209B9CAE0C04163C6",
                 source.getDigest());
-        Assertions.assertEquals(4, source.getCoverage().length);
+        Assertions.assertEquals(4, source.getLineCount());
     }
 
 }
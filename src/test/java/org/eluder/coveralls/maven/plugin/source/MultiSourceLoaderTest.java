@@ -25,11 +25,18 @@
 package org.eluder.coveralls.maven.plugin.source;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 
 import org.eluder.coveralls.maven.plugin.domain.Source;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -40,6 +47,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class MultiSourceLoaderTest {
 
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
     /** The sl 1. */
     @Mock
     SourceLoader sl1;
@@ -88,6 +99,143 @@ class MultiSourceLoaderTest {
         Assertions.assertSame(this.s2, source);
     }
 
+    /**
+     * Indexed directories resolve files in the same order as checking each directory.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void indexedDirectories() throws IOException {
+        final var root = this.folder.resolve("src");
+        final var nested = root.resolve("m1/src");
+        final var other = this.folder.resolve("other");
+        this.write(root.resolve("Root.java"), "root");
+        this.write(nested.resolve("Nested.java"), "nested");
+        this.write(nested.resolve("Root.java"), "nested root\n");
+        this.write(other.resolve("org/Other.java"), "other\n\n");
+        Files.createDirectories(other.resolve("Dir.java"));
+
+        for (final boolean pathIndex : new boolean[] { true, false }) {
+            final var loader = new MultiSourceLoader().withPathIndex(pathIndex).add(this.directoryLoader(root))
+                    .add(this.directoryLoader(nested)).add(this.directoryLoader(other)).add(this.sl1);
+            Assertions.assertEquals("src/Root.java", loader.load("Root.java").getName());
+            Assertions.assertEquals(1, loader.load("Root.java").getLineCount());
+            Assertions.assertEquals("src/m1/src/Nested.java", loader.load("Nested.java").getName());
+            Assertions.assertEquals("src/m1/src/Nested.java", loader.load("m1/src/Nested.java").getName());
+            Assertions.assertEquals("other/org/Other.java", loader.load("org/Other.java").getName());
+            Assertions.assertEquals("other/org/../org/Other.java", loader.load("org/../org/Other.java").getName());
+        }
+    }
+
+    /**
+     * Paths missing from the index skip the directories and go to the other loaders, and indexed paths are loaded
+     * without checking the directories.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void indexMissUsesOtherLoaders() throws IOException {
+        final var first = this.folder.resolve("first");
+        final var second = this.folder.resolve("second");
+        this.write(first.resolve("First.java"), "first");
+        Files.createDirectories(second);
+        Mockito.when(this.sl1.load("source")).thenReturn(this.s1);
+        final var firstLoader = Mockito.spy(this.directoryLoader(first));
+        final var secondLoader = Mockito.spy(this.directoryLoader(second));
+
+        final var loader = new MultiSourceLoader().add(firstLoader).add(secondLoader).add(this.sl1);
+        Assertions.assertSame(this.s1, loader.load("source"));
+        Assertions.assertEquals("first/First.java", loader.load("First.java").getName());
+        Mockito.verify(this.sl1, Mockito.never()).load("First.java");
+        Mockito.verify(firstLoader, Mockito.never()).load(ArgumentMatchers.anyString());
+        Mockito.verify(secondLoader, Mockito.never()).load(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Paths that match an indexed file or directory only when case is ignored are checked in each directory, so they
+     * resolve as without the index on case insensitive file systems, and directories fail as without the index.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void caseFoldedMatchChecksDirectories() throws IOException {
+        final var first = this.folder.resolve("first");
+        final var second = this.folder.resolve("second");
+        this.write(first.resolve("First.java"), "first");
+        Files.createDirectories(second.resolve("Dir.java"));
+        final var firstLoader = Mockito.spy(this.directoryLoader(first));
+        final var secondLoader = Mockito.spy(this.directoryLoader(second));
+
+        final var loader = new MultiSourceLoader().add(firstLoader).add(secondLoader);
+        try {
+            Assertions.assertEquals("first/FIRST.java", loader.load("FIRST.java").getName());
+        } catch (final IOException e) {
+            // not found on case sensitive file systems
+        }
+        Mockito.verify(firstLoader).load("FIRST.java");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> loader.load("Dir.java"));
+    }
+
+    /**
+     * Indexed files reuse the file attributes read while indexing for the digest cache.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void indexedFilesUseDigestCache() throws IOException {
+        final var first = this.folder.resolve("first");
+        final var second = this.folder.resolve("second");
+        this.write(second.resolve("Second.java"), "second\n");
+        Files.setLastModifiedTime(second.resolve("Second.java"), FileTime.fromMillis(1_000_000_000L));
+        Files.createDirectories(first);
+        final var cache = SourceDigestCache.load(this.folder.resolve("digests"), StandardCharsets.UTF_8);
+        final var firstLoader = this.directoryLoader(first);
+        final var secondLoader = this.directoryLoader(second);
+        firstLoader.setDigestCache(cache);
+        secondLoader.setDigestCache(cache);
+
+        final var loader = new MultiSourceLoader().add(firstLoader).add(secondLoader);
+        final var loaded = loader.load("Second.java");
+        final var cached = loader.load("Second.java");
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(loaded.getName(), cached.getName());
+        Assertions.assertEquals(loaded.getDigest(), cached.getDigest());
+        Assertions.assertEquals(loaded.getLineCount(), cached.getLineCount());
+    }
+
+    /**
+     * Creates a directory source loader relative to the test folder.
+     *
+     * @param directory
+     *            the source directory
+     *
+     * @return the directory source loader
+     */
+    DirectorySourceLoader directoryLoader(final Path directory) {
+        return new DirectorySourceLoader(this.folder.toFile(), directory.toFile(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a file, creating parent directories.
+     *
+     * @param file
+     *            the file
+     * @param content
+     *            the content
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    void write(final Path file, final String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
     /**
      * Crea multi source loader.
      *
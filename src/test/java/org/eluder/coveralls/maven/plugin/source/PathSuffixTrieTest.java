@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.source;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.codehaus.plexus.util.SelectorUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class PathSuffixTrieTest.
+ */
+class PathSuffixTrieTest {
+
+    /**
+     * Test find by suffix.
+     */
+    @Test
+    void find() {
+        final var trie = new PathSuffixTrie(new String[] { this.path("a", "b", "Foo.java"),
+                this.path("c", "b", "Foo.java"), this.path("Bar.java"), this.path("x", "Foo.java") });
+        Assertions.assertEquals(this.path("a", "b", "Foo.java"), trie.find("Foo.java"));
+        Assertions.assertEquals(this.path("a", "b", "Foo.java"), trie.find("b/Foo.java"));
+        Assertions.assertEquals(this.path("c", "b", "Foo.java"), trie.find("c/b/Foo.java"));
+        Assertions.assertEquals(this.path("x", "Foo.java"), trie.find("x/Foo.java"));
+        Assertions.assertEquals(this.path("Bar.java"), trie.find("Bar.java"));
+        Assertions.assertNull(trie.find("d/b/Foo.java"));
+        Assertions.assertNull(trie.find("Baz.java"));
+    }
+
+    /**
+     * Test results are the same as the glob match against each file.
+     */
+    @Test
+    void sameAsGlobMatch() {
+        final var random = new Random(7);
+        final var names = new String[] { "a", "b", "c", "Foo.java", "Bar.java" };
+        final List<String> files = new ArrayList<>();
+        for (var i = 0; i < 300; i++) {
+            final var depth = 1 + random.nextInt(4);
+            final var segments = new String[depth];
+            for (var d = 0; d < depth - 1; d++) {
+                segments[d] = names[random.nextInt(3)];
+            }
+            segments[depth - 1] = names[3 + random.nextInt(2)];
+            files.add(String.join(File.separator, segments));
+        }
+        final var array = files.toArray(new String[0]);
+        final var trie = new PathSuffixTrie(array);
+        for (var i = 0; i < 500; i++) {
+            final var depth = 1 + random.nextInt(4);
+            final var segments = new String[depth];
+            for (var d = 0; d < depth - 1; d++) {
+                segments[d] = names[random.nextInt(3)];
+            }
+            segments[depth - 1] = names[3 + random.nextInt(2)];
+            final var path = String.join("/", segments);
+            String expected = null;
+            for (final String file : array) {
+                if (SelectorUtils.matchPath("**/" + path, file, true)) {
+                    expected = file;
+                    break;
+                }
+            }
+            Assertions.assertEquals(expected, trie.find(path), path);
+        }
+    }
+
+    /**
+     * Test literal paths.
+     */
+    @Test
+    void literal() {
+        Assertions.assertTrue(PathSuffixTrie.isLiteral("Foo.java"));
+        Assertions.assertTrue(PathSuffixTrie.isLiteral("org/Foo.java"));
+        Assertions.assertFalse(PathSuffixTrie.isLiteral(""));
+        Assertions.assertFalse(PathSuffixTrie.isLiteral("/org/Foo.java"));
+        Assertions.assertFalse(PathSuffixTrie.isLiteral("org//Foo.java"));
+        Assertions.assertFalse(PathSuffixTrie.isLiteral("org/../Foo.java"));
+        Assertions.assertFalse(PathSuffixTrie.isLiteral("org/*.java"));
+        Assertions.assertFalse(PathSuffixTrie.isLiteral("org\\Foo.java"));
+    }
+
+    /**
+     * Joins path segments with the platform separator.
+     *
+     * @param segments
+     *            the segments
+     *
+     * @return the path
+     */
+    String path(final String... segments) {
+        return String.join(File.separator, segments);
+    }
+}
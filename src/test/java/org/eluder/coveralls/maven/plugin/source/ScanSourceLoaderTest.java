@@ -97,7 +97,7 @@ class ScanSourceLoaderTest {
         Assertions.assertEquals(
                 "27F0B29785725F4946DBD05F7963E507B8DB735C2803BBB80C93ECB02291B2E2F9B03CBF27526DB68B6A862F1C6541275CD413A1CCD3E07209B9CAE0C04163C6",
                 sourceA.getDigest());
-        Assertions.assertEquals(4, sourceA.getCoverage().length);
+        Assertions.assertEquals(4, sourceA.getLineCount());
         final var sourceB = sourceLoader.load(fileB.getName());
         Assertions.assertEquals(
                 "level1" + File.separator + "level2" + File.separator + "level3" + File.separator + "BFile.java",
@@ -105,7 +105,7 @@ class ScanSourceLoaderTest {
         Assertions.assertEquals(
                 "27F0B29785725F4946DBD05F7963E507B8DB735C2803BBB80C93ECB02291B2E2F9B03CBF27526DB68B6A862F1C6541275CD413A1CCD3E07209B9CAE0C04163C6",
                 sourceB.getDigest());
-        Assertions.assertEquals(4, sourceB.getCoverage().length);
+        Assertions.assertEquals(4, sourceB.getLineCount());
     }
 
 }
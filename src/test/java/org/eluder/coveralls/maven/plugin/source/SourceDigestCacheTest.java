@@ -0,0 +1,234 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.source;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class SourceDigestCacheTest.
+ */
+class SourceDigestCacheTest {
+
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
+    /**
+     * Test round trip through the cache file.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void saveAndLoad() throws IOException {
+        final var cacheFile = this.folder.resolve("cache/digests.txt");
+        final var source = this.source("Foo.java", "class Foo {}\n");
+
+        final var cache = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        Assertions.assertNull(cache.get(source, this.attributes(source)));
+        cache.put(source, this.attributes(source), 2, "ABC");
+        cache.save();
+
+        final var loaded = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        final var entry = loaded.get(source, this.attributes(source));
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(2, entry.getLines());
+        Assertions.assertEquals("ABC", entry.getDigest());
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(0, cache.getHits());
+        Assertions.assertEquals(1, loaded.getHits());
+        Assertions.assertEquals(0, loaded.getMisses());
+    }
+
+    /**
+     * Test changed file is not served from the cache.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void changedFile() throws IOException {
+        final var cacheFile = this.folder.resolve("digests.txt");
+        final var source = this.source("Foo.java", "class Foo {}\n");
+        final var cache = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        cache.put(source, this.attributes(source), 2, "ABC");
+
+        Files.writeString(source, "class Foo { }\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000_000L));
+        Assertions.assertNull(cache.get(source, this.attributes(source)));
+
+        Files.writeString(source, "class Foo {}\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(2_000_000_000L));
+        Assertions.assertNull(cache.get(source, this.attributes(source)));
+    }
+
+    /**
+     * Test recently modified file is not cached.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void recentlyModifiedFile() throws IOException {
+        final var source = this.folder.resolve("Foo.java");
+        Files.writeString(source, "class Foo {}\n", StandardCharsets.UTF_8);
+        final var cache = SourceDigestCache.load(this.folder.resolve("digests.txt"), StandardCharsets.UTF_8);
+        cache.put(source, this.attributes(source), 2, "ABC");
+        Assertions.assertNull(cache.get(source, this.attributes(source)));
+    }
+
+    /**
+     * Test cache written with another encoding is discarded.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void otherEncoding() throws IOException {
+        final var cacheFile = this.folder.resolve("digests.txt");
+        final var source = this.source("Foo.java", "class Foo {}\n");
+        final var cache = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        cache.put(source, this.attributes(source), 2, "ABC");
+        cache.save();
+
+        Assertions.assertNull(
+                SourceDigestCache.load(cacheFile, StandardCharsets.UTF_16).get(source, this.attributes(source)));
+    }
+
+    /**
+     * Test corrupt cache file is ignored.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void corruptCacheFile() throws IOException {
+        final var cacheFile = this.folder.resolve("digests.txt");
+        final var source = this.source("Foo.java", "class Foo {}\n");
+        Files.writeString(cacheFile,
+                "# coveralls source digests v1 UTF-8\n" + source.toAbsolutePath() + "\tx\t1\t-\t2\tABC\n",
+                StandardCharsets.UTF_8);
+        Assertions.assertNull(
+                SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8).get(source, this.attributes(source)));
+    }
+
+    /**
+     * Test only sources used by the build are saved.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void unusedEntriesArePruned() throws IOException {
+        final var cacheFile = this.folder.resolve("digests.txt");
+        final var foo = this.source("Foo.java", "class Foo {}\n");
+        final var bar = this.source("Bar.java", "class Bar {}\n");
+        final var cache = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        cache.put(foo, this.attributes(foo), 2, "FOO");
+        cache.put(bar, this.attributes(bar), 2, "BAR");
+        cache.save();
+
+        final var second = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        Assertions.assertNotNull(second.get(foo, this.attributes(foo)));
+        second.save();
+
+        final var third = SourceDigestCache.load(cacheFile, StandardCharsets.UTF_8);
+        Assertions.assertNotNull(third.get(foo, this.attributes(foo)));
+        Assertions.assertNull(third.get(bar, this.attributes(bar)));
+    }
+
+    /**
+     * Test directory source loader reuses cached digests.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void sourceLoaderUsesCache() throws IOException {
+        final var source = this.source("Foo.java", "public class Foo {\r\n    \n}\r");
+        final var cache = SourceDigestCache.load(this.folder.resolve("digests.txt"), StandardCharsets.UTF_8);
+        final var sourceLoader = new DirectorySourceLoader(this.folder.toFile(), this.folder.toFile(),
+                StandardCharsets.UTF_8);
+        sourceLoader.setDigestCache(cache);
+
+        final var loaded = sourceLoader.load("Foo.java");
+        Assertions.assertEquals(4, loaded.getLineCount());
+        final var entry = cache.get(source, this.attributes(source));
+        Assertions.assertEquals(loaded.getDigest(), entry.getDigest());
+        Assertions.assertEquals(4, entry.getLines());
+
+        // cached values are used even though the content is no longer read
+        cache.put(source, this.attributes(source), 7, "CACHED");
+        final var cached = sourceLoader.load("Foo.java");
+        Assertions.assertEquals("Foo.java", cached.getName());
+        Assertions.assertEquals("CACHED", cached.getDigest());
+        Assertions.assertEquals(7, cached.getLineCount());
+    }
+
+    /**
+     * Writes a source file with a modification time in the past.
+     *
+     * @param name
+     *            the file name
+     * @param content
+     *            the content
+     *
+     * @return the source file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    Path source(final String name, final String content) throws IOException {
+        final var file = this.folder.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000L));
+        return file;
+    }
+
+    /**
+     * Reads the file attributes.
+     *
+     * @param file
+     *            the file
+     *
+     * @return the attributes
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    BasicFileAttributes attributes(final Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
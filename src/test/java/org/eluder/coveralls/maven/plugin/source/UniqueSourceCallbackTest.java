@@ -24,14 +24,25 @@
  */
 package org.eluder.coveralls.maven.plugin.source;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
 
 import org.eluder.coveralls.maven.plugin.ProcessingException;
 import org.eluder.coveralls.maven.plugin.domain.Source;
 import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -47,6 +58,10 @@ class UniqueSourceCallbackTest {
     @Mock
     private SourceCallback sourceCallbackMock;
 
+    /** The folder. */
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    Path folder;
+
     /**
      * On source with unique files.
      *
@@ -122,6 +137,196 @@ class UniqueSourceCallbackTest {
         Mockito.verify(this.sourceCallbackMock).onComplete();
     }
 
+    /**
+     * Spilling to run files produces the same sources in the same order as merging in memory.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void spillingMatchesInMemory() throws ProcessingException, IOException {
+        final var sources = UniqueSourceCallbackTest.randomSources(400, 40);
+
+        final var inMemory = new Collector();
+        final var expected = this.merge(new UniqueSourceCallback(inMemory), inMemory, sources);
+        for (final long budget : new long[] { 1L, 2_000L, 20_000L }) {
+            final var collector = new Collector();
+            final var spilled = this.merge(new UniqueSourceCallback(collector, budget, this.folder), collector,
+                    sources);
+            Assertions.assertEquals(expected, spilled, "budget " + budget);
+            try (Stream<Path> files = Files.list(this.folder)) {
+                Assertions.assertEquals(0, files.count());
+            }
+        }
+    }
+
+    /**
+     * More runs than the merge fan-in are merged in several passes and produce the same sources in the same order as
+     * merging in memory.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void spillingMoreRunsThanFanIn() throws ProcessingException, IOException {
+        final var sources = UniqueSourceCallbackTest.randomSources(UniqueSourceCallback.MAX_FAN_IN * 5,
+                UniqueSourceCallback.MAX_FAN_IN * 3);
+
+        final var inMemory = new Collector();
+        final var expected = this.merge(new UniqueSourceCallback(inMemory), inMemory, sources);
+        for (final int fanIn : new int[] { 2, 3, UniqueSourceCallback.MAX_FAN_IN }) {
+            for (final long budget : new long[] { 1L, 3_000L }) {
+                final var collector = new Collector();
+                final var spilled = this.merge(new UniqueSourceCallback(collector, budget, this.folder, fanIn),
+                        collector, sources);
+                Assertions.assertEquals(expected, spilled, "fan-in " + fanIn + ", budget " + budget);
+                try (Stream<Path> files = Files.list(this.folder)) {
+                    Assertions.assertEquals(0, files.count());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sources without a digest are spilled and merged like sources with a digest.
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void spillingWithoutDigest() throws ProcessingException, IOException {
+        final List<Source> sources = new ArrayList<>();
+        for (final Source source : UniqueSourceCallbackTest.randomSources(200, 20)) {
+            final var copy = new Source(source.getName(), source.getLineCount(),
+                    source.getName().hashCode() % 2 == 0 ? null : source.getDigest(), source.getClassifier());
+            for (var line = 1; line <= source.getLineCount(); line++) {
+                copy.addCoverage(line, source.getHits(line));
+            }
+            source.forEachBranch(copy::addBranchCoverage);
+            sources.add(copy);
+        }
+
+        final var inMemory = new Collector();
+        final var expected = this.merge(new UniqueSourceCallback(inMemory), inMemory, sources);
+        final var collector = new Collector();
+        final var spilled = this.merge(new UniqueSourceCallback(collector, 1L, this.folder, 3), collector, sources);
+        Assertions.assertEquals(expected, spilled);
+    }
+
+    /**
+     * Merge fan-in must be at least two.
+     */
+    @Test
+    void fanInTooSmall() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new UniqueSourceCallback(this.sourceCallbackMock, 1024L, this.folder, 1));
+    }
+
+    /**
+     * Creates random sources with duplicates, classifiers and branches.
+     *
+     * @param count
+     *            the number of sources
+     * @param files
+     *            the number of distinct files
+     *
+     * @return the sources
+     */
+    static List<Source> randomSources(final int count, final int files) {
+        final var random = new Random(13);
+        final List<Source> sources = new ArrayList<>();
+        for (var i = 0; i < count; i++) {
+            final var file = random.nextInt(files);
+            final var lines = 5 + file % 7;
+            final var source = new Source("File" + file + ".java", lines, "DIGEST" + file, null);
+            if (random.nextInt(5) == 0) {
+                source.setClassifier("Inner" + random.nextInt(3));
+            }
+            for (var line = 1; line <= lines; line++) {
+                if (random.nextInt(3) > 0) {
+                    source.addCoverage(line, random.nextInt(4));
+                }
+            }
+            for (var b = random.nextInt(6); b > 0; b--) {
+                source.addBranchCoverage(1 + random.nextInt(lines), random.nextInt(2), random.nextInt(4),
+                        random.nextInt(3));
+            }
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    /**
+     * Passes the sources through a unique source callback.
+     *
+     * @param callback
+     *            the unique source callback
+     * @param collector
+     *            the collector the unique source callback delegates to
+     * @param sources
+     *            the sources
+     *
+     * @return the JSON of each source passed to the delegate
+     *
+     * @throws ProcessingException
+     *             the processing exception
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    List<String> merge(final UniqueSourceCallback callback, final Collector collector, final List<Source> sources)
+            throws ProcessingException, IOException {
+        callback.onBegin();
+        for (final Source source : sources) {
+            callback.onSource(source);
+        }
+        callback.onComplete();
+        final var mapper = new ObjectMapper();
+        final List<String> json = new ArrayList<>();
+        for (final Source source : collector.sources) {
+            json.add(mapper.writeValueAsString(source) + source.getFullName());
+        }
+        return json;
+    }
+
+    /**
+     * Source callback that collects the sources.
+     */
+    static class Collector implements SourceCallback {
+
+        /** The sources. */
+        final List<Source> sources = new ArrayList<>();
+
+        @Override
+        public void onBegin() {
+            // Does nothing
+        }
+
+        @Override
+        public void onSource(final Source source) {
+            this.sources.add(source);
+        }
+
+        @Override
+        public void onComplete() {
+            // Does nothing
+        }
+    }
+
+    /**
+     * A memory budget requires a spill directory.
+     */
+    @Test
+    void budgetWithoutSpillDirectory() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new UniqueSourceCallback(this.sourceCallbackMock, 1024L, null));
+    }
+
     /**
      * Creates the unique source callback.
      *
@@ -24,6 +24,10 @@
  */
 package org.eluder.coveralls.maven.plugin.source;
 
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -33,6 +37,7 @@ import java.nio.file.Path;
 import org.eluder.coveralls.maven.plugin.util.TestIoUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.api.io.CleanupMode;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -41,6 +46,11 @@ import org.junit.jupiter.api.io.TempDir;
  */
 class UrlSourceLoaderTest {
 
+    /** The source server. */
+    @RegisterExtension
+    static WireMockExtension sourceServer = WireMockExtension.newInstance()
+            .options(WireMockConfiguration.wireMockConfig().dynamicPort()).build();
+
     /** The folder. */
     @TempDir(cleanup = CleanupMode.ON_SUCCESS)
     public Path folder;
@@ -80,7 +90,33 @@ class UrlSourceLoaderTest {
         Assertions.assertEquals(
                 "259AEA51FD9A0FB9529BDDDECDD3FCAE41BFA7C5C8C79555D61E4FB2910D08363814EC6C02DA1FBF6FF539DCEB7DC180B5043E980651049C24497BDA1CA47DAA",
                 source.getDigest());
-        Assertions.assertEquals(3, source.getCoverage().length);
+        Assertions.assertEquals(3, source.getLineCount());
+    }
+
+    /**
+     * Load sources from an HTTP url with a shared client.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void loadSourceFromHttpUrl() throws IOException {
+        UrlSourceLoaderTest.sourceServer.stubFor(WireMock.get("/src/scripts/file.coffee")
+                .willReturn(WireMock.ok("math =\n  root:   Math.sqrt\n  square: square")));
+        UrlSourceLoaderTest.sourceServer
+                .stubFor(WireMock.get("/src/scripts/missing.coffee").willReturn(WireMock.notFound()));
+
+        final var base = new URL(UrlSourceLoaderTest.sourceServer.baseUrl() + "/");
+        final var sourceUrl = new URL(UrlSourceLoaderTest.sourceServer.baseUrl() + "/src/");
+        final var sourceLoader = new UrlSourceLoader(base, sourceUrl, StandardCharsets.UTF_8);
+        final var source = sourceLoader.load("scripts/file.coffee");
+
+        Assertions.assertEquals("src/scripts/file.coffee", source.getName());
+        Assertions.assertEquals(
+                "259AEA51FD9A0FB9529BDDDECDD3FCAE41BFA7C5C8C79555D61E4FB2910D08363814EC6C02DA1FBF6FF539DCEB7DC180B5043E980651049C24497BDA1CA47DAA",
+                source.getDigest());
+        Assertions.assertEquals(3, source.getLineCount());
+        Assertions.assertNull(sourceLoader.load("scripts/missing.coffee"));
     }
 
 }
@@ -38,6 +38,7 @@ import org.apache.maven.project.MavenProject;
 import org.eluder.coveralls.maven.plugin.CoverageParser;
 import org.eluder.coveralls.maven.plugin.parser.CloverParser;
 import org.eluder.coveralls.maven.plugin.parser.CoberturaParser;
+import org.eluder.coveralls.maven.plugin.parser.JaCoCoExecParser;
 import org.eluder.coveralls.maven.plugin.parser.JaCoCoParser;
 import org.eluder.coveralls.maven.plugin.parser.SagaParser;
 import org.eluder.coveralls.maven.plugin.source.SourceLoader;
@@ -194,6 +195,48 @@ class CoverageParsersFactoryTest {
         Assertions.assertEquals(JaCoCoParser.class, parsers.get(0).getClass());
     }
 
+    /**
+     * In this test, JaCoCo execution data and reports exist, only the execution data should be added to parsers.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void createJaCoCoExecParserForExecutionData() throws IOException {
+        final var jacocoDir = Files
+                .createDirectory(this.reportingDir.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY));
+        Files.createFile(jacocoDir.resolve("jacoco.xml"));
+        Files.createFile(this.targetDir.resolve(CoverageParsersFactory.JACOCO_EXEC_FILE));
+        Files.createFile(this.targetDir.resolve(CoverageParsersFactory.JACOCO_IT_EXEC_FILE));
+        final var classesDir = Files.createDirectory(this.targetDir.resolve("classes"));
+        Mockito.when(this.buildMock.getOutputDirectory()).thenReturn(classesDir.toFile().getAbsolutePath());
+
+        final var parsers = this.createCoverageParsersFactory().withJaCoCoExecData(true).withAnalyzerThreads(2)
+                .createParsers();
+        Assertions.assertEquals(1, parsers.size());
+        Assertions.assertEquals(JaCoCoExecParser.class, parsers.get(0).getClass());
+        Assertions.assertEquals(2, ((JaCoCoExecParser) parsers.get(0)).getExecFiles().size());
+    }
+
+    /**
+     * In this test, JaCoCo execution data is enabled but missing, so the report should be added to parsers.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void createJaCoCoParserWithoutExecutionData() throws IOException {
+        final var jacocoDir = Files
+                .createDirectory(this.reportingDir.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY));
+        Files.createFile(jacocoDir.resolve("jacoco.xml"));
+        final var classesDir = Files.createDirectory(this.targetDir.resolve("classes"));
+        Mockito.when(this.buildMock.getOutputDirectory()).thenReturn(classesDir.toFile().getAbsolutePath());
+
+        final var parsers = this.createCoverageParsersFactory().withJaCoCoExecData(true).createParsers();
+        Assertions.assertEquals(1, parsers.size());
+        Assertions.assertEquals(JaCoCoParser.class, parsers.get(0).getClass());
+    }
+
     /**
      * Creates the cobertura parser.
      *
@@ -294,6 +337,75 @@ class CoverageParsersFactoryTest {
                 .anyMatch(p -> p.contains("custom-jacoco-report.xml")));
     }
 
+    /**
+     * The project reports and explicitly configured reports are only parsed by the shard they belong to, a shard
+     * without reports creates no parsers.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void withShard() throws IOException {
+        final var jacocoDir = Files
+                .createDirectory(this.reportingDir.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY));
+        Files.createFile(jacocoDir.resolve("jacoco.xml"));
+        final var coberturaFile = Files.createFile(this.reportingDir.resolve("cobertura-report.xml")).toFile();
+
+        final var parsers = this.createCoverageParsersFactory().withCoberturaReports(Arrays.asList(coberturaFile))
+                .withShard(0, 2).createParsers();
+        Assertions.assertEquals(2, parsers.size());
+        Assertions.assertEquals(JaCoCoParser.class, parsers.get(0).getClass());
+        Assertions.assertEquals(CoberturaParser.class, parsers.get(1).getClass());
+
+        final var otherShard = this.createCoverageParsersFactory().withCoberturaReports(Arrays.asList(coberturaFile))
+                .withShard(1, 2).createParsers();
+        Assertions.assertTrue(otherShard.isEmpty());
+    }
+
+    /**
+     * Explicitly configured reports are spread across the shards, the aggregate report belongs to a single shard.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void withShardAndExplicitReports() throws IOException {
+        final var jacocoAggregateReport = Files.createFile(this.reportingDir.resolve("aggregate.xml")).toFile();
+        final var coberturaFile1 = Files.createFile(this.reportingDir.resolve("cobertura1.xml")).toFile();
+        final var coberturaFile2 = Files.createFile(this.reportingDir.resolve("cobertura2.xml")).toFile();
+
+        final var shard0 = this.createCoverageParsersFactory().withJacocoAggregateReport(jacocoAggregateReport)
+                .withCoberturaReports(Arrays.asList(coberturaFile1, coberturaFile2)).withShard(0, 2).createParsers();
+        Assertions.assertEquals(2, shard0.size());
+        Assertions.assertEquals(jacocoAggregateReport, shard0.get(0).getCoverageFile());
+        Assertions.assertEquals(coberturaFile2, shard0.get(1).getCoverageFile());
+
+        final var shard1 = this.createCoverageParsersFactory().withJacocoAggregateReport(jacocoAggregateReport)
+                .withCoberturaReports(Arrays.asList(coberturaFile1, coberturaFile2)).withShard(1, 2).createParsers();
+        Assertions.assertEquals(1, shard1.size());
+        Assertions.assertEquals(coberturaFile1, shard1.get(0).getCoverageFile());
+
+        final var aggregateOnly = this.createCoverageParsersFactory().withJacocoAggregateReport(jacocoAggregateReport)
+                .withShard(1, 2).createParsers();
+        Assertions.assertTrue(aggregateOnly.isEmpty());
+    }
+
+    /**
+     * Shards beyond the number of projects create no parsers instead of failing.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void withMoreShardsThanProjects() throws IOException {
+        final var jacocoDir = Files
+                .createDirectory(this.reportingDir.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY));
+        Files.createFile(jacocoDir.resolve("jacoco.xml"));
+
+        Assertions.assertEquals(1, this.createCoverageParsersFactory().withShard(0, 3).createParsers().size());
+        Assertions.assertTrue(this.createCoverageParsersFactory().withShard(2, 3).createParsers().isEmpty());
+    }
+
     /**
      * With cobertura report.
      *
@@ -370,6 +482,57 @@ class CoverageParsersFactoryTest {
         Assertions.assertEquals(CoberturaParser.class, parsers.get(0).getClass());
     }
 
+    /**
+     * With report patterns, matching reports are detected by root element and reports already found at the default
+     * locations are not added twice.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void withReportPatterns() throws IOException {
+        final var jacocoDir = Files
+                .createDirectory(this.reportingDir.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY));
+        Files.copy(TestIoUtil.getFile("jacoco1.xml").toPath(), jacocoDir.resolve("jacoco.xml"));
+        final var coverageDir = Files.createDirectories(this.targetDir.resolve("coverage/module"));
+        Files.copy(TestIoUtil.getFile("clover.xml").toPath(), coverageDir.resolve("report.xml"));
+        Files.writeString(coverageDir.resolve("other.xml"), "<project/>");
+        final var factory = this.createCoverageParsersFactory()
+                .withReportPatterns(Arrays.asList("coverage/**/*.xml", "jacoco/*.xml")).withDiscoveryThreads(2);
+        final var parsers = factory.createParsers();
+        Assertions.assertEquals(2, parsers.size());
+        Assertions.assertEquals(JaCoCoParser.class, parsers.get(0).getClass());
+        Assertions.assertEquals(CloverParser.class, parsers.get(1).getClass());
+        Assertions.assertEquals(coverageDir.resolve("report.xml").toFile(), parsers.get(1).getCoverageFile());
+    }
+
+    /**
+     * With report patterns and JaCoCo execution data, matching JaCoCo reports of the project are replaced by the
+     * execution data while other matching reports are still added.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Test
+    void withReportPatternsAndExecutionData() throws IOException {
+        final var jacocoDir = Files
+                .createDirectory(this.reportingDir.resolve(CoverageParsersFactory.DEFAULT_JACOCO_DIRECTORY));
+        Files.copy(TestIoUtil.getFile("jacoco1.xml").toPath(), jacocoDir.resolve("jacoco.xml"));
+        final var coverageDir = Files.createDirectories(this.targetDir.resolve("coverage"));
+        Files.copy(TestIoUtil.getFile("jacoco1.xml").toPath(), coverageDir.resolve("jacoco.xml"));
+        Files.copy(TestIoUtil.getFile("clover.xml").toPath(), coverageDir.resolve("clover.xml"));
+        Files.createFile(this.targetDir.resolve(CoverageParsersFactory.JACOCO_EXEC_FILE));
+        final var classesDir = Files.createDirectory(this.targetDir.resolve("classes"));
+        Mockito.when(this.buildMock.getOutputDirectory()).thenReturn(classesDir.toFile().getAbsolutePath());
+
+        final var parsers = this.createCoverageParsersFactory().withJaCoCoExecData(true)
+                .withReportPatterns(Arrays.asList("**/*.xml")).createParsers();
+        Assertions.assertEquals(2, parsers.size());
+        Assertions.assertEquals(JaCoCoExecParser.class, parsers.get(0).getClass());
+        Assertions.assertEquals(CloverParser.class, parsers.get(1).getClass());
+        Assertions.assertEquals(coverageDir.resolve("clover.xml").toFile(), parsers.get(1).getCoverageFile());
+    }
+
     /**
      * Creates the coverage parsers factory.
      *
@@ -24,11 +24,14 @@
  */
 package org.eluder.coveralls.maven.plugin.util;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -111,6 +114,27 @@ class ExistingFilesTest {
         ExistingFilesTest.assertSize(iter, 2);
     }
 
+    /**
+     * Creates with an existence check, keeping insertion order and checking each file once.
+     */
+    @Test
+    void createWithExistenceCheck() {
+        final var f1 = new File("f1");
+        final var f2 = new File("f2");
+        final var f3 = new File("f3");
+        final List<File> checked = new ArrayList<>();
+        final var files = ExistingFiles.create(Arrays.asList(f2, f1, f2, f3, f1), file -> {
+            checked.add(file);
+            return !file.equals(f3);
+        });
+        Assertions.assertEquals(Arrays.asList(f2, f1, f3), checked);
+        final List<File> added = new ArrayList<>();
+        files.forEach(added::add);
+        Assertions.assertEquals(Arrays.asList(f2, f1), added);
+        Assertions.assertTrue(files.contains(f1));
+        Assertions.assertFalse(files.contains(f3));
+    }
+
     /**
      * Assert size.
      *
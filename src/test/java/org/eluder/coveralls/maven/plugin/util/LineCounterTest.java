@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.util;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class LineCounterTest.
+ */
+class LineCounterTest {
+
+    /** The newline pattern used when counting decoded lines. */
+    private static final Pattern NEWLINE = Pattern.compile("\r\n|\r|\n");
+
+    /**
+     * Test line terminators.
+     */
+    @Test
+    void countLines() {
+        Assertions.assertEquals(1, this.count(""));
+        Assertions.assertEquals(1, this.count("abc"));
+        Assertions.assertEquals(2, this.count("abc\n"));
+        Assertions.assertEquals(2, this.count("abc\r\n"));
+        Assertions.assertEquals(3, this.count("abc\n\r"));
+        Assertions.assertEquals(4, this.count("public class Foo {\r\n    \n}\r"));
+        Assertions.assertEquals(4, this.count("\r\r\r"));
+    }
+
+    /**
+     * Test counts match the decoded count regardless of how the content is split.
+     */
+    @Test
+    void countLinesInChunks() {
+        final var random = new Random(42);
+        final var alphabet = "ab\r\nä€";
+        for (var round = 0; round < 200; round++) {
+            final var text = new StringBuilder();
+            for (var i = random.nextInt(200); i > 0; i--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            final var bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            final var counter = new LineCounter();
+            var offset = 0;
+            while (offset < bytes.length) {
+                final var length = Math.min(bytes.length - offset, 1 + random.nextInt(8));
+                counter.update(bytes, offset, length);
+                offset += length;
+            }
+            Assertions.assertEquals(this.decodedCount(text.toString()), counter.getLines(), text.toString());
+        }
+    }
+
+    /**
+     * Test ASCII compatible charsets.
+     */
+    @Test
+    void asciiCompatible() {
+        Assertions.assertTrue(LineCounter.isAsciiCompatible(StandardCharsets.UTF_8));
+        Assertions.assertTrue(LineCounter.isAsciiCompatible(StandardCharsets.US_ASCII));
+        Assertions.assertTrue(LineCounter.isAsciiCompatible(StandardCharsets.ISO_8859_1));
+        Assertions.assertTrue(LineCounter.isAsciiCompatible(Charset.forName("windows-1252")));
+        Assertions.assertFalse(LineCounter.isAsciiCompatible(StandardCharsets.UTF_16));
+        Assertions.assertFalse(LineCounter.isAsciiCompatible(StandardCharsets.UTF_16LE));
+    }
+
+    /**
+     * Counts lines from UTF-8 bytes.
+     *
+     * @param text
+     *            the text
+     *
+     * @return the line count
+     */
+    int count(final String text) {
+        final var bytes = text.getBytes(StandardCharsets.UTF_8);
+        final var counter = new LineCounter();
+        counter.update(bytes, 0, bytes.length);
+        return counter.getLines();
+    }
+
+    /**
+     * Counts lines from decoded text.
+     *
+     * @param text
+     *            the text
+     *
+     * @return the line count
+     */
+    int decodedCount(final String text) {
+        var lines = 1;
+        final var matcher = LineCounterTest.NEWLINE.matcher(text);
+        while (matcher.find()) {
+            lines++;
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class MavenProjectCollectorTest.
+ */
+class MavenProjectCollectorTest {
+
+    /** The root project. */
+    private MavenProject root;
+
+    /**
+     * Builds a project tree of root, a, a1, a2 and b in reactor order.
+     */
+    @BeforeEach
+    void init() {
+        final var a = this.project("a", this.project("a1"), this.project("a2"));
+        this.root = this.project("root", a, this.project("b"));
+    }
+
+    /**
+     * Collect all projects.
+     */
+    @Test
+    void collect() {
+        Assertions.assertEquals(List.of("root", "a", "a1", "a2", "b"),
+                this.names(new MavenProjectCollector(this.root).collect()));
+    }
+
+    /**
+     * Collect shards.
+     */
+    @Test
+    void collectShards() {
+        Assertions.assertEquals(List.of("root", "a2"),
+                this.names(new MavenProjectCollector(this.root).withShard(0, 3).collect()));
+        Assertions.assertEquals(List.of("a", "b"),
+                this.names(new MavenProjectCollector(this.root).withShard(1, 3).collect()));
+        Assertions.assertEquals(List.of("a1"),
+                this.names(new MavenProjectCollector(this.root).withShard(2, 3).collect()));
+    }
+
+    /**
+     * Every project belongs to exactly one shard.
+     */
+    @Test
+    void shardsPartitionProjects() {
+        for (var count = 1; count <= 6; count++) {
+            final List<String> all = new ArrayList<>();
+            for (var index = 0; index < count; index++) {
+                all.addAll(this.names(new MavenProjectCollector(this.root).withShard(index, count).collect()));
+            }
+            all.sort(null);
+            Assertions.assertEquals(List.of("a", "a1", "a2", "b", "root"), all);
+        }
+    }
+
+    /**
+     * Invalid shards.
+     */
+    @Test
+    void invalidShard() {
+        final var collector = new MavenProjectCollector(this.root);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> collector.withShard(0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> collector.withShard(-1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> collector.withShard(2, 2));
+    }
+
+    /**
+     * Creates a project.
+     *
+     * @param artifactId
+     *            the artifact id
+     * @param children
+     *            the collected child projects
+     *
+     * @return the project
+     */
+    private MavenProject project(final String artifactId, final MavenProject... children) {
+        final var project = new MavenProject();
+        project.setArtifactId(artifactId);
+        project.setCollectedProjects(List.of(children));
+        return project;
+    }
+
+    /**
+     * Gets the artifact ids of projects.
+     *
+     * @param projects
+     *            the projects
+     *
+     * @return the artifact ids
+     */
+    private List<String> names(final List<MavenProject> projects) {
+        return projects.stream().map(MavenProject::getArtifactId).collect(Collectors.toList());
+    }
+}
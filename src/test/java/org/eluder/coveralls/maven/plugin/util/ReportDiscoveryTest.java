@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2013-2025 The Coveralls Maven Plugin Project Contributors:
+ *     https://github.com/hazendaz/coveralls-maven-plugin/graphs/contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.eluder.coveralls.maven.plugin.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eluder.coveralls.maven.plugin.parser.ReportFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The Class ReportDiscoveryTest.
+ */
+class ReportDiscoveryTest {
+
+    /** The folder. */
+    @TempDir
+    Path folder;
+
+    @Test
+    void invalidThreads() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ReportDiscovery(null, 0));
+    }
+
+    @Test
+    void probeCandidates() throws IOException {
+        final var existing = Files.createFile(this.folder.resolve("jacoco.xml")).toFile();
+        final var directory = Files.createDirectory(this.folder.resolve("coverage.xml")).toFile();
+        final var missing = this.folder.resolve("clover.xml").toFile();
+        final var result = new ReportDiscovery(null, 1).discover(List.of(existing, directory, missing),
+                List.of(this.folder));
+        Assertions.assertTrue(result.exists(existing));
+        Assertions.assertFalse(result.exists(directory));
+        Assertions.assertFalse(result.exists(missing));
+        Assertions.assertTrue(result.getMatched().isEmpty());
+    }
+
+    @Test
+    void probeCandidatesInParallel() throws IOException {
+        final List<File> candidates = new ArrayList<>();
+        for (var i = 0; i < 100; i++) {
+            final var file = this.folder.resolve("report" + i + ".xml");
+            if (i % 3 == 0) {
+                Files.createFile(file);
+            }
+            candidates.add(file.toFile());
+        }
+        final var result = new ReportDiscovery(null, 4).discover(candidates, List.of());
+        for (var i = 0; i < 100; i++) {
+            Assertions.assertEquals(i % 3 == 0, result.exists(candidates.get(i)));
+        }
+    }
+
+    @Test
+    void walkPatterns() throws IOException {
+        final var build = Files.createDirectories(this.folder.resolve("target"));
+        final var site = Files.createDirectories(this.folder.resolve("site"));
+        final var jacoco = this.copy("jacoco1.xml", build.resolve("coverage/unit/jacoco.xml"));
+        final var clover = this.copy("clover.xml", build.resolve("coverage/clover.xml"));
+        final var cobertura = this.copy("cobertura.xml", site.resolve("coverage/it/cobertura.xml"));
+        this.copy("cobertura.xml", build.resolve("other/cobertura.xml"));
+        Files.writeString(build.resolve("coverage/unit/pom.xml"), "<project/>");
+        Files.writeString(build.resolve("coverage/readme.txt"), "<report/>");
+
+        final var result = new ReportDiscovery(List.of("coverage/**/*.xml"), 2).discover(List.of(),
+                List.of(build, site));
+        Assertions.assertEquals(List.of(clover, jacoco, cobertura), new ArrayList<>(result.getMatched().keySet()));
+        Assertions.assertEquals(ReportFormat.CLOVER, result.getMatched().get(clover));
+        Assertions.assertEquals(ReportFormat.JACOCO, result.getMatched().get(jacoco));
+        Assertions.assertEquals(ReportFormat.COBERTURA, result.getMatched().get(cobertura));
+        Assertions.assertTrue(result.exists(jacoco));
+    }
+
+    @Test
+    void walkPatternsWithDepth() throws IOException {
+        final var shallow = this.copy("jacoco1.xml", this.folder.resolve("reports/jacoco.xml"));
+        this.copy("jacoco1.xml", this.folder.resolve("reports/nested/jacoco.xml"));
+        final var result = new ReportDiscovery(List.of("reports/*.xml"), 1).discover(List.of(),
+                List.of(this.folder, this.folder.resolve("missing")));
+        Assertions.assertEquals(Map.of(shallow, ReportFormat.JACOCO), result.getMatched());
+    }
+
+    /**
+     * Copies a test resource.
+     *
+     * @param resource
+     *            the resource
+     * @param target
+     *            the target file
+     *
+     * @return the target file
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private File copy(final String resource, final Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.copy(TestIoUtil.getFile(resource).toPath(), target).toFile();
+    }
+}
@@ -35,6 +35,7 @@ import java.nio.file.Path;
 import java.util.Locale;
 
 import org.apache.commons.codec.digest.DigestUtils;
+import org.eluder.coveralls.maven.plugin.domain.Source;
 
 /**
  * The Class TestIoUtil.
@@ -127,4 +128,19 @@ public final class TestIoUtil {
         // Do Nothing
     }
 
+    /**
+     * Gets the line hits of a source, negative for lines that are not relevant.
+     *
+     * @param source
+     *            the source
+     *
+     * @return the line hits
+     */
+    public static int[] getHits(final Source source) {
+        final var hits = new int[source.getLineCount()];
+        for (var line = 1; line <= hits.length; line++) {
+            hits[line - 1] = source.getHits(line);
+        }
+        return hits;
+    }
 }